@@ -21,6 +21,19 @@ public interface Client {
    */
   ListenableFuture<Response> execute(Request request);
 
+  /**
+   * Executes a request asynchronously, recording the time at which it was intended to be sent.
+   * Response times measured from the intended start include any delay between when the request
+   * should have been sent and when it actually was
+   * 
+   * @param request the request to execute
+   * @param intendedStart the intended dispatch time of this request, in {@link System#nanoTime}
+   *        units, or 0 if unknown
+   * @return A future representing the eventual completion of this request
+   * @since 1.12.0
+   */
+  ListenableFuture<Response> execute(Request request, long intendedStart);
+
   /**
    * Shuts down this client
    * 
@@ -5,10 +5,16 @@
 package com.ibm.og.api;
 
 public class RequestTimestamps {
+      public long intended;
+      public long submitted;
       public long startMillis;
       public long start;
+      public long connectionLeaseStart;
+      public long connectionLeaseFinish;
+      public long connectFinish;
       public long requestContentStart;
       public long requestContentFinish;
+      public long requestSent;
       public long responseContentStart;
       public long responseContentFirstBytes;
       public long responseContentFinish;
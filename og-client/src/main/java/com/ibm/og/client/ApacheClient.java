@@ -16,21 +16,34 @@ import java.math.RoundingMode;
 import java.security.Security;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSocketFactory;
 
 import com.ibm.og.http.NoneAuth;
 import com.ibm.og.util.io.MonitoringInputStream;
+import com.ibm.og.util.io.PatternRegion;
 import org.apache.http.ConnectionReuseStrategy;
 import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HeaderIterator;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -43,7 +56,9 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
-import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
@@ -60,6 +75,7 @@ import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestExecutor;
@@ -85,6 +101,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.ForwardingListenableFuture;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -106,7 +123,8 @@ import com.google.gson.stream.JsonWriter;
  */
 public class ApacheClient implements Client {
   private static final Logger _logger = LoggerFactory.getLogger(ApacheClient.class);
-  private static final Logger _requestLogger = LoggerFactory.getLogger("RequestLogger");
+  private static final int UPLOAD_TILE_SIZE = 65536;
+  private static final int MAX_IDLE_RECEIVE_BUFFERS = 1024;
   private final int connectTimeout;
   private final int soTimeout;
   private final boolean soReuseAddress;
@@ -138,11 +156,52 @@ public class ApacheClient implements Client {
   private final long writeThroughput;
   private final long readThroughput;
   private final Map<String, ResponseBodyConsumer> responseBodyConsumers;
+  private final boolean virtualThreads;
+  private final int maxWorkers;
+  private final int maxQueuedRequests;
+  private final int maxConnections;
+  private final SaturationPolicy saturationPolicy;
+  private final int receiveBufferSize;
+  private final int uploadRegionSize;
   private volatile boolean running;
   private final AtomicInteger abortedRequestsAtShutdown;
+  private final PoolingHttpClientConnectionManager connectionManager;
   private final CloseableHttpClient client;
+  private final ThreadPoolExecutor workers;
   private final ListeningExecutorService executorService;
-  private final Gson gson;
+  // bounds the requests accepted but not yet completed; null if the worker pool is unbounded
+  private final Semaphore admission;
+  // the timing of the request executing on the current worker, for connection lease waits
+  private final ThreadLocal<RequestTimestamps> currentTimestamps;
+  // idle buffers which requests drain response bodies into, at most one per concurrent request
+  private final BlockingQueue<byte[]> receiveBuffers;
+  // unthrottled request content is written from these rather than copied through its stream
+  private final PatternRegions uploadRegions;
+  private final AtomicLong leases;
+  private final AtomicLong leaseWaitNanos;
+  private final AtomicLong maxLeaseWaitNanos;
+  private final AtomicLong blockedRequests;
+  private final AtomicLong shedRequests;
+  private final AtomicLong droppedRequests;
+  private final RequestLog requestLog;
+
+  /**
+   * What the client does with a request when every worker is busy and the request queue is full
+   */
+  public enum SaturationPolicy {
+    /**
+     * Wait for a worker to become free, slowing down the caller
+     */
+    BLOCK,
+    /**
+     * Discard the request without sending or recording it, counting it as shed
+     */
+    SHED,
+    /**
+     * Complete the request with a 599 status without sending it, recording it as dropped
+     */
+    DROP
+  }
 
   private ApacheClient(final Builder builder) {
     this.connectTimeout = builder.connectTimeout;
@@ -214,11 +273,23 @@ public class ApacheClient implements Client {
     this.writeThroughput = builder.writeThroughput;
     this.readThroughput = builder.readThroughput;
     this.responseBodyConsumers = ImmutableMap.copyOf(builder.responseBodyConsumers);
+    this.requestLog = checkNotNull(builder.requestLog);
+    this.virtualThreads = builder.virtualThreads;
+    this.maxWorkers = builder.maxWorkers;
+    this.maxQueuedRequests = builder.maxQueuedRequests;
+    this.maxConnections = builder.maxConnections;
+    this.saturationPolicy = checkNotNull(builder.saturationPolicy);
+    this.receiveBufferSize = builder.receiveBufferSize;
+    this.uploadRegionSize = builder.uploadRegionSize;
     this.running = true;
     this.abortedRequestsAtShutdown = new AtomicInteger();
-    final ThreadFactory fac = new ThreadFactoryBuilder().setNameFormat("client-%d").build();
-    this.executorService = MoreExecutors.listeningDecorator(Executors.newCachedThreadPool(fac));
-    this.gson = createGson();
+    this.currentTimestamps = new ThreadLocal<RequestTimestamps>();
+    this.leases = new AtomicLong();
+    this.leaseWaitNanos = new AtomicLong();
+    this.maxLeaseWaitNanos = new AtomicLong();
+    this.blockedRequests = new AtomicLong();
+    this.shedRequests = new AtomicLong();
+    this.droppedRequests = new AtomicLong();
 
     // perform checks on instance fields rather than builder fields
     checkArgument(this.connectTimeout >= 0, "connectTimeout must be >= 0 [%s]",
@@ -240,15 +311,79 @@ public class ApacheClient implements Client {
         this.writeThroughput);
     checkArgument(this.readThroughput >= 0, "readThroughput must be >= 0 [%s]",
         this.readThroughput);
+    checkArgument(this.maxWorkers >= 0, "maxWorkers must be >= 0 [%s]", this.maxWorkers);
+    checkArgument(this.maxQueuedRequests >= 0, "maxQueuedRequests must be >= 0 [%s]",
+        this.maxQueuedRequests);
+    checkArgument(this.maxWorkers > 0 || this.maxQueuedRequests == 0,
+        "maxQueuedRequests requires maxWorkers > 0 [%s]", this.maxQueuedRequests);
+    checkArgument(this.maxConnections >= 0, "maxConnections must be >= 0 [%s]",
+        this.maxConnections);
+    checkArgument(this.receiveBufferSize > 0, "receiveBufferSize must be > 0 [%s]",
+        this.receiveBufferSize);
+    checkArgument(this.uploadRegionSize > 0, "uploadRegionSize must be > 0 [%s]",
+        this.uploadRegionSize);
+    // output streams can only be written from heap regions
+    this.uploadRegions = new PatternRegions(this.uploadRegionSize, PatternRegion.Type.HEAP,
+        Math.min(this.uploadRegionSize, UPLOAD_TILE_SIZE));
+
+    if (this.virtualThreads) {
+      this.workers = null;
+      this.executorService = MoreExecutors.listeningDecorator(createVirtualThreadExecutor());
+    } else {
+      final ThreadFactory fac = new ThreadFactoryBuilder().setNameFormat("client-%d").build();
+      if (this.maxWorkers > 0) {
+        // admission bounds the queue, so it never grows beyond maxQueuedRequests
+        this.workers = new ThreadPoolExecutor(this.maxWorkers, this.maxWorkers, 60,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), fac);
+        this.workers.allowCoreThreadTimeOut(true);
+        this.executorService = MoreExecutors.listeningDecorator(this.workers);
+      } else {
+        this.workers = null;
+        this.executorService =
+            MoreExecutors.listeningDecorator(Executors.newCachedThreadPool(fac));
+      }
+    }
+    if (this.maxWorkers > 0) {
+      this.admission = new Semaphore(this.maxWorkers + this.maxQueuedRequests);
+    } else {
+      this.admission = null;
+    }
+    // requests are not tied to a long lived thread when each runs on a virtual thread of its own,
+    // so buffers are pooled rather than held per thread; admission bounds the requests draining
+    // at once, otherwise the idle buffers kept are capped
+    this.receiveBuffers = new ArrayBlockingQueue<byte[]>(this.admission != null
+        ? this.maxWorkers + this.maxQueuedRequests : MAX_IDLE_RECEIVE_BUFFERS);
 
     Security.setProperty("networkaddress.cache.ttl", String.valueOf(this.dnsCacheTtl));
     Security.setProperty("networkaddress.cache.negative.ttl",
         String.valueOf(this.dnsCacheNegativeTtl));
 
+    this.connectionManager = createConnectionManager();
     this.client = createClient();
   }
 
-  private Gson createGson() {
+  // looked up reflectively so that the client still builds for and runs on older runtimes
+  private static ExecutorService createVirtualThreadExecutor() {
+    final java.lang.reflect.Method factory;
+    try {
+      factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (final NoSuchMethodException e) {
+      throw new IllegalArgumentException(String.format(
+          "virtualThreads requires a Java 21 or later runtime [%s]",
+          System.getProperty("java.version")), e);
+    }
+    try {
+      return (ExecutorService) factory.invoke(null);
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  static Gson createGson() {
+    return createGsonBuilder().create();
+  }
+
+  static GsonBuilder createGsonBuilder() {
     return new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
         .setLongSerializationPolicy(LongSerializationPolicy.STRING)
         .registerTypeAdapter(Double.class, new TypeAdapter<Double>() {
@@ -262,7 +397,7 @@ public class ApacheClient implements Client {
           public Double read(final JsonReader in) throws IOException {
             return in.nextDouble();
           }
-        }.nullSafe()).create();
+        }.nullSafe());
   }
 
   private CloseableHttpClient createClient() {
@@ -284,8 +419,8 @@ public class ApacheClient implements Client {
       }
     });
 
-    return builder.setRequestExecutor(new HttpRequestExecutor(this.waitForContinue))
-        .setConnectionManager(createConnectionManager())
+    return builder.setRequestExecutor(new TimedRequestExecutor(this.waitForContinue))
+        .setConnectionManager(this.connectionManager)
         // TODO investigate ConnectionConfig, particularly bufferSize and fragmentSizeHint
         // TODO defaultCredentialsProvider and defaultAuthSchemeRegistry for pre/passive auth?
         .setConnectionReuseStrategy(createConnectionReuseStrategy())
@@ -297,19 +432,113 @@ public class ApacheClient implements Client {
         .evictIdleConnections(Long.valueOf(this.maxIdleTime), TimeUnit.MILLISECONDS).build();
   }
 
-  private HttpClientConnectionManager createConnectionManager() {
+  private PoolingHttpClientConnectionManager createConnectionManager() {
     final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
         RegistryBuilder.<ConnectionSocketFactory>create()
             .register("http", createPlainConnectionSocketFactory())
             .register("https", createSslConnectionSocketFactory()).build(),
-        null, null, null, -1, TimeUnit.MILLISECONDS);
+        null, null, null, -1, TimeUnit.MILLISECONDS) {
+      @Override
+      public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        return new TimedConnectionRequest(super.requestConnection(route, state));
+      }
+
+      // only called for leased connections which are not yet open
+      @Override
+      public void connect(final HttpClientConnection managedConn, final HttpRoute route,
+          final int connectTimeout, final HttpContext context) throws IOException {
+        super.connect(managedConn, route, connectTimeout, context);
+        final RequestTimestamps timestamps = ApacheClient.this.currentTimestamps.get();
+        // as with leases, only the first connection is reported per request
+        if (timestamps != null && timestamps.connectFinish == 0) {
+          timestamps.connectFinish = System.nanoTime();
+        }
+      }
+    };
     manager.setDefaultSocketConfig(createSocketConfig());
-    manager.setMaxTotal(Integer.MAX_VALUE);
-    manager.setDefaultMaxPerRoute(Integer.MAX_VALUE);
+    final int maxConnections = this.maxConnections > 0 ? this.maxConnections : Integer.MAX_VALUE;
+    manager.setMaxTotal(maxConnections);
+    manager.setDefaultMaxPerRoute(maxConnections);
     manager.setValidateAfterInactivity(this.validateAfterInactivity);
     return manager;
   }
 
+  // records how long each request waits to lease a connection from the pool
+  private class TimedConnectionRequest implements ConnectionRequest {
+    private final ConnectionRequest delegate;
+
+    public TimedConnectionRequest(final ConnectionRequest delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public HttpClientConnection get(final long timeout, final TimeUnit tunit)
+        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+      final long start = System.nanoTime();
+      try {
+        return this.delegate.get(timeout, tunit);
+      } finally {
+        final long finish = System.nanoTime();
+        recordLease(finish - start);
+        final RequestTimestamps timestamps = ApacheClient.this.currentTimestamps.get();
+        // redirects and retries lease again; only the first lease is reported per request
+        if (timestamps != null && timestamps.connectionLeaseStart == 0) {
+          timestamps.connectionLeaseStart = start;
+          timestamps.connectionLeaseFinish = finish;
+        }
+      }
+    }
+
+    @Override
+    public boolean cancel() {
+      return this.delegate.cancel();
+    }
+  }
+
+  // records when each request has been written to its connection
+  private class TimedRequestExecutor extends HttpRequestExecutor {
+    public TimedRequestExecutor(final int waitForContinue) {
+      super(waitForContinue);
+    }
+
+    @Override
+    protected org.apache.http.HttpResponse doSendRequest(final HttpRequest request,
+        final HttpClientConnection conn, final HttpContext context)
+        throws IOException, HttpException {
+      final org.apache.http.HttpResponse response = super.doSendRequest(request, conn, context);
+      final RequestTimestamps timestamps = ApacheClient.this.currentTimestamps.get();
+      // redirects and retries send again; the response is to the last request sent. Content
+      // awaiting a 100-continue is sent later, and recorded by its entity
+      if (timestamps != null) {
+        timestamps.requestSent = System.nanoTime();
+      }
+      return response;
+    }
+  }
+
+  private void recordLease(final long waitNanos) {
+    this.leases.incrementAndGet();
+    this.leaseWaitNanos.addAndGet(waitNanos);
+    long max = this.maxLeaseWaitNanos.get();
+    while (waitNanos > max && !this.maxLeaseWaitNanos.compareAndSet(max, waitNanos)) {
+      max = this.maxLeaseWaitNanos.get();
+    }
+  }
+
+  /**
+   * Gets the current saturation of this client's workers and connection pool
+   * 
+   * @return saturation stats
+   */
+  public ClientSaturationStats getSaturationStats() {
+    final PoolStats pool = this.connectionManager.getTotalStats();
+    final long queued = this.workers != null ? this.workers.getQueue().size() : 0;
+    return new ClientSaturationStats(queued, pool.getLeased(), pool.getPending(),
+        this.leases.get(), TimeUnit.NANOSECONDS.toMillis(this.leaseWaitNanos.get()),
+        TimeUnit.NANOSECONDS.toMillis(this.maxLeaseWaitNanos.get()), this.blockedRequests.get(),
+        this.shedRequests.get(), this.droppedRequests.get());
+  }
+
   private ConnectionSocketFactory createPlainConnectionSocketFactory() {
     return PlainConnectionSocketFactory.getSocketFactory();
   }
@@ -410,11 +639,39 @@ public class ApacheClient implements Client {
 
   @Override
   public ListenableFuture<Response> execute(final Request request) {
-    // FIXME handle case where execute is called after shutdown
+    return execute(request, 0);
+  }
+
+  @Override
+  public ListenableFuture<Response> execute(final Request request, final long intendedStart) {
     checkNotNull(request);
 
-    final BlockingHttpOperation operation = new BlockingHttpOperation(request);
-    final ListenableFuture<Response> baseFuture = this.executorService.submit(operation);
+    final BlockingHttpOperation operation = new BlockingHttpOperation(request, intendedStart);
+    if (this.admission != null) {
+      if (!admit()) {
+        return Futures.immediateFuture(operation.reject(this.saturationPolicy));
+      }
+      operation.holdPermit();
+    }
+    final ListenableFuture<Response> baseFuture;
+    try {
+      baseFuture = this.executorService.submit(operation);
+    } catch (final RejectedExecutionException e) {
+      // the client was shut down, possibly while this request waited for a worker
+      operation.releasePermit();
+      this.abortedRequestsAtShutdown.incrementAndGet();
+      return Futures.immediateFuture(operation.reject(null));
+    }
+    if (this.admission != null) {
+      // the operation releases its permit when it completes; this covers cancellation before it
+      // starts
+      baseFuture.addListener(new Runnable() {
+        @Override
+        public void run() {
+          operation.releasePermit();
+        }
+      }, MoreExecutors.directExecutor());
+    }
 
     return new ForwardingListenableFuture.SimpleForwardingListenableFuture<Response>(baseFuture) {
       @Override
@@ -425,6 +682,25 @@ public class ApacheClient implements Client {
     };
   }
 
+  // returns true if the request may be submitted to a worker
+  private boolean admit() {
+    if (this.admission.tryAcquire()) {
+      return true;
+    }
+    switch (this.saturationPolicy) {
+      case BLOCK:
+        this.blockedRequests.incrementAndGet();
+        this.admission.acquireUninterruptibly();
+        return true;
+      case SHED:
+        this.shedRequests.incrementAndGet();
+        return false;
+      default:
+        this.droppedRequests.incrementAndGet();
+        return false;
+    }
+  }
+
   private HttpUriRequest createRequest(final AuthenticatedRequest request) {
     final RequestBuilder builder =
         RequestBuilder.create(request.getMethod().toString()).setUri(request.getUri());
@@ -434,7 +710,7 @@ public class ApacheClient implements Client {
     }
 
     if (DataType.NONE != request.getBody().getDataType()) {
-      final AbstractHttpEntity entity = new CustomHttpEntity(request, this.writeThroughput);
+      final AbstractHttpEntity entity = new CustomHttpEntity(request, this.writeThroughput, this.uploadRegions);
       // TODO chunk size for chunked encoding is hardcoded to 2048 bytes. Can only be overridden
       // by implementing a custom connection factory
       entity.setChunked(this.chunkedEncoding);
@@ -454,18 +730,30 @@ public class ApacheClient implements Client {
     return future;
   }
 
+  private void closeRequestLog() {
+    try {
+      this.requestLog.close();
+    } catch (final IOException e) {
+      _logger.error("Error closing request log", e);
+    }
+  }
+
   private Runnable getShutdownRunnable(final SettableFuture<Integer> future,
       final boolean immediate, final int timeout) {
     return new Runnable() {
       @Override
       public void run() {
+        final Integer aborted;
         if (immediate) {
           _logger.info("Immediate shutdown requested");
           closeSockets();
-          future.set(shutdownClient(1));
+          aborted = shutdownClient(1);
         } else {
-          future.set(shutdownClient(timeout));
+          aborted = shutdownClient(timeout);
         }
+        _logger.info("Client saturation at shutdown {}", getSaturationStats());
+        closeRequestLog();
+        future.set(aborted);
       }
 
       private void closeSockets() {
@@ -514,13 +802,14 @@ public class ApacheClient implements Client {
     private AuthenticatedRequest authenticatedRequest;
     private HttpUriRequest apacheRequest;
     private final RequestTimestamps timestamps;
-    private final byte[] buf;
+    private final AtomicBoolean permit;
 
-    public BlockingHttpOperation(final Request request) {
+    public BlockingHttpOperation(final Request request, final long intendedStart) {
       this.request = checkNotNull(request);
       this.timestamps = new RequestTimestamps();
-      // TODO inject buf size from config
-      this.buf = new byte[4096];
+      this.timestamps.submitted = System.nanoTime();
+      this.timestamps.intended = intendedStart != 0 ? intendedStart : this.timestamps.submitted;
+      this.permit = new AtomicBoolean(false);
     }
 
     @Override
@@ -532,12 +821,8 @@ public class ApacheClient implements Client {
           ApacheClient.this.authentication.authenticate(checkNotNull(this.request));
       this.apacheRequest = ApacheClient.this.createRequest(this.authenticatedRequest);
 
-      final HttpResponse.Builder responseBuilder = new HttpResponse.Builder();
-      final String requestId = this.request.getContext().get(Context.X_OG_REQUEST_ID);
-      if (requestId != null) {
-        responseBuilder.withContext(Context.X_OG_REQUEST_ID, requestId);
-      }
-      final Response response;
+      final HttpResponse.Builder responseBuilder = createResponseBuilder();
+      ApacheClient.this.currentTimestamps.set(this.timestamps);
       try {
         _logger.trace("Sending request {}", this.request);
         sendRequest(this.apacheRequest, responseBuilder);
@@ -548,21 +833,67 @@ public class ApacheClient implements Client {
           ApacheClient.this.abortedRequestsAtShutdown.incrementAndGet();
         }
         responseBuilder.withStatusCode(599);
+      } finally {
+        ApacheClient.this.currentTimestamps.remove();
       }
 
+      final Response response = complete(responseBuilder, true);
+      // release before the response is published so that a caller observing it can reuse the
+      // worker
+      releasePermit();
+      return response;
+    }
+
+    public void holdPermit() {
+      this.permit.set(true);
+    }
 
+    public void releasePermit() {
+      if (this.permit.compareAndSet(true, false)) {
+        ApacheClient.this.admission.release();
+      }
+    }
+
+    /**
+     * Completes this operation without sending it
+     * 
+     * @param policy the saturation policy which rejected this operation, or null if the client
+     *        was shut down
+     * @return a response with a 599 status
+     */
+    public Response reject(final SaturationPolicy policy) {
+      this.timestamps.startMillis = System.currentTimeMillis();
+      this.timestamps.start = System.nanoTime();
+
+      final HttpResponse.Builder responseBuilder = createResponseBuilder().withStatusCode(599);
+      if (policy != null) {
+        responseBuilder.withContext(Context.X_OG_CLIENT_SATURATED,
+            policy.toString().toLowerCase(Locale.US));
+      }
+      return complete(responseBuilder, policy != SaturationPolicy.SHED);
+    }
+
+    private HttpResponse.Builder createResponseBuilder() {
+      final HttpResponse.Builder responseBuilder = new HttpResponse.Builder();
+      final String requestId = this.request.getContext().get(Context.X_OG_REQUEST_ID);
+      if (requestId != null) {
+        responseBuilder.withContext(Context.X_OG_REQUEST_ID, requestId);
+      }
+      return responseBuilder;
+    }
+
+    private Response complete(final HttpResponse.Builder responseBuilder, final boolean log) {
       this.timestamps.finish = System.nanoTime();
       this.timestamps.finishMillis = System.currentTimeMillis();
 
       responseBuilder.withRequestTimestamps(this.timestamps);
-      response = responseBuilder.build();
+      final Response response = responseBuilder.build();
       _logger.trace("Received response {}", response);
 
       // do not log requests with 599 response after client shutdown (known aborted requests)
-      if (ApacheClient.this.running || response.getStatusCode() != 599) {
-        final RequestLogEntry entry = new RequestLogEntry(this.request, response,
-            ApacheClient.this.userAgent, this.timestamps);
-        _requestLogger.info(ApacheClient.this.gson.toJson(entry));
+      if (log && (ApacheClient.this.running || response.getStatusCode() != 599)) {
+        ApacheClient.this.requestLog.log(this.request, response, ApacheClient.this.userAgent,
+            this.timestamps);
       }
 
       return response;
@@ -642,10 +973,20 @@ public class ApacheClient implements Client {
 
     private void consumeBytes(final HttpResponse.Builder responseBuilder,
         final InputStream responseContent) throws IOException {
+      // reads larger than the connection's session buffer go straight to the socket
+      byte[] buf = ApacheClient.this.receiveBuffers.poll();
+      if (buf == null) {
+        buf = new byte[ApacheClient.this.receiveBufferSize];
+      }
       long totalBytes = 0;
-      int bytesRead;
-      while ((bytesRead = responseContent.read(this.buf)) > 0) {
-        totalBytes += bytesRead;
+      try {
+        int bytesRead;
+        while ((bytesRead = responseContent.read(buf)) > 0) {
+          totalBytes += bytesRead;
+        }
+      } finally {
+        // dropped if the pool already holds a buffer for every request admitted at once
+        ApacheClient.this.receiveBuffers.offer(buf);
       }
 
       if (totalBytes > 0) {
@@ -670,7 +1011,10 @@ public class ApacheClient implements Client {
             + "keyPassword=%s,%n" + "trustStore=%s,%n" + "trustStorePassword=%s,%n"
             + "trustSelfSignedCertificates=%s,%n" + "dnsCacheTtl=%s,%n"
             + "dnsCacheNegativeTtl=%s,%n" + "authentication=%s,%n" + "userAgent=%s,%n"
-            + "writeThroughput=%s,%n" + "readThroughput=%s,%n" + "responseBodyConsumers=%s%n]",
+            + "writeThroughput=%s,%n" + "readThroughput=%s,%n" + "responseBodyConsumers=%s,%n"
+            + "virtualThreads=%s,%n" + "maxWorkers=%s,%n" + "maxQueuedRequests=%s,%n"
+            + "maxConnections=%s,%n" + "saturationPolicy=%s,%n" + "receiveBufferSize=%s,%n"
+            + "uploadRegionSize=%s,%n" + "requestLog=%s%n]",
         this.connectTimeout, this.soTimeout, this.soReuseAddress, this.soLinger, this.soKeepAlive,
         this.tcpNoDelay, this.soSndBuf, this.soRcvBuf, this.persistentConnections,
         this.validateAfterInactivity, this.maxIdleTime, this.chunkedEncoding, this.expectContinue,
@@ -678,7 +1022,9 @@ public class ApacheClient implements Client {
         this.cipherSuites, this.keyStore, this.keyStorePassword, this.keyPassword, this.trustStore,
         this.trustStorePassword, this.trustSelfSignedCertificates, this.dnsCacheTtl,
         this.dnsCacheNegativeTtl, this.authentication, this.userAgent, this.writeThroughput,
-        this.readThroughput, this.responseBodyConsumers);
+        this.readThroughput, this.responseBodyConsumers, this.virtualThreads, this.maxWorkers,
+        this.maxQueuedRequests, this.maxConnections, this.saturationPolicy,
+        this.receiveBufferSize, this.uploadRegionSize, this.requestLog);
   }
 
   /**
@@ -716,6 +1062,14 @@ public class ApacheClient implements Client {
     private long writeThroughput;
     private long readThroughput;
     private final Map<String, ResponseBodyConsumer> responseBodyConsumers;
+    private RequestLog requestLog;
+    private boolean virtualThreads;
+    private int maxWorkers;
+    private int maxQueuedRequests;
+    private int maxConnections;
+    private SaturationPolicy saturationPolicy;
+    private int receiveBufferSize;
+    private int uploadRegionSize;
 
     /**
      * Constructs a new builder
@@ -751,6 +1105,14 @@ public class ApacheClient implements Client {
       this.writeThroughput = 0;
       this.readThroughput = 0;
       this.responseBodyConsumers = Maps.newHashMap();
+      this.requestLog = new JsonRequestLog();
+      this.virtualThreads = false;
+      this.maxWorkers = 0;
+      this.maxQueuedRequests = 0;
+      this.maxConnections = 0;
+      this.saturationPolicy = SaturationPolicy.BLOCK;
+      this.receiveBufferSize = 16384;
+      this.uploadRegionSize = 1048576;
     }
 
     /**
@@ -1106,6 +1468,105 @@ public class ApacheClient implements Client {
       return this;
     }
 
+    /**
+     * Configures where completed requests are logged. The client closes its request log once it
+     * is shut down
+     * 
+     * @param requestLog the request log
+     * @return this builder
+     */
+    public Builder withRequestLog(final RequestLog requestLog) {
+      this.requestLog = requestLog;
+      return this;
+    }
+
+    /**
+     * Configures whether requests are executed on a new virtual thread per request rather than on a
+     * pool of platform threads. Virtual threads require a Java 21 or later runtime
+     * 
+     * @param virtualThreads whether to execute requests on virtual threads
+     * @return this builder
+     */
+    public Builder usingVirtualThreads(final boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+      return this;
+    }
+
+    /**
+     * Configures the maximum number of requests executed concurrently. A value of zero is
+     * interpreted as unbounded, with a new worker started whenever none is free
+     * 
+     * @param maxWorkers the maximum number of concurrent requests
+     * @return this builder
+     */
+    public Builder withMaxWorkers(final int maxWorkers) {
+      this.maxWorkers = maxWorkers;
+      return this;
+    }
+
+    /**
+     * Configures the number of requests which may wait for a free worker before the saturation
+     * policy is applied. Only applicable when maxWorkers is configured
+     * 
+     * @param maxQueuedRequests the maximum number of waiting requests
+     * @return this builder
+     */
+    public Builder withMaxQueuedRequests(final int maxQueuedRequests) {
+      this.maxQueuedRequests = maxQueuedRequests;
+      return this;
+    }
+
+    /**
+     * Configures the maximum number of open connections, both in total and per host. Requests wait
+     * for a connection to be returned to the pool once the limit is reached. A value of zero is
+     * interpreted as unbounded
+     * 
+     * @param maxConnections the maximum number of connections
+     * @return this builder
+     */
+    public Builder withMaxConnections(final int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    /**
+     * Configures what happens to a request when every worker is busy and the request queue is
+     * full
+     * 
+     * @param saturationPolicy the saturation policy
+     * @return this builder
+     */
+    public Builder withSaturationPolicy(final SaturationPolicy saturationPolicy) {
+      this.saturationPolicy = saturationPolicy;
+      return this;
+    }
+
+    /**
+     * Configures the size of the pooled buffers requests drain response bodies into. Buffers
+     * larger than the connection's 8 KiB session buffer are filled directly from the socket
+     * 
+     * @param receiveBufferSize receive buffer size, in bytes
+     * @return this builder
+     */
+    public Builder withReceiveBufferSize(final int receiveBufferSize) {
+      this.receiveBufferSize = receiveBufferSize;
+      return this;
+    }
+
+    /**
+     * Configures the size of the region unthrottled zeroes and custom request content is written
+     * from. Content is written to the connection in pieces of up to this size, each bypassing the
+     * connection's session buffer; random content is written from a per worker region of up to
+     * 64 KiB
+     * 
+     * @param uploadRegionSize upload region size, in bytes
+     * @return this builder
+     */
+    public Builder withUploadRegionSize(final int uploadRegionSize) {
+      this.uploadRegionSize = uploadRegionSize;
+      return this;
+    }
+
     /**
      * Constructs a new apache client instance
      * 
@@ -1113,7 +1574,13 @@ public class ApacheClient implements Client {
      * @throws IllegalArgumentException if connectTimeout, soTimeout, writeThroughput, or
      *         readThroughput are negative
      * @throws IllegalArgumentException if soLinger is less than {@code -1}
-     * @throws IllegalArgumentException if waitForContinue is negative or zero
+     * @throws IllegalArgumentException if waitForContinue, receiveBufferSize or uploadRegionSize
+     *         is negative or zero
+     * @throws IllegalArgumentException if virtualThreads is true and the runtime does not support
+     *         virtual threads
+     * @throws IllegalArgumentException if maxWorkers, maxQueuedRequests or maxConnections is
+     *         negative, or if maxQueuedRequests is positive and maxWorkers is zero
+     * @throws NullPointerException if saturationPolicy or requestLog is null
      */
     public ApacheClient build() {
       return new ApacheClient(this);
@@ -0,0 +1,303 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+
+/**
+ * A request log which hands each request to a background writer through a lock free ring buffer,
+ * and writes it in the compact binary format described by {@link RequestLogCodec}. The calling
+ * thread only copies the request's timestamps and references into a preallocated slot; building
+ * the log entry and encoding it happen on the writer thread. When the ring is full, callers wait
+ * for the writer rather than discard records.
+ * <p>
+ * Use {@link #convert(InputStream, Writer)} to turn a binary request log into the json lines
+ * {@link JsonRequestLog} writes.
+ *
+ * @since 1.12.0
+ */
+public class BinaryRequestLog implements RequestLog {
+  private static final Logger _logger = LoggerFactory.getLogger(BinaryRequestLog.class);
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final int OUTPUT_BUFFER_SIZE = 262144;
+  private final File file;
+  private final Set<String> fields;
+  private final Slot[] ring;
+  private final int mask;
+  // the next sequence a caller will claim
+  private final AtomicLong claimed;
+  // the next sequence the writer will consume
+  private final AtomicLong consumed;
+  // callers between checking for close and publishing their slot
+  private final AtomicInteger publishing;
+  private final AtomicLong fullWaits;
+  private final OutputStream out;
+  private final RequestLogCodec.Encoder encoder;
+  private final Thread writer;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  /**
+   * Creates a binary request log which logs every field and starts its writer thread
+   *
+   * @param file the file to write, which is truncated
+   * @param capacity the number of requests the ring buffer holds, rounded up to a power of two
+   * @throws NullPointerException if file is null
+   * @throws IllegalArgumentException if capacity is not positive or greater than 2^30
+   * @throws IOException if the file cannot be created
+   */
+  public BinaryRequestLog(final File file, final int capacity) throws IOException {
+    this(file, capacity, Collections.<String>emptySet());
+  }
+
+  /**
+   * Creates a binary request log which logs only the selected fields and starts its writer thread
+   *
+   * @param file the file to write, which is truncated
+   * @param capacity the number of requests the ring buffer holds, rounded up to a power of two
+   * @param fields the names of the top level json fields to log, or an empty set to log every
+   *        field
+   * @throws NullPointerException if file or fields is null
+   * @throws IllegalArgumentException if capacity is not positive or greater than 2^30, or fields
+   *         contains a name which is not a request log field
+   * @throws IOException if the file cannot be created
+   */
+  public BinaryRequestLog(final File file, final int capacity, final Set<String> fields)
+      throws IOException {
+    this.file = checkNotNull(file);
+    this.fields = RequestLogEntry.checkFields(fields);
+    checkArgument(capacity > 0 && capacity <= 1 << 30, "capacity must be in range [1, %s] [%s]",
+        1 << 30, capacity);
+    final int size = Integer.highestOneBit(capacity) == capacity ? capacity
+        : Integer.highestOneBit(capacity) << 1;
+    this.ring = new Slot[size];
+    for (int i = 0; i < size; i++) {
+      this.ring[i] = new Slot();
+    }
+    this.mask = size - 1;
+    this.claimed = new AtomicLong();
+    this.consumed = new AtomicLong();
+    this.publishing = new AtomicInteger();
+    this.fullWaits = new AtomicLong();
+    this.out = new BufferedOutputStream(new FileOutputStream(file), OUTPUT_BUFFER_SIZE);
+    this.encoder = new RequestLogCodec.Encoder(this.out, this.fields);
+    this.writer = new Thread(new Drain(), "request-log-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  @Override
+  public void log(final Request request, final Response response, final String userAgent,
+      final RequestTimestamps timestamps) {
+    // the writer does not stop while a caller which saw the log open is publishing
+    this.publishing.incrementAndGet();
+    try {
+      if (this.closed) {
+        return;
+      }
+      final long sequence = this.claimed.getAndIncrement();
+      if (sequence - this.consumed.get() >= this.ring.length) {
+        this.fullWaits.incrementAndGet();
+        while (sequence - this.consumed.get() >= this.ring.length) {
+          if (!this.writer.isAlive()) {
+            return;
+          }
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+      final Slot slot = this.ring[(int) (sequence & this.mask)];
+      slot.request = request;
+      slot.response = response;
+      slot.userAgent = userAgent;
+      copy(timestamps, slot.timestamps);
+      // publishes the slot's fields to the writer
+      slot.sequence.lazySet(sequence);
+    } finally {
+      this.publishing.decrementAndGet();
+    }
+  }
+
+  private static void copy(final RequestTimestamps from, final RequestTimestamps to) {
+    to.intended = from.intended;
+    to.submitted = from.submitted;
+    to.startMillis = from.startMillis;
+    to.start = from.start;
+    to.connectionLeaseStart = from.connectionLeaseStart;
+    to.connectionLeaseFinish = from.connectionLeaseFinish;
+    to.connectFinish = from.connectFinish;
+    to.requestContentStart = from.requestContentStart;
+    to.requestContentFinish = from.requestContentFinish;
+    to.requestSent = from.requestSent;
+    to.responseContentStart = from.responseContentStart;
+    to.responseContentFirstBytes = from.responseContentFirstBytes;
+    to.responseContentFinish = from.responseContentFinish;
+    to.finish = from.finish;
+    to.finishMillis = from.finishMillis;
+  }
+
+  /**
+   * Waits for the writer to drain every record logged before this call, and every record of a
+   * concurrent call which found the log still open, then closes the file
+   *
+   * @throws IOException if the writer failed to write a record or the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      this.writer.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while closing binary request log", e);
+    }
+    if (this.fullWaits.get() > 0) {
+      _logger.info("Callers waited for a full request log ring [{}] times", this.fullWaits.get());
+    }
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  /**
+   * @return the number of times a caller found the ring buffer full and waited for the writer
+   */
+  public long getFullWaits() {
+    return this.fullWaits.get();
+  }
+
+  /**
+   * Converts a binary request log into json lines, one per request
+   *
+   * @param in the binary request log
+   * @param out the writer to write json lines to
+   * @return the number of requests converted
+   * @throws IOException if the input is not a valid binary request log or an error occurs while
+   *         reading or writing
+   */
+  public static long convert(final InputStream in, final Writer out) throws IOException {
+    final RequestLogCodec.Decoder decoder =
+        new RequestLogCodec.Decoder(new BufferedInputStream(in));
+    long records = 0;
+    while (decoder.decode(out)) {
+      records++;
+    }
+    out.flush();
+    return records;
+  }
+
+  private static final class Slot {
+    private final AtomicLong sequence;
+    private final RequestTimestamps timestamps;
+    private Request request;
+    private Response response;
+    private String userAgent;
+
+    public Slot() {
+      this.sequence = new AtomicLong(-1);
+      this.timestamps = new RequestTimestamps();
+    }
+  }
+
+  private final class Drain implements Runnable {
+    @Override
+    public void run() {
+      final BinaryRequestLog log = BinaryRequestLog.this;
+      long next = 0;
+      boolean unflushed = false;
+      try {
+        while (true) {
+          final Slot slot = log.ring[(int) (next & log.mask)];
+          if (slot.sequence.get() == next) {
+            if (log.failure == null) {
+              write(slot);
+              unflushed = true;
+            }
+            slot.request = null;
+            slot.response = null;
+            slot.userAgent = null;
+            next++;
+            log.consumed.lazySet(next);
+          } else if (log.closed && log.publishing.get() == 0 && next == log.claimed.get()) {
+            break;
+          } else {
+            // flush whenever the ring is idle, so little is lost if the process dies
+            if (unflushed) {
+              flush();
+              unflushed = false;
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+          }
+        }
+      } finally {
+        try {
+          log.out.close();
+        } catch (final IOException e) {
+          fail(e);
+        }
+      }
+    }
+
+    private void write(final Slot slot) {
+      try {
+        final RequestLogEntry entry = new RequestLogEntry(slot.request, slot.response,
+            slot.userAgent, slot.timestamps);
+        BinaryRequestLog.this.encoder.encode(entry, slot.timestamps);
+      } catch (final IOException e) {
+        fail(e);
+      } catch (final RuntimeException e) {
+        _logger.error("Error creating request log entry", e);
+      }
+    }
+
+    private void flush() {
+      try {
+        BinaryRequestLog.this.out.flush();
+      } catch (final IOException e) {
+        fail(e);
+      }
+    }
+
+    // records are discarded after a write error so that callers never block on a failed writer
+    private void fail(final IOException e) {
+      if (BinaryRequestLog.this.failure == null) {
+        _logger.error("Error writing binary request log", e);
+        BinaryRequestLog.this.failure = e;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BinaryRequestLog [file=%s, capacity=%s, fields=%s]", this.file,
+        this.ring.length, this.fields);
+  }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+/**
+ * Describes how close a client is to its worker and connection limits. Queue and connection
+ * counts are sampled when the instance is created; the remaining values are totals since the
+ * client was created
+ *
+ * @since 1.12.0
+ */
+public final class ClientSaturationStats {
+  private final long queuedRequests;
+  private final long leasedConnections;
+  private final long pendingConnections;
+  private final long leases;
+  private final long leaseWaitMillis;
+  private final long maxLeaseWaitMillis;
+  private final long blockedRequests;
+  private final long shedRequests;
+  private final long droppedRequests;
+
+  /**
+   * Creates an instance
+   *
+   * @param queuedRequests requests accepted by the client but not yet started by a worker
+   * @param leasedConnections connections currently leased from the pool
+   * @param pendingConnections requests currently waiting to lease a connection
+   * @param leases the number of connections leased
+   * @param leaseWaitMillis the total time spent waiting to lease a connection
+   * @param maxLeaseWaitMillis the longest time spent waiting to lease a connection
+   * @param blockedRequests requests which waited for a free worker before being accepted
+   * @param shedRequests requests discarded because every worker was busy
+   * @param droppedRequests requests recorded as failed because every worker was busy
+   */
+  public ClientSaturationStats(final long queuedRequests, final long leasedConnections,
+      final long pendingConnections, final long leases, final long leaseWaitMillis,
+      final long maxLeaseWaitMillis, final long blockedRequests, final long shedRequests,
+      final long droppedRequests) {
+    this.queuedRequests = queuedRequests;
+    this.leasedConnections = leasedConnections;
+    this.pendingConnections = pendingConnections;
+    this.leases = leases;
+    this.leaseWaitMillis = leaseWaitMillis;
+    this.maxLeaseWaitMillis = maxLeaseWaitMillis;
+    this.blockedRequests = blockedRequests;
+    this.shedRequests = shedRequests;
+    this.droppedRequests = droppedRequests;
+  }
+
+  public long getQueuedRequests() {
+    return this.queuedRequests;
+  }
+
+  public long getLeasedConnections() {
+    return this.leasedConnections;
+  }
+
+  public long getPendingConnections() {
+    return this.pendingConnections;
+  }
+
+  public long getLeases() {
+    return this.leases;
+  }
+
+  public long getLeaseWaitMillis() {
+    return this.leaseWaitMillis;
+  }
+
+  public long getMaxLeaseWaitMillis() {
+    return this.maxLeaseWaitMillis;
+  }
+
+  public long getBlockedRequests() {
+    return this.blockedRequests;
+  }
+
+  public long getShedRequests() {
+    return this.shedRequests;
+  }
+
+  public long getDroppedRequests() {
+    return this.droppedRequests;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ClientSaturationStats [queuedRequests=%s, leasedConnections=%s, pendingConnections=%s, "
+            + "leases=%s, leaseWaitMillis=%s, maxLeaseWaitMillis=%s, blockedRequests=%s, "
+            + "shedRequests=%s, droppedRequests=%s]",
+        this.queuedRequests, this.leasedConnections, this.pendingConnections, this.leases,
+        this.leaseWaitMillis, this.maxLeaseWaitMillis, this.blockedRequests, this.shedRequests,
+        this.droppedRequests);
+  }
+}
@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import com.ibm.og.util.io.PatternInputStream;
+import com.ibm.og.util.io.PatternRegion;
 import com.ibm.og.util.io.Streams;
 import org.apache.http.entity.AbstractHttpEntity;
 
@@ -26,14 +28,30 @@ import com.google.common.io.ByteStreams;
 public class CustomHttpEntity extends AbstractHttpEntity {
   private final AuthenticatedRequest request;
   private final long writeThroughput;
+  private final PatternRegions regions;
   private long requestContentStart;
   private long requestContentFinish;
 
   public CustomHttpEntity(final AuthenticatedRequest request, final long writeThroughput) {
+    this(request, writeThroughput, null);
+  }
+
+  /**
+   * Creates an entity which, when unthrottled, writes pattern content directly from a region
+   * supplied by {@code regions}
+   *
+   * @param request the request whose content to send
+   * @param writeThroughput maximum write throughput in bytes per second, or zero for unlimited
+   * @param regions the source of content regions, or null to always copy through the stream
+   * @since 1.12.0
+   */
+  CustomHttpEntity(final AuthenticatedRequest request, final long writeThroughput,
+      final PatternRegions regions) {
     this.request = checkNotNull(request);
     checkArgument(writeThroughput >= 0, "writeThroughput must be >= 0 [%s]",
         writeThroughput);
     this.writeThroughput = writeThroughput;
+    this.regions = regions;
   }
 
   @Override
@@ -67,7 +85,14 @@ public class CustomHttpEntity extends AbstractHttpEntity {
     }
 
     this.requestContentStart = System.nanoTime();
-    ByteStreams.copy(in, out);
+    final PatternRegion region =
+        this.writeThroughput == 0 && this.regions != null ? this.regions.get(in) : null;
+    if (region != null) {
+      final PatternInputStream pattern = (PatternInputStream) in;
+      region.writeTo(out, pattern.getPosition(), pattern.getSize() - pattern.getPosition());
+    } else {
+      ByteStreams.copy(in, out);
+    }
     this.requestContentFinish = System.nanoTime();
     in.close();
   }
@@ -0,0 +1,101 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+
+/**
+ * A request log which serializes each request as a json line to the {@code RequestLogger} logger
+ * on the calling thread
+ *
+ * @since 1.12.0
+ */
+public class JsonRequestLog implements RequestLog {
+  private static final Logger _requestLogger = LoggerFactory.getLogger("RequestLogger");
+  private final Set<String> fields;
+  private final Gson gson;
+
+  /**
+   * Creates an instance which logs every field
+   */
+  public JsonRequestLog() {
+    this(Collections.<String>emptySet());
+  }
+
+  /**
+   * Creates an instance which logs only the selected fields
+   *
+   * @param fields the names of the top level json fields to log, or an empty set to log every
+   *        field
+   * @throws NullPointerException if fields is null
+   * @throws IllegalArgumentException if fields contains a name which is not a request log field
+   */
+  public JsonRequestLog(final Set<String> fields) {
+    this.fields = RequestLogEntry.checkFields(fields);
+    final GsonBuilder builder = ApacheClient.createGsonBuilder();
+    if (!this.fields.isEmpty()) {
+      final ImmutableSet.Builder<String> excluded = ImmutableSet.builder();
+      for (final Map.Entry<String, Field> field : RequestLogEntry.FIELDS.entrySet()) {
+        if (!this.fields.contains(field.getKey())) {
+          excluded.add(field.getValue().getName());
+        }
+      }
+      builder.setExclusionStrategies(new ProjectionStrategy(excluded.build()));
+    }
+    this.gson = builder.create();
+  }
+
+  @Override
+  public void log(final Request request, final Response response, final String userAgent,
+      final RequestTimestamps timestamps) {
+    _requestLogger.info(toJson(new RequestLogEntry(request, response, userAgent, timestamps)));
+  }
+
+  String toJson(final RequestLogEntry entry) {
+    return this.gson.toJson(entry);
+  }
+
+  @Override
+  public void close() {}
+
+  private static final class ProjectionStrategy implements ExclusionStrategy {
+    private final Set<String> excluded;
+
+    public ProjectionStrategy(final Set<String> excluded) {
+      this.excluded = excluded;
+    }
+
+    @Override
+    public boolean shouldSkipField(final FieldAttributes f) {
+      return f.getDeclaringClass() == RequestLogEntry.class && this.excluded.contains(f.getName());
+    }
+
+    @Override
+    public boolean shouldSkipClass(final Class<?> clazz) {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("JsonRequestLog [fields=%s]", this.fields);
+  }
+}
@@ -0,0 +1,1926 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.Security;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ForwardingListenableFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.ibm.og.api.AuthenticatedRequest;
+import com.ibm.og.api.Client;
+import com.ibm.og.api.DataType;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpAuth;
+import com.ibm.og.http.HttpResponse;
+import com.ibm.og.http.NoneAuth;
+import com.ibm.og.http.ResponseBodyConsumer;
+import com.ibm.og.util.Context;
+import com.ibm.og.util.io.PatternInputStream;
+import com.ibm.og.util.io.PatternRegion;
+
+/**
+ * A {@code Client} implementation which multiplexes requests over non-blocking sockets using a
+ * small, fixed set of I/O threads rather than a thread per request. Each I/O thread owns a
+ * selector, the connections it has opened and a pool of idle persistent connections per host.
+ * Requests are assigned to I/O threads in turn.
+ * <p>
+ * Request timestamps, response body consumers, retries, redirects and request log entries follow
+ * {@link ApacheClient}. Response bodies for which a consumer is configured are buffered and handed
+ * to the consumer once received in full; all other response bodies are counted and discarded.
+ * Only the http scheme is supported.
+ * <p>
+ * I/O threads never block on anything but their selector. Requests are authenticated and their
+ * host resolved on the submitting thread, redirect targets are resolved on a completion thread,
+ * and response body consumers, request log entries and the completion of response futures, with
+ * any callbacks registered on them, run on a separate pool of completion threads.
+ *
+ * @since 1.12.0
+ */
+public class NioClient implements Client {
+  private static final Logger _logger = LoggerFactory.getLogger(NioClient.class);
+  // granularity of timeout, throttling and idle connection checks
+  private static final long SWEEP_MILLIS = 10;
+  private static final int BUFFER_SIZE = 16384;
+  private static final int MAX_LINE_LENGTH = 65536;
+  private static final int MAX_REDIRECTS = 50;
+  private static final byte[] CRLF = "\r\n".getBytes(Charsets.ISO_8859_1);
+  private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(Charsets.ISO_8859_1);
+  private static final byte[] CRLF_LAST_CHUNK = "\r\n0\r\n\r\n".getBytes(Charsets.ISO_8859_1);
+  private final int connectTimeout;
+  private final int soTimeout;
+  private final boolean soReuseAddress;
+  private final int soLinger;
+  private final boolean soKeepAlive;
+  private final boolean tcpNoDelay;
+  private final int soSndBuf;
+  private final int soRcvBuf;
+  private final boolean persistentConnections;
+  private final int maxIdleTime;
+  private final boolean chunkedEncoding;
+  private final boolean expectContinue;
+  private final int waitForContinue;
+  private final int retryCount;
+  private final boolean requestSentRetry;
+  private final int dnsCacheTtl;
+  private final int dnsCacheNegativeTtl;
+  private final HttpAuth authentication;
+  private final String userAgent;
+  private final long writeThroughput;
+  private final long readThroughput;
+  private final Map<String, ResponseBodyConsumer> responseBodyConsumers;
+  private final int ioThreads;
+  private final int completionThreads;
+  private final int receiveBufferSize;
+  private final boolean directReceiveBuffers;
+  private final int uploadRegionSize;
+  private final PatternRegion.Type uploadRegionType;
+  // unthrottled request content is written from these rather than copied through its stream
+  private final PatternRegions uploadRegions;
+  private volatile boolean running;
+  private final AtomicInteger abortedRequestsAtShutdown;
+  private final AtomicInteger activeRequests;
+  private final ReentrantLock shutdownLock;
+  private final Condition requestsComplete;
+  private final Reactor[] reactors;
+  private final AtomicInteger nextReactor;
+  // consumes response bodies and completes response futures off the I/O threads
+  private final ThreadPoolExecutor completions;
+  private final RequestLog requestLog;
+
+  private NioClient(final Builder builder) {
+    this.connectTimeout = builder.connectTimeout;
+    this.soTimeout = builder.soTimeout;
+    this.soReuseAddress = builder.soReuseAddress;
+    this.soLinger = builder.soLinger;
+    this.soKeepAlive = builder.soKeepAlive;
+    this.tcpNoDelay = builder.tcpNoDelay;
+    this.soSndBuf = builder.soSndBuf;
+    this.soRcvBuf = builder.soRcvBuf;
+    this.persistentConnections = builder.persistentConnections;
+    this.maxIdleTime = builder.maxIdleTime;
+    this.chunkedEncoding = builder.chunkedEncoding;
+    this.expectContinue = builder.expectContinue;
+    this.waitForContinue = builder.waitForContinue;
+    this.retryCount = builder.retryCount;
+    this.requestSentRetry = builder.requestSentRetry;
+    this.dnsCacheTtl = builder.dnsCacheTtl;
+    this.dnsCacheNegativeTtl = builder.dnsCacheNegativeTtl;
+    this.authentication = checkNotNull(builder.authentication);
+    this.userAgent = builder.userAgent;
+    this.writeThroughput = builder.writeThroughput;
+    this.readThroughput = builder.readThroughput;
+    this.responseBodyConsumers = ImmutableMap.copyOf(builder.responseBodyConsumers);
+    this.requestLog = checkNotNull(builder.requestLog);
+    this.ioThreads = builder.ioThreads > 0 ? builder.ioThreads
+        : Runtime.getRuntime().availableProcessors();
+    this.completionThreads = builder.completionThreads > 0 ? builder.completionThreads
+        : Runtime.getRuntime().availableProcessors();
+    this.receiveBufferSize = builder.receiveBufferSize;
+    this.directReceiveBuffers = builder.directReceiveBuffers;
+    this.uploadRegionSize = builder.uploadRegionSize;
+    this.uploadRegionType = checkNotNull(builder.uploadRegionType);
+
+    // perform checks on instance fields rather than builder fields
+    checkArgument(this.connectTimeout >= 0, "connectTimeout must be >= 0 [%s]",
+        this.connectTimeout);
+    checkArgument(this.soTimeout >= 0, "soTimeout must be >= 0 [%s]", this.soTimeout);
+    checkArgument(this.soLinger >= -1, "soLinger must be >= -1 [%s]", this.soLinger);
+    checkArgument(this.soSndBuf >= 0, "soSndBuf must be >= 0 [%s]", this.soSndBuf);
+    checkArgument(this.soRcvBuf >= 0, "soRcvBuf must be >= 0 [%s]", this.soRcvBuf);
+    checkArgument(this.maxIdleTime > 0, "maxIdleTime must be > 0 [%s]", this.maxIdleTime);
+    checkArgument(this.waitForContinue > 0, "waitForContinue must be > 0 [%s]",
+        this.waitForContinue);
+    checkArgument(this.retryCount >= 0, "retryCount must be >= 0 [%s]", this.retryCount);
+    checkArgument(this.dnsCacheTtl >= -1, "dnsCacheTtl must be >= -1 [%s]", this.dnsCacheTtl);
+    checkArgument(this.dnsCacheNegativeTtl >= -1, "dnsCacheNegativeTtl must be >= -1 [%s]",
+        this.dnsCacheNegativeTtl);
+    checkArgument(this.writeThroughput >= 0, "writeThroughput must be >= 0 [%s]",
+        this.writeThroughput);
+    checkArgument(this.readThroughput >= 0, "readThroughput must be >= 0 [%s]",
+        this.readThroughput);
+    checkArgument(builder.ioThreads >= 0, "ioThreads must be >= 0 [%s]", builder.ioThreads);
+    checkArgument(builder.completionThreads >= 0, "completionThreads must be >= 0 [%s]",
+        builder.completionThreads);
+    checkArgument(this.receiveBufferSize > 0, "receiveBufferSize must be > 0 [%s]",
+        this.receiveBufferSize);
+    checkArgument(this.uploadRegionSize > 0, "uploadRegionSize must be > 0 [%s]",
+        this.uploadRegionSize);
+    // random content is tiled into each exchange's own chunk buffer
+    this.uploadRegions =
+        new PatternRegions(this.uploadRegionSize, this.uploadRegionType, BUFFER_SIZE);
+
+    Security.setProperty("networkaddress.cache.ttl", String.valueOf(this.dnsCacheTtl));
+    Security.setProperty("networkaddress.cache.negative.ttl",
+        String.valueOf(this.dnsCacheNegativeTtl));
+
+    this.running = true;
+    this.abortedRequestsAtShutdown = new AtomicInteger();
+    this.activeRequests = new AtomicInteger();
+    this.shutdownLock = new ReentrantLock();
+    this.requestsComplete = this.shutdownLock.newCondition();
+    this.nextReactor = new AtomicInteger();
+    this.completions = new ThreadPoolExecutor(this.completionThreads, this.completionThreads, 0,
+        TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactoryBuilder()
+            .setNameFormat("nio-client-completion-%d").setDaemon(true).build());
+
+    final ThreadFactory fac =
+        new ThreadFactoryBuilder().setNameFormat("nio-client-%d").setDaemon(true).build();
+    this.reactors = new Reactor[this.ioThreads];
+    for (int i = 0; i < this.ioThreads; i++) {
+      this.reactors[i] = new Reactor();
+      this.reactors[i].thread = fac.newThread(this.reactors[i]);
+    }
+    for (final Reactor reactor : this.reactors) {
+      reactor.thread.start();
+    }
+  }
+
+  @Override
+  public ListenableFuture<Response> execute(final Request request) {
+    return execute(request, 0);
+  }
+
+  @Override
+  public ListenableFuture<Response> execute(final Request request, final long intendedStart) {
+    checkNotNull(request);
+    final Reactor reactor =
+        this.reactors[(this.nextReactor.getAndIncrement() & Integer.MAX_VALUE) % this.ioThreads];
+    final Exchange exchange = new Exchange(reactor, request, intendedStart);
+    exchange.prepare();
+
+    this.activeRequests.incrementAndGet();
+    try {
+      reactor.submit(new Runnable() {
+        @Override
+        public void run() {
+          exchange.start();
+        }
+      });
+    } catch (final RejectedExecutionException e) {
+      this.activeRequests.decrementAndGet();
+      throw e;
+    }
+
+    return new ForwardingListenableFuture.SimpleForwardingListenableFuture<Response>(
+        exchange.future) {
+      @Override
+      public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = delegate().cancel(mayInterruptIfRunning);
+        try {
+          reactor.submit(new Runnable() {
+            @Override
+            public void run() {
+              exchange.abort();
+            }
+          });
+        } catch (final RejectedExecutionException e) {
+          // the client has shut down and has already aborted this request
+        }
+        return cancelled;
+      }
+    };
+  }
+
+  @Override
+  public ListenableFuture<Integer> shutdown(final boolean immediate, final int timeout) {
+    final SettableFuture<Integer> future = SettableFuture.create();
+    final Thread t = new Thread(getShutdownRunnable(future, immediate, timeout));
+    t.setName("client-shutdown");
+    this.running = false;
+    t.start();
+    return future;
+  }
+
+  private void closeRequestLog() {
+    try {
+      this.requestLog.close();
+    } catch (final IOException e) {
+      _logger.error("Error closing request log", e);
+    }
+  }
+
+  private Runnable getShutdownRunnable(final SettableFuture<Integer> future,
+      final boolean immediate, final int timeout) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        try {
+          if (immediate) {
+            _logger.info("Immediate shutdown requested");
+            abortRequests();
+          } else {
+            _logger.info("Awaiting completion of client requests for {} seconds", timeout);
+            if (!awaitRequests(TimeUnit.SECONDS.toNanos(timeout))) {
+              _logger.warn("Forcing connections to close");
+              abortRequests();
+            }
+          }
+          closeReactors();
+        } catch (final InterruptedException e) {
+          _logger.error("Interrupted while waiting for client requests to complete", e);
+          closeRequestLog();
+          future.set(-1);
+          return;
+        }
+        _logger.info("Client is shutdown, requests aborted [{}]",
+            NioClient.this.abortedRequestsAtShutdown.get());
+        closeRequestLog();
+        future.set(NioClient.this.abortedRequestsAtShutdown.get());
+      }
+
+      private void abortRequests() throws InterruptedException {
+        for (final Reactor reactor : NioClient.this.reactors) {
+          try {
+            reactor.submit(new Runnable() {
+              @Override
+              public void run() {
+                for (final Exchange exchange : Lists.newArrayList(reactor.active)) {
+                  exchange.abort();
+                }
+              }
+            });
+          } catch (final RejectedExecutionException e) {
+            // already shut down, closing the reactor aborted its requests
+          }
+        }
+        if (!awaitRequests(TimeUnit.SECONDS.toNanos(1))) {
+          _logger.warn("Requests remain outstanding after abort [{}]",
+              NioClient.this.activeRequests.get());
+        }
+      }
+
+      private void closeReactors() throws InterruptedException {
+        for (final Reactor reactor : NioClient.this.reactors) {
+          reactor.close();
+        }
+        for (final Reactor reactor : NioClient.this.reactors) {
+          reactor.thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        // completions already queued still run, so every response future is completed
+        NioClient.this.completions.shutdown();
+        NioClient.this.completions.awaitTermination(1, TimeUnit.SECONDS);
+      }
+    };
+  }
+
+  private boolean awaitRequests(final long timeoutNanos) throws InterruptedException {
+    long nanos = timeoutNanos;
+    this.shutdownLock.lock();
+    try {
+      while (this.activeRequests.get() > 0) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = this.requestsComplete.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      this.shutdownLock.unlock();
+    }
+  }
+
+  private void requestComplete() {
+    if (this.activeRequests.decrementAndGet() == 0 && !this.running) {
+      this.shutdownLock.lock();
+      try {
+        this.requestsComplete.signalAll();
+      } finally {
+        this.shutdownLock.unlock();
+      }
+    }
+  }
+
+  // nanoTime at which transferring want more bytes keeps within rate, or 0 if they may be sent now
+  private static long throttle(final long rate, final long start, final long transferred,
+      final long want, final long now) {
+    final double due = start + (transferred + want) * (double) TimeUnit.SECONDS.toNanos(1) / rate;
+    return now >= due ? 0 : (long) Math.ceil(due);
+  }
+
+  private static int throttleChunk(final long rate) {
+    // pace in steps of roughly 1/20th of a second
+    return (int) Math.max(1, Math.min(BUFFER_SIZE, rate / 20));
+  }
+
+  /**
+   * An I/O thread; all state of the connections and exchanges owned by a reactor is confined to
+   * its thread, other threads interact with it by submitting tasks
+   */
+  private final class Reactor implements Runnable {
+    private final Selector selector;
+    private final Queue<Runnable> tasks;
+    private final Map<String, Deque<Connection>> idle;
+    private final Set<Exchange> active;
+    private volatile boolean closed;
+    private Thread thread;
+    private long lastSweep;
+
+    public Reactor() {
+      try {
+        this.selector = Selector.open();
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+      this.tasks = new ConcurrentLinkedQueue<Runnable>();
+      this.idle = Maps.newHashMap();
+      this.active = Sets.newHashSet();
+    }
+
+    public void submit(final Runnable task) {
+      if (this.closed) {
+        throw new RejectedExecutionException("Client is shutdown");
+      }
+      this.tasks.add(task);
+      this.selector.wakeup();
+    }
+
+    public void close() {
+      this.closed = true;
+      this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      while (!this.closed) {
+        try {
+          this.selector.select(SWEEP_MILLIS);
+          runTasks();
+          processSelectedKeys();
+          final long now = System.nanoTime();
+          if (now - this.lastSweep >= TimeUnit.MILLISECONDS.toNanos(SWEEP_MILLIS)) {
+            this.lastSweep = now;
+            sweep(now);
+          }
+        } catch (final Exception e) {
+          _logger.error("Exception in client I/O thread", e);
+        }
+      }
+      terminate();
+    }
+
+    private void runTasks() {
+      Runnable task;
+      while ((task = this.tasks.poll()) != null) {
+        task.run();
+      }
+    }
+
+    private void processSelectedKeys() {
+      final Iterator<SelectionKey> it = this.selector.selectedKeys().iterator();
+      while (it.hasNext()) {
+        final SelectionKey key = it.next();
+        it.remove();
+        try {
+          ((Connection) key.attachment()).ready(key);
+        } catch (final CancelledKeyException e) {
+          // connection was closed while processing an earlier event
+        }
+      }
+    }
+
+    private void sweep(final long now) {
+      for (final Exchange exchange : Lists.newArrayList(this.active)) {
+        exchange.check(now);
+      }
+      final long maxIdle = TimeUnit.MILLISECONDS.toNanos(NioClient.this.maxIdleTime);
+      for (final Deque<Connection> connections : this.idle.values()) {
+        // connections are released to the tail, so the longest idle are at the head
+        while (!connections.isEmpty() && now - connections.peekFirst().idleSince > maxIdle) {
+          connections.pollFirst().close();
+        }
+      }
+    }
+
+    private void terminate() {
+      runTasks();
+      for (final Exchange exchange : Lists.newArrayList(this.active)) {
+        exchange.abort();
+      }
+      for (final Deque<Connection> connections : this.idle.values()) {
+        for (final Connection connection : connections) {
+          connection.close();
+        }
+      }
+      this.idle.clear();
+      try {
+        this.selector.close();
+      } catch (final IOException e) {
+        _logger.warn("Error closing client selector", e);
+      }
+      // tasks submitted concurrently with close are run so that their requests complete
+      runTasks();
+    }
+
+    public Connection lease(final String route) {
+      final Deque<Connection> connections = this.idle.get(route);
+      if (connections == null || connections.isEmpty()) {
+        return null;
+      }
+      return connections.pollLast();
+    }
+
+    public void release(final Connection connection) {
+      connection.exchange = null;
+      connection.idleSince = System.nanoTime();
+      // an idle connection remains readable so that a close by the host is noticed
+      connection.interest(SelectionKey.OP_READ);
+      Deque<Connection> connections = this.idle.get(connection.route);
+      if (connections == null) {
+        connections = new ArrayDeque<Connection>();
+        this.idle.put(connection.route, connections);
+      }
+      connections.addLast(connection);
+    }
+
+    public void discard(final Connection connection) {
+      final Deque<Connection> connections = this.idle.get(connection.route);
+      if (connections != null) {
+        connections.remove(connection);
+      }
+      connection.close();
+    }
+  }
+
+  private final class Connection {
+    private final Reactor reactor;
+    private final String route;
+    private final SocketChannel channel;
+    private final ByteBuffer in;
+    private SelectionKey key;
+    private Exchange exchange;
+    private boolean connected;
+    private long idleSince;
+
+    public Connection(final Reactor reactor, final String route, final SocketChannel channel) {
+      this.reactor = reactor;
+      this.route = route;
+      this.channel = channel;
+      // kept in fill mode between reads; bodies which are not consumed are skipped in place
+      this.in = NioClient.this.directReceiveBuffers
+          ? ByteBuffer.allocateDirect(NioClient.this.receiveBufferSize)
+          : ByteBuffer.allocate(NioClient.this.receiveBufferSize);
+    }
+
+    public void ready(final SelectionKey key) {
+      final Exchange exchange = this.exchange;
+      if (exchange == null) {
+        // an idle connection was closed by the host, or sent data which was not asked for
+        this.reactor.discard(this);
+        return;
+      }
+      try {
+        if (key.isConnectable()) {
+          exchange.onConnectable();
+        }
+        if (key.isValid() && key.isWritable() && this.exchange == exchange) {
+          exchange.onWritable();
+        }
+        if (key.isValid() && key.isReadable() && this.exchange == exchange) {
+          exchange.onReadable();
+        }
+      } catch (final IOException e) {
+        exchange.fail(e, true);
+      }
+    }
+
+    public void interest(final int ops) {
+      if (this.key.isValid()) {
+        this.key.interestOps(ops);
+      }
+    }
+
+    public void close() {
+      this.exchange = null;
+      this.key.cancel();
+      try {
+        this.channel.close();
+      } catch (final IOException e) {
+        _logger.debug("Error closing connection", e);
+      }
+    }
+  }
+
+  private enum Phase {
+    STATUS, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, DONE
+  }
+
+  /**
+   * The execution of a single request, including any retries and redirects
+   */
+  private final class Exchange {
+    private final Reactor reactor;
+    private final Request request;
+    private final SettableFuture<Response> future;
+    private final RequestTimestamps timestamps;
+    private AuthenticatedRequest authenticatedRequest;
+    private ResponseBodyConsumer consumer;
+    private URI uri;
+    private InetSocketAddress address;
+    // thrown while preparing the request on the submitting thread, reported once started
+    private Exception prepareFailure;
+    private int redirects;
+    private int retries;
+    private boolean staleRetried;
+    private boolean done;
+    private Connection connection;
+    private boolean reused;
+    private long deadline;
+    // request
+    private boolean hasContent;
+    private ByteBuffer head;
+    private InputStream content;
+    private final byte[] chunk;
+    private PatternRegion region;
+    private ByteBuffer[] out;
+    private boolean sending;
+    private boolean contentDone;
+    private boolean requestSent;
+    private long contentWritten;
+    private boolean awaitingContinue;
+    private long continueDeadline;
+    private long writeResumeAt;
+    // response
+    private Phase phase;
+    private final StringBuilder line;
+    private boolean responseStarted;
+    private int statusCode;
+    private boolean http10;
+    private final List<String[]> headers;
+    private long remaining;
+    private boolean untilClose;
+    private boolean keepAlive;
+    private URI redirect;
+    private long contentRead;
+    private ByteArrayOutputStream consumed;
+    private long readResumeAt;
+
+    public Exchange(final Reactor reactor, final Request request, final long intendedStart) {
+      this.reactor = reactor;
+      this.request = request;
+      this.future = SettableFuture.create();
+      this.timestamps = new RequestTimestamps();
+      this.timestamps.submitted = System.nanoTime();
+      this.timestamps.intended = intendedStart != 0 ? intendedStart : this.timestamps.submitted;
+      this.chunk = new byte[BUFFER_SIZE];
+      this.line = new StringBuilder();
+      this.headers = Lists.newArrayList();
+    }
+
+    /**
+     * Authenticates the request and resolves its host. Runs on the submitting thread, as signing
+     * and name lookups may take long enough to stall every other exchange of an I/O thread.
+     */
+    public void prepare() {
+      try {
+        this.authenticatedRequest = NioClient.this.authentication.authenticate(this.request);
+        this.hasContent = DataType.NONE != this.authenticatedRequest.getBody().getDataType();
+        final String consumerId =
+            this.request.getContext().get(Context.X_OG_RESPONSE_BODY_CONSUMER);
+        this.consumer = NioClient.this.responseBodyConsumers.get(consumerId);
+        this.uri = this.authenticatedRequest.getUri();
+        this.address = resolve(this.uri);
+      } catch (final Exception e) {
+        this.prepareFailure = e;
+      }
+    }
+
+    public void start() {
+      this.timestamps.startMillis = System.currentTimeMillis();
+      this.timestamps.start = System.nanoTime();
+      this.reactor.active.add(this);
+      try {
+        if (this.prepareFailure != null) {
+          throw this.prepareFailure;
+        }
+        _logger.trace("Sending request {}", this.request);
+        connect();
+      } catch (final Exception e) {
+        fail(e, false);
+      }
+    }
+
+    private InetSocketAddress resolve(final URI uri) throws UnknownHostException {
+      final int port = uri.getPort() != -1 ? uri.getPort() : 80;
+      final InetSocketAddress address = new InetSocketAddress(uri.getHost(), port);
+      if (address.isUnresolved()) {
+        throw new UnknownHostException(uri.getHost());
+      }
+      return address;
+    }
+
+    // resolves a redirect target on a completion thread, then connects to it on the I/O thread
+    private void redirect(final URI target) {
+      final Runnable resolve = new Runnable() {
+        @Override
+        public void run() {
+          InetSocketAddress resolved = null;
+          Exception failure = null;
+          try {
+            resolved = resolve(target);
+          } catch (final Exception e) {
+            failure = e;
+          }
+          final InetSocketAddress address = resolved;
+          final Exception resolveFailure = failure;
+          try {
+            Exchange.this.reactor.submit(new Runnable() {
+              @Override
+              public void run() {
+                if (Exchange.this.done) {
+                  return;
+                }
+                try {
+                  if (resolveFailure != null) {
+                    throw resolveFailure;
+                  }
+                  Exchange.this.uri = target;
+                  Exchange.this.address = address;
+                  connect();
+                } catch (final Exception e) {
+                  fail(e, false);
+                }
+              }
+            });
+          } catch (final RejectedExecutionException e) {
+            // the client has shut down and has already aborted this request
+          }
+        }
+      };
+      try {
+        NioClient.this.completions.execute(resolve);
+      } catch (final RejectedExecutionException e) {
+        fail(new IOException("Client is shutdown"), false);
+      }
+    }
+
+    private void connect() throws IOException {
+      if (this.reactor.closed) {
+        throw new IOException("Client is shutdown");
+      }
+      checkArgument("http".equalsIgnoreCase(this.uri.getScheme()), "Unsupported scheme [%s]",
+          this.uri.getScheme());
+      reset();
+      final String route = this.uri.getHost() + ":" + this.address.getPort();
+      final Connection leased = this.reactor.lease(route);
+      if (leased != null) {
+        this.connection = leased;
+        this.reused = true;
+        leased.exchange = this;
+        leased.in.clear();
+        touch();
+        updateInterest();
+        return;
+      }
+
+      final SocketChannel channel = SocketChannel.open();
+      final Connection connection = new Connection(this.reactor, route, channel);
+      this.connection = connection;
+      this.reused = false;
+      connection.exchange = this;
+      channel.configureBlocking(false);
+      connection.key = channel.register(this.reactor.selector, 0, connection);
+      configure(channel.socket());
+      if (channel.connect(this.address)) {
+        connected();
+      } else {
+        this.deadline = NioClient.this.connectTimeout > 0
+            ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(NioClient.this.connectTimeout)
+            : 0;
+        connection.interest(SelectionKey.OP_CONNECT);
+      }
+    }
+
+    private void configure(final Socket socket) throws IOException {
+      socket.setReuseAddress(NioClient.this.soReuseAddress);
+      if (NioClient.this.soLinger >= 0) {
+        socket.setSoLinger(true, NioClient.this.soLinger);
+      }
+      socket.setKeepAlive(NioClient.this.soKeepAlive);
+      socket.setTcpNoDelay(NioClient.this.tcpNoDelay);
+      if (NioClient.this.soSndBuf > 0) {
+        socket.setSendBufferSize(NioClient.this.soSndBuf);
+      }
+      if (NioClient.this.soRcvBuf > 0) {
+        socket.setReceiveBufferSize(NioClient.this.soRcvBuf);
+      }
+    }
+
+    private void connected() {
+      this.connection.connected = true;
+      // redirects may connect again; only the first connection is reported per request
+      if (this.timestamps.connectFinish == 0) {
+        this.timestamps.connectFinish = System.nanoTime();
+      }
+      touch();
+      updateInterest();
+    }
+
+    // prepares a fresh attempt at the current uri
+    private void reset() throws IOException {
+      this.head = ByteBuffer.wrap(requestHead().getBytes(Charsets.ISO_8859_1));
+      this.out = null;
+      this.sending = false;
+      this.contentDone = !this.hasContent;
+      this.requestSent = false;
+      this.contentWritten = 0;
+      this.awaitingContinue = false;
+      this.writeResumeAt = 0;
+      this.timestamps.requestContentStart = 0;
+      this.timestamps.requestContentFinish = 0;
+      this.region = null;
+      if (this.hasContent) {
+        this.content = this.authenticatedRequest.getContent();
+        this.content.reset();
+        if (NioClient.this.writeThroughput == 0) {
+          this.region = NioClient.this.uploadRegions.get(this.content, this.chunk);
+        }
+      }
+      this.phase = Phase.STATUS;
+      this.line.setLength(0);
+      this.responseStarted = false;
+      this.headers.clear();
+      this.untilClose = false;
+      this.redirect = null;
+      this.contentRead = 0;
+      this.consumed = null;
+      this.readResumeAt = 0;
+      this.timestamps.responseContentStart = 0;
+      this.timestamps.responseContentFirstBytes = 0;
+      this.timestamps.responseContentFinish = 0;
+    }
+
+    private String requestHead() {
+      final StringBuilder s = new StringBuilder();
+      String target = this.uri.getRawPath();
+      if (target == null || target.isEmpty()) {
+        target = "/";
+      }
+      if (this.uri.getRawQuery() != null) {
+        target = target + "?" + this.uri.getRawQuery();
+      }
+      s.append(this.authenticatedRequest.getMethod()).append(' ').append(target)
+          .append(" HTTP/1.1\r\n");
+
+      boolean host = false;
+      boolean agent = false;
+      for (final Map.Entry<String, String> header : this.authenticatedRequest.headers()
+          .entrySet()) {
+        final String key = header.getKey();
+        // authentication implementations may add these; framing is determined here instead
+        if ("Content-Length".equalsIgnoreCase(key) || "Transfer-Encoding".equalsIgnoreCase(key)) {
+          continue;
+        }
+        host |= "Host".equalsIgnoreCase(key);
+        agent |= "User-Agent".equalsIgnoreCase(key);
+        s.append(key).append(": ").append(header.getValue()).append("\r\n");
+      }
+      if (!host) {
+        s.append("Host: ").append(this.uri.getHost());
+        if (this.uri.getPort() != -1) {
+          s.append(':').append(this.uri.getPort());
+        }
+        s.append("\r\n");
+      }
+      if (!agent && NioClient.this.userAgent != null) {
+        s.append("User-Agent: ").append(NioClient.this.userAgent).append("\r\n");
+      }
+      if (this.hasContent) {
+        if (NioClient.this.chunkedEncoding) {
+          s.append("Transfer-Encoding: chunked\r\n");
+        } else {
+          s.append("Content-Length: ").append(this.authenticatedRequest.getContentLength())
+              .append("\r\n");
+        }
+        if (NioClient.this.expectContinue) {
+          s.append("Expect: 100-continue\r\n");
+        }
+      }
+      if (!NioClient.this.persistentConnections) {
+        s.append("Connection: close\r\n");
+      }
+      return s.append("\r\n").toString();
+    }
+
+    private void touch() {
+      this.deadline = NioClient.this.soTimeout > 0
+          ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(NioClient.this.soTimeout) : 0;
+    }
+
+    private void updateInterest() {
+      if (this.connection == null || !this.connection.connected) {
+        return;
+      }
+      int ops = 0;
+      if (this.head.hasRemaining() || (this.sending && this.writeResumeAt == 0)) {
+        ops |= SelectionKey.OP_WRITE;
+      }
+      if (this.readResumeAt == 0) {
+        ops |= SelectionKey.OP_READ;
+      }
+      this.connection.interest(ops);
+    }
+
+    public void onConnectable() throws IOException {
+      if (this.connection.channel.finishConnect()) {
+        connected();
+      }
+    }
+
+    public void onWritable() throws IOException {
+      final SocketChannel channel = this.connection.channel;
+      if (this.head.hasRemaining()) {
+        if (channel.write(this.head) > 0) {
+          touch();
+        }
+        if (this.head.hasRemaining()) {
+          return;
+        }
+        if (!this.hasContent) {
+          this.requestSent = true;
+          this.timestamps.requestSent = System.nanoTime();
+        } else if (NioClient.this.expectContinue) {
+          this.awaitingContinue = true;
+          this.continueDeadline =
+              System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(NioClient.this.waitForContinue);
+        } else {
+          startContent();
+        }
+        updateInterest();
+      }
+      if (this.sending && this.writeResumeAt == 0) {
+        writeContent();
+      }
+    }
+
+    private void startContent() {
+      this.sending = true;
+      this.timestamps.requestContentStart = System.nanoTime();
+    }
+
+    private void writeContent() throws IOException {
+      final SocketChannel channel = this.connection.channel;
+      while (true) {
+        if (this.out == null || !hasRemaining(this.out)) {
+          if (this.contentDone) {
+            this.timestamps.requestContentFinish = System.nanoTime();
+            this.timestamps.requestSent = this.timestamps.requestContentFinish;
+            this.sending = false;
+            this.requestSent = true;
+            this.content.close();
+            updateInterest();
+            return;
+          }
+          if (!fill()) {
+            updateInterest();
+            return;
+          }
+        }
+        if (channel.write(this.out) > 0) {
+          touch();
+        }
+        if (hasRemaining(this.out)) {
+          return;
+        }
+      }
+    }
+
+    private boolean hasRemaining(final ByteBuffer[] buffers) {
+      for (final ByteBuffer buffer : buffers) {
+        if (buffer.hasRemaining()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // prepares the next piece of request content for writing, or pauses for throttling
+    private boolean fill() throws IOException {
+      int limit = this.region != null ? this.region.length() : BUFFER_SIZE;
+      final long rate = NioClient.this.writeThroughput;
+      if (rate > 0) {
+        final long unsent = this.authenticatedRequest.getContentLength() - this.contentWritten;
+        limit = (int) Math.max(1, Math.min(throttleChunk(rate), unsent));
+        final long resumeAt = throttle(rate, this.timestamps.requestContentStart,
+            this.contentWritten, limit, System.nanoTime());
+        if (resumeAt != 0) {
+          this.writeResumeAt = resumeAt;
+          return false;
+        }
+      }
+
+      final ByteBuffer data;
+      if (this.region != null) {
+        // pattern content is written straight from its region, without a copy
+        final long size = ((PatternInputStream) this.content).getSize();
+        data = this.region.slice(this.contentWritten, Math.min(limit, size - this.contentWritten));
+        this.contentDone = this.contentWritten + data.remaining() >= size;
+      } else {
+        int length = 0;
+        int n = 0;
+        while (length < limit && (n = this.content.read(this.chunk, length, limit - length)) > 0) {
+          length += n;
+        }
+        this.contentDone = n < 0 || (!NioClient.this.chunkedEncoding
+            && this.contentWritten + length >= this.authenticatedRequest.getContentLength());
+        data = ByteBuffer.wrap(this.chunk, 0, length);
+      }
+      final int length = data.remaining();
+      this.contentWritten += length;
+
+      if (!NioClient.this.chunkedEncoding) {
+        this.out = new ByteBuffer[] {data};
+        return true;
+      }
+      // chunk framing is gathered around the data rather than copied together with it
+      if (length == 0) {
+        this.out = new ByteBuffer[] {
+            ByteBuffer.wrap(LAST_CHUNK, 0, this.contentDone ? LAST_CHUNK.length : 0)};
+        return true;
+      }
+      final byte[] size = (Integer.toHexString(length) + "\r\n").getBytes(Charsets.ISO_8859_1);
+      this.out = new ByteBuffer[] {ByteBuffer.wrap(size), data,
+          ByteBuffer.wrap(this.contentDone ? CRLF_LAST_CHUNK : CRLF)};
+      return true;
+    }
+
+    public void onReadable() throws IOException {
+      final ByteBuffer in = this.connection.in;
+      final int n = this.connection.channel.read(in);
+      if (n > 0) {
+        this.responseStarted = true;
+        touch();
+      }
+      in.flip();
+      try {
+        process(in);
+      } finally {
+        in.compact();
+      }
+      if (n < 0 && !this.done && this.phase != Phase.DONE) {
+        if (this.phase == Phase.BODY && this.untilClose) {
+          complete(in);
+        } else {
+          throw new IOException("Connection closed by host");
+        }
+      }
+    }
+
+    private void process(final ByteBuffer in) throws IOException {
+      while (in.hasRemaining() && this.phase != Phase.DONE && this.readResumeAt == 0) {
+        switch (this.phase) {
+          case BODY:
+          case CHUNK_DATA:
+            content(in);
+            break;
+          default:
+            final String l = readLine(in);
+            if (l != null) {
+              line(l, in);
+            }
+        }
+      }
+    }
+
+    private String readLine(final ByteBuffer in) throws IOException {
+      while (in.hasRemaining()) {
+        final char c = (char) (in.get() & 0xFF);
+        if (c == '\n') {
+          final int length = this.line.length();
+          final String l = length > 0 && this.line.charAt(length - 1) == '\r'
+              ? this.line.substring(0, length - 1) : this.line.toString();
+          this.line.setLength(0);
+          return l;
+        }
+        if (this.line.length() >= MAX_LINE_LENGTH) {
+          throw new ProtocolException("Response line exceeds " + MAX_LINE_LENGTH + " bytes");
+        }
+        this.line.append(c);
+      }
+      return null;
+    }
+
+    private void line(final String l, final ByteBuffer in) throws IOException {
+      switch (this.phase) {
+        case STATUS:
+          // tolerate empty lines ahead of the status line
+          if (!l.isEmpty()) {
+            statusLine(l);
+          }
+          break;
+        case HEADERS:
+          if (l.isEmpty()) {
+            headersComplete(in);
+          } else {
+            final int colon = l.indexOf(':');
+            if (colon <= 0) {
+              throw new ProtocolException("Invalid response header [" + l + "]");
+            }
+            this.headers.add(new String[] {l.substring(0, colon).trim(),
+                l.substring(colon + 1).trim()});
+          }
+          break;
+        case CHUNK_SIZE:
+          final int extension = l.indexOf(';');
+          final long size;
+          try {
+            size = Long.parseLong((extension >= 0 ? l.substring(0, extension) : l).trim(), 16);
+          } catch (final NumberFormatException e) {
+            throw new ProtocolException("Invalid chunk size [" + l + "]");
+          }
+          if (size == 0) {
+            this.phase = Phase.TRAILERS;
+          } else {
+            this.remaining = size;
+            this.phase = Phase.CHUNK_DATA;
+          }
+          break;
+        case CHUNK_END:
+          this.phase = Phase.CHUNK_SIZE;
+          break;
+        case TRAILERS:
+          if (l.isEmpty()) {
+            complete(in);
+          }
+          break;
+        default:
+          throw new IllegalStateException("Unexpected line in phase " + this.phase);
+      }
+    }
+
+    private void statusLine(final String l) throws IOException {
+      final String[] parts = l.split(" ", 3);
+      if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+        throw new ProtocolException("Invalid status line [" + l + "]");
+      }
+      try {
+        this.statusCode = Integer.parseInt(parts[1]);
+      } catch (final NumberFormatException e) {
+        throw new ProtocolException("Invalid status line [" + l + "]");
+      }
+      this.http10 = "HTTP/1.0".equals(parts[0]);
+      this.headers.clear();
+      this.phase = Phase.HEADERS;
+    }
+
+    private String header(final String name) {
+      String value = null;
+      for (final String[] header : this.headers) {
+        if (header[0].equalsIgnoreCase(name)) {
+          value = header[1];
+        }
+      }
+      return value;
+    }
+
+    private void headersComplete(final ByteBuffer in) throws IOException {
+      if (this.statusCode < 200) {
+        if (this.statusCode == 100 && this.awaitingContinue) {
+          this.awaitingContinue = false;
+          startContent();
+          updateInterest();
+        }
+        this.phase = Phase.STATUS;
+        return;
+      }
+      if (this.awaitingContinue || this.sending) {
+        // the host responded before the request content was sent; it will not be sent
+        this.awaitingContinue = false;
+        this.sending = false;
+        updateInterest();
+      }
+
+      final String connection = header("Connection");
+      if (connection != null && connection.toLowerCase().contains("close")) {
+        this.keepAlive = false;
+      } else if (this.http10) {
+        this.keepAlive = connection != null && connection.toLowerCase().contains("keep-alive");
+      } else {
+        this.keepAlive = true;
+      }
+      this.keepAlive &= NioClient.this.persistentConnections;
+
+      final boolean hasBody = this.authenticatedRequest.getMethod() != Method.HEAD
+          && this.statusCode != 204 && this.statusCode != 304;
+      final String location = header("Location");
+      if (isRedirect(this.statusCode) && location != null && this.redirects < MAX_REDIRECTS) {
+        try {
+          this.redirect = this.uri.resolve(location);
+        } catch (final IllegalArgumentException e) {
+          throw new ProtocolException("Invalid redirect location [" + location + "]");
+        }
+      } else if (hasBody) {
+        this.timestamps.responseContentStart = System.nanoTime();
+        if (this.consumer != null) {
+          this.consumed = new ByteArrayOutputStream();
+        }
+      }
+
+      final String transferEncoding = header("Transfer-Encoding");
+      final String contentLength = header("Content-Length");
+      if (!hasBody) {
+        complete(in);
+      } else if (transferEncoding != null && transferEncoding.toLowerCase().contains("chunked")) {
+        this.phase = Phase.CHUNK_SIZE;
+      } else if (contentLength != null) {
+        try {
+          this.remaining = Long.parseLong(contentLength);
+        } catch (final NumberFormatException e) {
+          throw new ProtocolException("Invalid content length [" + contentLength + "]");
+        }
+        if (this.remaining == 0) {
+          complete(in);
+        } else {
+          this.phase = Phase.BODY;
+        }
+      } else {
+        this.untilClose = true;
+        this.keepAlive = false;
+        this.remaining = Long.MAX_VALUE;
+        this.phase = Phase.BODY;
+      }
+    }
+
+    private boolean isRedirect(final int statusCode) {
+      return statusCode == 301 || statusCode == 302 || statusCode == 303 || statusCode == 307
+          || statusCode == 308;
+    }
+
+    private void content(final ByteBuffer in) throws IOException {
+      int n = (int) Math.min(in.remaining(), this.remaining);
+      final long rate = NioClient.this.readThroughput;
+      if (rate > 0 && this.redirect == null) {
+        n = Math.min(n, throttleChunk(rate));
+        final long resumeAt = throttle(rate, this.timestamps.responseContentStart,
+            this.contentRead, n, System.nanoTime());
+        if (resumeAt != 0) {
+          this.readResumeAt = resumeAt;
+          updateInterest();
+          return;
+        }
+      }
+
+      if (this.redirect == null) {
+        if (this.timestamps.responseContentFirstBytes == 0) {
+          this.timestamps.responseContentFirstBytes = System.nanoTime();
+        }
+        if (this.consumed != null) {
+          if (in.hasArray()) {
+            this.consumed.write(in.array(), in.arrayOffset() + in.position(), n);
+          } else {
+            final byte[] copy = new byte[n];
+            in.duplicate().get(copy);
+            this.consumed.write(copy, 0, n);
+          }
+        }
+        this.contentRead += n;
+      }
+      in.position(in.position() + n);
+      if (!this.untilClose) {
+        this.remaining -= n;
+      }
+
+      if (this.remaining == 0) {
+        if (this.phase == Phase.CHUNK_DATA) {
+          this.phase = Phase.CHUNK_END;
+        } else {
+          complete(in);
+        }
+      }
+    }
+
+    public void check(final long now) {
+      if (this.done || this.connection == null) {
+        return;
+      }
+      if (this.writeResumeAt != 0 && now >= this.writeResumeAt) {
+        this.writeResumeAt = 0;
+        touch();
+        updateInterest();
+      }
+      if (this.readResumeAt != 0 && now >= this.readResumeAt) {
+        this.readResumeAt = 0;
+        touch();
+        resumeRead();
+        if (this.done || this.connection == null) {
+          return;
+        }
+      }
+      if (this.awaitingContinue && now >= this.continueDeadline) {
+        this.awaitingContinue = false;
+        startContent();
+        touch();
+        updateInterest();
+      }
+      final boolean waiting =
+          this.writeResumeAt != 0 || this.readResumeAt != 0 || this.awaitingContinue;
+      if (!waiting && this.deadline != 0 && now >= this.deadline) {
+        if (this.connection.connected) {
+          fail(new SocketTimeoutException("Read timed out"), true);
+        } else {
+          fail(new ConnectException("Connect timed out"), true);
+        }
+      }
+    }
+
+    private void resumeRead() {
+      final Connection connection = this.connection;
+      final ByteBuffer in = connection.in;
+      in.flip();
+      try {
+        process(in);
+      } catch (final IOException e) {
+        fail(e, true);
+        return;
+      } finally {
+        in.compact();
+      }
+      if (!this.done && connection.exchange == this) {
+        updateInterest();
+      }
+    }
+
+    private void complete(final ByteBuffer in) {
+      this.phase = Phase.DONE;
+      final boolean reusable = this.keepAlive && this.requestSent && !this.untilClose
+          && !in.hasRemaining();
+      final Connection connection = this.connection;
+      if (reusable) {
+        this.reactor.release(connection);
+      } else {
+        connection.close();
+      }
+
+      if (this.redirect != null) {
+        this.redirects++;
+        // deferred, as the connection may be leased again while its buffer is still in use
+        redirect(this.redirect);
+        return;
+      }
+
+      final HttpResponse.Builder responseBuilder = new HttpResponse.Builder();
+      responseBuilder.withStatusCode(this.statusCode);
+      for (final String[] header : this.headers) {
+        responseBuilder.withHeader(header[0], header[1]);
+      }
+      final byte[] body = this.consumed != null ? this.consumed.toByteArray() : null;
+      if (body == null && this.contentRead > 0) {
+        responseBuilder.withBody(Bodies.zeroes(this.contentRead));
+      }
+      if (this.timestamps.responseContentStart > 0) {
+        if (this.timestamps.responseContentFirstBytes == 0) {
+          this.timestamps.responseContentFirstBytes = System.nanoTime();
+        }
+        this.timestamps.responseContentFinish = System.nanoTime();
+      }
+      finish(responseBuilder, body);
+    }
+
+    public void abort() {
+      fail(new IOException("Request aborted"), false);
+    }
+
+    public void fail(final Exception e, final boolean retryable) {
+      if (this.done) {
+        return;
+      }
+      if (this.connection != null) {
+        this.connection.close();
+        this.connection = null;
+      }
+      if (retryable && NioClient.this.running && retry(e)) {
+        _logger.debug("Retrying request {}", this.request, e);
+        this.reactor.submit(new Runnable() {
+          @Override
+          public void run() {
+            if (Exchange.this.done) {
+              return;
+            }
+            try {
+              connect();
+            } catch (final Exception e) {
+              fail(e, false);
+            }
+          }
+        });
+        return;
+      }
+
+      if (NioClient.this.running) {
+        _logger.error("Exception executing request", e);
+      } else {
+        NioClient.this.abortedRequestsAtShutdown.incrementAndGet();
+      }
+      this.phase = Phase.DONE;
+      finish(new HttpResponse.Builder().withStatusCode(599), null);
+    }
+
+    private boolean retry(final Exception e) {
+      // a persistent connection closed by the host while idle fails before any response
+      if (this.reused && !this.responseStarted && !this.staleRetried
+          && !(e instanceof SocketTimeoutException)) {
+        this.staleRetried = true;
+        return true;
+      }
+      if (this.retries < NioClient.this.retryCount
+          && (!this.hasContent || !this.requestSent || NioClient.this.requestSentRetry)) {
+        this.retries++;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Ends the exchange on its I/O thread and hands the response to a completion thread
+     *
+     * @param body the response body to hand to the consumer, or null if it is not consumed
+     */
+    private void finish(final HttpResponse.Builder responseBuilder, final byte[] body) {
+      this.done = true;
+      this.reactor.active.remove(this);
+      if (body == null) {
+        this.timestamps.finish = System.nanoTime();
+        this.timestamps.finishMillis = System.currentTimeMillis();
+      }
+      final Runnable completion = new Runnable() {
+        @Override
+        public void run() {
+          deliver(responseBuilder, body);
+        }
+      };
+      try {
+        NioClient.this.completions.execute(completion);
+      } catch (final RejectedExecutionException e) {
+        // the client has shut down while this exchange was being aborted
+        completion.run();
+      }
+    }
+
+    private void deliver(final HttpResponse.Builder consumedBuilder, final byte[] body) {
+      HttpResponse.Builder responseBuilder = consumedBuilder;
+      if (body != null) {
+        try {
+          for (final Map.Entry<String, String> e : this.consumer
+              .consume(this.statusCode, new ByteArrayInputStream(body)).entrySet()) {
+            responseBuilder.withContext(e.getKey(), e.getValue());
+          }
+        } catch (final Exception e) {
+          _logger.error("Exception executing request", e);
+          responseBuilder = new HttpResponse.Builder().withStatusCode(599);
+        }
+        this.timestamps.finish = System.nanoTime();
+        this.timestamps.finishMillis = System.currentTimeMillis();
+      }
+      final String requestId = this.request.getContext().get(Context.X_OG_REQUEST_ID);
+      if (requestId != null) {
+        responseBuilder.withContext(Context.X_OG_REQUEST_ID, requestId);
+      }
+
+      responseBuilder.withRequestTimestamps(this.timestamps);
+      final Response response = responseBuilder.build();
+      _logger.trace("Received response {}", response);
+
+      // do not log requests with 599 response after client shutdown (known aborted requests)
+      if (NioClient.this.running || response.getStatusCode() != 599) {
+        NioClient.this.requestLog.log(this.request, response, NioClient.this.userAgent,
+            this.timestamps);
+      }
+
+      requestComplete();
+      this.future.set(response);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "NioClient [%n" + "ioThreads=%s,%n" + "completionThreads=%s,%n" + "connectTimeout=%s,%n" + "soTimeout=%s,%n"
+            + "soReuseAddress=%s,%n" + "soLinger=%s,%n" + "soKeepAlive=%s,%n"
+            + "tcpNoDelay=%s,%n" + "soSndBuf=%s,%n" + "soRcvBuf=%s,%n"
+            + "persistentConnections=%s,%n" + "maxIdleTime=%s,%n" + "chunkedEncoding=%s,%n"
+            + "expectContinue=%s,%n" + "waitForContinue=%s,%n" + "retryCount=%s,%n"
+            + "requestSentRetry=%s,%n" + "dnsCacheTtl=%s,%n" + "dnsCacheNegativeTtl=%s,%n"
+            + "authentication=%s,%n" + "userAgent=%s,%n" + "writeThroughput=%s,%n"
+            + "readThroughput=%s,%n" + "responseBodyConsumers=%s,%n"
+            + "receiveBufferSize=%s,%n" + "directReceiveBuffers=%s,%n"
+            + "uploadRegionSize=%s,%n" + "uploadRegionType=%s,%n" + "requestLog=%s%n]",
+        this.ioThreads, this.completionThreads, this.connectTimeout, this.soTimeout, this.soReuseAddress, this.soLinger,
+        this.soKeepAlive, this.tcpNoDelay, this.soSndBuf, this.soRcvBuf,
+        this.persistentConnections, this.maxIdleTime, this.chunkedEncoding, this.expectContinue,
+        this.waitForContinue, this.retryCount, this.requestSentRetry, this.dnsCacheTtl,
+        this.dnsCacheNegativeTtl, this.authentication, this.userAgent, this.writeThroughput,
+        this.readThroughput, this.responseBodyConsumers, this.receiveBufferSize,
+        this.directReceiveBuffers, this.uploadRegionSize, this.uploadRegionType,
+        this.requestLog);
+  }
+
+  /**
+   * A builder of nio client instances
+   */
+  public static class Builder {
+    private int ioThreads;
+    private int completionThreads;
+    private int connectTimeout;
+    private int soTimeout;
+    private boolean soReuseAddress;
+    private int soLinger;
+    private boolean soKeepAlive;
+    private boolean tcpNoDelay;
+    private int soSndBuf;
+    private int soRcvBuf;
+    private boolean persistentConnections;
+    private int maxIdleTime;
+    private boolean chunkedEncoding;
+    private boolean expectContinue;
+    private int waitForContinue;
+    private int retryCount;
+    private boolean requestSentRetry;
+    private int dnsCacheTtl;
+    private int dnsCacheNegativeTtl;
+    private HttpAuth authentication;
+    private String userAgent;
+    private long writeThroughput;
+    private long readThroughput;
+    private final Map<String, ResponseBodyConsumer> responseBodyConsumers;
+    private RequestLog requestLog;
+    private int receiveBufferSize;
+    private boolean directReceiveBuffers;
+    private int uploadRegionSize;
+    private PatternRegion.Type uploadRegionType;
+
+    /**
+     * Constructs a new builder
+     */
+    public Builder() {
+      this.ioThreads = 0;
+      this.completionThreads = 0;
+      this.connectTimeout = 0;
+      this.soTimeout = 0;
+      this.soReuseAddress = false;
+      this.soLinger = -1;
+      this.soKeepAlive = true;
+      this.tcpNoDelay = true;
+      this.soSndBuf = 0;
+      this.soRcvBuf = 0;
+      this.persistentConnections = true;
+      this.maxIdleTime = 60000;
+      this.chunkedEncoding = false;
+      this.expectContinue = false;
+      this.waitForContinue = 3000;
+      this.retryCount = 0;
+      this.requestSentRetry = true;
+      this.dnsCacheTtl = 60;
+      this.dnsCacheNegativeTtl = 10;
+      this.authentication = new NoneAuth();
+      this.writeThroughput = 0;
+      this.readThroughput = 0;
+      this.responseBodyConsumers = Maps.newHashMap();
+      this.requestLog = new JsonRequestLog();
+      this.receiveBufferSize = 16384;
+      this.directReceiveBuffers = false;
+      this.uploadRegionSize = 1048576;
+      this.uploadRegionType = PatternRegion.Type.HEAP;
+    }
+
+    /**
+     * Configures the number of I/O threads. Zero uses one thread per available processor
+     *
+     * @param ioThreads number of I/O threads
+     * @return this builder
+     */
+    public Builder withIoThreads(final int ioThreads) {
+      this.ioThreads = ioThreads;
+      return this;
+    }
+
+    /**
+     * Configures the number of threads which run response body consumers and complete response
+     * futures. Zero uses one thread per available processor
+     *
+     * @param completionThreads number of completion threads
+     * @return this builder
+     */
+    public Builder withCompletionThreads(final int completionThreads) {
+      this.completionThreads = completionThreads;
+      return this;
+    }
+
+    /**
+     * Configures the timeout in milliseconds until a connection is established. A timeout of zero
+     * is interpreted as an infinite timeout
+     *
+     * @param connectTimeout connection open timeout, in milliseconds
+     * @return this builder
+     */
+    public Builder withConnectTimeout(final int connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Configures the maximum duration in milliseconds a request may wait on its connection without
+     * progress. A timeout of zero is interpreted as an infinite timeout
+     *
+     * @param soTimeout socket timeout, in milliseconds
+     * @return this builder
+     */
+    public Builder withSoTimeout(final int soTimeout) {
+      this.soTimeout = soTimeout;
+      return this;
+    }
+
+    /**
+     * Configures the {@code SO_REUSEADDR} socket option
+     *
+     * @param soReuseAddress socket reuse flag
+     * @return this builder
+     */
+    public Builder usingSoReuseAddress(final boolean soReuseAddress) {
+      this.soReuseAddress = soReuseAddress;
+      return this;
+    }
+
+    /**
+     * Configures {@code SO_LINGER} in <em>seconds</em>. A linger of zero disables linger, and a
+     * linger of {@code -1} uses the system default.
+     *
+     * @param soLinger linger, in seconds
+     * @return this builder
+     */
+    public Builder withSoLinger(final int soLinger) {
+      this.soLinger = soLinger;
+      return this;
+    }
+
+    /**
+     * Configures the {@code SO_KEEPALIVE} socket option
+     *
+     * @param soKeepAlive keepalive flag
+     * @return this builder
+     */
+    public Builder usingSoKeepAlive(final boolean soKeepAlive) {
+      this.soKeepAlive = soKeepAlive;
+      return this;
+    }
+
+    /**
+     * Configures the {@code TCP_NODELAY} socket option
+     *
+     * @param tcpNoDelay tcp no delay flag
+     * @return this builder
+     */
+    public Builder usingTcpNoDelay(final boolean tcpNoDelay) {
+      this.tcpNoDelay = tcpNoDelay;
+      return this;
+    }
+
+    /**
+     * Configures {@code SO_SNDBUF}. A buffer of zero uses the system default.
+     *
+     * @param soSndBuf, a suggested send buffer size for connections
+     * @return this builder
+     */
+    public Builder withSoSndBuf(final int soSndBuf) {
+      this.soSndBuf = soSndBuf;
+      return this;
+    }
+
+    /**
+     * Configures {@code SO_RCVBUF}. A buffer of zero uses the system default.
+     *
+     * @param soRcvBuf, a suggested receive buffer size for connections
+     * @return this builder
+     */
+    public Builder withSoRcvBuf(final int soRcvBuf) {
+      this.soRcvBuf = soRcvBuf;
+      return this;
+    }
+
+    /**
+     * Configures the use of persistent tcp connections
+     *
+     * @param persistentConnections persistent connections flag
+     * @return this builder
+     */
+    public Builder usingPersistentConnections(final boolean persistentConnections) {
+      this.persistentConnections = persistentConnections;
+      return this;
+    }
+
+    /**
+     * Configures the maximum amount of time a connection is allowed to remain idle. Connections
+     * that are idle longer than maxIdleTime will be closed.
+     *
+     * @param maxIdleTime maximum idle time prior to connection closure, in milliseconds
+     * @return this builder
+     */
+    public Builder withMaxIdleTime(final int maxIdleTime) {
+      this.maxIdleTime = maxIdleTime;
+      return this;
+    }
+
+    /**
+     * Configures the use of http chunked encoding for request bodies
+     *
+     * @param chunkedEncoding chunked encoding flag
+     * @return this builder
+     */
+    public Builder usingChunkedEncoding(final boolean chunkedEncoding) {
+      this.chunkedEncoding = chunkedEncoding;
+      return this;
+    }
+
+    /**
+     * Configures the use of expect: 100-continue flag for PUT and POST requests
+     *
+     * @param expectContinue expect continue flag
+     * @return this builder
+     */
+    public Builder usingExpectContinue(final boolean expectContinue) {
+      this.expectContinue = expectContinue;
+      return this;
+    }
+
+    /**
+     * Configure the duration to wait for a continue response from the target host after sending a
+     * 100-continue message prior to continuing with the request. Duration is in milliseconds
+     *
+     * @param waitForContinue wait for continue duration, in milliseconds
+     * @return this builder
+     */
+    public Builder withWaitForContinue(final int waitForContinue) {
+      this.waitForContinue = waitForContinue;
+      return this;
+    }
+
+    /**
+     * Configures the number of attempts to retry a request if an exception was thrown during its
+     * execution
+     *
+     * @param retryCount the number of retry attempts
+     * @return this builder
+     */
+    public Builder withRetryCount(final int retryCount) {
+      this.retryCount = retryCount;
+      return this;
+    }
+
+    /**
+     * Configures whether or not to retry a request when it has already been sent to the host
+     *
+     * @param requestSentRetry whether or not to retry a request which has already been sent
+     * @return this builder
+     */
+    public Builder usingRequestSentRetry(final boolean requestSentRetry) {
+      this.requestSentRetry = requestSentRetry;
+      return this;
+    }
+
+    /**
+     * Configures dns cache ttl, in seconds
+     *
+     * @param dnsCacheTtl, cache ttl, in seconds
+     * @return this builder
+     */
+    public Builder withDnsCacheTtl(final int dnsCacheTtl) {
+      this.dnsCacheTtl = dnsCacheTtl;
+      return this;
+    }
+
+    /**
+     * Configures dns cache ttl for negative responses, in seconds
+     *
+     * @param dnsCacheNegativeTtl, cache ttl for negative responses, in seconds
+     * @return this builder
+     */
+    public Builder withDnsCacheNegativeTtl(final int dnsCacheNegativeTtl) {
+      this.dnsCacheNegativeTtl = dnsCacheNegativeTtl;
+      return this;
+    }
+
+    /**
+     * Configures the use of authentication for every request
+     *
+     * @param authentication the authentication type to use
+     * @return this builder
+     */
+    public Builder withAuthentication(final HttpAuth authentication) {
+      this.authentication = authentication;
+      return this;
+    }
+
+    /**
+     * Configures the user-agent request header to send with every request
+     *
+     * @param userAgent the user agent string to send
+     * @return this builder
+     */
+    public Builder withUserAgent(final String userAgent) {
+      this.userAgent = userAgent;
+      return this;
+    }
+
+    /**
+     * Configures throughput throttling for PUT and POST requests
+     *
+     * @param bytesPerSecond maximum throughput
+     * @return this builder
+     */
+    public Builder withWriteThroughput(final long bytesPerSecond) {
+      this.writeThroughput = bytesPerSecond;
+      return this;
+    }
+
+    /**
+     * Configures throughput throttling for GET and HEAD requests
+     *
+     * @param bytesPerSecond maximum throughput
+     * @return this builder
+     */
+    public Builder withReadThroughput(final long bytesPerSecond) {
+      this.readThroughput = bytesPerSecond;
+      return this;
+    }
+
+    /**
+     * Configures a response body consumer to be used to process response bodies for requests
+     * configured with a matching consumerId
+     *
+     * @param consumerId the consumerId for which the provided consumer should be used
+     * @param consumer a response body consumer
+     * @return this builder
+     */
+    public Builder withResponseBodyConsumer(final String consumerId,
+        final ResponseBodyConsumer consumer) {
+      this.responseBodyConsumers.put(consumerId, consumer);
+      return this;
+    }
+
+    /**
+     * Configures where completed requests are logged. The client closes its request log once it
+     * is shut down
+     * 
+     * @param requestLog the request log
+     * @return this builder
+     */
+    public Builder withRequestLog(final RequestLog requestLog) {
+      this.requestLog = requestLog;
+      return this;
+    }
+
+    /**
+     * Configures the size of each connection's receive buffer, which bounds the bytes read from
+     * the socket per read
+     *
+     * @param receiveBufferSize receive buffer size, in bytes
+     * @return this builder
+     */
+    public Builder withReceiveBufferSize(final int receiveBufferSize) {
+      this.receiveBufferSize = receiveBufferSize;
+      return this;
+    }
+
+    /**
+     * Configures whether receive buffers are allocated outside of the heap, which saves a copy
+     * per socket read
+     *
+     * @param directReceiveBuffers whether to use direct receive buffers
+     * @return this builder
+     */
+    public Builder usingDirectReceiveBuffers(final boolean directReceiveBuffers) {
+      this.directReceiveBuffers = directReceiveBuffers;
+      return this;
+    }
+
+    /**
+     * Configures the size of the region unthrottled zeroes and custom request content is written
+     * from, which bounds the bytes offered to the socket per write; random content is written
+     * from a per request region of up to 16 KiB
+     *
+     * @param uploadRegionSize upload region size, in bytes
+     * @return this builder
+     */
+    public Builder withUploadRegionSize(final int uploadRegionSize) {
+      this.uploadRegionSize = uploadRegionSize;
+      return this;
+    }
+
+    /**
+     * Configures where upload regions are allocated. Direct and mapped regions are written to the
+     * socket without first being copied into a temporary direct buffer
+     *
+     * @param uploadRegionType upload region type
+     * @return this builder
+     */
+    public Builder withUploadRegionType(final PatternRegion.Type uploadRegionType) {
+      this.uploadRegionType = uploadRegionType;
+      return this;
+    }
+
+    /**
+     * Constructs a new nio client instance and starts its I/O threads
+     *
+     * @return a nio client instance
+     * @throws IllegalArgumentException if ioThreads, connectTimeout, soTimeout, writeThroughput,
+     *         or readThroughput are negative
+     * @throws IllegalArgumentException if soLinger is less than {@code -1}
+     * @throws IllegalArgumentException if waitForContinue, receiveBufferSize or uploadRegionSize
+     *         is negative or zero
+     * @throws NullPointerException if uploadRegionType or requestLog is null
+     */
+    public NioClient build() {
+      return new NioClient(this);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+import com.ibm.og.util.io.PatternInputStream;
+import com.ibm.og.util.io.PatternRegion;
+
+/**
+ * Supplies the pattern regions request content is sent from. Regions for shared patterns (zeroes
+ * and custom content) are built once per client with the configured length and type; per request
+ * patterns (random data) are tiled into a per thread or caller supplied buffer
+ *
+ * @since 1.12.0
+ */
+final class PatternRegions {
+  private final int regionLength;
+  private final PatternRegion.Type type;
+  private final ThreadLocal<byte[]> tiles;
+  // weak keys are compared by identity, and let regions go once their pattern is discarded
+  private final ConcurrentMap<byte[], PatternRegion> shared;
+
+  /**
+   * Creates an instance
+   *
+   * @param regionLength the minimum length of regions for shared patterns
+   * @param type where to allocate regions for shared patterns
+   * @param tileLength the length of per thread buffers for per request patterns
+   * @throws NullPointerException if type is null
+   * @throws IllegalArgumentException if regionLength or tileLength is not positive
+   */
+  public PatternRegions(final int regionLength, final PatternRegion.Type type,
+      final int tileLength) {
+    checkArgument(regionLength > 0, "regionLength must be > 0 [%s]", regionLength);
+    checkArgument(tileLength > 0, "tileLength must be > 0 [%s]", tileLength);
+    this.regionLength = regionLength;
+    this.type = checkNotNull(type);
+    this.tiles = new ThreadLocal<byte[]>() {
+      @Override
+      protected byte[] initialValue() {
+        return new byte[tileLength];
+      }
+    };
+    this.shared = new MapMaker().weakKeys().makeMap();
+  }
+
+  /**
+   * Returns a region for the provided request content, tiling per request patterns into a buffer
+   * owned by the calling thread
+   *
+   * @param content the request content
+   * @return a region, or null if the content is not a pattern stream or its pattern does not fit
+   *         in a tile
+   * @throws IOException if a region cannot be created
+   */
+  public PatternRegion get(final InputStream content) throws IOException {
+    if (content instanceof PatternInputStream && !((PatternInputStream) content).isShared()) {
+      return get(content, this.tiles.get());
+    }
+    return get(content, null);
+  }
+
+  /**
+   * Returns a region for the provided request content
+   *
+   * @param content the request content
+   * @param tile a buffer which may be overwritten to build a region for a per request pattern;
+   *        the returned region is only valid until the buffer is next reused
+   * @return a region, or null if the content is not a pattern stream or its pattern does not fit
+   *         in {@code tile}
+   * @throws IOException if a region cannot be created
+   */
+  public PatternRegion get(final InputStream content, final byte[] tile) throws IOException {
+    if (!(content instanceof PatternInputStream)) {
+      return null;
+    }
+    final PatternInputStream pattern = (PatternInputStream) content;
+    if (pattern.isShared()) {
+      final PatternRegion region = this.shared.get(pattern.getPattern());
+      return region != null ? region : createShared(pattern.getPattern());
+    }
+    if (pattern.getPattern().length > tile.length) {
+      return null;
+    }
+    return PatternRegion.wrap(pattern.getPattern(), tile, pattern.getSize());
+  }
+
+  private synchronized PatternRegion createShared(final byte[] pattern) throws IOException {
+    PatternRegion region = this.shared.get(pattern);
+    if (region == null) {
+      region = PatternRegion.create(pattern, this.regionLength, this.type);
+      this.shared.put(pattern, region);
+    }
+    return region;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PatternRegions [regionLength=%s, type=%s]", this.regionLength,
+        this.type);
+  }
+}
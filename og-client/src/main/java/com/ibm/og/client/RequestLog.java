@@ -0,0 +1,39 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import java.io.IOException;
+
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+
+/**
+ * A destination for the per request log. Clients record every completed request, other than
+ * those aborted at shutdown, and close their request log once shut down
+ *
+ * @since 1.12.0
+ */
+public interface RequestLog {
+  /**
+   * Records a completed request. Implementations must be safe to call from any thread and must
+   * not retain {@code timestamps}, which the caller may reuse
+   *
+   * @param request the request
+   * @param response the response
+   * @param userAgent the http user agent the request was sent with
+   * @param timestamps timestamps gathered while executing the request
+   */
+  void log(Request request, Response response, String userAgent, RequestTimestamps timestamps);
+
+  /**
+   * Writes any buffered records and releases resources. Records logged after this method is
+   * called may be discarded
+   *
+   * @throws IOException if an error occurs while writing buffered records
+   */
+  void close() throws IOException;
+}
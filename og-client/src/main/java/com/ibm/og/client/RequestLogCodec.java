@@ -0,0 +1,450 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.google.gson.stream.JsonWriter;
+import com.ibm.og.api.RequestTimestamps;
+
+/**
+ * Encodes request log entries in the binary request log format, and decodes them back into the
+ * json lines written by {@link JsonRequestLog}.
+ * <p>
+ * A file is a header followed by one record per request, with no padding or framing:
+ *
+ * <pre>
+ * header := "OGRL" version:varint zone:string count:varint field:string*
+ * record := operation:dict type:dict server_name:dict remote_address:dict user:dict
+ *           timestamp_start:long request_latency:long request_method:dict request_uri:string
+ *           source_uri:string object_id:string source_object_id:string status:long
+ *           request_length:nlong response_length:nlong user_agent:dict client_request_id:string
+ *           request_id:string queue_wait:nlong connection_lease_wait:nlong
+ *           request_content:nlong close_latency:nlong ttfb:nlong response_content:nlong
+ *           total:nlong response_time:nlong original_object_length:nlong object_length:nlong
+ *           retention:dict legal_hold:dict client_saturated:dict deleted_object_length:string
+ *           max_keys:dict list_session_id:string list_request_num:string
+ *           list_max_requests:dict list_prefix:dict list_delimiter:dict
+ *           list_content_size:string list_common_prefixes_size:string multidelete_req_objects:string
+ *           multidelete_deleted_objects:string multidelete_failed_objects:string
+ * </pre>
+ *
+ * <ul>
+ * <li>varint: an unsigned LEB128 integer, 7 bits per byte, least significant group first</li>
+ * <li>long: a zigzag encoded varint</li>
+ * <li>nlong: a nullable long; 0 for null, otherwise the zigzag encoded value plus one</li>
+ * <li>string: 0 for null, otherwise a varint of the UTF-8 length plus one followed by the
+ * bytes</li>
+ * <li>dict: a string from a dictionary built up as the file is read; 0 for null, 1 for a string
+ * which follows and is added to the dictionary while it holds fewer than 4096 entries, or the
+ * index of an existing entry plus two</li>
+ * </ul>
+ * The version is currently 1 and the zone is the id of the time zone {@code time_start} and
+ * {@code time_finish} are formatted in. The header ends with the json field names the log is
+ * projected to, or a count of zero if every field is logged; fields outside the projection are
+ * written as null, other than {@code timestamp_start}, {@code request_latency} and
+ * {@code status}, which are always written. Stat fields are durations in nanoseconds, and
+ * {@code object_name} always equals {@code object_id}.
+ *
+ * @since 1.12.0
+ */
+final class RequestLogCodec {
+  static final int VERSION = 1;
+  private static final byte[] MAGIC = "OGRL".getBytes(Charsets.US_ASCII);
+  private static final int MAX_DICTIONARY_SIZE = 4096;
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+  private static final String[] STATS = {"queue_wait", "connection_lease_wait", "request_content",
+      "close_latency", "ttfb", "response_content", "total",
+      "response_time"};
+
+  private RequestLogCodec() {}
+
+  /**
+   * Writes records to an output stream. Instances are not thread safe
+   */
+  static final class Encoder {
+    private final OutputStream out;
+    private final Set<String> fields;
+    private final Map<String, Integer> dictionary;
+
+    /**
+     * Creates an encoder and writes the file header
+     *
+     * @param out the stream to write to
+     * @param fields the json fields to write, or an empty set to write every field
+     * @throws IOException if the header cannot be written
+     */
+    Encoder(final OutputStream out, final Set<String> fields) throws IOException {
+      this.out = checkNotNull(out);
+      this.fields = RequestLogEntry.checkFields(fields);
+      this.dictionary = Maps.newHashMap();
+      out.write(MAGIC);
+      writeVarint(VERSION);
+      writeString(DateTimeZone.getDefault().getID());
+      writeVarint(this.fields.size());
+      for (final String field : this.fields) {
+        writeString(field);
+      }
+    }
+
+    /**
+     * Writes a record
+     *
+     * @param e the entry to write
+     * @param t the timestamps the entry was created from
+     * @throws IOException if the record cannot be written
+     */
+    void encode(final RequestLogEntry e, final RequestTimestamps t) throws IOException {
+      writeDict(project("operation", e.operation));
+      writeDict(project("type", e.type));
+      writeDict(project("server_name", e.serverName));
+      writeDict(project("remote_address", e.remoteAddress));
+      writeDict(project("user", e.user));
+      writeLong(e.timestampStart);
+      writeLong(e.requestLatency);
+      writeDict(project("request_method", e.requestMethod.name()));
+      writeString(project("request_uri", e.requestUri));
+      writeString(project("source_uri", e.sourceUri));
+      writeString(include("object_id") || include("object_name") ? e.objectId : null);
+      writeString(project("source_object_id", e.sourceObjectId));
+      writeLong(e.status);
+      writeNullableLong(project("request_length", e.requestLength));
+      writeNullableLong(project("response_length", e.responseLength));
+      writeDict(project("user_agent", e.userAgent));
+      writeString(project("client_request_id", e.clientRequestId));
+      writeString(project("request_id", e.requestId));
+      final boolean stat = include("stat");
+      writeNullableLong(stat ? duration(t.submitted, t.start) : null);
+      writeNullableLong(stat ? duration(t.connectionLeaseStart, t.connectionLeaseFinish) : null);
+      writeNullableLong(stat ? duration(t.requestContentStart, t.requestContentFinish) : null);
+      writeNullableLong(stat ? duration(t.requestContentFinish, t.finish) : null);
+      writeNullableLong(stat ? duration(t.start, t.responseContentFirstBytes) : null);
+      writeNullableLong(stat ? duration(t.responseContentStart, t.responseContentFinish) : null);
+      writeNullableLong(stat ? duration(t.start, t.finish) : null);
+      writeNullableLong(stat ? duration(t.intended, t.finish) : null);
+      writeNullableLong(project("original_object_length", e.originalObjectLength));
+      writeNullableLong(project("object_length", e.objectLength));
+      writeDict(project("retention", e.retention));
+      writeDict(project("legal_hold", e.legalHold));
+      writeDict(project("client_saturated", e.clientSaturated));
+      writeString(project("deleted_object_length", e.deletedObjectLength));
+      writeDict(project("max_keys", e.maxKeys));
+      writeString(project("list_session_id", e.listSessionId));
+      writeString(project("list_request_num", e.listRequestNum));
+      writeDict(project("list_max_requests", e.listMaxRequests));
+      writeDict(project("list_prefix", e.listPrefix));
+      writeDict(project("list_delimiter", e.listDelimiter));
+      writeString(project("list_content_size", e.listContentSize));
+      writeString(project("list_common_prefixes_size", e.listCommonPrefixesSize));
+      writeString(project("multidelete_req_objects", e.multideleteReqObjects));
+      writeString(project("multidelete_deleted_objects", e.multideleteDeletedObjects));
+      writeString(project("multidelete_failed_objects", e.multideleteFailedObjects));
+    }
+
+    private boolean include(final String field) {
+      return this.fields.isEmpty() || this.fields.contains(field);
+    }
+
+    private <T> T project(final String field, final T value) {
+      return include(field) ? value : null;
+    }
+
+    // matches RequestLogEntry.RequestStats
+    private static Long duration(final long start, final long finish) {
+      if (start > 0 && finish > start) {
+        return finish - start;
+      }
+      return null;
+    }
+
+    private void writeVarint(final long value) throws IOException {
+      long remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+        this.out.write((int) ((remaining & 0x7F) | 0x80));
+        remaining >>>= 7;
+      }
+      this.out.write((int) remaining);
+    }
+
+    private void writeLong(final long value) throws IOException {
+      writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    private void writeNullableLong(final Long value) throws IOException {
+      if (value == null) {
+        writeVarint(0);
+      } else {
+        writeVarint(((value << 1) ^ (value >> 63)) + 1);
+      }
+    }
+
+    private void writeString(final String value) throws IOException {
+      if (value == null) {
+        writeVarint(0);
+        return;
+      }
+      final byte[] bytes = value.getBytes(Charsets.UTF_8);
+      writeVarint(bytes.length + 1L);
+      this.out.write(bytes);
+    }
+
+    private void writeDict(final String value) throws IOException {
+      if (value == null) {
+        writeVarint(0);
+        return;
+      }
+      final Integer index = this.dictionary.get(value);
+      if (index != null) {
+        writeVarint(index + 2L);
+        return;
+      }
+      writeVarint(1);
+      writeString(value);
+      if (this.dictionary.size() < MAX_DICTIONARY_SIZE) {
+        this.dictionary.put(value, this.dictionary.size());
+      }
+    }
+  }
+
+  /**
+   * Reads records from an input stream and writes them as json lines. Instances are not thread
+   * safe
+   */
+  static final class Decoder {
+    private final InputStream in;
+    private final List<String> dictionary;
+    private final DateTimeFormatter formatter;
+    private final Set<String> fields;
+
+    /**
+     * Creates a decoder and reads the file header
+     *
+     * @param in the stream to read from
+     * @throws IOException if the header cannot be read or is not a supported binary request log
+     *         header
+     */
+    Decoder(final InputStream in) throws IOException {
+      this.in = checkNotNull(in);
+      this.dictionary = Lists.newArrayList();
+      final byte[] magic = new byte[MAGIC.length];
+      ByteStreams.readFully(in, magic);
+      if (!Arrays.equals(MAGIC, magic)) {
+        throw new IOException("Not a binary request log");
+      }
+      final long version = readVarint();
+      if (version != VERSION) {
+        throw new IOException(String.format("Unsupported binary request log version [%s]",
+            version));
+      }
+      this.formatter = RequestLogEntry.FORMATTER.withZone(DateTimeZone.forID(readString()));
+      final long count = readVarint();
+      final Set<String> fields = Sets.newHashSet();
+      for (long i = 0; i < count; i++) {
+        fields.add(readString());
+      }
+      this.fields = fields;
+    }
+
+    /**
+     * Reads the next record and writes it as a json line
+     *
+     * @param out the writer to write to
+     * @return false if the end of the stream was reached before the record
+     * @throws IOException if an error occurs while reading or writing, or the stream ends within a
+     *         record
+     */
+    boolean decode(final Writer out) throws IOException {
+      final int first = this.in.read();
+      if (first < 0) {
+        return false;
+      }
+      final JsonWriter json = new JsonWriter(out);
+      // the same settings gson serializes request log entries with
+      json.setHtmlSafe(true);
+      json.setSerializeNulls(false);
+      json.beginObject();
+      json.name("operation").value(readDict(first));
+      json.name("type").value(readDict());
+      json.name("server_name").value(readDict());
+      json.name("remote_address").value(readDict());
+      json.name("user").value(readDict());
+      // fields outside the projection which were written as null are omitted like other nulls
+      final long timestampStart = readLong();
+      final long requestLatency = readLong();
+      final long timestampFinish = timestampStart + requestLatency;
+      json.name("timestamp_start").value(project("timestamp_start", timestampStart));
+      json.name("timestamp_finish").value(project("timestamp_finish", timestampFinish));
+      json.name("time_start").value(include("time_start") ? this.formatter.print(timestampStart)
+          : null);
+      json.name("time_finish").value(include("time_finish")
+          ? this.formatter.print(timestampFinish) : null);
+      json.name("request_method").value(readDict());
+      json.name("request_uri").value(readString());
+      json.name("source_uri").value(readString());
+      final String objectId = readString();
+      json.name("object_id").value(include("object_id") ? objectId : null);
+      json.name("source_object_id").value(readString());
+      final long status = readLong();
+      if (include("status")) {
+        json.name("status").value(status);
+      }
+      json.name("request_length").value(readNullableLong());
+      json.name("response_length").value(readNullableLong());
+      json.name("user_agent").value(readDict());
+      json.name("request_latency").value(project("request_latency", requestLatency));
+      json.name("client_request_id").value(readString());
+      json.name("request_id").value(readString());
+      final Double[] stats = new Double[STATS.length];
+      for (int i = 0; i < STATS.length; i++) {
+        stats[i] = millis(readNullableLong());
+      }
+      if (include("stat")) {
+        json.name("stat").beginObject();
+        for (int i = 0; i < STATS.length; i++) {
+          json.name(STATS[i]).value(stats[i]);
+        }
+        json.endObject();
+      }
+      json.name("original_object_length").value(readNullableLong());
+      json.name("object_length").value(readNullableLong());
+      json.name("object_name").value(include("object_name") ? objectId : null);
+      json.name("retention").value(readDict());
+      json.name("legal_hold").value(readDict());
+      json.name("client_saturated").value(readDict());
+      json.name("deleted_object_length").value(readString());
+      json.name("max_keys").value(readDict());
+      json.name("list_session_id").value(readString());
+      json.name("list_request_num").value(readString());
+      json.name("list_max_requests").value(readDict());
+      json.name("list_prefix").value(readDict());
+      json.name("list_delimiter").value(readDict());
+      json.name("list_content_size").value(readString());
+      json.name("list_common_prefixes_size").value(readString());
+      json.name("multidelete_req_objects").value(readString());
+      json.name("multidelete_deleted_objects").value(readString());
+      json.name("multidelete_failed_objects").value(readString());
+      json.endObject();
+      json.flush();
+      out.write(LINE_SEPARATOR);
+      return true;
+    }
+
+    private boolean include(final String field) {
+      return this.fields.isEmpty() || this.fields.contains(field);
+    }
+
+    // longs are serialized as strings in the json request log
+    private String project(final String field, final long value) {
+      return include(field) ? String.valueOf(value) : null;
+    }
+
+    // matches RequestLogEntry.RequestStats, rounded as ApacheClient.createGson rounds doubles
+    private static Double millis(final String nanos) {
+      if (nanos == null) {
+        return null;
+      }
+      final double value = ((double) Long.parseLong(nanos)) / TimeUnit.MILLISECONDS.toNanos(1);
+      return new BigDecimal(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private int readByte() throws IOException {
+      final int b = this.in.read();
+      if (b < 0) {
+        throw new EOFException("Binary request log ends within a record");
+      }
+      return b;
+    }
+
+    private long readVarint() throws IOException {
+      return readVarint(readByte());
+    }
+
+    private long readVarint(final int first) throws IOException {
+      long value = 0;
+      int shift = 0;
+      int b = first;
+      while (true) {
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+        shift += 7;
+        if (shift > 63) {
+          throw new IOException("Malformed varint in binary request log");
+        }
+        b = readByte();
+      }
+    }
+
+    private long readLong() throws IOException {
+      final long value = readVarint();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    // longs are serialized as strings in the json request log
+    private String readNullableLong() throws IOException {
+      final long value = readVarint();
+      if (value == 0) {
+        return null;
+      }
+      return String.valueOf(((value - 1) >>> 1) ^ -((value - 1) & 1));
+    }
+
+    private String readString() throws IOException {
+      final long length = readVarint();
+      if (length == 0) {
+        return null;
+      }
+      if (length - 1 > Integer.MAX_VALUE) {
+        throw new IOException("Malformed string in binary request log");
+      }
+      final byte[] bytes = new byte[(int) (length - 1)];
+      ByteStreams.readFully(this.in, bytes);
+      return new String(bytes, Charsets.UTF_8);
+    }
+
+    private String readDict() throws IOException {
+      return readDict(readByte());
+    }
+
+    private String readDict(final int first) throws IOException {
+      final long code = readVarint(first);
+      if (code == 0) {
+        return null;
+      } else if (code == 1) {
+        final String value = readString();
+        if (this.dictionary.size() < MAX_DICTIONARY_SIZE) {
+          this.dictionary.add(value);
+        }
+        return value;
+      } else if (code - 2 >= this.dictionary.size()) {
+        throw new IOException("Malformed dictionary reference in binary request log");
+      }
+      return this.dictionary.get((int) (code - 2));
+    }
+  }
+}
@@ -5,14 +5,24 @@
 
 package com.ibm.og.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import com.ibm.og.api.*;
 import com.ibm.og.util.Context;
 import com.ibm.og.api.RequestTimestamps;
 import org.apache.http.HttpHeaders;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.FieldNamingPolicy;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
@@ -50,6 +60,7 @@ public class RequestLogEntry {
   public final String objectName;
   public final String retention;
   public final String legalHold;
+  public final String clientSaturated;
   public String deletedObjectLength;
   public String maxKeys;
   public String listSessionId;
@@ -63,9 +74,11 @@ public class RequestLogEntry {
   public String multideleteDeletedObjects;
   public String multideleteFailedObjects;
 
-  private static final DateTimeFormatter FORMATTER =
+  static final DateTimeFormatter FORMATTER =
       DateTimeFormat.forPattern("dd/MMM/yyyy:HH:mm:ss Z").withLocale(Locale.US);
   private static final String X_CLV_REQUEST_ID = "X-Clv-Request-Id";
+  // serialized field names, which request log projections select from, to their fields
+  static final Map<String, Field> FIELDS = fields();
 
   /**
    * Constructs an instance
@@ -174,22 +187,55 @@ public class RequestLogEntry {
     this.sourceUri = request.getContext().get(Context.X_OG_SSE_SOURCE_URI);
     this.retention = request.getContext().get(Context.X_OG_OBJECT_RETENTION);
     this.legalHold = request.getContext().get(Context.X_OG_LEGAL_HOLD);
+    this.clientSaturated = response.getContext().get(Context.X_OG_CLIENT_SATURATED);
+
+  }
+
+  /**
+   * Validates a request log projection
+   *
+   * @param fields the names of the top level json fields to log, or an empty set for every field
+   * @return an immutable copy of fields
+   * @throws NullPointerException if fields is null
+   * @throws IllegalArgumentException if fields contains a name which is not a request log field
+   */
+  static Set<String> checkFields(final Set<String> fields) {
+    for (final String field : checkNotNull(fields)) {
+      checkArgument(FIELDS.containsKey(field), "unknown request log field [%s], expected one of %s",
+          field, FIELDS.keySet());
+    }
+    return ImmutableSet.copyOf(fields);
+  }
 
+  private static Map<String, Field> fields() {
+    final ImmutableMap.Builder<String, Field> fields = ImmutableMap.builder();
+    for (final Field field : RequestLogEntry.class.getDeclaredFields()) {
+      if (!Modifier.isStatic(field.getModifiers())) {
+        fields.put(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES.translateName(field), field);
+      }
+    }
+    return fields.build();
   }
 
   public static class RequestStats {
+    final Double queueWait;
+    final Double connectionLeaseWait;
     final Double requestContent;
     final Double closeLatency;
     final Double ttfb;
     final Double responseContent;
     final Double total;
+    final Double responseTime;
 
     public RequestStats(final RequestTimestamps t) {
+      this.queueWait = duration(t.submitted, t.start);
+      this.connectionLeaseWait = duration(t.connectionLeaseStart, t.connectionLeaseFinish);
       this.requestContent = duration(t.requestContentStart, t.requestContentFinish);
       this.closeLatency = duration(t.requestContentFinish, t.finish);
       this.ttfb = duration(t.start, t.responseContentFirstBytes);
       this.responseContent = duration(t.responseContentStart, t.responseContentFinish);
       this.total = duration(t.start, t.finish);
+      this.responseTime = duration(t.intended, t.finish);
     }
 
     private Double duration(final long start, final long finish) {
@@ -0,0 +1,92 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+
+/**
+ * A request log which passes only a sample of requests on to another request log. A request is
+ * logged if it is every {@code interval}th request and, independently, with probability
+ * {@code probability}. Error responses and slow requests may be logged regardless of sampling.
+ * The decision is made before a log entry is built, so skipped requests cost a counter increment
+ * and a random number at most
+ *
+ * @since 1.12.0
+ */
+public class SampledRequestLog implements RequestLog {
+  private final RequestLog requestLog;
+  private final int interval;
+  private final double probability;
+  private final boolean errors;
+  private final long slowThreshold;
+  private final AtomicLong requests;
+
+  /**
+   * Creates an instance
+   *
+   * @param requestLog the request log to pass sampled requests to
+   * @param interval log every {@code interval}th request; 1 logs every request
+   * @param probability the probability of logging a request, in range [0.0, 1.0]
+   * @param errors if true, always log requests whose response status is 400 or greater
+   * @param slowThreshold if positive, always log requests whose latency is at least this many
+   *        milliseconds
+   * @throws NullPointerException if requestLog is null
+   * @throws IllegalArgumentException if interval is not positive, probability is not in range
+   *         [0.0, 1.0] or slowThreshold is negative
+   */
+  public SampledRequestLog(final RequestLog requestLog, final int interval,
+      final double probability, final boolean errors, final long slowThreshold) {
+    this.requestLog = checkNotNull(requestLog);
+    checkArgument(interval > 0, "interval must be > 0 [%s]", interval);
+    checkArgument(probability >= 0.0 && probability <= 1.0,
+        "probability must be in range [0.0, 1.0] [%s]", probability);
+    checkArgument(slowThreshold >= 0, "slowThreshold must be >= 0 [%s]", slowThreshold);
+    this.interval = interval;
+    this.probability = probability;
+    this.errors = errors;
+    this.slowThreshold = slowThreshold;
+    this.requests = new AtomicLong();
+  }
+
+  @Override
+  public void log(final Request request, final Response response, final String userAgent,
+      final RequestTimestamps timestamps) {
+    if (sampled() || (this.errors && response.getStatusCode() >= 400)
+        || (this.slowThreshold > 0
+            && timestamps.finishMillis - timestamps.startMillis >= this.slowThreshold)) {
+      this.requestLog.log(request, response, userAgent, timestamps);
+    }
+  }
+
+  private boolean sampled() {
+    if (this.interval > 1 && this.requests.getAndIncrement() % this.interval != 0) {
+      return false;
+    }
+    return this.probability >= 1.0 || ThreadLocalRandom.current().nextDouble() < this.probability;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.requestLog.close();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SampledRequestLog [requestLog=%s, interval=%s, probability=%s, errors=%s, "
+            + "slowThreshold=%s]",
+        this.requestLog, this.interval, this.probability, this.errors, this.slowThreshold);
+  }
+}
@@ -0,0 +1,214 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.ibm.og.api.Client;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.HttpRequest;
+
+/**
+ * Executor benchmark for {@link ApacheClient}. Keeps a fixed number of requests outstanding against
+ * a server which delays each response, first with requests executed on the cached platform thread
+ * pool and then on virtual threads, and logs the peak thread count, peak resident set size and
+ * latency percentiles of each. Virtual threads are only measured on runtimes which support them.
+ */
+public class ApacheClientExecutorIT {
+  private static final Logger _logger = LoggerFactory.getLogger(ApacheClientExecutorIT.class);
+  private static final int CONCURRENCY = 256;
+  private static final int DELAY_MILLIS = 20;
+  private static final long DURATION_MILLIS = 5000;
+  private static final long WARMUP_MILLIS = 1000;
+  private static final long SAMPLE_MILLIS = 50;
+  private static final File STATUS = new File("/proc/self/status");
+
+  @ClassRule
+  public static final WireMockClassRule WIREMOCK_RULE = new WireMockClassRule(8089);
+
+  @Rule
+  public WireMockClassRule wireMockRule = WIREMOCK_RULE;
+  private Request request;
+
+  @Before
+  public void before() {
+    stubFor(get(urlMatching("/container/.*")).willReturn(
+        aResponse().withStatus(200).withBody(new byte[1000]).withFixedDelay(DELAY_MILLIS)));
+    this.request = new HttpRequest.Builder(Method.GET,
+        URI.create("http://127.0.0.1:8089/container/object"), Operation.READ).build();
+  }
+
+  private static boolean virtualThreadsSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (final NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  @Test
+  public void executorComparison() throws Exception {
+    run(false, WARMUP_MILLIS);
+    final Result platform = run(false, DURATION_MILLIS);
+    _logger.info("platform threads {}", platform);
+    assertThat(platform.failures, is(0));
+
+    if (!virtualThreadsSupported()) {
+      _logger.info("virtual threads are not supported by runtime [{}]",
+          System.getProperty("java.version"));
+      return;
+    }
+    run(true, WARMUP_MILLIS);
+    final Result virtual = run(true, DURATION_MILLIS);
+    _logger.info("virtual threads {}", virtual);
+    assertThat(virtual.failures, is(0));
+
+    // a blocked virtual thread releases its carrier, so far fewer platform threads are started
+    assertThat(virtual.peakThreads, lessThan(platform.peakThreads));
+  }
+
+  private Result run(final boolean virtualThreads, final long durationMillis) throws Exception {
+    final Client client = new ApacheClient.Builder().usingVirtualThreads(virtualThreads)
+        .withMaxConnections(CONCURRENCY).build();
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    threads.resetPeakThreadCount();
+    final AtomicLong peakRss = new AtomicLong(rss());
+    final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    sampler.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        final long rss = rss();
+        if (rss > peakRss.get()) {
+          peakRss.set(rss);
+        }
+      }
+    }, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+    final Semaphore outstanding = new Semaphore(CONCURRENCY);
+    final List<Long> latencies = Collections.synchronizedList(Lists.<Long>newArrayList());
+    final AtomicInteger failures = new AtomicInteger();
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+    while (System.nanoTime() < deadline) {
+      outstanding.acquire();
+      final long submitted = System.nanoTime();
+      final ListenableFuture<Response> future = client.execute(this.request);
+      Futures.addCallback(future, new FutureCallback<Response>() {
+        @Override
+        public void onSuccess(final Response response) {
+          if (response.getStatusCode() == 200) {
+            latencies.add(System.nanoTime() - submitted);
+          } else {
+            failures.incrementAndGet();
+          }
+          outstanding.release();
+        }
+
+        @Override
+        public void onFailure(final Throwable t) {
+          failures.incrementAndGet();
+          outstanding.release();
+        }
+      });
+    }
+    outstanding.acquire(CONCURRENCY);
+    sampler.shutdownNow();
+    final int peakThreads = threads.getPeakThreadCount();
+    client.shutdown(true, 0).get();
+    return new Result(peakThreads, peakRss.get(), latencies, failures.get());
+  }
+
+  // resident set size of this process in KiB, or -1 where procfs is unavailable
+  private static long rss() {
+    try {
+      for (final String line : Files.readLines(STATUS, Charsets.UTF_8)) {
+        if (line.startsWith("VmRSS:")) {
+          return Long.parseLong(line.substring(6).replace("kB", "").trim());
+        }
+      }
+    } catch (final IOException e) {
+      // fall through
+    }
+    return -1;
+  }
+
+  private static class Result {
+    final int peakThreads;
+    final long peakRss;
+    final int requests;
+    final int failures;
+    final long[] latencies;
+
+    Result(final int peakThreads, final long peakRss, final List<Long> latencies,
+        final int failures) {
+      this.peakThreads = peakThreads;
+      this.peakRss = peakRss;
+      this.requests = latencies.size();
+      this.failures = failures;
+      this.latencies = new long[latencies.size()];
+      for (int i = 0; i < this.latencies.length; i++) {
+        this.latencies[i] = latencies.get(i);
+      }
+      Arrays.sort(this.latencies);
+    }
+
+    // latency at the provided percentile, in microseconds
+    long percentile(final double percentile) {
+      if (this.latencies.length == 0) {
+        return 0;
+      }
+      final int index = (int) Math.ceil(percentile / 100 * this.latencies.length) - 1;
+      return TimeUnit.NANOSECONDS.toMicros(this.latencies[Math.max(0, index)]);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "requests [%s] failures [%s] peak threads [%s] peak rss [%s KiB] "
+              + "latency p50 [%s us] p99 [%s us] p99.9 [%s us] max [%s us]",
+          this.requests, this.failures, this.peakThreads, this.peakRss, percentile(50),
+          percentile(99), percentile(99.9), percentile(100));
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.ibm.og.api.Client;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.ResponseBodyConsumer;
+import com.ibm.og.util.Context;
+
+/**
+ * Receive buffer benchmark for {@link ApacheClient}. Downloads large bodies from a local server,
+ * drained either by the client's pooled receive buffers or by {@link FreshBufferConsumer}, a copy
+ * of the fresh 4096 byte buffer per request they replaced, and logs the process CPU time spent per
+ * GiB received by each. Both share the same request path and server, so the difference between
+ * them is the cost of draining, including the garbage collection of discarded buffers.
+ */
+public class ApacheClientReceiveBufferIT {
+  private static final Logger _logger = LoggerFactory.getLogger(ApacheClientReceiveBufferIT.class);
+  private static final int BODY_SIZE = 8 * 1024 * 1024;
+  private static final int CONCURRENCY = 4;
+  private static final int REQUESTS = 128;
+  private static final int WARMUP_REQUESTS = 16;
+  private static final String FRESH_BUFFER = "fresh-buffer";
+  private static final double GIB = 1024.0 * 1024 * 1024;
+
+  @ClassRule
+  public static final WireMockClassRule WIREMOCK_RULE = new WireMockClassRule(8090);
+
+  @Rule
+  public WireMockClassRule wireMockRule = WIREMOCK_RULE;
+  private Request pooled;
+  private Request fresh;
+
+  @Before
+  public void before() {
+    stubFor(get(urlMatching("/container/.*"))
+        .willReturn(aResponse().withStatus(200).withBody(new byte[BODY_SIZE])));
+    final URI uri = URI.create("http://127.0.0.1:8090/container/object");
+    this.pooled = new HttpRequest.Builder(Method.GET, uri, Operation.READ).build();
+    this.fresh = new HttpRequest.Builder(Method.GET, uri, Operation.READ)
+        .withContext(Context.X_OG_RESPONSE_BODY_CONSUMER, FRESH_BUFFER).build();
+  }
+
+  @Test
+  public void cpuPerGib() throws Exception {
+    final FreshBufferConsumer consumer = new FreshBufferConsumer();
+    final Client client =
+        new ApacheClient.Builder().withResponseBodyConsumer(FRESH_BUFFER, consumer).build();
+
+    download(client, this.pooled, WARMUP_REQUESTS);
+    download(client, this.fresh, WARMUP_REQUESTS);
+    consumer.bytes.set(0);
+
+    final long pooledBytes = (long) REQUESTS * BODY_SIZE;
+    final double pooledCpu = download(client, this.pooled, REQUESTS) / (pooledBytes / GIB);
+    final double freshCpu = download(client, this.fresh, REQUESTS) / (consumer.bytes.get() / GIB);
+    client.shutdown(true, 0).get();
+    assertThat(consumer.bytes.get(), is(pooledBytes));
+
+    _logger.info("body size [{}] pooled buffer cpu ms/GiB [{}] fresh buffer cpu ms/GiB [{}]",
+        BODY_SIZE, String.format("%.1f", pooledCpu), String.format("%.1f", freshCpu));
+
+    // the server's share of the cost is common to both, so only gross regressions are flagged
+    if (pooledCpu > 0 && freshCpu > 0) {
+      assertThat(pooledCpu, lessThan(freshCpu * 1.25));
+    }
+  }
+
+  // executes requests, CONCURRENCY at a time, returning the process cpu time spent in millis
+  private double download(final Client client, final Request request, final int requests)
+      throws Exception {
+    final long start = processCpuTime();
+    for (int i = 0; i < requests; i += CONCURRENCY) {
+      final List<ListenableFuture<Response>> futures = Lists.newArrayList();
+      for (int j = 0; j < CONCURRENCY; j++) {
+        futures.add(client.execute(request));
+      }
+      for (final ListenableFuture<Response> future : futures) {
+        final Response response = future.get();
+        assertThat(response.getStatusCode(), is(200));
+        if (request == this.pooled) {
+          assertThat(response.getBody().getSize(), is((long) BODY_SIZE));
+        }
+      }
+    }
+    return TimeUnit.NANOSECONDS.toMicros(processCpuTime() - start) / 1000.0;
+  }
+
+  // cpu time used by this process in nanos, or 0 where the platform does not report it
+  private static long processCpuTime() {
+    final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+    }
+    return 0;
+  }
+
+  /**
+   * Drains response bodies as ApacheClient did before its receive buffers were pooled: into a new
+   * 4096 byte buffer allocated for each request
+   */
+  private static class FreshBufferConsumer implements ResponseBodyConsumer {
+    final AtomicLong bytes = new AtomicLong();
+
+    @Override
+    public Map<String, String> consume(final int statusCode, final InputStream response)
+        throws IOException {
+      final byte[] buf = new byte[4096];
+      long totalBytes = 0;
+      int bytesRead;
+      while ((bytesRead = response.read(buf)) > 0) {
+        totalBytes += bytesRead;
+      }
+      this.bytes.addAndGet(totalBytes);
+      return ImmutableMap.of();
+    }
+  }
+}
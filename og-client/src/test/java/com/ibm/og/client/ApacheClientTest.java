@@ -17,23 +17,31 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.mockito.Mockito.mock;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.ibm.og.http.BasicAuth;
 import com.ibm.og.http.Bodies;
 import com.ibm.og.http.ResponseBodyConsumer;
 import com.ibm.og.util.Context;
+import com.ibm.og.util.io.Streams;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -45,12 +53,15 @@ import com.ibm.og.api.Client;
 import com.ibm.og.api.Method;
 import com.ibm.og.api.Operation;
 import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
 import com.ibm.og.api.Response;
 import com.ibm.og.http.HttpRequest;
 import com.github.tomakehurst.wiremock.client.RequestPatternBuilder;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -305,6 +316,21 @@ public class ApacheClientTest {
     verify(requestedFor(method, this.objectUri.getPath()).withRequestBody(equalTo(requestData)));
   }
 
+  @Test
+  public void intendedStart() throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .build();
+    final long intendedStart = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+    final RequestTimestamps late =
+        this.client.execute(request, intendedStart).get().getRequestTimestamps();
+    assertThat(late.intended, is(intendedStart));
+    assertThat(late.start, greaterThan(late.intended));
+
+    // without an intended start, a request is intended to start when it is submitted
+    final RequestTimestamps unknown = this.client.execute(request).get().getRequestTimestamps();
+    assertThat(unknown.intended, is(unknown.submitted));
+  }
+
   @Test
   public void requestHeaders() throws InterruptedException, ExecutionException {
     final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
@@ -559,6 +585,239 @@ public class ApacheClientTest {
     assertThat(response.getContext(), hasEntry("key", "value"));
   }
 
+  @Test
+  public void virtualThreads() throws InterruptedException, ExecutionException {
+    boolean supported = true;
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (final NoSuchMethodException e) {
+      supported = false;
+    }
+
+    try {
+      final Client client = new ApacheClient.Builder().usingVirtualThreads(true).build();
+      assertThat(supported, is(true));
+      final Request request =
+          new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+      assertThat(client.execute(request).get().getStatusCode(), is(200));
+      client.shutdown(true, 0).get();
+    } catch (final IllegalArgumentException e) {
+      assertThat(supported, is(false));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroReceiveBufferSize() {
+    new ApacheClient.Builder().withReceiveBufferSize(0).build();
+  }
+
+  @DataProvider
+  public static Object[][] provideReceiveBufferSizes() {
+    return new Object[][] {{7}, {65536}};
+  }
+
+  @Test
+  @UseDataProvider("provideReceiveBufferSizes")
+  public void receiveBufferSize(final int receiveBufferSize)
+      throws InterruptedException, ExecutionException {
+    final Client client =
+        new ApacheClient.Builder().withReceiveBufferSize(receiveBufferSize).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    // pooled buffers are reused across requests
+    for (int i = 0; i < 3; i++) {
+      final Response response = client.execute(request).get();
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getBody().getSize(), is(1000L));
+    }
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void concurrentReceiveBuffers() throws InterruptedException, ExecutionException {
+    // more requests draining at once than the pool keeps buffers for
+    final Client client = new ApacheClient.Builder().withMaxWorkers(2).withMaxQueuedRequests(30)
+        .withReceiveBufferSize(64).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    final List<ListenableFuture<Response>> futures = new ArrayList<ListenableFuture<Response>>();
+    for (int i = 0; i < 32; i++) {
+      futures.add(client.execute(request));
+    }
+    for (final ListenableFuture<Response> future : futures) {
+      assertThat(future.get().getBody().getSize(), is(1000L));
+    }
+    client.shutdown(true, 0).get();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullRequestLog() {
+    new ApacheClient.Builder().withRequestLog(null).build();
+  }
+
+  @Test
+  public void requestLog() throws InterruptedException, ExecutionException {
+    final List<Request> logged = Collections.synchronizedList(new ArrayList<Request>());
+    final AtomicBoolean closed = new AtomicBoolean();
+    final RequestLog requestLog = new RequestLog() {
+      @Override
+      public void log(final Request request, final Response response, final String userAgent,
+          final RequestTimestamps timestamps) {
+        logged.add(request);
+      }
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    final Client client = new ApacheClient.Builder().withRequestLog(requestLog).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    for (int i = 0; i < 3; i++) {
+      assertThat(client.execute(request).get().getStatusCode(), is(200));
+    }
+    client.shutdown(true, 0).get();
+
+    assertThat(logged.size(), is(3));
+    assertThat(logged.get(0), is(request));
+    assertThat(closed.get(), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroUploadRegionSize() {
+    new ApacheClient.Builder().withUploadRegionSize(0).build();
+  }
+
+  @DataProvider
+  public static Object[][] provideUploadRegions() {
+    return new Object[][] {{false, Bodies.zeroes(50000)}, {true, Bodies.zeroes(50000)},
+        {false, Bodies.custom(50000, "upload")}, {true, Bodies.custom(50000, "upload")}};
+  }
+
+  @Test
+  @UseDataProvider("provideUploadRegions")
+  public void uploadRegion(final boolean chunk, final Body body)
+      throws InterruptedException, ExecutionException, IOException {
+    // a region smaller than the body, and not a whole number of custom content patterns
+    final Client client = new ApacheClient.Builder().usingChunkedEncoding(chunk)
+        .withUploadRegionSize(4096).build();
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(body).build();
+    // decoded as the server decodes it
+    final String expected = new String(ByteStreams.toByteArray(Streams.create(body)));
+    // the second request reuses the worker's region
+    for (int i = 0; i < 2; i++) {
+      assertThat(client.execute(request).get().getStatusCode(), is(200));
+    }
+    verify(2, putRequestedFor(urlEqualTo(this.objectUri.getPath()))
+        .withRequestBody(equalTo(expected)));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeMaxWorkers() {
+    new ApacheClient.Builder().withMaxWorkers(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeMaxQueuedRequests() {
+    new ApacheClient.Builder().withMaxWorkers(1).withMaxQueuedRequests(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void maxQueuedRequestsWithoutMaxWorkers() {
+    new ApacheClient.Builder().withMaxQueuedRequests(1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeMaxConnections() {
+    new ApacheClient.Builder().withMaxConnections(-1).build();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullSaturationPolicy() {
+    new ApacheClient.Builder().withSaturationPolicy(null).build();
+  }
+
+  @DataProvider
+  public static Object[][] provideRejectingPolicies() {
+    return new Object[][] {{ApacheClient.SaturationPolicy.SHED, "shed"},
+        {ApacheClient.SaturationPolicy.DROP, "drop"}};
+  }
+
+  @Test
+  @UseDataProvider("provideRejectingPolicies")
+  public void saturationPolicyRejects(final ApacheClient.SaturationPolicy policy,
+      final String saturated) throws InterruptedException, ExecutionException {
+    final ApacheClient client =
+        new ApacheClient.Builder().withMaxWorkers(1).withSaturationPolicy(policy).build();
+    final Request delayed = new HttpRequest.Builder(Method.GET, this.delayUri, this.operation)
+        .withContext(Context.X_OG_REQUEST_ID, "1").build();
+    final ListenableFuture<Response> busy = client.execute(delayed);
+
+    final Response rejected = client.execute(delayed).get();
+    assertThat(rejected.getStatusCode(), is(599));
+    assertThat(rejected.getContext(), hasEntry(Context.X_OG_CLIENT_SATURATED, saturated));
+    assertThat(rejected.getContext(), hasEntry(Context.X_OG_REQUEST_ID, "1"));
+    assertThat(busy.get().getStatusCode(), is(200));
+
+    final ClientSaturationStats stats = client.getSaturationStats();
+    final long shed = policy == ApacheClient.SaturationPolicy.SHED ? 1 : 0;
+    assertThat(stats.getShedRequests(), is(shed));
+    assertThat(stats.getDroppedRequests(), is(1 - shed));
+
+    // the worker is free again once the first request completes
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    assertThat(client.execute(request).get().getStatusCode(), is(200));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void saturationPolicyBlocks() throws InterruptedException, ExecutionException {
+    final ApacheClient client = new ApacheClient.Builder().withMaxWorkers(1)
+        .withMaxQueuedRequests(1).withSaturationPolicy(ApacheClient.SaturationPolicy.BLOCK)
+        .build();
+    final Request delayed =
+        new HttpRequest.Builder(Method.GET, this.delayUri, this.operation).build();
+    final ListenableFuture<Response> first = client.execute(delayed);
+    final ListenableFuture<Response> queued = client.execute(delayed);
+    assertThat(client.getSaturationStats().getQueuedRequests(), is(1L));
+
+    final long start = System.nanoTime();
+    final ListenableFuture<Response> blocked = client.execute(delayed);
+    final long blockedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertThat(blockedMillis, greaterThanOrEqualTo(500L));
+    assertThat(client.getSaturationStats().getBlockedRequests(), is(1L));
+
+    assertThat(first.get().getStatusCode(), is(200));
+    final Response queuedResponse = queued.get();
+    assertThat(queuedResponse.getStatusCode(), is(200));
+    final RequestTimestamps timestamps = queuedResponse.getRequestTimestamps();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(timestamps.start - timestamps.submitted),
+        greaterThanOrEqualTo(500L));
+    assertThat(blocked.get().getStatusCode(), is(200));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void connectionLeaseWait() throws InterruptedException, ExecutionException {
+    final ApacheClient client = new ApacheClient.Builder().withMaxConnections(1).build();
+    final Request delayed =
+        new HttpRequest.Builder(Method.GET, this.delayUri, this.operation).build();
+    final ListenableFuture<Response> first = client.execute(delayed);
+    final ListenableFuture<Response> second = client.execute(delayed);
+
+    assertThat(first.get().getStatusCode(), is(200));
+    assertThat(second.get().getStatusCode(), is(200));
+    final ClientSaturationStats stats = client.getSaturationStats();
+    assertThat(stats.getLeases(), is(2L));
+    assertThat(stats.getMaxLeaseWaitMillis(), greaterThanOrEqualTo(500L));
+    assertThat(stats.getLeasedConnections(), is(0L));
+    client.shutdown(true, 0).get();
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testNullTrustStoreWithTrustStorePassword() {
     new ApacheClient.Builder().withTrustStorePassword("password").build();
@@ -0,0 +1,327 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.HttpResponse;
+import com.ibm.og.util.Context;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class BinaryRequestLogTest {
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+  private static final URI OBJECT_URI = URI.create("http://127.0.0.1:8080/container/object");
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @DataProvider
+  public static Object[][] provideInvalidBinaryRequestLog() {
+    return new Object[][] {{null, 1, NullPointerException.class},
+        {new File("request.bin"), 0, IllegalArgumentException.class},
+        {new File("request.bin"), (1 << 30) + 1, IllegalArgumentException.class}};
+  }
+
+  @Test
+  @UseDataProvider("provideInvalidBinaryRequestLog")
+  public void invalidBinaryRequestLog(final File file, final int capacity,
+      final Class<Exception> expectedException) throws IOException {
+    try {
+      new BinaryRequestLog(file, capacity);
+    } catch (final Exception e) {
+      assertThat(e.getClass() == expectedException, is(true));
+      return;
+    }
+    throw new AssertionError("expected " + expectedException);
+  }
+
+  @DataProvider
+  public static Object[][] provideConvert() {
+    final RequestTimestamps complete = timestamps(1000000);
+    final RequestTimestamps partial = timestamps(0);
+    partial.connectionLeaseStart = 0;
+    partial.requestContentStart = 0;
+    partial.responseContentFirstBytes = 0;
+
+    final Request write = new HttpRequest.Builder(Method.PUT, OBJECT_URI, Operation.WRITE)
+        .withBody(Bodies.zeroes(1024)).withContext(Context.X_OG_OBJECT_NAME, "object")
+        .withContext(Context.X_OG_REQUEST_ID, "7").withContext(Context.X_OG_USERNAME, "user")
+        .withContext(Context.X_OG_OBJECT_RETENTION, "3600")
+        .withContext(Context.X_OG_LEGAL_HOLD, "hold").build();
+    final Request overwrite = new HttpRequest.Builder(Method.PUT,
+        URI.create("http://127.0.0.1:8080/container/caf%C3%A9?a=%3Cb%3E&c='d'"),
+        Operation.OVERWRITE).withBody(Bodies.random(2048))
+            .withContext(Context.X_OG_OBJECT_NAME, "café<&>")
+            .withContext(Context.X_OG_OBJECT_SIZE, "4096")
+            .withContext(Context.X_OG_USERNAME, "用户").build();
+    final Request read = new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.READ)
+        .withContext(Context.X_OG_OBJECT_NAME, "object").build();
+    final Request delete = new HttpRequest.Builder(Method.DELETE, OBJECT_URI, Operation.DELETE)
+        .withContext(Context.X_OG_OBJECT_NAME, "object")
+        .withContext(Context.X_OG_OBJECT_SIZE, "1024").build();
+    final Request list = new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.LIST)
+        .withContext(Context.X_OG_LIST_MAX_KEYS, "1000")
+        .withContext(Context.X_OG_LIST_SESSION_ID, "session")
+        .withContext(Context.X_OG_LIST_REQ_NUM, "3").withContext(Context.X_OG_LIST_MAX_REQS, "10")
+        .withContext(Context.X_OG_LIST_PREFIX, "prefix")
+        .withContext(Context.X_OG_LIST_DELIMITER, "/").build();
+    final Request multiDelete =
+        new HttpRequest.Builder(Method.POST, OBJECT_URI, Operation.MULTI_DELETE)
+            .withBody(Bodies.custom(64, "<Delete/>"))
+            .withContext(Context.X_OG_MULTI_DELETE_REQUEST_OBJECTS_COUNT, "10").build();
+
+    final Response ok = new HttpResponse.Builder().withStatusCode(200)
+        .withHeader("X-Clv-Request-Id", "request-id").build();
+    final Response body = new HttpResponse.Builder().withStatusCode(206)
+        .withBody(Bodies.random(-1 >>> 1)).build();
+    final Response notFound = new HttpResponse.Builder().withStatusCode(404)
+        .withContext(Context.X_OG_CLIENT_SATURATED, "true").build();
+    final Response listed = new HttpResponse.Builder().withStatusCode(200)
+        .withBody(Bodies.zeroes(512)).withContext(Context.X_OG_NUM_LIST_CONTENTS, "1000")
+        .withContext(Context.X_OG_NUM_LIST_COMMON_PREFIXES, "0").build();
+    final Response deleted = new HttpResponse.Builder().withStatusCode(200)
+        .withContext(Context.X_OG_MULTI_DELETE_FAILED_OBJECTS_COUNT, "2").build();
+
+    return new Object[][] {{write, ok, "og-1.12.0", complete},
+        {overwrite, notFound, null, partial}, {read, body, "og-1.12.0", complete},
+        {delete, ok, "og-1.12.0", partial}, {list, listed, "og-1.12.0", complete},
+        {multiDelete, deleted, "og-1.12.0", complete}};
+  }
+
+  private static RequestTimestamps timestamps(final long offset) {
+    final RequestTimestamps t = new RequestTimestamps();
+    t.submitted = offset + 1000;
+    t.start = offset + 1234567;
+    t.startMillis = 1453481170147L;
+    t.connectionLeaseStart = offset + 1300000;
+    t.connectionLeaseFinish = offset + 1312345;
+    t.requestContentStart = offset + 1400000;
+    t.requestContentFinish = offset + 2400001;
+    t.responseContentStart = offset + 2500000;
+    t.responseContentFirstBytes = offset + 2600000;
+    t.responseContentFinish = offset + 52345678;
+    t.finish = offset + 52355679;
+    t.finishMillis = 1453481170197L;
+    return t;
+  }
+
+  @Test
+  @UseDataProvider("provideConvert")
+  public void convert(final Request request, final Response response, final String userAgent,
+      final RequestTimestamps timestamps) throws IOException {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 16);
+    // the second record exercises dictionary references
+    log.log(request, response, userAgent, timestamps);
+    log.log(request, response, userAgent, timestamps);
+    log.close();
+
+    final String expected =
+        ApacheClient.createGson().toJson(new RequestLogEntry(request, response, userAgent,
+            timestamps));
+    final List<String> lines = convert(file);
+    assertThat(lines.size(), is(2));
+    assertThat(lines.get(0), is(expected));
+    assertThat(lines.get(1), is(expected));
+  }
+
+  @DataProvider
+  public static Object[][] provideProjection() {
+    return new Object[][] {{ImmutableSet.of("status")},
+        {ImmutableSet.of("time_start", "object_name", "stat")},
+        {ImmutableSet.of("operation", "request_latency", "object_id", "user_agent")},
+        {ImmutableSet.of("timestamp_finish", "time_finish", "request_uri", "object_length")}};
+  }
+
+  @Test
+  @UseDataProvider("provideProjection")
+  public void projection(final Set<String> fields) throws IOException {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 4, fields);
+    final Request request = new HttpRequest.Builder(Method.PUT, OBJECT_URI, Operation.WRITE)
+        .withBody(Bodies.zeroes(1024)).withContext(Context.X_OG_OBJECT_NAME, "object").build();
+    final Response response = new HttpResponse.Builder().withStatusCode(200).build();
+    log.log(request, response, "og", timestamps(0));
+    log.close();
+
+    final RequestLogEntry entry = new RequestLogEntry(request, response, "og", timestamps(0));
+    final List<String> lines = convert(file);
+    assertThat(lines.size(), is(1));
+    assertThat(lines.get(0), is(project(ApacheClient.createGson().toJson(entry), fields)));
+    assertThat(lines.get(0), is(new JsonRequestLog(fields).toJson(entry)));
+  }
+
+  // removes the fields outside a projection from a json request log line
+  static String project(final String json, final Set<String> fields) {
+    final JsonObject object = new JsonParser().parse(json).getAsJsonObject();
+    for (final Map.Entry<String, JsonElement> field : Sets.newHashSet(object.entrySet())) {
+      if (!fields.contains(field.getKey())) {
+        object.remove(field.getKey());
+      }
+    }
+    return new Gson().toJson(object);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownProjectionField() throws IOException {
+    new BinaryRequestLog(this.folder.newFile(), 4, ImmutableSet.of("status", "latency"));
+  }
+
+  @Test
+  public void ringWraps() throws IOException {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 2);
+    final Request request =
+        new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.READ).build();
+    final Response response = new HttpResponse.Builder().withStatusCode(200).build();
+    for (int i = 0; i < 1000; i++) {
+      final RequestTimestamps t = timestamps(0);
+      t.startMillis = i;
+      log.log(request, response, "og", t);
+    }
+    log.close();
+
+    final Gson gson = ApacheClient.createGson();
+    final List<String> lines = convert(file);
+    assertThat(lines.size(), is(1000));
+    for (int i = 0; i < 1000; i++) {
+      final RequestTimestamps t = timestamps(0);
+      t.startMillis = i;
+      assertThat(lines.get(i), is(gson.toJson(new RequestLogEntry(request, response, "og", t))));
+    }
+  }
+
+  @Test
+  public void concurrentProducers() throws Exception {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 64);
+    final Request request =
+        new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.READ).build();
+    final Response response = new HttpResponse.Builder().withStatusCode(200).build();
+    final int producers = 4;
+    final int records = 2000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(producers);
+    for (int p = 0; p < producers; p++) {
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < records; i++) {
+              log.log(request, response, "og", timestamps(0));
+            }
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            done.countDown();
+          }
+        }
+      }).start();
+    }
+    start.countDown();
+    assertThat(done.await(30, TimeUnit.SECONDS), is(true));
+    log.close();
+
+    final String expected = ApacheClient.createGson()
+        .toJson(new RequestLogEntry(request, response, "og", timestamps(0)));
+    final List<String> lines = convert(file);
+    assertThat(lines.size(), is(producers * records));
+    for (final String line : lines) {
+      assertThat(line, is(expected));
+    }
+  }
+
+  @Test
+  public void logAfterClose() throws IOException {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 4);
+    final Request request =
+        new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.READ).build();
+    final Response response = new HttpResponse.Builder().withStatusCode(200).build();
+    log.log(request, response, "og", timestamps(0));
+    log.close();
+    log.log(request, response, "og", timestamps(0));
+    log.close();
+
+    assertThat(convert(file).size(), is(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void convertInvalidHeader() throws IOException {
+    BinaryRequestLog.convert(new ByteArrayInputStream("json".getBytes(Charsets.UTF_8)),
+        new StringWriter());
+  }
+
+  @Test(expected = IOException.class)
+  public void convertTruncatedRecord() throws IOException {
+    final File file = this.folder.newFile();
+    final BinaryRequestLog log = new BinaryRequestLog(file, 4);
+    log.log(new HttpRequest.Builder(Method.GET, OBJECT_URI, Operation.READ).build(),
+        new HttpResponse.Builder().withStatusCode(200).build(), "og", timestamps(0));
+    log.close();
+    final byte[] data = com.google.common.io.Files.toByteArray(file);
+    final byte[] truncated = new byte[data.length - 1];
+    System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+    BinaryRequestLog.convert(new ByteArrayInputStream(truncated), new StringWriter());
+  }
+
+  private static List<String> convert(final File file) throws IOException {
+    final StringWriter out = new StringWriter();
+    final InputStream in = new FileInputStream(file);
+    final long records;
+    try {
+      records = BinaryRequestLog.convert(in, out);
+    } finally {
+      in.close();
+    }
+    final List<String> lines = Lists.newArrayList();
+    if (out.toString().length() > 0) {
+      for (final String line : out.toString().split(LINE_SEPARATOR)) {
+        lines.add(line);
+      }
+    }
+    assertThat((long) lines.size(), is(records));
+    return lines;
+  }
+}
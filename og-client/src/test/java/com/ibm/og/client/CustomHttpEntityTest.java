@@ -0,0 +1,60 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.io.ByteStreams;
+import com.ibm.og.api.Body;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.http.AuthenticatedHttpRequest;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.util.io.PatternRegion;
+import com.ibm.og.util.io.Streams;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class CustomHttpEntityTest {
+  @DataProvider
+  public static Object[][] provideWriteTo() {
+    final PatternRegions regions = new PatternRegions(4096, PatternRegion.Type.HEAP, 4096);
+    return new Object[][] {{Bodies.zeroes(50000), regions},
+        {Bodies.custom(50000, "upload"), regions}, {Bodies.random(50000), regions},
+        {Bodies.random(50000), null}, {Bodies.random(100), regions}};
+  }
+
+  @Test
+  @UseDataProvider("provideWriteTo")
+  public void writeTo(final Body body, final PatternRegions regions) throws IOException {
+    final HttpRequest request =
+        new HttpRequest.Builder(Method.PUT, URI.create("http://127.0.0.1/container/object"),
+            Operation.WRITE).withBody(body).build();
+    final CustomHttpEntity entity =
+        new CustomHttpEntity(new AuthenticatedHttpRequest(request), 0, regions);
+    final byte[] expected = ByteStreams.toByteArray(Streams.create(body));
+
+    // the entity is repeatable, so writing it twice produces the same content
+    for (int i = 0; i < 2; i++) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      entity.writeTo(out);
+      assertThat(out.toByteArray(), is(expected));
+      assertThat(entity.getRequestContentFinish(), greaterThan(0L));
+    }
+  }
+}
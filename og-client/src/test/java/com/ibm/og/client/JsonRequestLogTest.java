@@ -0,0 +1,68 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.HttpResponse;
+import com.ibm.og.util.Context;
+
+public class JsonRequestLogTest {
+  private RequestLogEntry entry;
+
+  @Before
+  public void before() {
+    final RequestTimestamps timestamps = new RequestTimestamps();
+    timestamps.start = 1000000;
+    timestamps.finish = 51000000;
+    timestamps.startMillis = 1453481170147L;
+    timestamps.finishMillis = 1453481170197L;
+    this.entry = new RequestLogEntry(
+        new HttpRequest.Builder(Method.PUT, URI.create("http://127.0.0.1:8080/container/object"),
+            Operation.WRITE).withBody(Bodies.zeroes(1024))
+                .withContext(Context.X_OG_OBJECT_NAME, "object").build(),
+        new HttpResponse.Builder().withStatusCode(200).build(), "og", timestamps);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullFields() {
+    new JsonRequestLog(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownField() {
+    new JsonRequestLog(ImmutableSet.of("operation", "latency"));
+  }
+
+  @Test
+  public void allFields() {
+    final String expected = ApacheClient.createGson().toJson(this.entry);
+    assertThat(new JsonRequestLog().toJson(this.entry), is(expected));
+    assertThat(new JsonRequestLog(Collections.<String>emptySet()).toJson(this.entry),
+        is(expected));
+  }
+
+  @Test
+  public void projection() {
+    final Set<String> fields = ImmutableSet.of("operation", "status", "object_id", "stat");
+    assertThat(new JsonRequestLog(fields).toJson(this.entry),
+        is(BinaryRequestLogTest.project(ApacheClient.createGson().toJson(this.entry), fields)));
+  }
+}
@@ -0,0 +1,553 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.github.tomakehurst.wiremock.client.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.ibm.og.api.AuthenticatedRequest;
+import com.ibm.og.api.Body;
+import com.ibm.og.api.Client;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpAuth;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.NoneAuth;
+import com.ibm.og.http.ResponseBodyConsumer;
+import com.ibm.og.util.Context;
+import com.ibm.og.util.io.PatternRegion;
+import com.ibm.og.util.io.Streams;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class NioClientTest {
+  @ClassRule
+  public static final WireMockClassRule WIREMOCK_RULE = new WireMockClassRule(8080);
+
+  @Rule
+  public WireMockClassRule wireMockRule = WIREMOCK_RULE;
+  private Client client;
+  private URI objectUri;
+  private URI delayUri;
+  private Operation operation;
+
+  @Before()
+  public void before() throws URISyntaxException {
+    this.client = new NioClient.Builder().withIoThreads(2).build();
+    stubFor(any(urlMatching("/container/.*")).willReturn(aResponse().withStatus(200)));
+
+    // read
+    stubFor(get(urlMatching("/container/.*"))
+        .willReturn(aResponse().withStatus(200).withBody(new byte[1000])));
+
+    // 1 second delay
+    stubFor(
+        get(urlEqualTo("/delayed")).willReturn(aResponse().withStatus(200).withFixedDelay(1000)));
+
+    stubFor(any(urlEqualTo("/301"))
+        .willReturn(aResponse().withStatus(301).withHeader("location", "/container/")));
+
+    stubFor(any(urlEqualTo("/307"))
+        .willReturn(aResponse().withStatus(307).withHeader("location", "/container/")));
+
+    this.objectUri = uri("/container/object");
+    this.delayUri = uri("/delayed");
+    this.operation = Operation.WRITE;
+  }
+
+  @After
+  public void after() throws InterruptedException, ExecutionException {
+    this.client.shutdown(true, 0).get();
+  }
+
+  private static URI uri(final String path) throws URISyntaxException {
+    return new URI("http://127.0.0.1:8080" + path);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeIoThreads() {
+    new NioClient.Builder().withIoThreads(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeSoTimeout() {
+    new NioClient.Builder().withSoTimeout(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroWaitForContinue() {
+    new NioClient.Builder().withWaitForContinue(0).build();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullAuthentication() {
+    new NioClient.Builder().withAuthentication(null).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroReceiveBufferSize() {
+    new NioClient.Builder().withReceiveBufferSize(0).build();
+  }
+
+  @DataProvider
+  public static Object[][] provideExecute() {
+    final Body zeroes = Bodies.zeroes(1000);
+    final Body none = Bodies.none();
+    final String content = new String(new byte[1000]);
+
+    return new Object[][] {{Method.PUT, none, "", none}, {Method.PUT, zeroes, content, none},
+        {Method.POST, none, "", none}, {Method.POST, zeroes, content, none},
+        {Method.GET, none, "", zeroes}, {Method.HEAD, none, "", none},
+        {Method.DELETE, none, "", none}};
+  }
+
+  @Test
+  @UseDataProvider("provideExecute")
+  public void execute(final Method method, final Body requestBody, final String requestData,
+      final Body responseBody) throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(method, this.objectUri, this.operation)
+        .withBody(requestBody).build();
+    final Response response = this.client.execute(request).get();
+
+    assertThat(response.getStatusCode(), is(200));
+    assertThat(response.getBody().getDataType(), is(responseBody.getDataType()));
+    assertThat(response.getBody().getSize(), is(responseBody.getSize()));
+
+    verify(requestedFor(method, this.objectUri.getPath()).withRequestBody(equalTo(requestData)));
+  }
+
+  @Test
+  public void timestamps() throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(Bodies.zeroes(1000)).build();
+    final RequestTimestamps put = this.client.execute(request).get().getRequestTimestamps();
+    assertThat(put.requestContentStart, greaterThanOrEqualTo(put.start));
+    assertThat(put.requestContentFinish, greaterThanOrEqualTo(put.requestContentStart));
+    assertThat(put.finish, greaterThanOrEqualTo(put.requestContentFinish));
+
+    final RequestTimestamps read = this.client
+        .execute(new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build())
+        .get().getRequestTimestamps();
+    assertThat(read.responseContentStart, greaterThan(0L));
+    assertThat(read.responseContentFirstBytes, greaterThanOrEqualTo(read.responseContentStart));
+    assertThat(read.responseContentFinish,
+        greaterThanOrEqualTo(read.responseContentFirstBytes));
+    assertThat(read.finish, greaterThanOrEqualTo(read.responseContentFinish));
+  }
+
+  @Test
+  public void intendedStart() throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .build();
+    final long intendedStart = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+    final RequestTimestamps late =
+        this.client.execute(request, intendedStart).get().getRequestTimestamps();
+    assertThat(late.intended, is(intendedStart));
+    assertThat(late.start, greaterThan(late.intended));
+
+    // without an intended start, a request is intended to start when it is submitted
+    final RequestTimestamps unknown = this.client.execute(request).get().getRequestTimestamps();
+    assertThat(unknown.intended, is(unknown.submitted));
+  }
+
+  @Test
+  public void concurrentRequests() throws InterruptedException, ExecutionException {
+    // later rounds run over the persistent connections opened by the first
+    for (int round = 0; round < 5; round++) {
+      final List<ListenableFuture<Response>> futures = Lists.newArrayList();
+      for (int i = 0; i < 20; i++) {
+        final Method method = i % 2 == 0 ? Method.GET : Method.PUT;
+        futures.add(this.client.execute(new HttpRequest.Builder(method, this.objectUri,
+            this.operation).withBody(i % 2 == 0 ? Bodies.none() : Bodies.zeroes(5000)).build()));
+      }
+      for (final ListenableFuture<Response> future : futures) {
+        assertThat(future.get().getStatusCode(), is(200));
+      }
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullRequestLog() {
+    new NioClient.Builder().withRequestLog(null).build();
+  }
+
+  @Test
+  public void requestLog() throws InterruptedException, ExecutionException {
+    final List<Request> logged = Collections.synchronizedList(new ArrayList<Request>());
+    final AtomicBoolean closed = new AtomicBoolean();
+    final RequestLog requestLog = new RequestLog() {
+      @Override
+      public void log(final Request request, final Response response, final String userAgent,
+          final RequestTimestamps timestamps) {
+        logged.add(request);
+      }
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    final Client client = new NioClient.Builder().withRequestLog(requestLog).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    for (int i = 0; i < 3; i++) {
+      assertThat(client.execute(request).get().getStatusCode(), is(200));
+    }
+    client.shutdown(true, 0).get();
+
+    assertThat(logged.size(), is(3));
+    assertThat(logged.get(0), is(request));
+    assertThat(closed.get(), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroUploadRegionSize() {
+    new NioClient.Builder().withUploadRegionSize(0).build();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullUploadRegionType() {
+    new NioClient.Builder().withUploadRegionType(null).build();
+  }
+
+  @DataProvider
+  public static Object[][] provideUploadRegions() {
+    final List<Object[]> regions = Lists.newArrayList();
+    for (final PatternRegion.Type type : PatternRegion.Type.values()) {
+      for (final boolean chunk : new boolean[] {false, true}) {
+        regions.add(new Object[] {type, chunk, Bodies.zeroes(50000)});
+        regions.add(new Object[] {type, chunk, Bodies.custom(50000, "upload")});
+      }
+    }
+    return regions.toArray(new Object[regions.size()][]);
+  }
+
+  @Test
+  @UseDataProvider("provideUploadRegions")
+  public void uploadRegion(final PatternRegion.Type type, final boolean chunk, final Body body)
+      throws InterruptedException, ExecutionException, IOException {
+    // a region smaller than the body, and not a whole number of custom content patterns
+    final Client client = new NioClient.Builder().withIoThreads(1).usingChunkedEncoding(chunk)
+        .withUploadRegionSize(4096).withUploadRegionType(type).build();
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(body).build();
+    // decoded as the server decodes it
+    final String expected = new String(ByteStreams.toByteArray(Streams.create(body)));
+    // concurrent requests share the client's region
+    final List<ListenableFuture<Response>> futures = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      futures.add(client.execute(request));
+    }
+    for (final ListenableFuture<Response> future : futures) {
+      assertThat(future.get().getStatusCode(), is(200));
+    }
+    verify(4, putRequestedFor(urlEqualTo(this.objectUri.getPath()))
+        .withRequestBody(equalTo(expected)));
+    client.shutdown(true, 0).get();
+  }
+
+  @DataProvider
+  public static Object[][] provideEncode() {
+    final String contentLength = "Content-Length";
+    final String transferEncoding = "Transfer-Encoding";
+    return new Object[][] {{false, contentLength, "50000", transferEncoding},
+        {true, transferEncoding, "chunked", contentLength},};
+  }
+
+  @Test
+  @UseDataProvider("provideEncode")
+  public void encode(final boolean chunk, final String key, final String value, final String absent)
+      throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().usingChunkedEncoding(chunk).build();
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(Bodies.zeroes(50000)).build();
+    assertThat(client.execute(request).get().getStatusCode(), is(200));
+    verify(putRequestedFor(urlEqualTo(this.objectUri.getPath())).withHeader(key, equalTo(value))
+        .withoutHeader(absent).withRequestBody(equalTo(new String(new byte[50000]))));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void expect100Continue() throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().usingExpectContinue(true).build();
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(Bodies.zeroes(2048)).build();
+    assertThat(client.execute(request).get().getStatusCode(), is(200));
+    verify(putRequestedFor(urlEqualTo(this.objectUri.getPath())).withHeader("Expect",
+        equalTo("100-continue")));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void userAgent() throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().withUserAgent("testUserAgent").build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    client.execute(request).get();
+    verify(getRequestedFor(urlEqualTo(this.objectUri.getPath())).withHeader("User-Agent",
+        equalTo("testUserAgent")));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void soTimeoutExceeded() throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().withSoTimeout(1).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.delayUri, this.operation).build();
+    final Response response = client.execute(request).get();
+
+    assertThat(response.getStatusCode(), is(599));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void connectionRefused() throws InterruptedException, ExecutionException,
+      URISyntaxException {
+    final Request request = new HttpRequest.Builder(Method.GET,
+        new URI("http://127.0.0.1:1/container/object"), this.operation).build();
+    assertThat(this.client.execute(request).get().getStatusCode(), is(599));
+  }
+
+  @Test
+  public void requestId() throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .withContext(Context.X_OG_REQUEST_ID, "1").build();
+    final Response response = this.client.execute(request).get();
+    assertThat(response.getContext(), hasEntry(Context.X_OG_REQUEST_ID, "1"));
+  }
+
+  @Test
+  public void immediateShutdown() throws InterruptedException, ExecutionException {
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.delayUri, this.operation).build();
+    final ListenableFuture<Response> response = this.client.execute(request);
+    final long start = System.nanoTime();
+    assertThat(this.client.shutdown(true, 0).get(), is(1));
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertThat(duration, lessThan(1000L));
+    assertThat(response.get().getStatusCode(), is(599));
+  }
+
+  @Test
+  public void gracefulShutdown() throws InterruptedException, ExecutionException {
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.delayUri, this.operation).build();
+    final ListenableFuture<Response> response = this.client.execute(request);
+    final long start = System.nanoTime();
+    assertThat(this.client.shutdown(false, 60).get(), is(0));
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // graceful shutdown takes at least request time
+    assertThat(duration, greaterThanOrEqualTo(900L));
+    assertThat(response.get().getStatusCode(), is(200));
+  }
+
+  @DataProvider
+  public static Object[][] provideRedirect() throws URISyntaxException {
+    final Body zeroes = Bodies.zeroes(1000);
+    final Body none = Bodies.none();
+    final String content = new String(new byte[1000]);
+
+    return new Object[][] {{Method.PUT, uri("/301"), zeroes, content, none},
+        {Method.PUT, uri("/307"), zeroes, content, none},
+        {Method.GET, uri("/301"), none, "", zeroes}, {Method.HEAD, uri("/307"), none, "", none},
+        {Method.DELETE, uri("/301"), none, "", none},};
+  }
+
+  @Test
+  @UseDataProvider("provideRedirect")
+  public void redirect(final Method method, final URI uri, final Body requestBody,
+      final String requestData, final Body responseBody)
+      throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(method, uri, this.operation)
+        .withBody(requestBody).build();
+
+    final Response response = this.client.execute(request).get();
+    assertThat(response.getStatusCode(), is(200));
+    assertThat(response.getBody().getSize(), is(responseBody.getSize()));
+
+    verify(requestedFor(method, uri.getPath()).withRequestBody(equalTo(requestData)));
+    verify(requestedFor(method, "/container/").withRequestBody(equalTo(requestData)));
+  }
+
+  private RequestPatternBuilder requestedFor(final Method method, final String uri) {
+    return new RequestPatternBuilder(RequestMethod.fromString(method.toString()), urlEqualTo(uri));
+  }
+
+  @Test
+  public void writeThroughput() throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().withWriteThroughput(1000).build();
+    final Request request = new HttpRequest.Builder(Method.PUT, this.objectUri, this.operation)
+        .withBody(Bodies.zeroes(50)).build();
+    final long timestampStart = System.nanoTime();
+    client.execute(request).get();
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timestampStart);
+
+    assertThat(duration, greaterThanOrEqualTo(40L));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void readThroughput() throws InterruptedException, ExecutionException {
+    final Client client = new NioClient.Builder().withReadThroughput(20000).build();
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    final long timestampStart = System.nanoTime();
+    final Response response = client.execute(request).get();
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timestampStart);
+
+    assertThat(response.getBody().getSize(), is(1000L));
+    assertThat(duration, greaterThanOrEqualTo(40L));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void responseBodyConsumer() throws InterruptedException, ExecutionException {
+    final Request request = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .withContext(Context.X_OG_RESPONSE_BODY_CONSUMER, "consumer").build();
+
+    final Client client =
+        new NioClient.Builder().withResponseBodyConsumer("consumer", new ResponseBodyConsumer() {
+          @Override
+          public Map<String, String> consume(final int statusCode, final InputStream response)
+              throws IOException {
+            return ImmutableMap.of("length",
+                String.valueOf(ByteStreams.toByteArray(response).length));
+          }
+        }).build();
+
+    final Response response = client.execute(request).get();
+    assertThat(response.getContext(), hasEntry("length", "1000"));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void blockedConsumerDoesNotStallIoThread() throws Exception {
+    final Request read =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    final Request consumed = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .withContext(Context.X_OG_RESPONSE_BODY_CONSUMER, "consumer").build();
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final Client client = new NioClient.Builder().withIoThreads(1).withCompletionThreads(2)
+        .withResponseBodyConsumer("consumer", new ResponseBodyConsumer() {
+          @Override
+          public Map<String, String> consume(final int statusCode, final InputStream response)
+              throws IOException {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return ImmutableMap.of("length",
+                String.valueOf(ByteStreams.toByteArray(response).length));
+          }
+        }).build();
+
+    final ListenableFuture<Response> blocked = client.execute(consumed);
+    // served by the only I/O thread while the first response is still being consumed
+    assertThat(client.execute(read).get(5, TimeUnit.SECONDS).getStatusCode(), is(200));
+    assertThat(blocked.isDone(), is(false));
+    release.countDown();
+    assertThat(blocked.get(5, TimeUnit.SECONDS).getContext(), hasEntry("length", "1000"));
+    client.shutdown(true, 0).get();
+  }
+
+  @Test
+  public void authenticatesOnSubmittingThread() throws InterruptedException, ExecutionException {
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+    final Client client = new NioClient.Builder().withAuthentication(new HttpAuth() {
+      @Override
+      public AuthenticatedRequest authenticate(final Request request) {
+        threads.add(Thread.currentThread());
+        return new NoneAuth().authenticate(request);
+      }
+    }).build();
+
+    final Request request =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    assertThat(client.execute(request).get().getStatusCode(), is(200));
+    assertThat(threads, is((List<Thread>) Lists.newArrayList(Thread.currentThread())));
+    client.shutdown(true, 0).get();
+  }
+
+  @DataProvider
+  public static Object[][] provideReceiveBuffers() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test
+  @UseDataProvider("provideReceiveBuffers")
+  public void receiveBuffer(final boolean direct) throws InterruptedException, ExecutionException {
+    final Request read =
+        new HttpRequest.Builder(Method.GET, this.objectUri, this.operation).build();
+    final Request consumed = new HttpRequest.Builder(Method.GET, this.objectUri, this.operation)
+        .withContext(Context.X_OG_RESPONSE_BODY_CONSUMER, "consumer").build();
+
+    // a buffer smaller than both the response head and body
+    final Client client = new NioClient.Builder().withReceiveBufferSize(64)
+        .usingDirectReceiveBuffers(direct)
+        .withResponseBodyConsumer("consumer", new ResponseBodyConsumer() {
+          @Override
+          public Map<String, String> consume(final int statusCode, final InputStream response)
+              throws IOException {
+            return ImmutableMap.of("length",
+                String.valueOf(ByteStreams.toByteArray(response).length));
+          }
+        }).build();
+
+    for (int i = 0; i < 3; i++) {
+      final Response response = client.execute(read).get();
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getBody().getSize(), is(1000L));
+      assertThat(client.execute(consumed).get().getContext(), hasEntry("length", "1000"));
+    }
+    client.shutdown(true, 0).get();
+  }
+}
@@ -0,0 +1,158 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.HttpResponse;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class SampledRequestLogTest {
+  private RequestLog delegate;
+  private Request request;
+  private Response ok;
+  private Response error;
+  private RequestTimestamps fast;
+  private RequestTimestamps slow;
+
+  @Before
+  public void before() {
+    this.delegate = mock(RequestLog.class);
+    this.request = new HttpRequest.Builder(Method.GET,
+        URI.create("http://127.0.0.1:8080/container/object"), Operation.READ).build();
+    this.ok = new HttpResponse.Builder().withStatusCode(200).build();
+    this.error = new HttpResponse.Builder().withStatusCode(500).build();
+    this.fast = timestamps(10);
+    this.slow = timestamps(1000);
+  }
+
+  private static RequestTimestamps timestamps(final long latency) {
+    final RequestTimestamps timestamps = new RequestTimestamps();
+    timestamps.startMillis = 1453481170147L;
+    timestamps.finishMillis = timestamps.startMillis + latency;
+    return timestamps;
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidSampledRequestLog() {
+    final RequestLog requestLog = mock(RequestLog.class);
+    return new Object[][] {{null, 1, 1.0, 0, NullPointerException.class},
+        {requestLog, 0, 1.0, 0, IllegalArgumentException.class},
+        {requestLog, 1, -0.1, 0, IllegalArgumentException.class},
+        {requestLog, 1, 1.1, 0, IllegalArgumentException.class},
+        {requestLog, 1, 1.0, -1, IllegalArgumentException.class}};
+  }
+
+  @Test
+  @UseDataProvider("provideInvalidSampledRequestLog")
+  public void invalidSampledRequestLog(final RequestLog requestLog, final int interval,
+      final double probability, final long slowThreshold,
+      final Class<Exception> expectedException) {
+    try {
+      new SampledRequestLog(requestLog, interval, probability, true, slowThreshold);
+    } catch (final Exception e) {
+      assertThat(e.getClass() == expectedException, is(true));
+      return;
+    }
+    throw new AssertionError("expected " + expectedException);
+  }
+
+  @Test
+  public void interval() {
+    final RequestLog log = new SampledRequestLog(this.delegate, 10, 1.0, false, 0);
+    for (int i = 0; i < 100; i++) {
+      log.log(this.request, this.ok, "og", this.fast);
+    }
+    verify(this.delegate, times(10)).log(this.request, this.ok, "og", this.fast);
+  }
+
+  @Test
+  public void probability() {
+    final CountingRequestLog counter = new CountingRequestLog();
+    final RequestLog log = new SampledRequestLog(counter, 1, 0.25, false, 0);
+    for (int i = 0; i < 10000; i++) {
+      log.log(this.request, this.ok, "og", this.fast);
+    }
+    assertThat(counter.count, greaterThan(2000));
+    assertThat(counter.count, lessThan(3000));
+  }
+
+  @Test
+  public void noneSampled() {
+    final RequestLog log = new SampledRequestLog(this.delegate, 1, 0.0, false, 0);
+    for (int i = 0; i < 100; i++) {
+      log.log(this.request, this.ok, "og", this.fast);
+      log.log(this.request, this.error, "og", this.fast);
+      log.log(this.request, this.ok, "og", this.slow);
+    }
+    verify(this.delegate, times(0)).log(this.request, this.ok, "og", this.fast);
+    verify(this.delegate, times(0)).log(this.request, this.error, "og", this.fast);
+    verify(this.delegate, times(0)).log(this.request, this.ok, "og", this.slow);
+  }
+
+  @Test
+  public void errors() {
+    final RequestLog log = new SampledRequestLog(this.delegate, 1000, 0.0, true, 0);
+    for (int i = 0; i < 100; i++) {
+      log.log(this.request, this.ok, "og", this.fast);
+      log.log(this.request, this.error, "og", this.fast);
+    }
+    verify(this.delegate, times(0)).log(this.request, this.ok, "og", this.fast);
+    verify(this.delegate, times(100)).log(this.request, this.error, "og", this.fast);
+  }
+
+  @Test
+  public void slowRequests() {
+    final RequestLog log = new SampledRequestLog(this.delegate, 1000, 0.0, false, 1000);
+    for (int i = 0; i < 100; i++) {
+      log.log(this.request, this.ok, "og", this.fast);
+      log.log(this.request, this.ok, "og", this.slow);
+    }
+    verify(this.delegate, times(0)).log(this.request, this.ok, "og", this.fast);
+    verify(this.delegate, times(100)).log(this.request, this.ok, "og", this.slow);
+  }
+
+  @Test
+  public void close() throws IOException {
+    new SampledRequestLog(this.delegate, 10, 0.5, true, 0).close();
+    verify(this.delegate).close();
+  }
+
+  private static class CountingRequestLog implements RequestLog {
+    private int count;
+
+    @Override
+    public void log(final Request request, final Response response, final String userAgent,
+        final RequestTimestamps timestamps) {
+      this.count++;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
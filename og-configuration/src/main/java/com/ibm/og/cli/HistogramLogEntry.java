@@ -0,0 +1,55 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
+
+/**
+ * A line of histogram.log; the latency histogram of one operation type and status class over a
+ * test run, serialized as json
+ *
+ * @since 1.12.0
+ */
+class HistogramLogEntry {
+  final long timestampStart;
+  final long timestampFinish;
+  final String operation;
+  final String statusClass;
+  final String unit;
+  final long count;
+  final String histogram;
+
+  HistogramLogEntry(final long timestampStart, final long timestampFinish, final String operation,
+      final String statusClass, final LatencyHistogram.Snapshot histogram) {
+    this.timestampStart = timestampStart;
+    this.timestampFinish = timestampFinish;
+    this.operation = checkNotNull(operation);
+    this.statusClass = checkNotNull(statusClass);
+    this.unit = Statistics.HISTOGRAM_UNIT.toString().toLowerCase();
+    this.count = histogram.getTotalCount();
+    this.histogram = histogram.encode();
+  }
+
+  /**
+   * @return the decoded histogram of this entry
+   * @throws IllegalArgumentException if a field is missing, or if the histogram is recorded in
+   *         another unit or cannot be decoded
+   */
+  LatencyHistogram.Snapshot decode() {
+    if (this.operation == null || this.statusClass == null || this.histogram == null) {
+      throw new IllegalArgumentException(
+          "histogram log entry must have operation, status_class and histogram");
+    }
+    if (!Statistics.HISTOGRAM_UNIT.toString().equalsIgnoreCase(this.unit)) {
+      throw new IllegalArgumentException(
+          String.format("Unsupported histogram unit [%s]", this.unit));
+    }
+    return LatencyHistogram.Snapshot.decode(this.histogram);
+  }
+}
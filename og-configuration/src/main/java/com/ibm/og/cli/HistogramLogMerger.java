@@ -0,0 +1,178 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.ibm.og.cli.Application.Cli;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
+
+/**
+ * A cli which merges the latency histograms of one or more histogram logs, for example from
+ * several test runs, and writes the latency percentiles of each operation type as json lines
+ *
+ * @since 1.12.0
+ */
+public class HistogramLogMerger {
+  private static final Logger _consoleLogger = LoggerFactory.getLogger("ConsoleLogger");
+  private static final Gson gson = ObjectGenerator.createIntervalGson();
+
+  private HistogramLogMerger() {}
+
+  public static void main(final String[] args) {
+    final HistogramLogMergerGetOpt getopt = new HistogramLogMergerGetOpt();
+    final Cli cli = Application.cli("histogram-log", getopt, args);
+    if (cli.shouldStop()) {
+      if (cli.help()) {
+        cli.printUsage();
+      } else if (cli.version()) {
+        cli.printVersion();
+      } else if (cli.error()) {
+        cli.printErrors();
+        cli.printUsage();
+        Application.exit(Application.TEST_ERROR);
+      }
+      Application.exit(0);
+    }
+
+    try {
+      final Map<String, Map<String, LatencyHistogram.Snapshot>> histograms = Maps.newTreeMap();
+      for (final File f : getopt.getInput()) {
+        final Reader in = new InputStreamReader(new FileInputStream(f), Charsets.UTF_8);
+        try {
+          final long entries = merge(in, histograms);
+          _consoleLogger.info("Merged [{}] histograms from [{}]", entries, f);
+        } finally {
+          in.close();
+        }
+      }
+      final OutputStream out = ObjectFile.getOutputStream(getopt.getOutput());
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charsets.UTF_8));
+      write(histograms, writer);
+      if (getopt.getOutput() != null) {
+        writer.close();
+      } else {
+        writer.flush();
+      }
+    } catch (final IOException e) {
+      _consoleLogger.error("", e);
+      Application.exit(Application.TEST_ERROR);
+    }
+    Application.exit(0);
+  }
+
+  /**
+   * Merges the entries of a histogram log into a set of histograms
+   *
+   * @param in the histogram log to read
+   * @param histograms the histograms to merge into, by operation type and then status class
+   * @return the number of entries merged
+   * @throws IOException if the log cannot be read or holds an invalid entry
+   */
+  static long merge(final Reader in,
+      final Map<String, Map<String, LatencyHistogram.Snapshot>> histograms) throws IOException {
+    final BufferedReader reader = new BufferedReader(in);
+    long entries = 0;
+    long lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      final HistogramLogEntry entry;
+      final LatencyHistogram.Snapshot histogram;
+      try {
+        entry = gson.fromJson(line, HistogramLogEntry.class);
+        // histograms of other layouts cannot be merged with those of this version
+        histogram = Statistics.emptyHistogram().plus(entry.decode());
+      } catch (final JsonParseException e) {
+        throw invalidEntry(lineNumber, e);
+      } catch (final IllegalArgumentException e) {
+        throw invalidEntry(lineNumber, e);
+      }
+      Map<String, LatencyHistogram.Snapshot> statusClasses = histograms.get(entry.operation);
+      if (statusClasses == null) {
+        statusClasses = Maps.newTreeMap();
+        histograms.put(entry.operation, statusClasses);
+      }
+      final LatencyHistogram.Snapshot merged = statusClasses.get(entry.statusClass);
+      statusClasses.put(entry.statusClass, merged == null ? histogram : merged.plus(histogram));
+      entries++;
+    }
+    return entries;
+  }
+
+  private static IOException invalidEntry(final long lineNumber, final Exception cause) {
+    return new IOException(String.format("Invalid histogram log entry on line [%s]", lineNumber),
+        cause);
+  }
+
+  /**
+   * Writes the latency percentiles of a set of histograms as one json line per operation type
+   *
+   * @param histograms the histograms to write, by operation type and then status class
+   * @param out the writer to write to
+   * @throws IOException if the percentiles cannot be written
+   */
+  static void write(final Map<String, Map<String, LatencyHistogram.Snapshot>> histograms,
+      final Writer out) throws IOException {
+    for (final Map.Entry<String, Map<String, LatencyHistogram.Snapshot>> operation : histograms
+        .entrySet()) {
+      out.write(gson.toJson(new MergedStats(operation.getKey(), operation.getValue())));
+      out.write(String.format("%n"));
+    }
+  }
+
+  static class LatencyStats {
+    final long count;
+    final Map<String, Double> latencyPercentiles;
+
+    LatencyStats(final LatencyHistogram.Snapshot histogram) {
+      this.count = histogram.getTotalCount();
+      this.latencyPercentiles = OperationStats.latencyPercentiles(histogram);
+    }
+  }
+
+  static class MergedStats {
+    final String operation;
+    final long count;
+    final Map<String, Double> latencyPercentiles;
+    final Map<String, LatencyStats> statusClasses;
+
+    MergedStats(final String operation,
+        final Map<String, LatencyHistogram.Snapshot> statusClasses) {
+      this.operation = operation;
+      this.statusClasses = Maps.newTreeMap();
+      LatencyHistogram.Snapshot all = Statistics.emptyHistogram();
+      for (final Map.Entry<String, LatencyHistogram.Snapshot> statusClass : statusClasses
+          .entrySet()) {
+        this.statusClasses.put(statusClass.getKey(), new LatencyStats(statusClass.getValue()));
+        all = all.plus(statusClass.getValue());
+      }
+      this.count = all.getTotalCount();
+      this.latencyPercentiles = OperationStats.latencyPercentiles(all);
+    }
+  }
+}
@@ -8,10 +8,13 @@ package com.ibm.og.cli;
 
 import com.ibm.og.api.Operation;
 import com.ibm.og.statistic.Counter;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Phase;
 import com.ibm.og.statistic.Statistics;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -63,6 +66,15 @@ public class IntervalSummary {
     long operations = currentOperationStats.operations - lastOperationStats.operations;
     long bytes = currentOperationStats.bytes - lastOperationStats.bytes;
     long latencies = currentOperationStats.latencies - lastOperationStats.latencies;
+    long responseTimes = currentOperationStats.responseTimes - lastOperationStats.responseTimes;
+    LatencyHistogram.Snapshot latencyHistogram =
+            currentOperationStats.latencyHistogram.minus(lastOperationStats.latencyHistogram);
+    Map<Phase, LatencyHistogram.Snapshot> phaseHistograms =
+            new EnumMap<Phase, LatencyHistogram.Snapshot>(Phase.class);
+    for (Phase phase : Phase.values()) {
+      phaseHistograms.put(phase, currentOperationStats.phaseHistograms.get(phase)
+              .minus(lastOperationStats.phaseHistograms.get(phase)));
+    }
     final Map<Integer, Long> statusCodes = new HashMap<Integer, Long>();
     for (Map.Entry<Integer, Long> entry : currentOperationStats.statusCodes.entrySet()) {
       if (currentOperationStats.statusCodes.get(entry.getKey()) != null &&
@@ -74,8 +86,8 @@ public class IntervalSummary {
       }
     }
 
-    OperationStats operationIntervalStat = new OperationStats(operation, operations, bytes, latencies,
-            statusCodes, timestampStart, timestampFinish);
+    OperationStats operationIntervalStat = new OperationStats(operation, operations, bytes, latencies, responseTimes,
+            latencyHistogram, phaseHistograms, statusCodes, timestampStart, timestampFinish);
     this.prevStats.setOperation(currentOperationStats);
     return operationIntervalStat;
   }
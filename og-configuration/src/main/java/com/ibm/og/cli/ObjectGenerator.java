@@ -11,6 +11,7 @@ import static java.lang.Thread.interrupted;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -32,7 +33,13 @@ import com.ibm.og.json.type.SelectionConfigTypeAdapterFactory;
 import com.ibm.og.util.json.type.SizeUnitTypeAdapter;
 import com.ibm.og.util.json.type.TimeUnitTypeAdapter;
 import com.ibm.og.util.json.type.CaseInsensitiveEnumTypeAdapterFactory;
+import com.ibm.og.api.Client;
+import com.ibm.og.client.ApacheClient;
 import com.ibm.og.object.ObjectManager;
+import com.ibm.og.api.Operation;
+import com.ibm.og.scheduling.PreciseRequestRateScheduler;
+import com.ibm.og.scheduling.Scheduler;
+import com.ibm.og.statistic.LatencyHistogram;
 import com.ibm.og.statistic.Statistics;
 import com.ibm.og.test.LoadTest;
 import com.ibm.og.util.SizeUnit;
@@ -67,6 +74,7 @@ public class ObjectGenerator {
   private static final Logger _summaryJsonLogger = LoggerFactory.getLogger("SummaryJsonLogger");
   private static final Logger _exceptionLogger = LoggerFactory.getLogger("ExceptionLogger");
   private static final Logger _ogstatsLogger = LoggerFactory.getLogger("OgStatsLogger");
+  private static final Logger _histogramLogger = LoggerFactory.getLogger("HistogramLogger");
   private static final String LINE_SEPARATOR =
       "-------------------------------------------------------------------------------";
 
@@ -76,6 +84,8 @@ public class ObjectGenerator {
   private static LoadTest test;
   private static ObjectManager objectManager;
   private static Statistics statistics;
+  private static Client client;
+  private static Scheduler scheduler;
   private static OGConfig ogConfig;
   private static Thread statsLogger;
 
@@ -211,6 +221,8 @@ public class ObjectGenerator {
     test = injector.getInstance(LoadTest.class);
     objectManager = injector.getInstance(ObjectManager.class);
     statistics = injector.getInstance(Statistics.class);
+    client = injector.getInstance(Client.class);
+    scheduler = injector.getInstance(Scheduler.class);
 
   }
 
@@ -339,11 +351,32 @@ public class ObjectGenerator {
     final int requestsAborted = testResult.result > 0 ? testResult.result : 0;
 
     final Summary summary = new Summary(stats, timestampStart, timestampFinish, exitCode,
-            testResult.result == 0 ? ImmutableList.of(Application.TEST_SUCCESS_MSG) : testResult.messages, requestsAborted);
+            testResult.result == 0 ? ImmutableList.of(Application.TEST_SUCCESS_MSG) : testResult.messages, requestsAborted,
+            testResult.dispatchLag);
+    if (scheduler instanceof PreciseRequestRateScheduler) {
+      summary.getSummaryStats()
+          .setScheduleAccuracy(((PreciseRequestRateScheduler) scheduler).getAccuracy());
+    }
     _summaryJsonLogger.info(gson.toJson(summary.getSummaryStats()));
+    logLatencyHistograms(stats, timestampStart, timestampFinish);
     return summary;
   }
 
+  // one line per operation type and status class, which may be merged across runs
+  private static void logLatencyHistograms(final Statistics stats, final long timestampStart,
+                                           final long timestampFinish) {
+    for (final Operation operation : Operation.values()) {
+      if (operation == Operation.ALL) {
+        continue;
+      }
+      for (final Map.Entry<String, LatencyHistogram.Snapshot> histogram : stats.latencyHistograms(operation)
+              .entrySet()) {
+        _histogramLogger.info(intervalGson.toJson(new HistogramLogEntry(timestampStart, timestampFinish,
+                operation.toString().toLowerCase(), histogram.getKey(), histogram.getValue())));
+      }
+    }
+  }
+
   private static Summary logSummary(final long timestampStart, final long timestampFinish,
                                     final int exitCode, ImmutableList<String> messages) {
     final Summary summary = new Summary(new Statistics(), timestampStart, timestampFinish, exitCode, messages, 0);
@@ -391,6 +424,14 @@ public class ObjectGenerator {
           intervalSummary = new IntervalSummary(statistics, timestampIntervalStart, timestampStop);
         } else {
           Summary.SummaryOperationStats istats = intervalSummary.intervalStats(statistics, timestampIntervalStart, timestampStop);
+          if (objectManager != null) {
+            istats.setObjectSizeClasses(objectManager.getSizeClassCounts());
+            istats.setObjectPersist(objectManager.getPersistStats());
+            istats.setObjectSelection(objectManager.getSelectionStats());
+          }
+          if (client instanceof ApacheClient) {
+            istats.setClientSaturation(((ApacheClient) client).getSaturationStats());
+          }
           dumpSummaryStats(gson, istats, timestampStart, timestampStop, Application.TEST_SUCCESS);
           timestampIntervalStart = System.currentTimeMillis();
         }
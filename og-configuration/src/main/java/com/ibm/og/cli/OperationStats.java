@@ -7,8 +7,11 @@ package com.ibm.og.cli;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
 import com.ibm.og.api.Operation;
 import com.ibm.og.statistic.Counter;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Phase;
 import com.ibm.og.statistic.Statistics;
 import com.ibm.og.util.Pair;
 import com.ibm.og.util.SizeUnit;
@@ -19,11 +22,20 @@ import java.util.concurrent.TimeUnit;
 
 
 public class OperationStats {
+  // percentiles reported from latency histograms, and the names they are reported under
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9", "p99.99"};
   final transient Operation operation;
   final long operations;
   final long bytes;
   final transient long latencies;
   double averageLatency = 0.0;
+  final transient long responseTimes;
+  double averageResponseTime = 0.0;
+  final transient LatencyHistogram.Snapshot latencyHistogram;
+  Map<String, Double> latencyPercentiles;
+  final transient Map<Phase, LatencyHistogram.Snapshot> phaseHistograms;
+  Map<String, Map<String, Double>> phaseLatencyPercentiles;
   final Map<Integer, Long> statusCodes;
   transient double  runtime;
 
@@ -32,32 +44,91 @@ public class OperationStats {
     this.operations = stats.get(operation, Counter.OPERATIONS);
     this.bytes = stats.get(operation, Counter.BYTES);
     this.latencies = stats.get(operation, Counter.LATENCY);
+    this.responseTimes = stats.get(operation, Counter.RESPONSE_TIME);
+    this.latencyHistogram = stats.latencyHistogram(operation);
+    this.latencyPercentiles = latencyPercentiles(this.latencyHistogram);
+    this.phaseHistograms = Maps.newEnumMap(Phase.class);
+    for (final Phase phase : Phase.values()) {
+      this.phaseHistograms.put(phase, stats.phaseHistogram(operation, phase));
+    }
+    this.phaseLatencyPercentiles = phaseLatencyPercentiles(this.phaseHistograms);
     this.statusCodes = ImmutableSortedMap.copyOf(stats.statusCodes(operation));
     this.runtime = ((double) (timestampFinish - timestampStart)) / TimeUnit.SECONDS.toMillis(1);
     if (this.operations > 0) {
       this.averageLatency = (double) this.latencies / this.operations;
+      this.averageResponseTime = (double) this.responseTimes / this.operations;
     }
   }
 
   public OperationStats(final Operation operation, final long operations, final long bytes, final long latencies,
+                        final long responseTimes, final LatencyHistogram.Snapshot latencyHistogram,
+                        final Map<Phase, LatencyHistogram.Snapshot> phaseHistograms,
                         final Map<Integer, Long> statusCodes, long timestampStart, long timestampFinish) {
     this.operation = operation;
     this.operations = operations;
     this.bytes = bytes;
     this.latencies = latencies;
+    this.responseTimes = responseTimes;
+    this.latencyHistogram = latencyHistogram;
+    this.latencyPercentiles = latencyPercentiles(latencyHistogram);
+    this.phaseHistograms = phaseHistograms;
+    this.phaseLatencyPercentiles = phaseLatencyPercentiles(phaseHistograms);
     this.statusCodes = ImmutableSortedMap.copyOf(statusCodes);
     if (this.operations > 0) {
       double average = (double) this.latencies / this.operations;
       this.averageLatency = Math.round(average * 100.00) / 100.00;
+      average = (double) this.responseTimes / this.operations;
+      this.averageResponseTime = Math.round(average * 100.00) / 100.00;
     }
     this.runtime = ((double) (timestampFinish - timestampStart)) / TimeUnit.SECONDS.toMillis(1);
   }
 
+  // latency percentiles and maximum in milliseconds, or null if no latencies were recorded
+  static Map<String, Double> latencyPercentiles(final LatencyHistogram.Snapshot histogram) {
+    return latencyPercentiles(histogram, 2);
+  }
+
+  // as above, rounded to the given number of decimal places
+  static Map<String, Double> latencyPercentiles(final LatencyHistogram.Snapshot histogram,
+      final int decimals) {
+    if (histogram.getTotalCount() == 0) {
+      return null;
+    }
+    final double scale = Math.pow(10, decimals);
+    final Map<String, Double> percentiles = Maps.newLinkedHashMap();
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      percentiles.put(PERCENTILE_NAMES[i],
+          millis(histogram.getValueAtPercentile(PERCENTILES[i]), scale));
+    }
+    percentiles.put("max", millis(histogram.getMaxValue(), scale));
+    return percentiles;
+  }
+
+  // percentiles of each phase with recorded latencies, or null if there are none
+  private static Map<String, Map<String, Double>> phaseLatencyPercentiles(
+          final Map<Phase, LatencyHistogram.Snapshot> phaseHistograms) {
+    final Map<String, Map<String, Double>> percentiles = Maps.newLinkedHashMap();
+    for (final Map.Entry<Phase, LatencyHistogram.Snapshot> phase : phaseHistograms.entrySet()) {
+      final Map<String, Double> phasePercentiles = latencyPercentiles(phase.getValue());
+      if (phasePercentiles != null) {
+        percentiles.put(phase.getKey().toString().toLowerCase(), phasePercentiles);
+      }
+    }
+    return percentiles.isEmpty() ? null : percentiles;
+  }
+
+  private static double millis(final long value, final double scale) {
+    final double millis = (double) value / Statistics.HISTOGRAM_UNIT.convert(1, TimeUnit.MILLISECONDS);
+    return Math.round(millis * scale) / scale;
+  }
+
   @Override
   public String toString() {
     return String.format(
-            "[%s]%n" + "Operations: %s%n" + "%s%n" + "%s%n" + "%s%n" + "%s%n" +  "Status Codes:%n%s%n",
+            "[%s]%n" + "Operations: %s%n" + "%s%n" + "%s%n" + "%s%n" + "%s%n" + "%s%n" + "%s%n" + "%s%n"
+                    + "Status Codes:%n%s%n",
             this.operation, this.operations, formatBytes(), formatThroughput(), formatOPS(), formatAverageLatency(),
+            formatAverageResponseTime(), formatLatencyPercentiles(), formatPhaseLatencyPercentiles(),
             formatStatusCodes());
   }
 
@@ -96,6 +167,37 @@ public class OperationStats {
     return String.format("Avg Latency: %.2f %s", averageLatency, "ms");
   }
 
+  private String formatAverageResponseTime() {
+    double averageResponseTime = 0.0;
+    if (this.operations > 0) {
+      averageResponseTime = (double)this.responseTimes / this.operations;
+    }
+    return String.format("Avg Response Time: %.2f %s", averageResponseTime, "ms");
+  }
+
+  private String formatLatencyPercentiles() {
+    if (this.latencyPercentiles == null) {
+      return "Latency Percentiles: N/A";
+    }
+    final StringBuilder s = new StringBuilder("Latency Percentiles:");
+    for (final Map.Entry<String, Double> percentile : this.latencyPercentiles.entrySet()) {
+      s.append(String.format(" %s %.2f", percentile.getKey(), percentile.getValue()));
+    }
+    return s.append(" ms").toString();
+  }
+
+  private String formatPhaseLatencyPercentiles() {
+    if (this.phaseLatencyPercentiles == null) {
+      return "Phase Latency p50/p99: N/A";
+    }
+    final StringBuilder s = new StringBuilder("Phase Latency p50/p99:");
+    for (final Map.Entry<String, Map<String, Double>> phase : this.phaseLatencyPercentiles.entrySet()) {
+      s.append(String.format(" %s %.2f/%.2f", phase.getKey(), phase.getValue().get("p50"),
+              phase.getValue().get("p99")));
+    }
+    return s.append(" ms").toString();
+  }
+
   private String formatStatusCodes() {
     if (this.statusCodes.isEmpty()) {
       return String.format("N/A%n");
@@ -0,0 +1,73 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.cli;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.ibm.og.cli.Application.Cli;
+import com.ibm.og.client.BinaryRequestLog;
+
+/**
+ * A cli which converts binary request logs into the json lines format of request.log
+ *
+ * @since 1.12.0
+ */
+public class RequestLogConverter {
+  private static final Logger _consoleLogger = LoggerFactory.getLogger("ConsoleLogger");
+
+  private RequestLogConverter() {}
+
+  public static void main(final String[] args) {
+    final RequestLogConverterGetOpt getopt = new RequestLogConverterGetOpt();
+    final Cli cli = Application.cli("request-log", getopt, args);
+    if (cli.shouldStop()) {
+      if (cli.help()) {
+        cli.printUsage();
+      } else if (cli.version()) {
+        cli.printVersion();
+      } else if (cli.error()) {
+        cli.printErrors();
+        cli.printUsage();
+        Application.exit(Application.TEST_ERROR);
+      }
+      Application.exit(0);
+    }
+
+    try {
+      final OutputStream out = ObjectFile.getOutputStream(getopt.getOutput());
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charsets.UTF_8));
+      for (final File f : getopt.getInput()) {
+        final InputStream in = new FileInputStream(f);
+        try {
+          final long records = BinaryRequestLog.convert(in, writer);
+          _consoleLogger.info("Converted [{}] requests from [{}]", records, f);
+        } finally {
+          in.close();
+        }
+      }
+      if (getopt.getOutput() != null) {
+        writer.close();
+      } else {
+        writer.flush();
+      }
+    } catch (final IOException e) {
+      _consoleLogger.error("", e);
+      Application.exit(Application.TEST_ERROR);
+    }
+    Application.exit(0);
+  }
+}
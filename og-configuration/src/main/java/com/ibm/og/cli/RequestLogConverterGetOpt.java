@@ -0,0 +1,58 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.cli;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.FileConverter;
+
+/**
+ * class to hold command line arguments for RequestLogConverter.
+ *
+ * @since 1.12.0
+ */
+public class RequestLogConverterGetOpt extends GetOpt {
+
+  @Parameter(names = {"--output", "-o"},
+      description = "A relative or absolute path to an output file, rather than stdout")
+  private String output;
+
+  @Parameter(description = "A relative or absolute paths to binary request log files")
+  private List<String> input = new ArrayList<String>();
+
+  public String getOutput() {
+    return output;
+  }
+
+  public List<File> getInput() {
+    final List<File> files = new ArrayList<File>();
+    for (final String s : input) {
+      final File f = new FileConverter().convert(s);
+      if (!f.exists()) {
+        throw new IllegalArgumentException(String.format("File[%s] does not exists", f.getName()));
+      }
+      files.add(f);
+    }
+    return files;
+  }
+
+  @Override
+  public boolean validate() {
+    if (help || version) {
+      return true;
+    }
+    checkNotNull(input);
+    checkArgument(input.size() >= 1,
+        "Invalid command line arguments. Atleast one input file is expected");
+    return true;
+  }
+}
@@ -10,14 +10,20 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.common.collect.ImmutableList;
 
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
 import com.ibm.og.statistic.Counter;
+import com.ibm.og.statistic.LatencyHistogram;
 import com.ibm.og.statistic.Statistics;
 import com.ibm.og.api.Operation;
+import com.ibm.og.client.ClientSaturationStats;
+import com.ibm.og.object.ObjectPersistStats;
+import com.ibm.og.object.ObjectSelectionStats;
+import com.ibm.og.scheduling.ScheduleAccuracy;
 
 
 /**
@@ -49,6 +55,27 @@ public class Summary {
     this.summaryStats = new SummaryStats(stats, timestampStart, timestampFinish, exitCode, messages, requestsAborted);
   }
 
+  /**
+   * Constructs an instance which also reports how long permitted requests took to be dispatched
+   *
+   * @param stats the underlying stats to pull from when creating this instance
+   * @param timestampStart the global test start timestamp, in millis.
+   * @param timestampFinish the global test stop timestamp, in millis
+   * @param dispatchLag time from a scheduler permit being granted to its request being handed to
+   *        the client, in microseconds
+   * @throws NullPointerException if stats or dispatchLag is null
+   * @throws IllegalArgumentException if timestampStart is zero or negative, or if timestampEnd is
+   *         less than timestampStart
+   * @since 1.12.0
+   */
+  public Summary(final Statistics stats, final long timestampStart, final long timestampFinish,
+                 final int exitCode, ImmutableList<String> messages, final int requestsAborted,
+                 final LatencyHistogram.Snapshot dispatchLag) {
+    this(stats, timestampStart, timestampFinish, exitCode, messages, requestsAborted);
+    this.summaryStats.dispatchLagPercentiles =
+        OperationStats.latencyPercentiles(checkNotNull(dispatchLag), 3);
+  }
+
 
   static class SummaryOperationStats {
     long timestampStart;
@@ -82,6 +109,14 @@ public class Summary {
     OperationStats writeObjectTags;
     OperationStats deleteObjectTags;
     OperationStats getObjectTags;
+    // objects available per size class, keyed by the smallest size in the class; interval only
+    Map<Long, Long> objectSizeClasses;
+    // most recent persist of the object pool; interval only
+    ObjectPersistStats objectPersist;
+    // busy objects passed over by exclusive selection since the start of the test; interval only
+    ObjectSelectionStats objectSelection;
+    // worker and connection pool saturation of the apache client; interval only
+    ClientSaturationStats clientSaturation;
 
     protected SummaryOperationStats(final long timestampStart, final long timestampFinish) {
       this.timestampStart = timestampStart;
@@ -244,6 +279,22 @@ public class Summary {
       }
     }
 
+    public void setObjectSizeClasses(final Map<Long, Long> objectSizeClasses) {
+      this.objectSizeClasses = objectSizeClasses;
+    }
+
+    public void setObjectPersist(final ObjectPersistStats objectPersist) {
+      this.objectPersist = objectPersist;
+    }
+
+    public void setObjectSelection(final ObjectSelectionStats objectSelection) {
+      this.objectSelection = objectSelection;
+    }
+
+    public void setClientSaturation(final ClientSaturationStats clientSaturation) {
+      this.clientSaturation = clientSaturation;
+    }
+
     public String condensedStats() {
       StringBuilder sb = new StringBuilder();
       sb.append("Start: ").append(this.timestampStart).append("\n");
@@ -331,6 +382,31 @@ public class Summary {
       if (this.getObjectTags.operations > 0) {
         sb.append(this.getObjectTags).append("\n");
       }
+      if (this.objectSizeClasses != null && !this.objectSizeClasses.isEmpty()) {
+        sb.append("Objects By Size Class:\n");
+        for (final Map.Entry<Long, Long> e : this.objectSizeClasses.entrySet()) {
+          sb.append("  >= ").append(e.getKey()).append(": ").append(e.getValue()).append("\n");
+        }
+      }
+      if (this.objectPersist != null && this.objectPersist != ObjectPersistStats.NONE) {
+        sb.append("Object Persist: ").append(this.objectPersist.getObjects()).append(" objects in ")
+            .append(this.objectPersist.getDurationMillis()).append(" ms, ")
+            .append(this.objectPersist.getDelta()).append(" changes during persist\n");
+      }
+      if (this.objectSelection != null && this.objectSelection != ObjectSelectionStats.NONE) {
+        sb.append("Object Selection: ").append(this.objectSelection.getSkipped())
+            .append(" busy objects skipped, ").append(this.objectSelection.getWaits())
+            .append(" waits for a free object\n");
+      }
+      if (this.clientSaturation != null) {
+        sb.append("Client Saturation: ").append(this.clientSaturation.getQueuedRequests())
+            .append(" queued, ").append(this.clientSaturation.getPendingConnections())
+            .append(" awaiting connection, ").append(this.clientSaturation.getMaxLeaseWaitMillis())
+            .append(" ms max lease wait, ").append(this.clientSaturation.getBlockedRequests())
+            .append(" blocked, ").append(this.clientSaturation.getShedRequests())
+            .append(" shed, ").append(this.clientSaturation.getDroppedRequests())
+            .append(" dropped\n");
+      }
       return sb.toString();
     }
 
@@ -341,11 +417,30 @@ public class Summary {
 
   }
 
+  static class ScheduleAccuracyStats {
+    final double targetRate;
+    final double achievedRate;
+    final long permits;
+    // lateness of permits against the schedule in milliseconds, or null if none were issued
+    final Map<String, Double> latenessPercentiles;
+
+    ScheduleAccuracyStats(final ScheduleAccuracy accuracy) {
+      this.targetRate = accuracy.getTargetRate();
+      this.achievedRate = accuracy.getAchievedRate();
+      this.permits = accuracy.getPermits();
+      this.latenessPercentiles = OperationStats.latencyPercentiles(accuracy.getLateness(), 3);
+    }
+  }
+
   static class SummaryStats extends SummaryOperationStats {
 
     final int exitCode;
     final ImmutableList<String> exitMessages;
     final int requestsAborted;
+    // dispatch lag percentiles and maximum in milliseconds, or null if none were recorded
+    Map<String, Double> dispatchLagPercentiles;
+    // accuracy of a precise request rate scheduler, or null for other schedulers
+    ScheduleAccuracyStats scheduleAccuracy;
 
     SummaryStats(final Statistics stats, final long timestampStart,
                  final long timestampFinish, final int exitCode, final ImmutableList<String> messages,
@@ -360,6 +455,8 @@ public class Summary {
     public String condensedSummary() {
 
       StringBuilder sb = new StringBuilder(condensedStats());
+      sb.append(formatDispatchLagPercentiles()).append("\n");
+      sb.append(formatScheduleAccuracy());
       sb.append("RequestsAborted: ").append(this.requestsAborted).append("\n");
       sb.append("ExitCode: ").append(this.exitCode).append("\n");
       sb.append("ExitMessages:").append(prettyExitMessages());
@@ -367,6 +464,41 @@ public class Summary {
       return sb.toString();
     }
 
+    private String formatDispatchLagPercentiles() {
+      if (this.dispatchLagPercentiles == null) {
+        return "Dispatch Lag Percentiles: N/A";
+      }
+      final StringBuilder s = new StringBuilder("Dispatch Lag Percentiles:");
+      for (final Map.Entry<String, Double> percentile : this.dispatchLagPercentiles.entrySet()) {
+        s.append(String.format(Locale.US, " %s %.3f", percentile.getKey(), percentile.getValue()));
+      }
+      return s.append(" ms").toString();
+    }
+
+    public void setScheduleAccuracy(final ScheduleAccuracy scheduleAccuracy) {
+      this.scheduleAccuracy = new ScheduleAccuracyStats(scheduleAccuracy);
+    }
+
+    private String formatScheduleAccuracy() {
+      if (this.scheduleAccuracy == null) {
+        return "";
+      }
+      final StringBuilder s = new StringBuilder(String.format(Locale.US,
+          "Schedule Accuracy: %.2f/%.2f ops/s achieved/target, %s permits",
+          this.scheduleAccuracy.achievedRate, this.scheduleAccuracy.targetRate,
+          this.scheduleAccuracy.permits));
+      if (this.scheduleAccuracy.latenessPercentiles != null) {
+        s.append(", lateness");
+        for (final Map.Entry<String, Double> percentile : this.scheduleAccuracy.latenessPercentiles
+            .entrySet()) {
+          s.append(String.format(Locale.US, " %s %.3f", percentile.getKey(),
+              percentile.getValue()));
+        }
+        s.append(" ms");
+      }
+      return s.append("\n").toString();
+    }
+
     private String prettyExitMessages() {
       StringBuilder sb = new StringBuilder();
       if (exitMessages != null) {
@@ -382,7 +514,7 @@ public class Summary {
     @Override
     public String toString() {
       final String format = "Start: %s%nEnd: %s%nRuntime: %.2f "
-              + "Seconds%nOperations: %s%n%n%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%sRequestsAborted: %s%nExitCode: %s%nExitMessages:%s";
+              + "Seconds%nOperations: %s%n%n%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%s%n%sRequestsAborted: %s%nExitCode: %s%nExitMessages:%s";
       return String.format(Locale.US, format, FORMATTER.print(this.timestampStart),
               FORMATTER.print(this.timestampFinish), this.runtime, this.operations, this.write,
               this.read, this.delete, this.metadata, this.overwrite, this.list, this.containerList,
@@ -390,7 +522,8 @@ public class Summary {
               this.multipartWriteAbort,this.writeCopy, this.writeLegalHold, this.readLegalHold, this.deleteLegalHold,
               this.extendRetention, this.objectRestore, this.putContainerLifecycle, this.getContainerLifecycle,
               this.deleteContainerLifecycle, this.multidelete, this.writeObjectTags,this.deleteObjectTags,
-              this.getObjectTags, this.requestsAborted, this.exitCode, prettyExitMessages());
+              this.getObjectTags, formatDispatchLagPercentiles(),
+              formatScheduleAccuracy(), this.requestsAborted, this.exitCode, prettyExitMessages());
     }
 
 
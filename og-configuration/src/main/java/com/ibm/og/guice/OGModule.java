@@ -57,6 +57,11 @@ import com.ibm.og.api.Method;
 import com.ibm.og.api.Operation;
 import com.ibm.og.api.Request;
 import com.ibm.og.client.ApacheClient;
+import com.ibm.og.client.BinaryRequestLog;
+import com.ibm.og.client.JsonRequestLog;
+import com.ibm.og.client.NioClient;
+import com.ibm.og.client.RequestLog;
+import com.ibm.og.client.SampledRequestLog;
 import com.ibm.og.guice.annotation.ContainerCreateHeaders;
 import com.ibm.og.guice.annotation.ContainerCreateHost;
 import com.ibm.og.guice.annotation.ContainerListHeaders;
@@ -107,10 +112,12 @@ import com.ibm.og.http.ResponseBodyConsumer;
 import com.ibm.og.http.Scheme;
 import com.ibm.og.json.ChoiceConfig;
 import com.ibm.og.json.ClientConfig;
+import com.ibm.og.json.ClientType;
 import com.ibm.og.json.ConcurrencyConfig;
 import com.ibm.og.json.ConcurrencyType;
 import com.ibm.og.json.ContainerConfig;
 import com.ibm.og.json.CredentialSource;
+import com.ibm.og.json.EventBusConfig;
 import com.ibm.og.json.ObjectDelimiterConfig;
 import com.ibm.og.json.FailingConditionsConfig;
 import com.ibm.og.json.FilesizeConfig;
@@ -118,11 +125,16 @@ import com.ibm.og.json.LegalHold;
 import com.ibm.og.json.OGConfig;
 import com.ibm.og.json.ObjectConfig;
 import com.ibm.og.json.ObjectManagerConfig;
+import com.ibm.og.json.ObjectManagerType;
 import com.ibm.og.json.ObjectTagsConfig;
 import com.ibm.og.json.OperationConfig;
 import com.ibm.og.json.RetentionConfig;
 import com.ibm.og.json.SelectionConfig;
 import com.ibm.og.json.SelectionType;
+import com.ibm.og.json.SaturationPolicyType;
+import com.ibm.og.json.RequestLogFormatType;
+import com.ibm.og.json.UploadRegionType;
+import com.ibm.og.json.ShardSelectionType;
 import com.ibm.og.json.StoppingConditionsConfig;
 import com.ibm.og.object.AbstractObjectNameConsumer;
 import com.ibm.og.object.DeleteObjectConsumer;
@@ -133,11 +145,15 @@ import com.ibm.og.object.MetadataObjectNameConsumer;
 import com.ibm.og.object.MultiDeleteConsumer;
 import com.ibm.og.object.MultipartWriteObjectNameConsumer;
 import com.ibm.og.object.ObjectManager;
+import com.ibm.og.object.ObjectNameConsumerRouter;
+import com.ibm.og.object.OffHeapObjectPopulator;
 import com.ibm.og.object.ObjectMetadata;
 import com.ibm.og.object.OverwriteObjectNameConsumer;
 import com.ibm.og.object.RandomObjectPopulator;
 import com.ibm.og.object.ReadObjectLegalHoldConsumer;
 import com.ibm.og.object.ReadObjectNameConsumer;
+import com.ibm.og.object.ShardedObjectManager;
+import com.ibm.og.object.SharedObjectPopulator;
 import com.ibm.og.object.WriteCopyObjectNameConsumer;
 import com.ibm.og.object.WriteLegalHoldObjectNameConsumer;
 import com.ibm.og.object.WriteObjectNameConsumer;
@@ -152,6 +168,7 @@ import com.ibm.og.s3.v4.AWSV4Auth;
 import com.ibm.og.scheduling.ConcurrentRequestScheduler;
 import com.ibm.og.scheduling.RequestRateScheduler;
 import com.ibm.og.scheduling.PoissonRequestRateScheduler;
+import com.ibm.og.scheduling.PreciseRequestRateScheduler;
 import com.ibm.og.scheduling.Scheduler;
 import com.ibm.og.soh.SOHWriteResponseBodyConsumer;
 import com.ibm.og.statistic.Counter;
@@ -168,6 +185,7 @@ import com.ibm.og.supplier.RequestSupplier;
 import com.ibm.og.supplier.SourceReadObjectNameFunction;
 import com.ibm.og.supplier.Suppliers;
 import com.ibm.og.supplier.UUIDObjectNameFunction;
+import com.ibm.og.test.BatchingEventBus;
 import com.ibm.og.test.LoadTest;
 import com.ibm.og.test.LoadTestSubscriberExceptionHandler;
 import com.ibm.og.test.RequestManager;
@@ -183,6 +201,7 @@ import com.ibm.og.util.Distributions;
 import com.ibm.og.util.MoreFunctions;
 import com.ibm.og.util.SizeUnit;
 import com.ibm.og.util.Version;
+import com.ibm.og.util.io.PatternRegion;
 import com.ibm.og.util.json.type.DistributionType;
 
 /**
@@ -210,7 +229,21 @@ public class OGModule extends AbstractModule {
   public OGModule(final OGConfig config) {
     this.config = checkNotNull(config);
     this.handler = new LoadTestSubscriberExceptionHandler();
-    this.eventBus = new EventBus(this.handler);
+    this.eventBus = createEventBus(config.eventBus, this.handler);
+  }
+
+  private static EventBus createEventBus(final EventBusConfig eventBusConfig,
+      final LoadTestSubscriberExceptionHandler handler) {
+    checkNotNull(eventBusConfig);
+    if (!eventBusConfig.async) {
+      return new EventBus(handler);
+    }
+    // lanes are assigned to subscribers in turn, so with a lane per processor each of the busy
+    // subscribers (statistics, object manager, stopping conditions) gets a dispatcher to itself
+    final int threads = eventBusConfig.threads > 0 ? eventBusConfig.threads
+        : Runtime.getRuntime().availableProcessors();
+    return new BatchingEventBus(handler, threads, eventBusConfig.capacity,
+        eventBusConfig.batchSize);
   }
 
   @Override
@@ -327,7 +360,6 @@ public class OGModule extends AbstractModule {
     bind(LoadTest.class).in(Singleton.class);
     bind(EventBus.class).toInstance(this.eventBus);
     bind(Statistics.class).in(Singleton.class);
-    bind(ObjectManager.class).to(RandomObjectPopulator.class).in(Singleton.class);
     bindListener(Matchers.any(), new ProvisionListener() {
       @Override
       public <T> void onProvision(final ProvisionInvocation<T> provision) {
@@ -423,7 +455,8 @@ public class OGModule extends AbstractModule {
     }
 
     // maximum concurrent requests only makes sense in the context of an ops test, so check for that
-    if (failingConditionsConfig.concurrentRequests > 0 && concurrency.type == ConcurrencyType.OPS) {
+    if (failingConditionsConfig.concurrentRequests > 0 && (concurrency.type == ConcurrencyType.OPS
+        || concurrency.type == ConcurrencyType.PRECISEOPS)) {
       conditions.add(new ConcurrentRequestCondition(Operation.ALL,
           failingConditionsConfig.concurrentRequests, test, stats, true));
     }
@@ -1267,9 +1300,9 @@ public class OGModule extends AbstractModule {
     consumers.add(new WriteObjectTagsConsumer(objectManager, HttpUtil.VALID_STATUS_CODES));
     consumers.add(new DeleteObjectTagsConsumer(objectManager, HttpUtil.VALID_STATUS_CODES));
 
-    for (final AbstractObjectNameConsumer consumer : consumers) {
-      eventBus.register(consumer);
-    }
+    // a single subscriber routes each operation to its consumers, rather than every consumer
+    // receiving and discarding operations of other types
+    eventBus.register(new ObjectNameConsumerRouter(consumers));
     return consumers;
   }
 
@@ -1597,7 +1630,8 @@ public class OGModule extends AbstractModule {
     if (operationConfig.object.selection != null) {
       function = provideObject(operationConfig);
     } else {
-      function = new ReadObjectNameFunction(objectManager);
+      function = new ReadObjectNameFunction(objectManager, operationConfig.object.minSize,
+          operationConfig.object.maxSize);
     }
 
     return ImmutableList.of(function);
@@ -1766,7 +1800,8 @@ public class OGModule extends AbstractModule {
     if (operationConfig.object.selection != null) {
       function = provideObject(operationConfig);
     } else {
-      function = new MetadataObjectNameFunction(objectManager);
+      function = new MetadataObjectNameFunction(objectManager, operationConfig.object.minSize,
+          operationConfig.object.maxSize);
     }
 
     return ImmutableList.of(function);
@@ -1783,7 +1818,8 @@ public class OGModule extends AbstractModule {
     if (operationConfig.object.selection != null) {
       function = provideObject(operationConfig);
     } else {
-      function = new DeleteObjectNameFunction(objectManager);
+      function = new DeleteObjectNameFunction(objectManager, operationConfig.object.minSize,
+          operationConfig.object.maxSize);
     }
 
     return ImmutableList.of(function);
@@ -2828,6 +2864,26 @@ public class OGModule extends AbstractModule {
     return function;
   }
 
+  @Provides
+  @Singleton
+  public ObjectManager provideObjectManager(final Provider<RandomObjectPopulator> heap,
+      final Provider<OffHeapObjectPopulator> offHeap,
+      final Provider<ShardedObjectManager> sharded,
+      final Provider<SharedObjectPopulator> shared) {
+    final ObjectManagerType type = checkNotNull(this.config.objectManager).type;
+    checkNotNull(type, "object manager type must not be null");
+    if (type == ObjectManagerType.OFFHEAP) {
+      return offHeap.get();
+    }
+    if (type == ObjectManagerType.SHARDED) {
+      return sharded.get();
+    }
+    if (type == ObjectManagerType.SHARED) {
+      return shared.get();
+    }
+    return heap.get();
+  }
+
   @Provides
   @Singleton
   @Named("objectfile.location")
@@ -2882,6 +2938,25 @@ public class OGModule extends AbstractModule {
     return checkNotNull(this.config.objectManager).objectFileIndex;
   }
 
+  @Provides
+  @Singleton
+  @Named("objectfile.journal")
+  public boolean provideObjectFileJournal() {
+    return checkNotNull(this.config.objectManager).objectFileJournal;
+  }
+
+  @Provides
+  @Singleton
+  @Named("objectfile.shardselection")
+  public ShardedObjectManager.ShardSelection provideObjectFileShardSelection() {
+    final ShardSelectionType selection =
+        checkNotNull(checkNotNull(this.config.objectManager).shardSelection);
+    if (ShardSelectionType.THREAD == selection) {
+      return ShardedObjectManager.ShardSelection.THREAD;
+    }
+    return ShardedObjectManager.ShardSelection.RANDOM;
+  }
+
   private byte[] SSECustomerKey() {
     final byte[] aesKey = new byte[32];
     for (int i = 0; i < 16; i++) {
@@ -2948,20 +3023,43 @@ public class OGModule extends AbstractModule {
         scheduler = new PoissonRequestRateScheduler(concurrency.count, concurrency.unit, concurrency.rampup,
                 concurrency.rampupUnit);
         break;
+      case PRECISEOPS:
+        scheduler = new PreciseRequestRateScheduler(concurrency.count, concurrency.unit,
+            concurrency.rampup, concurrency.rampupUnit);
+        break;
       default:
-        throw new Exception("Concurrancy type was {} must be threads, ops, or poissonops".format(String.valueOf(concurrency.type)));
+        throw new Exception("Concurrancy type was {} must be threads, ops, poissonops or preciseops".format(String.valueOf(concurrency.type)));
     }
     return scheduler;
   }
 
+  @Provides
+  @Singleton
+  @Named("concurrency.dispatchers")
+  public int provideDispatchers(final ConcurrencyConfig concurrency) {
+    checkArgument(concurrency.dispatchers > 0, "concurrency dispatchers must be > 0 [%s]",
+        concurrency.dispatchers);
+    return concurrency.dispatchers;
+  }
+
   @Provides
   @Singleton
   public Client provideClient(final AuthType authType, final Map<AuthType, HttpAuth> authentication,
-      final Map<String, ResponseBodyConsumer> responseBodyConsumers) {
+      final Map<String, ResponseBodyConsumer> responseBodyConsumers, final Scheme scheme,
+      final RequestLog requestLog) {
     final ClientConfig clientConfig = this.config.client;
     Preconditions.checkArgument(
         authentication.get(authType) instanceof AWSV4Auth ? !clientConfig.chunkedEncoding : true,
         "http layer chunked encoding is not supported with Chunked AWSV4");
+    checkNotNull(clientConfig.type);
+    if (clientConfig.type == ClientType.NIO) {
+      checkArgument(scheme == Scheme.HTTP, "nio client does not support scheme [%s]", scheme);
+      return createNioClient(clientConfig, authentication.get(authType), responseBodyConsumers,
+          requestLog);
+    }
+    // apache response bodies are read through streams, which only fill heap arrays
+    checkArgument(!clientConfig.directReceiveBuffers,
+        "directReceiveBuffers is only supported by the nio client");
     final ApacheClient.Builder b = new ApacheClient.Builder()
         .withConnectTimeout(clientConfig.connectTimeout).withSoTimeout(clientConfig.soTimeout)
         .usingSoReuseAddress(clientConfig.soReuseAddress).withSoLinger(clientConfig.soLinger)
@@ -2984,7 +3082,14 @@ public class OGModule extends AbstractModule {
         .withAuthentication(authentication.get(authType))
         .withUserAgent(String.format("og-%s", Version.displayVersion()))
         .withWriteThroughput(clientConfig.writeThroughput)
-        .withReadThroughput(clientConfig.readThroughput);
+        .withReadThroughput(clientConfig.readThroughput)
+        .usingVirtualThreads(clientConfig.virtualThreads)
+        .withMaxWorkers(clientConfig.maxWorkers)
+        .withMaxQueuedRequests(clientConfig.maxQueuedRequests)
+        .withMaxConnections(clientConfig.maxConnections)
+        .withSaturationPolicy(saturationPolicy(clientConfig.saturationPolicy))
+        .withReceiveBufferSize(clientConfig.receiveBufferSize)
+        .withUploadRegionSize(clientConfig.uploadRegionSize).withRequestLog(requestLog);
 
     for (final Entry<String, ResponseBodyConsumer> consumer : responseBodyConsumers.entrySet()) {
       b.withResponseBodyConsumer(consumer.getKey(), consumer.getValue());
@@ -2993,6 +3098,84 @@ public class OGModule extends AbstractModule {
     return b.build();
   }
 
+  private static ApacheClient.SaturationPolicy saturationPolicy(
+      final SaturationPolicyType saturationPolicy) {
+    checkNotNull(saturationPolicy);
+    if (SaturationPolicyType.SHED == saturationPolicy) {
+      return ApacheClient.SaturationPolicy.SHED;
+    } else if (SaturationPolicyType.DROP == saturationPolicy) {
+      return ApacheClient.SaturationPolicy.DROP;
+    }
+    return ApacheClient.SaturationPolicy.BLOCK;
+  }
+
+  private NioClient createNioClient(final ClientConfig clientConfig, final HttpAuth authentication,
+      final Map<String, ResponseBodyConsumer> responseBodyConsumers, final RequestLog requestLog) {
+    final NioClient.Builder b = new NioClient.Builder().withIoThreads(clientConfig.ioThreads)
+        .withCompletionThreads(clientConfig.completionThreads)
+        .withConnectTimeout(clientConfig.connectTimeout).withSoTimeout(clientConfig.soTimeout)
+        .usingSoReuseAddress(clientConfig.soReuseAddress).withSoLinger(clientConfig.soLinger)
+        .usingSoKeepAlive(clientConfig.soKeepAlive).usingTcpNoDelay(clientConfig.tcpNoDelay)
+        .withSoSndBuf(clientConfig.soSndBuf).withSoRcvBuf(clientConfig.soRcvBuf)
+        .usingPersistentConnections(clientConfig.persistentConnections)
+        .withMaxIdleTime(clientConfig.maxIdleTime)
+        .usingChunkedEncoding(clientConfig.chunkedEncoding)
+        .usingExpectContinue(clientConfig.expectContinue)
+        .withWaitForContinue(clientConfig.waitForContinue).withRetryCount(clientConfig.retryCount)
+        .usingRequestSentRetry(clientConfig.requestSentRetry)
+        .withDnsCacheTtl(clientConfig.dnsCacheTtl)
+        .withDnsCacheNegativeTtl(clientConfig.dnsCacheNegativeTtl)
+        .withAuthentication(authentication)
+        .withUserAgent(String.format("og-%s", Version.displayVersion()))
+        .withWriteThroughput(clientConfig.writeThroughput)
+        .withReadThroughput(clientConfig.readThroughput)
+        .withReceiveBufferSize(clientConfig.receiveBufferSize)
+        .usingDirectReceiveBuffers(clientConfig.directReceiveBuffers)
+        .withUploadRegionSize(clientConfig.uploadRegionSize)
+        .withUploadRegionType(uploadRegionType(clientConfig.uploadRegionType))
+        .withRequestLog(requestLog);
+
+    for (final Entry<String, ResponseBodyConsumer> consumer : responseBodyConsumers.entrySet()) {
+      b.withResponseBodyConsumer(consumer.getKey(), consumer.getValue());
+    }
+
+    return b.build();
+  }
+
+  @Provides
+  @Singleton
+  public RequestLog provideRequestLog() throws IOException {
+    final ClientConfig clientConfig = this.config.client;
+    checkNotNull(clientConfig.requestLogFormat);
+    checkNotNull(clientConfig.requestLogFields);
+    final Set<String> fields = Sets.newLinkedHashSet(clientConfig.requestLogFields);
+    final RequestLog requestLog;
+    if (clientConfig.requestLogFormat == RequestLogFormatType.BINARY) {
+      // written alongside request.log, in the directory the og launcher creates for each test
+      final File file = new File(System.getProperty("TEST_PATH", "."), "request.bin");
+      requestLog = new BinaryRequestLog(file, clientConfig.requestLogBufferSize, fields);
+    } else {
+      requestLog = new JsonRequestLog(fields);
+    }
+    if (clientConfig.requestLogSampleInterval == 1
+        && clientConfig.requestLogSampleProbability == 1.0) {
+      return requestLog;
+    }
+    return new SampledRequestLog(requestLog, clientConfig.requestLogSampleInterval,
+        clientConfig.requestLogSampleProbability, clientConfig.requestLogErrors,
+        clientConfig.requestLogSlowThreshold);
+  }
+
+  private static PatternRegion.Type uploadRegionType(final UploadRegionType uploadRegionType) {
+    checkNotNull(uploadRegionType);
+    if (UploadRegionType.DIRECT == uploadRegionType) {
+      return PatternRegion.Type.DIRECT;
+    } else if (UploadRegionType.MAPPED == uploadRegionType) {
+      return PatternRegion.Type.MAPPED;
+    }
+    return PatternRegion.Type.HEAP;
+  }
+
   @Provides
   @Singleton
   @Named("write")
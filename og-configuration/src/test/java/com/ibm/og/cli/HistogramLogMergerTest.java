@@ -0,0 +1,109 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.cli;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class HistogramLogMergerTest {
+  private final Gson gson = ObjectGenerator.createIntervalGson();
+  private Map<String, Map<String, LatencyHistogram.Snapshot>> histograms;
+
+  @Before
+  public void before() {
+    this.histograms = Maps.newTreeMap();
+  }
+
+  private String entry(final String operation, final String statusClass, final long... values) {
+    final LatencyHistogram histogram =
+        new LatencyHistogram(Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE,
+            Statistics.HISTOGRAM_SIGNIFICANT_DIGITS);
+    for (final long value : values) {
+      histogram.record(value);
+    }
+    return this.gson.toJson(
+        new HistogramLogEntry(1000, 2000, operation, statusClass, histogram.snapshot()));
+  }
+
+  @Test
+  public void mergeRuns() throws IOException {
+    final String run1 =
+        entry("write", "2xx", 1000, 2000) + "\n" + entry("read", "2xx", 5000) + "\n";
+    final String run2 = entry("write", "2xx", 3000) + "\n\n" + entry("write", "5xx", 100000) + "\n";
+
+    assertThat(HistogramLogMerger.merge(new StringReader(run1), this.histograms), is(2L));
+    assertThat(HistogramLogMerger.merge(new StringReader(run2), this.histograms), is(2L));
+
+    assertThat(this.histograms.keySet(), contains("read", "write"));
+    assertThat(this.histograms.get("write").keySet(), contains("2xx", "5xx"));
+    assertThat(this.histograms.get("write").get("2xx").getTotalCount(), is(3L));
+    assertThat(this.histograms.get("write").get("5xx").getTotalCount(), is(1L));
+  }
+
+  @Test
+  public void write() throws IOException {
+    HistogramLogMerger.merge(
+        new StringReader(entry("write", "2xx", 1000, 2000, 3000) + "\n"
+            + entry("write", "5xx", 100000)),
+        this.histograms);
+    final StringWriter out = new StringWriter();
+    HistogramLogMerger.write(this.histograms, out);
+
+    final String[] lines = out.toString().split("\\r?\\n");
+    assertThat(lines.length, is(1));
+    final JsonObject write = new JsonParser().parse(lines[0]).getAsJsonObject();
+    assertThat(write.get("operation").getAsString(), is("write"));
+    assertThat(write.get("count").getAsLong(), is(4L));
+    assertThat(write.getAsJsonObject("latency_percentiles").get("p50").getAsDouble(),
+        closeTo(2.0, 0.02));
+    assertThat(write.getAsJsonObject("latency_percentiles").get("max").getAsDouble(),
+        closeTo(100.0, 1.0));
+    final JsonObject success = write.getAsJsonObject("status_classes").getAsJsonObject("2xx");
+    assertThat(success.get("count").getAsLong(), is(3L));
+    assertThat(success.getAsJsonObject("latency_percentiles").get("max").getAsDouble(),
+        closeTo(3.0, 0.03));
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidEntry() {
+    return new Object[][] {{"not json"}, {"{\"operation\": \"write\", \"status_class\": \"2xx\"}"},
+        {"{\"operation\": \"write\", \"status_class\": \"2xx\", \"unit\": \"microseconds\", "
+            + "\"histogram\": \"!\"}"},
+        {"{\"operation\": \"write\", \"status_class\": \"2xx\", \"unit\": \"milliseconds\", "
+            + "\"histogram\": \"AgI=\"}"},
+        // a histogram with a different layout
+        {"{\"operation\": \"write\", \"status_class\": \"2xx\", \"unit\": \"microseconds\", "
+            + "\"histogram\": \"yAEE\"}"}};
+  }
+
+  @Test(expected = IOException.class)
+  @UseDataProvider("provideInvalidEntry")
+  public void invalidEntry(final String line) throws IOException {
+    HistogramLogMerger.merge(new StringReader(line), this.histograms);
+  }
+}
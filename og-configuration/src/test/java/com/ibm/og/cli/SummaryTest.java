@@ -6,8 +6,11 @@
 package com.ibm.og.cli;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -26,6 +29,8 @@ import com.ibm.og.api.Response;
 import com.ibm.og.http.Bodies;
 import com.ibm.og.http.HttpRequest;
 import com.ibm.og.http.HttpResponse;
+import com.ibm.og.scheduling.ScheduleAccuracy;
+import com.ibm.og.statistic.LatencyHistogram;
 import com.ibm.og.statistic.Statistics;
 import com.ibm.og.api.Operation;
 import com.ibm.og.util.Pair;
@@ -63,6 +68,10 @@ public class SummaryTest {
     RequestTimestamps timestamps = new RequestTimestamps();
     timestamps.startMillis = System.currentTimeMillis();
     timestamps.finishMillis = timestamps.startMillis + 17;
+    timestamps.start = System.nanoTime();
+    timestamps.responseContentStart = timestamps.start + TimeUnit.MILLISECONDS.toNanos(5);
+    timestamps.responseContentFinish = timestamps.start + TimeUnit.MILLISECONDS.toNanos(15);
+    timestamps.finish = timestamps.start + TimeUnit.MILLISECONDS.toNanos(17);
     final Response response =
         new HttpResponse.Builder().withStatusCode(200).withBody(Bodies.zeroes(1024)).withRequestTimestamps(timestamps)
                 .build();
@@ -85,12 +94,23 @@ public class SummaryTest {
     assertThat(summaryStats.write.operations, is(0L));
     assertThat(summaryStats.write.bytes, is(0L));
     assertThat(summaryStats.write.statusCodes.size(), is(0));
+    assertThat(summaryStats.write.latencyPercentiles, nullValue());
+    assertThat(summaryStats.write.phaseLatencyPercentiles, nullValue());
 
     assertThat(summaryStats.read.operation, is(Operation.READ));
     assertThat(summaryStats.read.operations, is(1L));
     assertThat(summaryStats.read.bytes, is(1024L));
     assertThat(summaryStats.read.statusCodes.size(), is(1));
     assertThat(summaryStats.read.statusCodes, hasEntry(200, 1L));
+    assertThat(summaryStats.read.latencyPercentiles.keySet(),
+        contains("p50", "p90", "p99", "p99.9", "p99.99", "max"));
+    assertThat(summaryStats.read.latencyPercentiles.get("p50"), closeTo(17.0, 0.2));
+    assertThat(summaryStats.read.latencyPercentiles.get("max"), closeTo(17.0, 0.2));
+    assertThat(summaryStats.read.phaseLatencyPercentiles.keySet(), contains("server", "download"));
+    assertThat(summaryStats.read.phaseLatencyPercentiles.get("server").get("p50"),
+        closeTo(5.0, 0.1));
+    assertThat(summaryStats.read.phaseLatencyPercentiles.get("download").get("p50"),
+        closeTo(10.0, 0.1));
 
     assertThat(summaryStats.delete.operation, is(Operation.DELETE));
     assertThat(summaryStats.delete.operations, is(0L));
@@ -116,6 +136,44 @@ public class SummaryTest {
     assertThat(summaryStats.writeLegalHold.operations, is(0L));
     assertThat(summaryStats.writeLegalHold.statusCodes.size(), is(0));
     assertThat(summaryStats.writeLegalHold.statusCodes.size(), is(0));
+    assertThat(summaryStats.dispatchLagPercentiles, nullValue());
 
   }
+
+  @Test
+  public void dispatchLag() {
+    final LatencyHistogram dispatchLag = new LatencyHistogram(
+        Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE, Statistics.HISTOGRAM_SIGNIFICANT_DIGITS);
+    dispatchLag.record(40);
+    dispatchLag.record(2000);
+    final Summary summary = new Summary(new Statistics(), 0, 100, 0,
+        ImmutableList.of("Test Success"), 0, dispatchLag.snapshot());
+    summary.toString();
+    final Summary.SummaryStats summaryStats = summary.getSummaryStats();
+
+    assertThat(summaryStats.dispatchLagPercentiles.get("p50"), closeTo(0.04, 0.001));
+    assertThat(summaryStats.dispatchLagPercentiles.get("max"), closeTo(2.0, 0.02));
+    assertThat(summaryStats.scheduleAccuracy, nullValue());
+  }
+
+  @Test
+  public void scheduleAccuracy() {
+    final LatencyHistogram lateness = new LatencyHistogram(
+        Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE, Statistics.HISTOGRAM_SIGNIFICANT_DIGITS);
+    lateness.record(5);
+    lateness.record(80);
+    final Summary summary =
+        new Summary(new Statistics(), 0, 100, 0, ImmutableList.of("Test Success"), 0);
+    summary.getSummaryStats()
+        .setScheduleAccuracy(new ScheduleAccuracy(100000.0, 99500.0, lateness.snapshot()));
+    summary.toString();
+    summary.getSummaryStats().condensedSummary();
+    final Summary.ScheduleAccuracyStats accuracy = summary.getSummaryStats().scheduleAccuracy;
+
+    assertThat(accuracy.targetRate, is(100000.0));
+    assertThat(accuracy.achievedRate, is(99500.0));
+    assertThat(accuracy.permits, is(2L));
+    assertThat(accuracy.latenessPercentiles.get("p50"), closeTo(0.005, 0.0001));
+    assertThat(accuracy.latenessPercentiles.get("max"), closeTo(0.08, 0.001));
+  }
 }
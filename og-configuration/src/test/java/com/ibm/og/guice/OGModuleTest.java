@@ -13,6 +13,7 @@ import java.util.concurrent.TimeUnit;
 
 import com.ibm.og.json.FailingConditionsConfig;
 import com.ibm.og.json.ConcurrencyConfig;
+import com.ibm.og.json.EventBusConfig;
 import com.ibm.og.json.OGConfig;
 import com.ibm.og.json.RetentionConfig;
 import com.ibm.og.statistic.Statistics;
@@ -47,6 +48,7 @@ public class OGModuleTest {
     this.concurrency = new ConcurrencyConfig();
     this.stats = mock(Statistics.class);
     this.config = mock(OGConfig.class);
+    this.config.eventBus = new EventBusConfig();
   }
 
   @DataProvider
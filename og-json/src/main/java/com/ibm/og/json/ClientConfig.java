@@ -7,7 +7,12 @@ package com.ibm.og.json;
 
 import java.util.List;
 
+import com.google.common.collect.Lists;
+
 public class ClientConfig {
+  public ClientType type;
+  public int ioThreads;
+  public int completionThreads;
   public int connectTimeout;
   public int soTimeout;
   public boolean soReuseAddress;
@@ -36,8 +41,27 @@ public class ClientConfig {
   public int dnsCacheNegativeTtl;
   public int writeThroughput;
   public int readThroughput;
+  public boolean virtualThreads;
+  public int maxWorkers;
+  public int maxQueuedRequests;
+  public int maxConnections;
+  public SaturationPolicyType saturationPolicy;
+  public int receiveBufferSize;
+  public boolean directReceiveBuffers;
+  public int uploadRegionSize;
+  public UploadRegionType uploadRegionType;
+  public RequestLogFormatType requestLogFormat;
+  public int requestLogBufferSize;
+  public int requestLogSampleInterval;
+  public double requestLogSampleProbability;
+  public boolean requestLogErrors;
+  public long requestLogSlowThreshold;
+  public List<String> requestLogFields;
 
   public ClientConfig() {
+    this.type = ClientType.APACHE;
+    this.ioThreads = 0;
+    this.completionThreads = 0;
     this.connectTimeout = 0;
     this.soTimeout = 0;
     this.soReuseAddress = false;
@@ -66,5 +90,21 @@ public class ClientConfig {
     this.dnsCacheNegativeTtl = 10;
     this.writeThroughput = 0;
     this.readThroughput = 0;
+    this.virtualThreads = false;
+    this.maxWorkers = 0;
+    this.maxQueuedRequests = 0;
+    this.maxConnections = 0;
+    this.saturationPolicy = SaturationPolicyType.BLOCK;
+    this.receiveBufferSize = 16384;
+    this.directReceiveBuffers = false;
+    this.uploadRegionSize = 1048576;
+    this.uploadRegionType = UploadRegionType.HEAP;
+    this.requestLogFormat = RequestLogFormatType.JSON;
+    this.requestLogBufferSize = 65536;
+    this.requestLogSampleInterval = 1;
+    this.requestLogSampleProbability = 1.0;
+    this.requestLogErrors = true;
+    this.requestLogSlowThreshold = 0;
+    this.requestLogFields = Lists.newArrayList();
   }
 }
@@ -6,5 +6,5 @@
 package com.ibm.og.json;
 
 public enum ConcurrencyType {
-  OPS, THREADS, POISSONOPS;
+  OPS, THREADS, POISSONOPS, PRECISEOPS;
 }
@@ -0,0 +1,20 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.json;
+
+public class EventBusConfig {
+  public boolean async;
+  public int threads;
+  public int capacity;
+  public int batchSize;
+
+  public EventBusConfig() {
+    this.async = false;
+    this.threads = 0;
+    this.capacity = 65536;
+    this.batchSize = 256;
+  }
+}
@@ -58,6 +58,7 @@ public class OGConfig {
   public boolean virtualHost;
   public Integer statsLogInterval;
   public boolean octalNamingMode;
+  public EventBusConfig eventBus;
 
   public OGConfig() {
     this.scheme = Scheme.HTTP;
@@ -105,6 +106,7 @@ public class OGConfig {
     this.virtualHost = false;
     this.statsLogInterval = -1; //seconds
     this.octalNamingMode = false;
+    this.eventBus = new EventBusConfig();
 
   }
 }
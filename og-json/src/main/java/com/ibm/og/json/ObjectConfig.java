@@ -11,6 +11,8 @@ public class ObjectConfig {
   public SelectionType selection;
   public long minSuffix;
   public long maxSuffix;
+  public long minSize;
+  public long maxSize;
 
   public ObjectConfig() {
     this.prefix = "";
@@ -22,5 +24,8 @@ public class ObjectConfig {
     this.selection = null;
     this.minSuffix = 0;
     this.maxSuffix = Long.MAX_VALUE;
+    // size range of objects drawn from the object manager, min inclusive and max exclusive
+    this.minSize = 0;
+    this.maxSize = Long.MAX_VALUE;
   }
 }
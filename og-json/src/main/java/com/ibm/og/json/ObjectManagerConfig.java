@@ -8,17 +8,23 @@ package com.ibm.og.json;
 
 
 public class ObjectManagerConfig {
+  public ObjectManagerType type;
   public String objectFileLocation;
   public String objectFileName;
   public long objectFileMaxSize;
   public long objectFilePersistFrequency;
   public Integer objectFileIndex;
+  public boolean objectFileJournal;
+  public ShardSelectionType shardSelection;
 
   public ObjectManagerConfig() {
+    this.type = ObjectManagerType.HEAP;
     this.objectFileLocation = "./object";
     this.objectFileName = null;
     this.objectFileMaxSize = 100000000; // 100mb
     this.objectFilePersistFrequency = 1800; // 30 minutes
     this.objectFileIndex = null;
+    this.objectFileJournal = false;
+    this.shardSelection = ShardSelectionType.RANDOM;
   }
 }
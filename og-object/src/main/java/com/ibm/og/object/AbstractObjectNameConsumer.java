@@ -10,6 +10,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Set;
 
+import com.ibm.og.api.Method;
 import com.ibm.og.api.Operation;
 import com.ibm.og.api.Request;
 import com.ibm.og.api.Response;
@@ -17,6 +18,7 @@ import com.ibm.og.http.HttpUtil;
 import com.ibm.og.util.Context;
 import com.ibm.og.util.Pair;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
 
 /**
@@ -25,9 +27,13 @@ import com.google.common.eventbus.Subscribe;
  * @since 1.0
  */
 public abstract class AbstractObjectNameConsumer {
+  // status codes are valid in the range [100, 599]
+  static final int STATUS_CODES = 600;
   protected final ObjectManager objectManager;
   private final Operation operation;
-  private final Set<Integer> statusCodes;
+  private final Method method;
+  // indexed by status code, to check responses without boxing their status code
+  private final boolean[] statusCodes;
 
   /**
    * Constructs an instance
@@ -41,37 +47,69 @@ public abstract class AbstractObjectNameConsumer {
       final Set<Integer> statusCodes) {
     this.objectManager = checkNotNull(objectManager);
     this.operation = checkNotNull(operation);
-    this.statusCodes = ImmutableSet.copyOf(statusCodes);
-    checkArgument(!this.statusCodes.isEmpty(), "statusCodes must not be empty");
-    for (final int statusCode : this.statusCodes) {
+    this.method = HttpUtil.toMethod(operation);
+    final Set<Integer> statusCodesCopy = ImmutableSet.copyOf(statusCodes);
+    checkArgument(!statusCodesCopy.isEmpty(), "statusCodes must not be empty");
+    this.statusCodes = new boolean[STATUS_CODES];
+    for (final int statusCode : statusCodesCopy) {
       checkArgument(HttpUtil.VALID_STATUS_CODES.contains(statusCode),
           "all statusCodes in list must be valid status codes [%s]", statusCode);
+      this.statusCodes[statusCode] = true;
     }
   }
 
+  /**
+   * @return the operation type this instance works with
+   */
+  public Operation getOperation() {
+    return this.operation;
+  }
+
+  /**
+   * @param statusCode a response status code
+   * @return true if this instance consumes responses with the status code
+   */
+  public boolean consumes(final int statusCode) {
+    return statusCode >= 0 && statusCode < STATUS_CODES && this.statusCodes[statusCode];
+  }
+
   /**
    * Consumes operations and processes object names
    * 
    * @param operation the operation to process
    */
   @Subscribe
+  @AllowConcurrentEvents
   public void consume(final Pair<Request, Response> operation) {
     checkNotNull(operation);
-    final Request request = operation.getKey();
-    final Response response = operation.getValue();
+    consume(operation.getKey(), operation.getValue());
+  }
 
+  /**
+   * Processes the object name of a completed request, if it is of this instance's operation type
+   * and its response has a status code this instance consumes
+   * 
+   * @param request the completed request
+   * @param response the request's response
+   */
+  public void consume(final Request request, final Response response) {
     // if this consumer is not relevant for the current response, ignore
     if (this.operation != request.getOperation()) {
       return;
     }
 
-    // make sure Http request matches OG operation (e.g. PUT == WRITE/OVERWRITE)
-    if (request.getMethod() != HttpUtil.toMethod(request.getOperation())) {
+    // if the status code of this response does not match what can be consumed, ignore
+    if (!consumes(response.getStatusCode())) {
       return;
     }
+    consumeRouted(request, response);
+  }
 
-    // if the status code of this response does not match what can be consumed, ignore
-    if (!this.statusCodes.contains(response.getStatusCode())) {
+  // processes a completed request already known to match this instance's operation type and
+  // status codes
+  void consumeRouted(final Request request, final Response response) {
+    // make sure Http request matches OG operation (e.g. PUT == WRITE/OVERWRITE)
+    if (request.getMethod() != this.method) {
       return;
     }
 
@@ -9,7 +9,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 import com.google.common.io.BaseEncoding;
 
@@ -26,6 +25,8 @@ public class LegacyObjectMetadata implements ObjectMetadata {
   public static final int OBJECT_RETENTION_SIZE = 4;
   public static final int OBJECT_SIZE = OBJECT_NAME_SIZE + OBJECT_SIZE_SIZE + OBJECT_SUFFIX_SIZE +
           OBJECT_LEGAL_HOLDS_SIZE + OBJECT_RETENTION_SIZE;
+  // name, size and container suffix; legal holds and retention do not affect identity
+  private static final int IDENTITY_SIZE = OBJECT_NAME_SIZE + OBJECT_SIZE_SIZE + OBJECT_SUFFIX_SIZE;
   private static final BaseEncoding ENCODING = BaseEncoding.base16().lowerCase();
   protected final ByteBuffer objectBuffer;
   public static final byte MAJOR_VERSION = (byte)2;
@@ -75,7 +76,10 @@ public class LegacyObjectMetadata implements ObjectMetadata {
     checkArgument(retentionPeriod >= -2, "retentionPeriod must be >= -2 [%s]", retentionPeriod);
 
     final ByteBuffer objectBuffer = ByteBuffer.allocate(OBJECT_SIZE);
-    objectBuffer.put(ENCODING.decode(objectName), 0, OBJECT_NAME_SIZE);
+    // decode straight into the record rather than through an intermediate byte array
+    objectBuffer.putLong(ObjectNames.parseHigh(objectName));
+    objectBuffer.putLong(ObjectNames.parseLow(objectName));
+    objectBuffer.putShort(ObjectNames.parseTail(objectName));
     objectBuffer.putLong(objectSize);
     objectBuffer.putInt(containerSuffix);
     objectBuffer.put(numLegalHolds);
@@ -120,16 +124,24 @@ public class LegacyObjectMetadata implements ObjectMetadata {
       return false;
     }
 
-    final ObjectMetadata other = (ObjectMetadata) obj;
-    byte[] a1 = Arrays.copyOf(toBytes(), OBJECT_NAME_SIZE + OBJECT_SIZE_SIZE + OBJECT_SUFFIX_SIZE);
-    byte[] a2 = Arrays.copyOf(other.toBytes(), OBJECT_NAME_SIZE + OBJECT_SIZE_SIZE + OBJECT_SUFFIX_SIZE);
-    return  Arrays.equals(a1, a2);
+    final byte[] a1 = toBytes();
+    final byte[] a2 = ((ObjectMetadata) obj).toBytes();
+    for (int i = 0; i < IDENTITY_SIZE; i++) {
+      if (a1[i] != a2[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    byte[] b = Arrays.copyOf(toBytes(), OBJECT_NAME_SIZE + OBJECT_SIZE_SIZE + OBJECT_SUFFIX_SIZE);
-    int hashcode = Arrays.hashCode(b);
+    // same value as Arrays.hashCode over the identity bytes, without copying them
+    final byte[] b = toBytes();
+    int hashcode = 1;
+    for (int i = 0; i < IDENTITY_SIZE; i++) {
+      hashcode = 31 * hashcode + b[i];
+    }
     return hashcode;
   }
 
@@ -0,0 +1,68 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Parks callers which select objects for exclusive use while every matching object is being read,
+ * until an object is released or the pool changes. A waiter registers before it checks what it is
+ * waiting for, and a change is made before waiters are looked for, so one side always observes the
+ * other; signalling only takes the lock while there are waiters.
+ *
+ * @since 1.12.0
+ */
+final class ObjectAvailability {
+  private final AtomicInteger waiters;
+  private final ReentrantLock lock;
+  private final Condition changed;
+
+  ObjectAvailability() {
+    this.waiters = new AtomicInteger();
+    this.lock = new ReentrantLock();
+    this.changed = this.lock.newCondition();
+  }
+
+  /**
+   * Wakes every waiter to check again. Callers invoke this after an object becomes unread or
+   * leaves the pool, and should not hold locks which a {@link Check} takes.
+   */
+  void signal() {
+    if (this.waiters.get() > 0) {
+      this.lock.lock();
+      try {
+        this.changed.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Waits until the provided check passes, checking again after every signal
+   */
+  void await(final Check check) {
+    this.lock.lock();
+    this.waiters.incrementAndGet();
+    try {
+      while (!check.passes()) {
+        this.changed.awaitUninterruptibly();
+      }
+    } finally {
+      this.waiters.decrementAndGet();
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * A condition which ends a wait
+   */
+  abstract static class Check {
+    abstract boolean passes();
+  }
+}
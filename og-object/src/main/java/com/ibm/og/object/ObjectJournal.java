@@ -0,0 +1,308 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * An append-only journal of additions to and removals from an object file. Callers enqueue
+ * entries without blocking; a dedicated writer thread appends them, in enqueue order, to
+ * {@code <object file>.journal.<generation>}. Each entry is a one byte opcode followed by a
+ * {@link LegacyObjectMetadata#OBJECT_SIZE} byte object record.
+ * <p>
+ * Replaying every journal generation, in order, over any snapshot of the object file taken after
+ * the oldest generation was opened yields the current state, because the last journaled operation
+ * on an object name always reflects the state of that object. This allows a snapshot to be taken
+ * from a live pool without stopping it: {@link #rotate()} the journal, write the snapshot, then
+ * {@link #deleteThrough(long)} the rotated generations.
+ *
+ * @since 1.12.0
+ */
+final class ObjectJournal {
+  private static final Logger _logger = LoggerFactory.getLogger(ObjectJournal.class);
+  static final byte ADD = 1;
+  static final byte REMOVE = 2;
+  static final int ENTRY_SIZE = 1 + LegacyObjectMetadata.OBJECT_SIZE;
+  private static final int MAX_BATCH = 4096;
+  private static final byte[] ROTATE = new byte[0];
+  private static final byte[] SYNC = new byte[0];
+  private static final byte[] CLOSE = new byte[0];
+  private final File objectFile;
+  private final BlockingQueue<byte[]> pending = new LinkedBlockingQueue<byte[]>();
+  private final Thread writer;
+  // a j.u.c lock rather than a monitor so a waiting virtual thread does not pin its carrier
+  private final ReentrantLock awaitLock = new ReentrantLock();
+  private volatile CountDownLatch acknowledged;
+  private volatile long generation;
+  private FileOutputStream file;
+  private BufferedOutputStream out;
+
+  /**
+   * Opens a new journal generation for the provided object file and starts the writer thread
+   *
+   * @param objectFile the object file this journal records changes to
+   */
+  ObjectJournal(final File objectFile) throws IOException {
+    this.objectFile = checkNotNull(objectFile);
+    final List<File> existing = journals(objectFile);
+    this.generation =
+        existing.isEmpty() ? 0 : generation(objectFile, existing.get(existing.size() - 1)) + 1;
+    open();
+    this.writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        write();
+      }
+    }, "object-journal");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  private void open() throws IOException {
+    this.file = new FileOutputStream(journalFile(this.generation), true);
+    this.out = new BufferedOutputStream(this.file, MAX_BATCH * ENTRY_SIZE);
+  }
+
+  private void force() throws IOException {
+    this.out.flush();
+    this.file.getFD().sync();
+  }
+
+  private File journalFile(final long generation) {
+    return new File(this.objectFile.getPath() + ".journal." + generation);
+  }
+
+  private static Pattern journalPattern(final File objectFile) {
+    return Pattern.compile(Pattern.quote(objectFile.getName() + ".journal.") + "(\\d+)");
+  }
+
+  private static long generation(final File objectFile, final File journal) {
+    final Matcher m = journalPattern(objectFile).matcher(journal.getName());
+    if (!m.matches()) {
+      throw new IllegalArgumentException("not a journal file " + journal);
+    }
+    return Long.parseLong(m.group(1));
+  }
+
+  /**
+   * Lists the journal generations of an object file, oldest first
+   */
+  static List<File> journals(final File objectFile) {
+    final Pattern pattern = journalPattern(objectFile);
+    final File dir = objectFile.getAbsoluteFile().getParentFile();
+    final File[] files = dir.listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(final File dir, final String name) {
+        return pattern.matcher(name).matches();
+      }
+    });
+    if (files == null) {
+      return new ArrayList<File>();
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(final File f1, final File f2) {
+        final long g1 = generation(objectFile, f1);
+        final long g2 = generation(objectFile, f2);
+        return g1 < g2 ? -1 : (g1 == g2 ? 0 : 1);
+      }
+    });
+    return new ArrayList<File>(Arrays.asList(files));
+  }
+
+  /**
+   * Replays a journal file into a set of objects. A truncated trailing entry, left by a crash
+   * mid-write, is ignored.
+   *
+   * @return the number of entries replayed
+   */
+  static int replay(final File journal, final RandomAccessConcurrentHashSet<ObjectMetadata> objects)
+      throws IOException {
+    return replay(journal, new Router() {
+      @Override
+      RandomAccessConcurrentHashSet<ObjectMetadata> objectsFor(final ObjectMetadata id) {
+        return objects;
+      }
+    });
+  }
+
+  /**
+   * Chooses the set of objects a replayed entry applies to, for journals shared by several pools
+   */
+  abstract static class Router {
+    abstract RandomAccessConcurrentHashSet<ObjectMetadata> objectsFor(ObjectMetadata id);
+  }
+
+  /**
+   * Replays a journal file shared by several sets of objects, applying each entry to the set the
+   * router chooses for its object
+   *
+   * @return the number of entries replayed
+   */
+  static int replay(final File journal, final Router router) throws IOException {
+    final InputStream in = new BufferedInputStream(new FileInputStream(journal));
+    int entries = 0;
+    try {
+      final byte[] entry = new byte[ENTRY_SIZE];
+      while (readFully(in, entry)) {
+        final ObjectMetadata id =
+            LegacyObjectMetadata.fromBytes(Arrays.copyOfRange(entry, 1, ENTRY_SIZE));
+        final RandomAccessConcurrentHashSet<ObjectMetadata> objects = router.objectsFor(id);
+        if (entry[0] == ADD) {
+          objects.remove(id);
+          objects.put(id);
+        } else if (entry[0] == REMOVE) {
+          objects.remove(id);
+        } else {
+          throw new IOException(String.format("Corrupt journal entry [%s] in %s", entry[0], journal));
+        }
+        entries++;
+      }
+    } finally {
+      in.close();
+    }
+    return entries;
+  }
+
+  /**
+   * Enqueues a journal entry. Never blocks on I/O. Callers must append while still holding the lock
+   * under which they changed the object, so that the entries for any one object are enqueued in the
+   * order its changes were made.
+   */
+  void append(final byte op, final ObjectMetadata id) {
+    final byte[] entry = new byte[ENTRY_SIZE];
+    entry[0] = op;
+    System.arraycopy(id.toBytes(), 0, entry, 1, LegacyObjectMetadata.OBJECT_SIZE);
+    this.pending.add(entry);
+  }
+
+  /**
+   * Closes the current generation once every entry enqueued before this call has been written to
+   * it, and opens the next generation
+   *
+   * @return the generation that was closed
+   */
+  long rotate() {
+    final long closed = this.generation;
+    await(ROTATE);
+    return closed;
+  }
+
+  /**
+   * Waits until every entry enqueued before this call is written and forced to disk
+   */
+  void sync() {
+    await(SYNC);
+  }
+
+  /**
+   * Writes all outstanding entries, closes the journal and stops the writer thread
+   */
+  void close() {
+    await(CLOSE);
+    Uninterruptibles.joinUninterruptibly(this.writer);
+  }
+
+  private void await(final byte[] marker) {
+    this.awaitLock.lock();
+    try {
+      final CountDownLatch latch = new CountDownLatch(1);
+      this.acknowledged = latch;
+      this.pending.add(marker);
+      Uninterruptibles.awaitUninterruptibly(latch);
+    } finally {
+      this.awaitLock.unlock();
+    }
+  }
+
+  /**
+   * Deletes every journal generation up to and including the provided one
+   */
+  void deleteThrough(final long generation) {
+    for (final File journal : journals(this.objectFile)) {
+      if (generation(this.objectFile, journal) <= generation && !journal.delete()) {
+        _logger.warn("Unable to delete journal {}", journal);
+      }
+    }
+  }
+
+  private void write() {
+    final List<byte[]> batch = new ArrayList<byte[]>(MAX_BATCH);
+    while (true) {
+      batch.add(Uninterruptibles.takeUninterruptibly(this.pending));
+      this.pending.drainTo(batch, MAX_BATCH - 1);
+      for (final byte[] entry : batch) {
+        try {
+          if (entry == ROTATE) {
+            force();
+            this.out.close();
+            this.generation++;
+            open();
+          } else if (entry == SYNC) {
+            force();
+          } else if (entry == CLOSE) {
+            force();
+            this.out.close();
+          } else {
+            this.out.write(entry);
+          }
+        } catch (final IOException e) {
+          _logger.error("Unable to write object journal", e);
+        } finally {
+          // callers must not be left waiting even if the journal could not be written
+          if (entry.length == 0) {
+            this.acknowledged.countDown();
+          }
+        }
+        if (entry == CLOSE) {
+          return;
+        }
+      }
+      try {
+        this.out.flush();
+      } catch (final IOException e) {
+        _logger.error("Unable to write object journal", e);
+      }
+      batch.clear();
+    }
+  }
+
+  private static boolean readFully(final InputStream in, final byte[] b) throws IOException {
+    int read = 0;
+    while (read < b.length) {
+      final int n = in.read(b, read, b.length - read);
+      if (n < 0) {
+        return false;
+      }
+      read += n;
+    }
+    return true;
+  }
+}
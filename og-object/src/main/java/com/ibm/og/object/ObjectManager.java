@@ -5,6 +5,7 @@
 
 package com.ibm.og.object;
 
+import java.util.Map;
 
 /**
  * A collection of objects and their corresponding metadata
@@ -27,6 +28,17 @@ public interface ObjectManager {
    */
   ObjectMetadata get();
 
+  /**
+   * Selects an existing object name under management whose size is at least {@code minSize} and
+   * less than {@code maxSize} bytes. Callers must call {@code getComplete } when finished with the
+   * object returned by this method
+   *
+   * @param minSize the smallest object size to select, inclusive
+   * @param maxSize the largest object size to select, exclusive
+   * @return an available object name for reading
+   */
+  ObjectMetadata get(long minSize, long maxSize);
+
   /**
    * Selects an existing object name under management. Callers must call {@code getComplete } when
    * finished with the object returned by this method. Object will only be returned it is not already
@@ -58,6 +70,16 @@ public interface ObjectManager {
    * @return an object currently under management
    */
   ObjectMetadata removeForUpdate();
+
+  /**
+   * Removes an existing object name whose size is at least {@code minSize} and less than
+   * {@code maxSize} bytes from management temporarily, as {@code removeForUpdate()} does
+   *
+   * @param minSize the smallest object size to select, inclusive
+   * @param maxSize the largest object size to select, exclusive
+   * @return an object currently under management
+   */
+  ObjectMetadata removeForUpdate(long minSize, long maxSize);
   /**
    * Removes the specified object from management
    *
@@ -100,6 +122,30 @@ public interface ObjectManager {
    */
   public int getCurrentlyUpdatingCount();
 
+  /**
+   * Returns the number of objects available for selection in each non-empty size class
+   *
+   * @return object counts keyed by the smallest object size of each class, see
+   *         {@link ObjectSizeClasses}
+   */
+  Map<Long, Long> getSizeClassCounts();
+
+  /**
+   * Returns the duration, size and concurrent changes of the most recent persist of this object
+   * manager's pool
+   *
+   * @return persist stats, or {@link ObjectPersistStats#NONE} if the pool has not been persisted
+   */
+  ObjectPersistStats getPersistStats();
+
+  /**
+   * Returns how often selection for exclusive use passed over busy objects since this object
+   * manager was created
+   *
+   * @return selection stats, or {@link ObjectSelectionStats#NONE} if selection is not tracked
+   */
+  ObjectSelectionStats getSelectionStats();
+
   /**
    * Shuts down this object manager
    */
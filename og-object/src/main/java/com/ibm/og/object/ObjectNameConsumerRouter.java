@@ -0,0 +1,107 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.Response;
+import com.ibm.og.util.Pair;
+
+/**
+ * Routes completed operations to the object name consumers for their operation type and status
+ * code. Registering a single router in place of each consumer means an event is delivered once
+ * rather than to every consumer, and only the consumers which process it are invoked.
+ *
+ * @since 1.12.0
+ */
+public class ObjectNameConsumerRouter {
+  private static final AbstractObjectNameConsumer[] NONE = new AbstractObjectNameConsumer[0];
+  private final List<AbstractObjectNameConsumer> consumers;
+  // consumers by operation ordinal and then status code
+  private final AbstractObjectNameConsumer[][][] routes;
+
+  /**
+   * Constructs an instance
+   *
+   * @param consumers the consumers to route operations to
+   * @throws NullPointerException if consumers is null or contains null elements
+   */
+  public ObjectNameConsumerRouter(final List<AbstractObjectNameConsumer> consumers) {
+    this.consumers = ImmutableList.copyOf(consumers);
+    final Operation[] operations = Operation.values();
+    this.routes = new AbstractObjectNameConsumer[operations.length][][];
+    for (final Operation operation : operations) {
+      final List<AbstractObjectNameConsumer> operationConsumers = Lists.newArrayList();
+      for (final AbstractObjectNameConsumer consumer : this.consumers) {
+        if (consumer.getOperation() == operation) {
+          operationConsumers.add(consumer);
+        }
+      }
+      final AbstractObjectNameConsumer[][] statusCodes =
+          new AbstractObjectNameConsumer[AbstractObjectNameConsumer.STATUS_CODES][];
+      for (int statusCode = 0; statusCode < statusCodes.length; statusCode++) {
+        final List<AbstractObjectNameConsumer> route = Lists.newArrayList();
+        for (final AbstractObjectNameConsumer consumer : operationConsumers) {
+          if (consumer.consumes(statusCode)) {
+            route.add(consumer);
+          }
+        }
+        statusCodes[statusCode] =
+            route.isEmpty() ? NONE : route.toArray(new AbstractObjectNameConsumer[route.size()]);
+      }
+      this.routes[operation.ordinal()] = statusCodes;
+    }
+  }
+
+  /**
+   * Routes a completed operation to the consumers for its operation type and status code
+   *
+   * @param operation the operation to route
+   */
+  @Subscribe
+  @AllowConcurrentEvents
+  public void consume(final Pair<Request, Response> operation) {
+    checkNotNull(operation);
+    consume(operation.getKey(), operation.getValue());
+  }
+
+  /**
+   * Routes a completed request to the consumers for its operation type and status code
+   *
+   * @param request the completed request
+   * @param response the request's response
+   */
+  public void consume(final Request request, final Response response) {
+    final int statusCode = response.getStatusCode();
+    if (statusCode < 0 || statusCode >= AbstractObjectNameConsumer.STATUS_CODES) {
+      return;
+    }
+    for (final AbstractObjectNameConsumer consumer : this.routes[request.getOperation()
+        .ordinal()][statusCode]) {
+      consumer.consumeRouted(request, response);
+    }
+  }
+
+  /**
+   * @return the consumers this instance routes operations to
+   */
+  public List<AbstractObjectNameConsumer> getConsumers() {
+    return this.consumers;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ObjectNameConsumerRouter [consumers=%s]", this.consumers.size());
+  }
+}
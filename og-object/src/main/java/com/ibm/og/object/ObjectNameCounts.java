@@ -0,0 +1,249 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent map from object name to a positive count, keyed by the primitive form of the name
+ * described in {@link ObjectNames}. Entries live in segmented open addressing tables of parallel
+ * primitive arrays, so counting never allocates; an entry is removed as soon as its count drops to
+ * zero.
+ * <p>
+ * Each update holds its segment's lock for a single probe rather than retrying a CAS on a per name
+ * counter object: backward shift deletion moves entries between buckets, so the table cannot be
+ * probed while another thread removes from it, and counters held in objects would bring back the
+ * per name allocation this class avoids.
+ *
+ * @since 1.12.0
+ */
+final class ObjectNameCounts {
+  private final Segment[] segments;
+  private final int segmentShift;
+
+  /**
+   * Creates an instance
+   *
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   */
+  ObjectNameCounts(final int concurrencyLevel) {
+    checkArgument(concurrencyLevel > 0, "concurrencyLevel must be > 0 [%s]", concurrencyLevel);
+    int sshift = 0;
+    int ssize = 1;
+    while (ssize < concurrencyLevel) {
+      ++sshift;
+      ssize <<= 1;
+    }
+    this.segmentShift = 32 - sshift;
+    this.segments = new Segment[ssize];
+    for (int i = 0; i < ssize; i++) {
+      this.segments[i] = new Segment();
+    }
+  }
+
+  private Segment segmentFor(final int hash) {
+    // segmentShift is 32 for a single segment, which java reduces to a shift of 0
+    return this.segments[this.segments.length == 1 ? 0 : hash >>> this.segmentShift];
+  }
+
+  /**
+   * Increments the count of the named object, creating an entry with a count of one if absent
+   *
+   * @return the incremented count
+   */
+  int increment(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      // insert may resize, so it must run before the counts array is read
+      final int i = s.insert(hash, high, low, tail);
+      return ++s.counts[i];
+    } finally {
+      s.unlock();
+    }
+  }
+
+  /**
+   * Creates an entry with a count of one for the named object
+   *
+   * @return false, leaving the existing count unchanged, if the object already has an entry
+   */
+  boolean incrementIfAbsent(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      final int i = s.insert(hash, high, low, tail);
+      if (s.counts[i] > 0) {
+        return false;
+      }
+      s.counts[i] = 1;
+      return true;
+    } finally {
+      s.unlock();
+    }
+  }
+
+  /**
+   * Decrements the count of the named object, removing its entry when the count reaches zero
+   *
+   * @return false if the object has no entry
+   */
+  boolean decrement(final long high, final long low, final short tail) {
+    return decrementAndGet(high, low, tail) >= 0;
+  }
+
+  /**
+   * Decrements the count of the named object, removing its entry when the count reaches zero
+   *
+   * @return the decremented count, or -1 if the object has no entry
+   */
+  int decrementAndGet(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      final int i = s.find(hash, high, low, tail);
+      if (i < 0) {
+        return -1;
+      }
+      final int count = --s.counts[i];
+      if (count == 0) {
+        s.removeAt(i);
+      }
+      return count;
+    } finally {
+      s.unlock();
+    }
+  }
+
+  boolean contains(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      return s.find(hash, high, low, tail) >= 0;
+    } finally {
+      s.unlock();
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (final Segment s : this.segments) {
+      s.lock();
+      try {
+        size += s.size;
+      } finally {
+        s.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * An open addressing table using linear probing and backward shift deletion. A count of zero
+   * marks an empty bucket.
+   */
+  private static final class Segment extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+    private long[] highs;
+    private long[] lows;
+    private short[] tails;
+    private int[] counts;
+    private int mask;
+    private int size;
+
+    Segment() {
+      allocate(16);
+    }
+
+    private void allocate(final int capacity) {
+      this.highs = new long[capacity];
+      this.lows = new long[capacity];
+      this.tails = new short[capacity];
+      this.counts = new int[capacity];
+      this.mask = capacity - 1;
+    }
+
+    private int home(final int hash) {
+      // the high bits of the hash select the segment, so index by the low bits
+      return hash & this.mask;
+    }
+
+    int find(final int hash, final long high, final long low, final short tail) {
+      for (int i = home(hash); this.counts[i] != 0; i = (i + 1) & this.mask) {
+        if (this.highs[i] == high && this.lows[i] == low && this.tails[i] == tail) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * @return the bucket holding the name; a newly claimed bucket has a count of zero
+     */
+    int insert(final int hash, final long high, final long low, final short tail) {
+      final int existing = find(hash, high, low, tail);
+      if (existing >= 0) {
+        return existing;
+      }
+      if (2 * (this.size + 1) > this.counts.length) {
+        resize();
+      }
+      int i = home(hash);
+      while (this.counts[i] != 0) {
+        i = (i + 1) & this.mask;
+      }
+      this.highs[i] = high;
+      this.lows[i] = low;
+      this.tails[i] = tail;
+      this.size++;
+      // the caller sets a positive count before releasing the lock
+      return i;
+    }
+
+    void removeAt(int hole) {
+      this.size--;
+      int i = (hole + 1) & this.mask;
+      while (this.counts[i] != 0) {
+        final int home = home(ObjectNames.hash(this.highs[i], this.lows[i], this.tails[i]));
+        if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+          this.highs[hole] = this.highs[i];
+          this.lows[hole] = this.lows[i];
+          this.tails[hole] = this.tails[i];
+          this.counts[hole] = this.counts[i];
+          hole = i;
+        }
+        i = (i + 1) & this.mask;
+      }
+      this.counts[hole] = 0;
+    }
+
+    private void resize() {
+      final long[] oldHighs = this.highs;
+      final long[] oldLows = this.lows;
+      final short[] oldTails = this.tails;
+      final int[] oldCounts = this.counts;
+      allocate(oldCounts.length * 2);
+      for (int j = 0; j < oldCounts.length; j++) {
+        if (oldCounts[j] != 0) {
+          int i = home(ObjectNames.hash(oldHighs[j], oldLows[j], oldTails[j]));
+          while (this.counts[i] != 0) {
+            i = (i + 1) & this.mask;
+          }
+          this.highs[i] = oldHighs[j];
+          this.lows[i] = oldLows[j];
+          this.tails[i] = oldTails[j];
+          this.counts[i] = oldCounts[j];
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Allocation free helpers for the primitive form of an object name. The
+ * {@link LegacyObjectMetadata#OBJECT_NAME_SIZE} byte name is treated as two big endian longs
+ * followed by a big endian short, which can be read either from an object record or directly from
+ * the base16 name string without materializing any intermediate objects.
+ *
+ * @since 1.12.0
+ */
+final class ObjectNames {
+  // length of the base16 name string
+  static final int NAME_CHARS = 2 * LegacyObjectMetadata.OBJECT_NAME_SIZE;
+
+  private ObjectNames() {}
+
+  static long high(final byte[] record) {
+    return readLong(record, 0);
+  }
+
+  static long low(final byte[] record) {
+    return readLong(record, 8);
+  }
+
+  static short tail(final byte[] record) {
+    return (short) (((record[16] & 0xFF) << 8) | (record[17] & 0xFF));
+  }
+
+  private static long readLong(final byte[] b, final int offset) {
+    long value = 0;
+    for (int i = offset; i < offset + 8; i++) {
+      value = (value << 8) | (b[i] & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * @return true if name is a base16 object name which the parse methods accept
+   */
+  static boolean isValid(final CharSequence name) {
+    if (name == null || name.length() != NAME_CHARS) {
+      return false;
+    }
+    for (int i = 0; i < NAME_CHARS; i++) {
+      if (Character.digit(name.charAt(i), 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @throws IllegalArgumentException if name is not a valid base16 object name
+   */
+  static long parseHigh(final CharSequence name) {
+    checkLength(name);
+    return parseHex(name, 0, 16);
+  }
+
+  /**
+   * @throws IllegalArgumentException if name is not a valid base16 object name
+   */
+  static long parseLow(final CharSequence name) {
+    checkLength(name);
+    return parseHex(name, 16, 32);
+  }
+
+  /**
+   * @throws IllegalArgumentException if name is not a valid base16 object name
+   */
+  static short parseTail(final CharSequence name) {
+    checkLength(name);
+    return (short) parseHex(name, 32, NAME_CHARS);
+  }
+
+  private static void checkLength(final CharSequence name) {
+    checkArgument(name.length() == NAME_CHARS, "object name length must be == %s [%s]", NAME_CHARS,
+        name.length());
+  }
+
+  private static long parseHex(final CharSequence name, final int begin, final int end) {
+    long value = 0;
+    for (int i = begin; i < end; i++) {
+      final int digit = Character.digit(name.charAt(i), 16);
+      checkArgument(digit >= 0, "invalid character in object name [%s]", name);
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  static int hash(final long high, final long low, final short tail) {
+    long h = high * 0x9E3779B97F4A7C15L + low;
+    h = (h ^ (h >>> 29)) * 0xBF58476D1CE4E5B9L + tail;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,61 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+/**
+ * Describes the most recent persist of an object manager's pool to its object files
+ *
+ * @since 1.12.0
+ */
+public final class ObjectPersistStats {
+  /**
+   * Stats of an object manager which has not persisted yet
+   */
+  public static final ObjectPersistStats NONE = new ObjectPersistStats(0, 0, 0);
+  private final long durationMillis;
+  private final long objects;
+  private final long delta;
+
+  /**
+   * Creates an instance
+   *
+   * @param durationMillis how long the persist took
+   * @param objects the number of objects written
+   * @param delta the number of changes made to the pool while it was being written, which are left
+   *        to the next persist
+   */
+  public ObjectPersistStats(final long durationMillis, final long objects, final long delta) {
+    this.durationMillis = durationMillis;
+    this.objects = objects;
+    this.delta = delta;
+  }
+
+  public long getDurationMillis() {
+    return this.durationMillis;
+  }
+
+  public long getObjects() {
+    return this.objects;
+  }
+
+  public long getDelta() {
+    return this.delta;
+  }
+
+  /**
+   * @return the combined stats of two persists made one after the other
+   */
+  public ObjectPersistStats plus(final ObjectPersistStats other) {
+    return new ObjectPersistStats(this.durationMillis + other.durationMillis,
+        this.objects + other.objects, this.delta + other.delta);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ObjectPersistStats [durationMillis=%s, objects=%s, delta=%s]",
+        this.durationMillis, this.objects, this.delta);
+  }
+}
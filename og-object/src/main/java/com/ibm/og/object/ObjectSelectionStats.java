@@ -0,0 +1,54 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+/**
+ * Describes how often an object manager had to pass over objects which were being read when
+ * selecting an object for exclusive use, by {@code getOnce} or the remove family of methods
+ *
+ * @since 1.12.0
+ */
+public final class ObjectSelectionStats {
+  /**
+   * Stats of an object manager which does not track selection
+   */
+  public static final ObjectSelectionStats NONE = new ObjectSelectionStats(0, 0);
+  private final long skipped;
+  private final long waits;
+
+  /**
+   * Creates an instance
+   *
+   * @param skipped the number of candidates passed over because they became busy as they were
+   *        taken
+   * @param waits the number of times every object was busy and the caller waited for one to be
+   *        released
+   */
+  public ObjectSelectionStats(final long skipped, final long waits) {
+    this.skipped = skipped;
+    this.waits = waits;
+  }
+
+  public long getSkipped() {
+    return this.skipped;
+  }
+
+  public long getWaits() {
+    return this.waits;
+  }
+
+  /**
+   * @return the combined stats of two object managers
+   */
+  public ObjectSelectionStats plus(final ObjectSelectionStats other) {
+    return new ObjectSelectionStats(this.skipped + other.skipped, this.waits + other.waits);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ObjectSelectionStats [skipped=%s, waits=%s]", this.skipped, this.waits);
+  }
+}
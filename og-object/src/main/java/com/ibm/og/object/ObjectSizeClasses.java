@@ -0,0 +1,126 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Power of two size classes used by object managers to index objects by size. Class 0 holds empty
+ * objects and class {@code k > 0} holds objects of at least {@code 2^(k-1)} and less than
+ * {@code 2^k} bytes, so a size range whose bounds are powers of two covers whole classes exactly.
+ *
+ * @since 1.12.0
+ */
+public final class ObjectSizeClasses {
+  /**
+   * The number of size classes; object sizes are non-negative longs
+   */
+  public static final int COUNT = 64;
+
+  private ObjectSizeClasses() {}
+
+  /**
+   * @return the size class of an object of the provided size
+   */
+  public static int of(final long size) {
+    checkArgument(size >= 0, "size must be >= 0 [%s]", size);
+    return 64 - Long.numberOfLeadingZeros(size);
+  }
+
+  /**
+   * @return the smallest object size in the provided class
+   */
+  public static long lowerBound(final int sizeClass) {
+    return sizeClass == 0 ? 0 : 1L << (sizeClass - 1);
+  }
+
+  /**
+   * @return true if every size in the provided class is within {@code [minSize, maxSize)}
+   */
+  static boolean within(final int sizeClass, final long minSize, final long maxSize) {
+    final long upper = sizeClass == COUNT - 1 ? Long.MAX_VALUE : 1L << sizeClass;
+    return lowerBound(sizeClass) >= minSize && upper <= maxSize;
+  }
+
+  /**
+   * @return the lowest size class which may hold sizes in {@code [minSize, maxSize)}
+   */
+  static int first(final long minSize) {
+    return of(minSize);
+  }
+
+  /**
+   * @return the highest size class which may hold sizes in {@code [minSize, maxSize)}
+   */
+  static int last(final long maxSize) {
+    return of(maxSize - 1);
+  }
+
+  static void checkRange(final long minSize, final long maxSize) {
+    checkArgument(minSize >= 0, "minSize must be >= 0 [%s]", minSize);
+    checkArgument(minSize < maxSize, "minSize must be < maxSize [%s, %s]", minSize, maxSize);
+  }
+
+  /**
+   * Chooses a class between {@code first} and {@code last} inclusive with probability proportional
+   * to its count
+   *
+   * @return the chosen class, or -1 if every class in the range is empty
+   */
+  static int choose(final AtomicLongArray counts, final int first, final int last) {
+    long total = 0;
+    for (int c = first; c <= last; c++) {
+      total += Math.max(0, counts.get(c));
+    }
+    if (total <= 0) {
+      return -1;
+    }
+    long r = ThreadLocalRandom.current().nextLong(total);
+    int chosen = -1;
+    for (int c = first; c <= last; c++) {
+      final long count = Math.max(0, counts.get(c));
+      if (count > 0) {
+        chosen = c;
+        r -= count;
+        if (r < 0) {
+          break;
+        }
+      }
+    }
+    // counts may have changed since the total was taken; settle on the last non-empty class
+    return chosen;
+  }
+
+  /**
+   * @return the non-empty classes of the provided counts, keyed by {@link #lowerBound(int)}
+   */
+  static SortedMap<Long, Long> toMap(final AtomicLongArray counts) {
+    final SortedMap<Long, Long> map = new TreeMap<Long, Long>();
+    for (int c = 0; c < COUNT; c++) {
+      final long count = counts.get(c);
+      if (count > 0) {
+        map.put(lowerBound(c), count);
+      }
+    }
+    return map;
+  }
+
+  /**
+   * Adds the counts of one size class map into another
+   */
+  static void merge(final Map<Long, Long> into, final Map<Long, Long> from) {
+    for (final Map.Entry<Long, Long> e : from.entrySet()) {
+      final Long existing = into.get(e.getKey());
+      into.put(e.getKey(), existing == null ? e.getValue() : existing + e.getValue());
+    }
+  }
+}
@@ -0,0 +1,274 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * An off-heap store of fixed size object records. Records are laid out back to back using the
+ * same {@link LegacyObjectMetadata#OBJECT_SIZE} byte layout as version 2.0 object files, so a
+ * contiguous run of slots can be transferred to or from an object file with a single channel
+ * operation. Storage is allocated in direct buffer chunks as the slab grows; existing slots never
+ * move.
+ * <p>
+ * Single slot accessors use absolute buffer operations and may be called concurrently with each
+ * other. Growth and bulk transfers must be externally synchronized with writers.
+ *
+ * @since 1.12.0
+ */
+public class ObjectSlab {
+  public static final int RECORD_SIZE = LegacyObjectMetadata.OBJECT_SIZE;
+  public static final int DEFAULT_CHUNK_RECORDS = 1 << 20;
+  private static final int NAME_SIZE = LegacyObjectMetadata.OBJECT_NAME_SIZE;
+  private final int chunkRecords;
+  private volatile ByteBuffer[] chunks;
+
+  /**
+   * Constructs an empty slab using the default chunk size
+   */
+  public ObjectSlab() {
+    this(DEFAULT_CHUNK_RECORDS);
+  }
+
+  /**
+   * Constructs an empty slab
+   *
+   * @param chunkRecords the number of records to allocate per direct buffer chunk
+   * @throws IllegalArgumentException if chunkRecords is not positive or a chunk would exceed 2GB
+   */
+  public ObjectSlab(final int chunkRecords) {
+    checkArgument(chunkRecords > 0, "chunkRecords must be > 0 [%s]", chunkRecords);
+    checkArgument((long) chunkRecords * RECORD_SIZE <= Integer.MAX_VALUE,
+        "chunkRecords too large [%s]", chunkRecords);
+    this.chunkRecords = chunkRecords;
+    this.chunks = new ByteBuffer[0];
+  }
+
+  /**
+   * @return the number of record slots currently backed by storage
+   */
+  public int capacity() {
+    return this.chunks.length * this.chunkRecords;
+  }
+
+  /**
+   * Grows the slab, if necessary, so that it can hold at least the provided number of records
+   *
+   * @param records the minimum number of record slots required
+   */
+  public void ensureCapacity(final int records) {
+    ByteBuffer[] current = this.chunks;
+    if ((long) current.length * this.chunkRecords >= records) {
+      return;
+    }
+    final int required = (int) (((long) records + this.chunkRecords - 1) / this.chunkRecords);
+    final ByteBuffer[] grown = Arrays.copyOf(current, required);
+    for (int i = current.length; i < required; i++) {
+      grown[i] = ByteBuffer.allocateDirect(this.chunkRecords * RECORD_SIZE);
+    }
+    this.chunks = grown;
+  }
+
+  private ByteBuffer chunk(final int slot) {
+    return this.chunks[slot / this.chunkRecords];
+  }
+
+  private int offset(final int slot) {
+    return (slot % this.chunkRecords) * RECORD_SIZE;
+  }
+
+  /**
+   * Copies a record into the provided slot
+   *
+   * @param slot the destination slot
+   * @param record the record bytes, at least {@code RECORD_SIZE} long
+   */
+  public void put(final int slot, final byte[] record) {
+    final ByteBuffer chunk = chunk(slot);
+    final int offset = offset(slot);
+    for (int i = 0; i < RECORD_SIZE; i++) {
+      chunk.put(offset + i, record[i]);
+    }
+  }
+
+  /**
+   * Copies the record in the provided slot into {@code dst}
+   *
+   * @param slot the source slot
+   * @param dst the destination array, at least {@code RECORD_SIZE} long
+   */
+  public void get(final int slot, final byte[] dst) {
+    final ByteBuffer chunk = chunk(slot);
+    final int offset = offset(slot);
+    for (int i = 0; i < RECORD_SIZE; i++) {
+      dst[i] = chunk.get(offset + i);
+    }
+  }
+
+  /**
+   * @return a heap copy of the record in the provided slot
+   */
+  public byte[] toBytes(final int slot) {
+    final byte[] record = new byte[RECORD_SIZE];
+    get(slot, record);
+    return record;
+  }
+
+  public byte getByte(final int slot, final int index) {
+    return chunk(slot).get(offset(slot) + index);
+  }
+
+  public int getInt(final int slot, final int index) {
+    return chunk(slot).getInt(offset(slot) + index);
+  }
+
+  public long getLong(final int slot, final int index) {
+    return chunk(slot).getLong(offset(slot) + index);
+  }
+
+  /**
+   * Computes a hash of the object name stored in the provided slot. The result is identical to
+   * {@link #nameHash(byte[])} for the same name bytes.
+   */
+  public int nameHash(final int slot) {
+    final ByteBuffer chunk = chunk(slot);
+    final int offset = offset(slot);
+    int h = 1;
+    for (int i = 0; i < NAME_SIZE; i++) {
+      h = 31 * h + chunk.get(offset + i);
+    }
+    return h;
+  }
+
+  /**
+   * Computes a hash of the object name at the start of the provided record
+   */
+  public static int nameHash(final byte[] record) {
+    int h = 1;
+    for (int i = 0; i < NAME_SIZE; i++) {
+      h = 31 * h + record[i];
+    }
+    return h;
+  }
+
+  /**
+   * @return true if the object name stored in the provided slot equals the name at the start of
+   *         the provided record
+   */
+  public boolean nameEquals(final int slot, final byte[] record) {
+    final ByteBuffer chunk = chunk(slot);
+    final int offset = offset(slot);
+    for (int i = 0; i < NAME_SIZE; i++) {
+      if (chunk.get(offset + i) != record[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the object names stored in the two provided slots are equal
+   */
+  public boolean nameEquals(final int slot, final int other) {
+    final ByteBuffer chunk = chunk(slot);
+    final int offset = offset(slot);
+    final ByteBuffer otherChunk = chunk(other);
+    final int otherOffset = offset(other);
+    for (int i = 0; i < NAME_SIZE; i++) {
+      if (chunk.get(offset + i) != otherChunk.get(otherOffset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fills a contiguous run of slots directly from a channel, starting at the channel's current
+   * position. The slab must already have capacity for the run.
+   *
+   * @param channel the channel to read from
+   * @param firstSlot the first slot to fill
+   * @param count the number of records to read
+   * @throws EOFException if the channel ends before {@code count} records are read
+   */
+  public void read(final FileChannel channel, final int firstSlot, final int count)
+      throws IOException {
+    int slot = firstSlot;
+    int remaining = count;
+    while (remaining > 0) {
+      final int run = Math.min(remaining, this.chunkRecords - (slot % this.chunkRecords));
+      final ByteBuffer dst = chunk(slot).duplicate();
+      dst.limit(offset(slot) + run * RECORD_SIZE);
+      dst.position(offset(slot));
+      while (dst.hasRemaining()) {
+        if (channel.read(dst) < 0) {
+          throw new EOFException("Unexpected end of object file");
+        }
+      }
+      slot += run;
+      remaining -= run;
+    }
+  }
+
+  /**
+   * Copies a contiguous run of slots into another slab, which must already have capacity for the
+   * run
+   *
+   * @param firstSlot the first slot to copy
+   * @param count the number of records to copy
+   * @param dst the destination slab
+   * @param dstSlot the first destination slot
+   */
+  public void copyTo(final int firstSlot, final int count, final ObjectSlab dst,
+      final int dstSlot) {
+    int slot = firstSlot;
+    int to = dstSlot;
+    int remaining = count;
+    while (remaining > 0) {
+      final int run = Math.min(remaining, Math.min(this.chunkRecords - (slot % this.chunkRecords),
+          dst.chunkRecords - (to % dst.chunkRecords)));
+      final ByteBuffer src = chunk(slot).duplicate();
+      src.limit(offset(slot) + run * RECORD_SIZE);
+      src.position(offset(slot));
+      final ByteBuffer out = dst.chunk(to).duplicate();
+      out.position(dst.offset(to));
+      out.put(src);
+      slot += run;
+      to += run;
+      remaining -= run;
+    }
+  }
+
+  /**
+   * Writes a contiguous run of slots directly to a channel at the channel's current position
+   *
+   * @param channel the channel to write to
+   * @param firstSlot the first slot to write
+   * @param count the number of records to write
+   */
+  public void write(final FileChannel channel, final int firstSlot, final int count)
+      throws IOException {
+    int slot = firstSlot;
+    int remaining = count;
+    while (remaining > 0) {
+      final int run = Math.min(remaining, this.chunkRecords - (slot % this.chunkRecords));
+      final ByteBuffer src = chunk(slot).duplicate();
+      src.limit(offset(slot) + run * RECORD_SIZE);
+      src.position(offset(slot));
+      while (src.hasRemaining()) {
+        channel.write(src);
+      }
+      slot += run;
+      remaining -= run;
+    }
+  }
+}
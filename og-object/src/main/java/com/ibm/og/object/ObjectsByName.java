@@ -0,0 +1,220 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent set of objects indexed by name, keyed by the primitive form of the name described
+ * in {@link ObjectNames}. Each object's record already holds its name, so the segmented open
+ * addressing tables store only object references and lookups compare names directly against the
+ * records; neither lookup nor insertion allocates.
+ *
+ * @since 1.12.0
+ */
+final class ObjectsByName {
+  private final Segment[] segments;
+  private final int segmentShift;
+
+  /**
+   * Creates an instance
+   *
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   */
+  ObjectsByName(final int concurrencyLevel) {
+    checkArgument(concurrencyLevel > 0, "concurrencyLevel must be > 0 [%s]", concurrencyLevel);
+    int sshift = 0;
+    int ssize = 1;
+    while (ssize < concurrencyLevel) {
+      ++sshift;
+      ssize <<= 1;
+    }
+    this.segmentShift = 32 - sshift;
+    this.segments = new Segment[ssize];
+    for (int i = 0; i < ssize; i++) {
+      this.segments[i] = new Segment();
+    }
+  }
+
+  private Segment segmentFor(final int hash) {
+    // segmentShift is 32 for a single segment, which java reduces to a shift of 0
+    return this.segments[this.segments.length == 1 ? 0 : hash >>> this.segmentShift];
+  }
+
+  /**
+   * Adds an object, replacing any object with the same name
+   *
+   * @return the replaced object, or null
+   */
+  ObjectMetadata put(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    final long high = ObjectNames.high(record);
+    final long low = ObjectNames.low(record);
+    final short tail = ObjectNames.tail(record);
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      return s.put(hash, high, low, tail, id);
+    } finally {
+      s.unlock();
+    }
+  }
+
+  ObjectMetadata get(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      final int i = s.find(hash, high, low, tail);
+      return i < 0 ? null : s.table[i];
+    } finally {
+      s.unlock();
+    }
+  }
+
+  /**
+   * @return the removed object, or null if no object has the provided name
+   */
+  ObjectMetadata remove(final long high, final long low, final short tail) {
+    final int hash = ObjectNames.hash(high, low, tail);
+    final Segment s = segmentFor(hash);
+    s.lock();
+    try {
+      final int i = s.find(hash, high, low, tail);
+      if (i < 0) {
+        return null;
+      }
+      final ObjectMetadata removed = s.table[i];
+      s.removeAt(i);
+      return removed;
+    } finally {
+      s.unlock();
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (final Segment s : this.segments) {
+      s.lock();
+      try {
+        size += s.size;
+      } finally {
+        s.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return a copy of the objects currently in this set
+   */
+  List<ObjectMetadata> values() {
+    final List<ObjectMetadata> values = new ArrayList<ObjectMetadata>();
+    for (final Segment s : this.segments) {
+      s.lock();
+      try {
+        for (final ObjectMetadata entry : s.table) {
+          if (entry != null) {
+            values.add(entry);
+          }
+        }
+      } finally {
+        s.unlock();
+      }
+    }
+    return values;
+  }
+
+  private static int hashOf(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    return ObjectNames.hash(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
+  }
+
+  /**
+   * An open addressing table using linear probing and backward shift deletion
+   */
+  private static final class Segment extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+    private ObjectMetadata[] table = new ObjectMetadata[16];
+    private int size;
+
+    private int home(final int hash) {
+      // the high bits of the hash select the segment, so index by the low bits
+      return hash & (this.table.length - 1);
+    }
+
+    int find(final int hash, final long high, final long low, final short tail) {
+      final int mask = this.table.length - 1;
+      ObjectMetadata entry;
+      for (int i = home(hash); (entry = this.table[i]) != null; i = (i + 1) & mask) {
+        final byte[] record = entry.toBytes();
+        if (ObjectNames.high(record) == high && ObjectNames.low(record) == low
+            && ObjectNames.tail(record) == tail) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    ObjectMetadata put(final int hash, final long high, final long low, final short tail,
+        final ObjectMetadata id) {
+      final int existing = find(hash, high, low, tail);
+      if (existing >= 0) {
+        final ObjectMetadata replaced = this.table[existing];
+        this.table[existing] = id;
+        return replaced;
+      }
+      if (2 * (this.size + 1) > this.table.length) {
+        resize();
+      }
+      final int mask = this.table.length - 1;
+      int i = home(hash);
+      while (this.table[i] != null) {
+        i = (i + 1) & mask;
+      }
+      this.table[i] = id;
+      this.size++;
+      return null;
+    }
+
+    void removeAt(int hole) {
+      final int mask = this.table.length - 1;
+      this.size--;
+      int i = (hole + 1) & mask;
+      ObjectMetadata entry;
+      while ((entry = this.table[i]) != null) {
+        final int home = home(hashOf(entry));
+        if (((i - home) & mask) >= ((i - hole) & mask)) {
+          this.table[hole] = entry;
+          hole = i;
+        }
+        i = (i + 1) & mask;
+      }
+      this.table[hole] = null;
+    }
+
+    private void resize() {
+      final ObjectMetadata[] old = this.table;
+      this.table = new ObjectMetadata[old.length * 2];
+      final int mask = this.table.length - 1;
+      for (final ObjectMetadata entry : old) {
+        if (entry != null) {
+          int i = home(hashOf(entry));
+          while (this.table[i] != null) {
+            i = (i + 1) & mask;
+          }
+          this.table[i] = entry;
+        }
+      }
+    }
+  }
+}
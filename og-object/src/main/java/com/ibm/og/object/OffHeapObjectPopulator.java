@@ -0,0 +1,737 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.ibm.og.util.ObjectManagerUtils.getFileIndex;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.ibm.og.util.ObjectManagerUtils;
+
+/**
+ * An {@code ObjectManager} implementation which keeps object records off-heap in an
+ * {@link ObjectSlab} rather than as individual heap objects. Per object heap overhead is limited to
+ * a few primitive array entries, so very large vaults do not inflate the heap or GC pause times.
+ * <p>
+ * Unlike {@link RandomObjectPopulator}, every object file matching the configured prefix is
+ * loaded at startup, and the whole pool is written back on persist, split into files of at most
+ * {@code maxObjects} records. Version 2.0 object files are transferred between disk and the slab
+ * in bulk; version 1.0 files are converted record by record.
+ * <p>
+ * Objects returned by {@code get} and {@code getOnce} are flyweight views over the slab and remain
+ * valid until {@code getComplete} is called. Objects returned by the remove family of methods are
+ * detached heap copies, since their slot may be reused as soon as they leave the pool.
+ *
+ * @since 1.12.0
+ */
+@Singleton
+public class OffHeapObjectPopulator implements ObjectManager {
+  private static final Logger _logger = LoggerFactory.getLogger(OffHeapObjectPopulator.class);
+  public static final int OBJECT_SIZE = LegacyObjectMetadata.OBJECT_SIZE;
+  private static final int RANDOM_ATTEMPTS = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int SIZE_OFFSET = LegacyObjectMetadata.OBJECT_NAME_SIZE;
+  private final String directory;
+  private final String prefix;
+  private final int maxObjects;
+  private final long persistFrequency;
+  private final ObjectSlab slab;
+  private final SlotIndex index;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = this.lock.newCondition();
+  // dense array of allocated slots, used for uniform random selection
+  private int[] live;
+  // slot -> position in live, or -1 if the slot is free
+  private int[] positions;
+  private int[] readers;
+  private int[] free;
+  // dense arrays of allocated slots per size class, used for ranged selection
+  private final int[][] classLive = new int[ObjectSizeClasses.COUNT][];
+  private final AtomicLongArray classCounts = new AtomicLongArray(ObjectSizeClasses.COUNT);
+  // slot -> position in its size class array, and the class it was linked under
+  private int[] classPositions;
+  private byte[] slotClasses;
+  private int liveCount;
+  private int freeCount;
+  private int highWater;
+  // additions and removals, for the changes made while a persist is written
+  private long changes;
+  // the live records copied out of the slab for writing, only touched by the persisting thread
+  private final ObjectSlab persisting;
+  private final ObjectsByName currentlyUpdating = new ObjectsByName(16);
+  private final Random rand = new Random();
+  private volatile boolean testEnded = false;
+  private volatile ObjectPersistStats persistStats = ObjectPersistStats.NONE;
+  // busy candidates drawn by exclusive selection, and waits when every candidate was busy
+  private final AtomicLong selectionSkips = new AtomicLong();
+  private final AtomicLong selectionWaits = new AtomicLong();
+  private final ScheduledExecutorService saver;
+
+  @Inject
+  public OffHeapObjectPopulator(@Named("objectfile.location") final String directory,
+      @Named("objectfile.name") final String prefix,
+      @Named("objectfile.maxsize") final long maxSize,
+      @Named("objectfile.persistfrequency") final long persistFrequency) {
+    this(directory, prefix, (int) (maxSize / OBJECT_SIZE), persistFrequency * 1000,
+        ObjectSlab.DEFAULT_CHUNK_RECORDS);
+  }
+
+  public OffHeapObjectPopulator(final String directory, final String prefix,
+      final int maxObjectCount, final long persistTime, final int chunkRecords) {
+    this.directory = checkNotNull(directory);
+    if (prefix != null && !prefix.isEmpty()) {
+      this.prefix = prefix;
+    } else {
+      this.prefix = "id_";
+    }
+    checkArgument(maxObjectCount > 0, "maxObjectCount must be > 0 [%s]", maxObjectCount);
+    this.maxObjects = maxObjectCount;
+    this.persistFrequency = persistTime;
+    this.slab = new ObjectSlab(chunkRecords);
+    this.persisting = new ObjectSlab(chunkRecords);
+    this.index = new SlotIndex(this.slab);
+    this.live = new int[INITIAL_CAPACITY];
+    this.positions = new int[0];
+    this.readers = new int[0];
+    this.classPositions = new int[0];
+    this.slotClasses = new byte[0];
+    this.free = new int[INITIAL_CAPACITY];
+
+    loadObjects();
+
+    this.saver = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("scheduled-object-persist").build());
+    this.saver.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          persistIds();
+        } catch (final IOException e) {
+          _logger.error("Can't store id file", e);
+        }
+      }
+    }, persistTime, persistTime, TimeUnit.MILLISECONDS);
+  }
+
+  private void loadObjects() {
+    final File[] files = ObjectManagerUtils.getIdFiles(this.prefix, RandomObjectPopulator.SUFFIX,
+        this.directory);
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files, new ObjectManagerUtils.ObjectFileNameIndexComparator<File>(this.prefix));
+    try {
+      for (final File file : files) {
+        loadFile(file);
+      }
+      _logger.info("No. of objects loaded {}", getCurrentObjectCount());
+    } catch (final Exception e) {
+      this.testEnded = true;
+      _logger.error("", e);
+    }
+  }
+
+  private void loadFile(final File file) throws IOException {
+    _logger.debug("loading objects from file: {}", file);
+    final ObjectFileVersion version;
+    final InputStream input = new BufferedInputStream(new FileInputStream(file));
+    try {
+      version = ObjectFileUtil.readObjectFileVersion(input);
+      if (version.getMajorVersion() == 1 && version.getMinorVersion() == 0) {
+        // pre 2.0 records are shorter than a slab record and must be widened one at a time
+        final byte[] inputBytes = new byte[RandomObjectPopulator.OBJECT_SIZE_V1];
+        final byte[] objectBytes = new byte[OBJECT_SIZE];
+        while (input.read(inputBytes) == inputBytes.length) {
+          add(ObjectFileUtil.getObjectFromInputBuffer(1, 0, inputBytes, objectBytes));
+        }
+        return;
+      }
+    } finally {
+      input.close();
+    }
+    if (version.getMajorVersion() != LegacyObjectMetadata.MAJOR_VERSION
+        || version.getMinorVersion() != LegacyObjectMetadata.MINOR_VERSION) {
+      throw new IllegalArgumentException(String.format("Unsupported Object File version [%s].[%s]",
+          version.getMajorVersion(), version.getMinorVersion()));
+    }
+
+    final FileInputStream in = new FileInputStream(file);
+    try {
+      final FileChannel channel = in.getChannel();
+      final long records = (channel.size() - ObjectFileVersion.VERSION_HEADER_LENGTH) / OBJECT_SIZE;
+      checkArgument(this.highWater + records <= Integer.MAX_VALUE, "too many objects to load");
+      final int count = (int) records;
+      channel.position(ObjectFileVersion.VERSION_HEADER_LENGTH);
+      this.lock.lock();
+      try {
+        ensureCapacity(this.highWater + count);
+        this.slab.read(channel, this.highWater, count);
+        final int first = this.highWater;
+        this.highWater += count;
+        for (int slot = first; slot < this.highWater; slot++) {
+          if (this.index.insertIfAbsent(slot) < 0) {
+            link(slot);
+          } else {
+            release(slot);
+          }
+        }
+      } finally {
+        this.lock.unlock();
+      }
+      _logger.info("loaded {} objects from file {}", count, file);
+    } finally {
+      in.close();
+    }
+  }
+
+  private void ensureCapacity(final int slots) {
+    this.slab.ensureCapacity(slots);
+    final int capacity = this.slab.capacity();
+    if (this.positions.length < capacity) {
+      final int previous = this.positions.length;
+      this.positions = Arrays.copyOf(this.positions, capacity);
+      Arrays.fill(this.positions, previous, capacity, -1);
+      this.readers = Arrays.copyOf(this.readers, capacity);
+      this.classPositions = Arrays.copyOf(this.classPositions, capacity);
+      this.slotClasses = Arrays.copyOf(this.slotClasses, capacity);
+    }
+  }
+
+  private int allocate() {
+    if (this.freeCount > 0) {
+      return this.free[--this.freeCount];
+    }
+    ensureCapacity(this.highWater + 1);
+    return this.highWater++;
+  }
+
+  private void release(final int slot) {
+    this.positions[slot] = -1;
+    this.readers[slot] = 0;
+    if (this.freeCount == this.free.length) {
+      this.free = Arrays.copyOf(this.free, this.free.length * 2);
+    }
+    this.free[this.freeCount++] = slot;
+  }
+
+  private void link(final int slot) {
+    if (this.liveCount == this.live.length) {
+      this.live = Arrays.copyOf(this.live, this.live.length * 2);
+    }
+    this.positions[slot] = this.liveCount;
+    this.live[this.liveCount++] = slot;
+    linkClass(slot);
+  }
+
+  private void linkClass(final int slot) {
+    final int c = ObjectSizeClasses.of(this.slab.getLong(slot, SIZE_OFFSET));
+    final int count = (int) this.classCounts.get(c);
+    if (this.classLive[c] == null) {
+      this.classLive[c] = new int[INITIAL_CAPACITY];
+    } else if (count == this.classLive[c].length) {
+      this.classLive[c] = Arrays.copyOf(this.classLive[c], count * 2);
+    }
+    this.slotClasses[slot] = (byte) c;
+    this.classPositions[slot] = count;
+    this.classLive[c][count] = slot;
+    this.classCounts.set(c, count + 1);
+  }
+
+  private void unlinkClass(final int slot) {
+    final int c = this.slotClasses[slot];
+    final int position = this.classPositions[slot];
+    final int count = (int) this.classCounts.get(c) - 1;
+    final int last = this.classLive[c][count];
+    this.classLive[c][position] = last;
+    this.classPositions[last] = position;
+    this.classCounts.set(c, count);
+  }
+
+  private void unlink(final int slot) {
+    final int position = this.positions[slot];
+    final int last = this.live[--this.liveCount];
+    this.live[position] = last;
+    this.positions[last] = position;
+    unlinkClass(slot);
+    this.index.remove(slot);
+    release(slot);
+  }
+
+  private void checkNotEnded() {
+    if (this.testEnded) {
+      throw new RuntimeException("Test already ended");
+    }
+  }
+
+  private void checkNotEmpty() {
+    if (this.liveCount == 0) {
+      throw new ObjectManagerException("No objects available.");
+    }
+  }
+
+  /**
+   * Selects a random live slot with no current readers, waiting for one to be released if every
+   * object is being read. Must be called with the lock held.
+   */
+  private int selectUnread() {
+    while (true) {
+      checkNotEmpty();
+      for (int i = 0; i < RANDOM_ATTEMPTS; i++) {
+        final int slot = this.live[this.rand.nextInt(this.liveCount)];
+        if (this.readers[slot] == 0) {
+          return slot;
+        }
+        this.selectionSkips.incrementAndGet();
+      }
+      final int start = this.rand.nextInt(this.liveCount);
+      for (int i = 0; i < this.liveCount; i++) {
+        final int slot = this.live[(start + i) % this.liveCount];
+        if (this.readers[slot] == 0) {
+          return slot;
+        }
+      }
+      _logger.debug("all objects are currently being read, waiting for release");
+      this.selectionWaits.incrementAndGet();
+      this.released.awaitUninterruptibly();
+    }
+  }
+
+  /**
+   * Selects a random live slot with a size in {@code [minSize, maxSize)}, optionally one with no
+   * current readers, waiting for one to be released if every such object is being read. Must be
+   * called with the lock held.
+   */
+  private int selectInRange(final long minSize, final long maxSize, final boolean unread) {
+    final int first = ObjectSizeClasses.first(minSize);
+    final int last = ObjectSizeClasses.last(maxSize);
+    while (true) {
+      for (int i = 0; i < RANDOM_ATTEMPTS; i++) {
+        final int c = ObjectSizeClasses.choose(this.classCounts, first, last);
+        if (c < 0) {
+          break;
+        }
+        final int slot = this.classLive[c][this.rand.nextInt((int) this.classCounts.get(c))];
+        if (inRange(slot, minSize, maxSize)) {
+          if (!unread || this.readers[slot] == 0) {
+            return slot;
+          }
+          this.selectionSkips.incrementAndGet();
+        }
+      }
+      // draws only miss in classes straddling an unaligned bound or when objects are being read
+      boolean matched = false;
+      for (int c = first; c <= last; c++) {
+        final int count = (int) this.classCounts.get(c);
+        for (int i = 0; i < count; i++) {
+          final int slot = this.classLive[c][i];
+          if (inRange(slot, minSize, maxSize)) {
+            if (!unread || this.readers[slot] == 0) {
+              return slot;
+            }
+            matched = true;
+          }
+        }
+      }
+      if (!matched) {
+        throw new ObjectManagerException("No objects available.");
+      }
+      _logger.debug("all objects in range are currently being read, waiting for release");
+      this.selectionWaits.incrementAndGet();
+      this.released.awaitUninterruptibly();
+    }
+  }
+
+  private boolean inRange(final int slot, final long minSize, final long maxSize) {
+    final long size = this.slab.getLong(slot, SIZE_OFFSET);
+    return size >= minSize && size < maxSize;
+  }
+
+  private int resolve(final ObjectMetadata objectMetadata) {
+    if (objectMetadata instanceof SlabObjectMetadata) {
+      final SlabObjectMetadata view = (SlabObjectMetadata) objectMetadata;
+      if (view.isBackedBy(this.slab) && this.positions[view.getSlot()] >= 0) {
+        return view.getSlot();
+      }
+    }
+    return this.index.find(objectMetadata.toBytes());
+  }
+
+  private ObjectMetadata detach(final int slot) {
+    final ObjectMetadata id = LegacyObjectMetadata.fromBytes(this.slab.toBytes(slot));
+    unlink(slot);
+    this.changes++;
+    return id;
+  }
+
+  public long getCurrentObjectCount() {
+    this.lock.lock();
+    try {
+      return this.liveCount;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void add(final ObjectMetadata objectMetadata) {
+    _logger.debug("Adding object: {}", objectMetadata);
+    final byte[] record = objectMetadata.toBytes();
+    this.lock.lock();
+    try {
+      this.changes++;
+      final int existing = this.index.find(record);
+      if (existing >= 0) {
+        // the replacement may have a different size
+        unlinkClass(existing);
+        this.slab.put(existing, record);
+        linkClass(existing);
+        return;
+      }
+      final int slot = allocate();
+      this.slab.put(slot, record);
+      this.index.insertIfAbsent(slot);
+      link(slot);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata get() {
+    checkNotEnded();
+    this.lock.lock();
+    try {
+      checkNotEmpty();
+      final int slot = this.live[this.rand.nextInt(this.liveCount)];
+      this.readers[slot]++;
+      final ObjectMetadata id = new SlabObjectMetadata(this.slab, slot);
+      _logger.trace("Getting object: {}", id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata get(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    checkNotEnded();
+    this.lock.lock();
+    try {
+      final int slot = selectInRange(minSize, maxSize, false);
+      this.readers[slot]++;
+      final ObjectMetadata id = new SlabObjectMetadata(this.slab, slot);
+      _logger.trace("Getting object: {}", id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata getOnce() {
+    checkNotEnded();
+    this.lock.lock();
+    try {
+      final int slot = selectUnread();
+      this.readers[slot] = 1;
+      final ObjectMetadata id = new SlabObjectMetadata(this.slab, slot);
+      _logger.trace("Getting currently not read object : {}", id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void getComplete(final ObjectMetadata objectMetadata) {
+    this.lock.lock();
+    try {
+      final int slot = resolve(objectMetadata);
+      if (slot < 0 || this.readers[slot] == 0) {
+        _logger.warn("object {} is not currently being read", objectMetadata);
+        return;
+      }
+      if (--this.readers[slot] == 0) {
+        this.released.signalAll();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    _logger.trace("Returning read object: {}", objectMetadata);
+  }
+
+  @Override
+  public ObjectMetadata remove() {
+    this.lock.lock();
+    try {
+      final ObjectMetadata id = detach(selectUnread());
+      _logger.debug("Removing object: {}", id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate() {
+    this.lock.lock();
+    try {
+      final ObjectMetadata id = detach(selectUnread());
+      _logger.debug("Removing object: {}", id);
+      this.currentlyUpdating.put(id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    this.lock.lock();
+    try {
+      final ObjectMetadata id = detach(selectInRange(minSize, maxSize, true));
+      _logger.debug("Removing object: {}", id);
+      this.currentlyUpdating.put(id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata removeObject(final ObjectMetadata objectMetadata) {
+    this.lock.lock();
+    try {
+      int slot = resolve(objectMetadata);
+      if (slot < 0) {
+        throw new ObjectManagerException("No objects available.");
+      }
+      while (this.readers[slot] > 0) {
+        _logger.info("object {} is currently being read, waiting", objectMetadata.getName());
+        this.released.awaitUninterruptibly();
+        slot = resolve(objectMetadata);
+        if (slot < 0) {
+          throw new ObjectManagerException("No objects available.");
+        }
+      }
+      final ObjectMetadata id = detach(slot);
+      _logger.trace("Removing object: {}", id);
+      this.currentlyUpdating.put(id);
+      return id;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void updateObject(final ObjectMetadata objectMetadata) {
+    _logger.debug("Adding Updated object: {}", objectMetadata);
+    removeUpdating(objectMetadata);
+    add(objectMetadata);
+  }
+
+  @Override
+  public void removeUpdatedObject(final ObjectMetadata id) {
+    _logger.trace("Removing Updated object from currentlyUpdating cache: {}", id);
+    removeUpdating(id);
+  }
+
+  @Override
+  public ObjectMetadata getObjectFromUpdatingCache(final String id) {
+    _logger.debug("Getting object {} from currentUpdating cache", id);
+    if (!ObjectNames.isValid(id)) {
+      // not a name this object manager could have handed out
+      return null;
+    }
+    return this.currentlyUpdating.get(ObjectNames.parseHigh(id), ObjectNames.parseLow(id),
+        ObjectNames.parseTail(id));
+  }
+
+  private void removeUpdating(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    this.currentlyUpdating.remove(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
+  }
+
+  @Override
+  public void removeUpdatedObjectByName(final String name) {
+    _logger.trace("Removing Updated object from currentlyUpdating cache: {}", name);
+    if (!ObjectNames.isValid(name)) {
+      return;
+    }
+    this.currentlyUpdating.remove(ObjectNames.parseHigh(name), ObjectNames.parseLow(name),
+        ObjectNames.parseTail(name));
+  }
+
+  @Override
+  public int getCurrentlyUpdatingCount() {
+    return this.currentlyUpdating.size();
+  }
+
+  @Override
+  public Map<Long, Long> getSizeClassCounts() {
+    return ObjectSizeClasses.toMap(this.classCounts);
+  }
+
+  @Override
+  public ObjectPersistStats getPersistStats() {
+    return this.persistStats;
+  }
+
+  @Override
+  public ObjectSelectionStats getSelectionStats() {
+    return new ObjectSelectionStats(this.selectionSkips.get(), this.selectionWaits.get());
+  }
+
+  /**
+   * Writes every object in the pool to object files of at most {@code maxObjects} records each.
+   * The pool is only locked while its live records are copied, run by run, into a dense slab, which
+   * is then written without blocking callers. Each file is written aside, synced and moved over the
+   * previous one, so a crash never leaves a partially written object file behind.
+   */
+  private void persistIds() throws IOException {
+    _logger.info("persisting objects");
+    final long start = System.nanoTime();
+    final int count;
+    final long changesAtCopy;
+    this.lock.lock();
+    try {
+      count = this.liveCount;
+      changesAtCopy = this.changes;
+      this.persisting.ensureCapacity(count);
+      int copied = 0;
+      int slot = 0;
+      while (slot < this.highWater) {
+        if (this.positions[slot] < 0) {
+          slot++;
+          continue;
+        }
+        int end = slot;
+        while (end < this.highWater && this.positions[end] >= 0) {
+          end++;
+        }
+        this.slab.copyTo(slot, end - slot, this.persisting, copied);
+        copied += end - slot;
+        slot = end;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+
+    int fileIndex = 0;
+    for (int first = 0; first < count || fileIndex == 0; first += this.maxObjects) {
+      writeFile(createFile(fileIndex++), first, Math.min(count - first, this.maxObjects));
+    }
+    deleteFilesFrom(fileIndex);
+
+    final long delta;
+    this.lock.lock();
+    try {
+      delta = this.changes - changesAtCopy;
+    } finally {
+      this.lock.unlock();
+    }
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    this.persistStats = new ObjectPersistStats(duration, count, delta);
+    _logger.info("Wrote {} objects into {} object files in {} ms, {} changes made meanwhile",
+        count, fileIndex, duration, delta);
+  }
+
+  /**
+   * Writes a run of copied records over an object file. An empty run leaves an empty file.
+   */
+  private void writeFile(final File file, final int first, final int count) throws IOException {
+    final File tmp = new File(file.getPath() + ".tmp");
+    final FileOutputStream out = new FileOutputStream(tmp);
+    try {
+      if (count > 0) {
+        ObjectFileUtil.writeObjectFileVersion(out);
+        this.persisting.write(out.getChannel(), first, count);
+      }
+      out.getFD().sync();
+    } finally {
+      out.close();
+    }
+    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void deleteFilesFrom(final int fileIndex) {
+    final File[] files = ObjectManagerUtils.getIdFiles(this.prefix, RandomObjectPopulator.SUFFIX,
+        this.directory);
+    if (files == null) {
+      return;
+    }
+    for (final File file : files) {
+      if (getFileIndex(this.prefix, file.getName()) >= fileIndex) {
+        _logger.info("deleting stale object file [{}]", file.getName());
+        file.delete();
+      }
+    }
+  }
+
+  private File createFile(final int idx) {
+    return new File(this.directory + "/" + this.prefix + idx + RandomObjectPopulator.SUFFIX);
+  }
+
+  @Override
+  public void shutdown() {
+    _logger.info("shutting down object manager");
+    this.testEnded = true;
+    this.saver.shutdown();
+    while (!this.saver.isTerminated()) {
+      try {
+        this.saver.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        _logger.error("", e);
+      }
+    }
+
+    try {
+      persistIds();
+    } catch (final Exception e) {
+      throw new ObjectManagerException(e);
+    }
+    _logger.info("object manager is shutdown");
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "OffHeapObjectPopulator [maxObjects=%s, directory=%s, prefix=%s, persistFrequency=%s]",
+        this.maxObjects, this.directory, this.prefix, this.persistFrequency);
+  }
+}
@@ -8,7 +8,7 @@ package com.ibm.og.object;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantLock;
 
 // This is modified from java.util's ConcurrentHashMap to support randomly selecting a member, and
@@ -235,13 +235,13 @@ public class RandomAccessConcurrentHashSet<K> {
         if (random) {
           while (this.count != 0 && e == null) {
             final HashEntry<K>[] tab = this.table;
-            e = tab[generator.nextInt(tab.length)];
+            e = tab[ThreadLocalRandom.current().nextInt(tab.length)];
           }
           if (e == null) {
             return null;
           }
           final HashEntry<K> first = e;
-          int skip = generator.nextInt(e.length);
+          int skip = ThreadLocalRandom.current().nextInt(e.length);
           while (skip > 0) {
             if (e == null || e.next == null) {
               e = first;
@@ -378,14 +378,14 @@ public class RandomAccessConcurrentHashSet<K> {
         int index = 0;
         if (random) {
           while (this.count != 0 && e == null) {
-            index = generator.nextInt(tab.length);
+            index = ThreadLocalRandom.current().nextInt(tab.length);
             e = tab[index];
           }
           if (e == null) {
             return null;
           }
           first = e;
-          int skip = generator.nextInt(e.length);
+          int skip = ThreadLocalRandom.current().nextInt(e.length);
           while (skip > 0) {
             if (e == null || e.next == null) {
               e = first;
@@ -638,7 +638,7 @@ public class RandomAccessConcurrentHashSet<K> {
     K random = null;
     do {
       final Segment<K>[] segments = this.segments;
-      random = segments[generator.nextInt(segments.length)].get(null, 0, true);
+      random = segments[ThreadLocalRandom.current().nextInt(segments.length)].get(null, 0, true);
     } while (random == null && !isEmpty());
     return random;
   }
@@ -684,13 +684,11 @@ public class RandomAccessConcurrentHashSet<K> {
   /*
    * Removes and returns a random member of the set or {@code null} if it is empty.
    */
-  static final Random generator = new Random();
-
   public K removeRandom() {
     K random = null;
     do {
       final Segment<K>[] segments = this.segments;
-      random = segments[RandomAccessConcurrentHashSet.generator.nextInt(segments.length)]
+      random = segments[ThreadLocalRandom.current().nextInt(segments.length)]
           .remove(null, 0, true);
     } while (random == null && !isEmpty());
     return random;
@@ -709,6 +707,113 @@ public class RandomAccessConcurrentHashSet<K> {
     return new SetIterator();
   }
 
+  /**
+   * Returns a frozen view of the set as it is at the time of this call. Entries are never modified
+   * once linked, and removal copies the entries ahead of the removed one rather than unlinking it,
+   * so the view only copies each segment's bucket heads; later changes to the set are made to new
+   * entries and are not visible through it. All segments are locked while the heads are copied.
+   */
+  public Snapshot snapshot() {
+    final Segment<K>[] segments = this.segments;
+    for (final Segment<K> segment : segments) {
+      segment.lock();
+    }
+    try {
+      return new Snapshot(segments);
+    } finally {
+      for (final Segment<K> segment : segments) {
+        segment.unlock();
+      }
+    }
+  }
+
+  /**
+   * A frozen view of the set, see {@link RandomAccessConcurrentHashSet#snapshot()}
+   */
+  public final class Snapshot implements Iterable<K> {
+    private final HashEntry<K>[][] tables;
+    private final int[] modCounts;
+    private final int size;
+
+    @SuppressWarnings("unchecked")
+    Snapshot(final Segment<K>[] segments) {
+      this.tables = new HashEntry[segments.length][];
+      this.modCounts = new int[segments.length];
+      int size = 0;
+      for (int i = 0; i < segments.length; i++) {
+        this.tables[i] = segments[i].table.clone();
+        this.modCounts[i] = segments[i].modCount;
+        size += segments[i].count;
+      }
+      this.size = size;
+    }
+
+    /**
+     * @return the number of members in the view
+     */
+    public int size() {
+      return this.size;
+    }
+
+    /**
+     * @return the approximate number of changes made to the set since the view was taken
+     */
+    public long changes() {
+      final Segment<K>[] segments = RandomAccessConcurrentHashSet.this.segments;
+      long changes = 0;
+      for (int i = 0; i < segments.length; i++) {
+        changes += segments[i].modCount - this.modCounts[i];
+      }
+      return changes;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+      return new Iterator<K>() {
+        private int segment = 0;
+        private int bucket = 0;
+        private HashEntry<K> next = advance(null);
+
+        private HashEntry<K> advance(HashEntry<K> e) {
+          if (e != null && e.next != null) {
+            return e.next;
+          }
+          while (this.segment < Snapshot.this.tables.length) {
+            final HashEntry<K>[] table = Snapshot.this.tables[this.segment];
+            while (this.bucket < table.length) {
+              if ((e = table[this.bucket++]) != null) {
+                return e;
+              }
+            }
+            this.segment++;
+            this.bucket = 0;
+          }
+          return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return this.next != null;
+        }
+
+        @Override
+        public K next() {
+          if (this.next == null) {
+            throw new NoSuchElementException();
+          }
+          final HashEntry<K> e = this.next;
+          this.next = advance(e);
+          return e.key;
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+  }
+
   class SetIterator implements Iterator<K>, Enumeration<K> {
     int nextSegmentIndex;
     int nextTableIndex;
@@ -16,22 +16,23 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
@@ -41,7 +42,6 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import com.google.common.io.BaseEncoding;
-import com.google.common.util.concurrent.Uninterruptibles;
 import com.ibm.og.util.ObjectManagerUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,18 +61,24 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
   private final long persistFrequency;
   private final Integer objectFileIndex;
   public static final String SUFFIX = ".object";
+  private static final int CONCURRENCY_LEVEL =
+      Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
   private final Pattern filenamePattern;
 
 
-  // object read from a file
-  private final RandomAccessConcurrentHashSet<ObjectMetadata> objects =
-      new RandomAccessConcurrentHashSet<ObjectMetadata>();
-  private final ReadWriteLock objectsLock = new ReentrantReadWriteLock(true);
-  private final SortedMap<String, Integer> currentlyReading =
-      Collections.synchronizedSortedMap(new TreeMap<String, Integer>());
-  private final SortedMap<String, ObjectMetadata> currentlyUpdating =
-          Collections.synchronizedSortedMap(new TreeMap<String, ObjectMetadata>());
-  private final ReadWriteLock readingLock = new ReentrantReadWriteLock(true);
+  // object read from a file, also indexed by size class for ranged selection
+  private final SizeIndexedObjectSet objects;
+  // name -> reader count, keyed by the primitive form of the name to avoid encoding it per call
+  private final ObjectNameCounts currentlyReading;
+  private final ObjectsByName currentlyUpdating;
+  // the objects in the pool which no one is reading, see removeIfUnreadLocked
+  private final SizeIndexedObjectSet unread;
+  // wakes exclusive selections waiting for an object to be released; shared by an owner's shards
+  private final ObjectAvailability availability;
+  // candidates which gained a reader or left the pool as exclusive selection took them from the
+  // unread index, and waits for an object to be released when every object was being read
+  private final AtomicLong selectionSkips = new AtomicLong();
+  private final AtomicLong selectionWaits = new AtomicLong();
   private final ReadWriteLock persistLock = new ReentrantReadWriteLock(true);
   private final File saveFile;
   private volatile boolean testEnded = false;
@@ -80,7 +86,12 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
   private final int idFileIndex;
   private final Random rand = new Random();
   private final UUID vaultId;
+  // null for a shard, whose owner schedules its persists
   private final ScheduledExecutorService saver;
+  private final ObjectJournal journal;
+  // false for a shard, which appends to a journal shared with the other shards of its owner
+  private final boolean ownsJournal;
+  private volatile ObjectPersistStats persistStats = ObjectPersistStats.NONE;
 
   public static int getObjectSize() {
     return OBJECT_SIZE;
@@ -95,9 +106,10 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
       @Named("objectfile.name") final String prefix,
       @Named("objectfile.maxsize") final long maxSize,
       @Named("objectfile.persistfrequency") final long persistFrequency,
-      @Named("objectfile.index") @Nullable final Integer objectFileIndex) {
+      @Named("objectfile.index") @Nullable final Integer objectFileIndex,
+      @Named("objectfile.journal") final boolean journal) {
     this(UUID.randomUUID(), directory, prefix, (int) (maxSize / OBJECT_SIZE),
-        persistFrequency * 1000, objectFileIndex);
+        persistFrequency * 1000, objectFileIndex, journal);
   }
 
   public RandomObjectPopulator(final UUID vaultId, final String directory, final String prefix) {
@@ -118,6 +130,44 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
 
   public RandomObjectPopulator(final UUID vaultId, final String directory, final String prefix,
       final int maxObjectCount, final long persistTime, final Integer objectFileIndex) {
+    this(vaultId, directory, prefix, maxObjectCount, persistTime, objectFileIndex, false);
+  }
+
+  /**
+   * Creates an object manager
+   *
+   * @param journal if true, every addition and removal is appended to a journal next to the object
+   *        file and the periodic persist becomes a checkpoint which snapshots the pool without
+   *        blocking callers; journals left behind by an unclean exit are replayed on startup
+   */
+  public RandomObjectPopulator(final UUID vaultId, final String directory, final String prefix,
+      final int maxObjectCount, final long persistTime, final Integer objectFileIndex,
+      final boolean journal) {
+    this(vaultId, directory, prefix, maxObjectCount, persistTime, objectFileIndex,
+        CONCURRENCY_LEVEL, journal, false, null, null);
+  }
+
+  /**
+   * Creates a shard of a {@link ShardedObjectManager}. A shard neither schedules persists nor
+   * replays journals, its owner does both for all of its shards, and it records its changes in the
+   * journal its owner shares between them.
+   *
+   * @param concurrencyLevel the estimated number of threads updating this shard concurrently
+   * @param journal the owner's journal, or null if changes are not journaled
+   * @param availability signalled whenever an object of this shard is released or removed, so
+   *        that the owner can wait on all of its shards at once
+   */
+  RandomObjectPopulator(final String directory, final String prefix, final int maxObjectCount,
+      final int concurrencyLevel, final ObjectJournal journal,
+      final ObjectAvailability availability) {
+    this(UUID.randomUUID(), directory, prefix, maxObjectCount, 0, null, concurrencyLevel, false,
+        true, journal, checkNotNull(availability));
+  }
+
+  private RandomObjectPopulator(final UUID vaultId, final String directory, final String prefix,
+      final int maxObjectCount, final long persistTime, final Integer objectFileIndex,
+      final int concurrencyLevel, final boolean journal, final boolean shard,
+      final ObjectJournal sharedJournal, final ObjectAvailability sharedAvailability) {
     this.vaultId = checkNotNull(vaultId);
     this.directory = checkNotNull(directory);
     if (prefix != null && !prefix.isEmpty()) {
@@ -151,7 +201,33 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
     _logger.info("Initial object file index {}", this.idFileIndex);
     this.saveFile = createFile(this.idFileIndex);
 
+    this.objects = new SizeIndexedObjectSet(concurrencyLevel);
+    this.currentlyReading = new ObjectNameCounts(concurrencyLevel);
+    this.currentlyUpdating = new ObjectsByName(concurrencyLevel);
+    this.unread = new SizeIndexedObjectSet(concurrencyLevel);
+    this.availability = sharedAvailability != null ? sharedAvailability : new ObjectAvailability();
+
     loadObjects();
+    if (shard) {
+      this.journal = sharedJournal;
+      this.ownsJournal = false;
+      this.saver = null;
+      indexUnread();
+      return;
+    }
+    this.ownsJournal = true;
+    if (journal) {
+      try {
+        replayJournals();
+        this.journal = new ObjectJournal(this.saveFile);
+        checkpoint();
+      } catch (final IOException e) {
+        throw new ObjectManagerException(e);
+      }
+    } else {
+      this.journal = null;
+    }
+    indexUnread();
 
     this.saver = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder().setDaemon(true)
         .setNameFormat("scheduled-object-persist").build());
@@ -159,7 +235,7 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
       @Override
       public void run() {
         try {
-          persistIds();
+          persist();
         }
 
         catch (final IOException e) {
@@ -194,43 +270,19 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
 
   private void loadObjects() {
     this.objects.clear();
+    if (!this.saveFile.exists()) {
+      return;
+    }
+    _logger.debug("loading objects from file: {}", this.saveFile);
+    final ObjectFileLoader loader = new ObjectFileLoader();
     try {
-      int actualObjectSize = OBJECT_SIZE;
-      if (this.saveFile.exists()) {
-        _logger.debug("loading objects from file: {}", this.saveFile);
-        final InputStream input = new BufferedInputStream(new FileInputStream(this.saveFile));
-
-        int versionHeaderLength = 0;
-        ObjectFileVersion version = ObjectFileUtil.readObjectFileVersion(input);
-        if (version.getMajorVersion() == LegacyObjectMetadata.MAJOR_VERSION &&
-                version.getMinorVersion() == LegacyObjectMetadata.MINOR_VERSION) {
-          actualObjectSize = OBJECT_SIZE;
-          versionHeaderLength = ObjectFileVersion.VERSION_HEADER_LENGTH;
-        } else if (version.getMajorVersion() == 1 && version.getMinorVersion() == 0) {
-          actualObjectSize = OBJECT_SIZE_V1;
-        } else {
-          throw new IllegalArgumentException("Unsupported Object File version [%sd].[%s]".
-                  format(Byte.toString(version.getMajorVersion()), Byte.toString(version.getMinorVersion())));
-        }
-
-        input.skip(versionHeaderLength);
-
-        final byte[] objectBytes = new byte[OBJECT_SIZE];
-        final byte[] inputBytes = new byte[actualObjectSize];
-        ByteBuffer b2 = ByteBuffer.wrap(objectBytes);
-
-        ObjectMetadata id;
-        while (input.read(inputBytes) == actualObjectSize) {
-          id = ObjectFileUtil.getObjectFromInputBuffer(version.getMajorVersion(), version.getMinorVersion(),
-                  inputBytes, objectBytes);
-          this.objects.put(id);
-        }
-        _logger.info("No. of objects loaded {}", this.objects.size());
-        input.close();
-      }
+      loader.load(this.saveFile, this.objects);
+      _logger.info("No. of objects loaded {}", this.objects.size());
     } catch (final Exception e) {
       this.testEnded = true;
       _logger.error("", e);
+    } finally {
+      loader.shutdown();
     }
   }
 
@@ -248,184 +300,345 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
     return this.objects.size();
   }
 
-  @Override
-  public ObjectMetadata remove() {
-    this.persistLock.readLock().lock();
+  /**
+   * Registers a reader of an object which is still in the pool, taking the object out of the
+   * unread index if it is its first reader
+   *
+   * @return false if the object is no longer in the pool
+   */
+  private boolean acquireRead(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    final ReentrantLock lock = this.objects.lockFor(id);
+    lock.lock();
     try {
-      ObjectMetadata id = null;
-      while (id == null) {
-        this.objectsLock.writeLock().lock();
-        id = this.objects.removeRandom();
-        this.objectsLock.writeLock().unlock();
-        checkForNull(id);
-        boolean unavailable;
-        this.readingLock.readLock().lock();
-        unavailable = this.currentlyReading.containsKey(id.getName());
-        this.readingLock.readLock().unlock();
-        if (unavailable) {
-          this.objects.put(id);
-          id = null;
-        }
+      if (!this.objects.contains(id)) {
+        return false;
+      }
+      if (this.currentlyReading.increment(ObjectNames.high(record), ObjectNames.low(record),
+          ObjectNames.tail(record)) == 1) {
+        this.unread.remove(id);
       }
-      _logger.debug("Removing object: {}", id);
-      return id;
+      return true;
     } finally {
-      this.persistLock.readLock().unlock();
+      lock.unlock();
     }
   }
 
-  @Override
-  public ObjectMetadata removeForUpdate() {
-    this.persistLock.readLock().lock();
+  /**
+   * Registers the only reader of an object which is still in the pool
+   *
+   * @return false if the object is being read or is no longer in the pool
+   */
+  private boolean acquireExclusive(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    final ReentrantLock lock = this.objects.lockFor(id);
+    lock.lock();
     try {
-      ObjectMetadata id = null;
-      while (id == null) {
-        this.objectsLock.writeLock().lock();
-        id = this.objects.removeRandom();
-        this.objectsLock.writeLock().unlock();
-        checkForNull(id);
-        boolean unavailable;
-        this.readingLock.readLock().lock();
-        unavailable = this.currentlyReading.containsKey(id.getName());
-        this.readingLock.readLock().unlock();
-        if (unavailable) {
-          this.objects.put(id);
-          id = null;
-        }
+      if (!this.objects.contains(id) || !this.currentlyReading.incrementIfAbsent(
+          ObjectNames.high(record), ObjectNames.low(record), ObjectNames.tail(record))) {
+        return false;
       }
-      _logger.debug("Removing object: {}", id);
-      this.currentlyUpdating.put(id.getName(), id);
-      return id;
+      // a reader may have come and gone since the object was taken from the index, putting it back
+      this.unread.remove(id);
+      return true;
     } finally {
-      this.persistLock.readLock().unlock();
+      lock.unlock();
     }
   }
 
-  @Override
-  public ObjectMetadata removeObject(ObjectMetadata objectMetadata) {
+  private void releaseRead(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    final ReentrantLock lock = this.objects.lockFor(id);
+    final int remaining;
+    lock.lock();
+    try {
+      remaining = this.currentlyReading.decrementAndGet(ObjectNames.high(record),
+          ObjectNames.low(record), ObjectNames.tail(record));
+      if (remaining == 0 && this.objects.contains(id)) {
+        this.unread.put(id);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (remaining < 0) {
+      _logger.warn("object {} is not currently being read", id);
+    } else if (remaining == 0) {
+      this.availability.signal();
+    }
+  }
+
+  private boolean isBeingRead(final byte[] record) {
+    return this.currentlyReading.contains(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
+  }
+
+  // Readers and removers both change an object under the lock of its stripe, and an object is in
+  // the unread index exactly when it is in the pool and has no readers. Exclusive selection takes
+  // its candidate from the index, so it never draws an object which is known to be busy; a
+  // candidate which gained a reader or left the pool after it was taken is already out of the
+  // index, so the next one is taken instead, and the caller only waits once the index is empty.
+
+  /**
+   * Takes an object out of the pool and the unread index unless it is being read. The caller holds
+   * the object's stripe lock.
+   *
+   * @return the removed object, or null if it is being read or is no longer in the pool
+   */
+  private ObjectMetadata removeIfUnreadLocked(final ObjectMetadata candidate) {
+    if (isBeingRead(candidate.toBytes())) {
+      return null;
+    }
+    final ObjectMetadata id = this.objects.remove(candidate);
+    if (id != null) {
+      this.unread.remove(id);
+    }
+    return id;
+  }
+
+  /**
+   * Removes an object unless it is being read, journaling the removal under the lock of the
+   * object's stripe so that it is ordered with every other journaled change to the same object
+   *
+   * @return the removed object, or null if it is being read or was no longer in the pool
+   */
+  private ObjectMetadata removeIfUnread(final ObjectMetadata candidate) {
+    final ReentrantLock lock = this.objects.lockFor(candidate);
+    final ObjectMetadata id;
+    lock.lock();
+    try {
+      id = removeIfUnreadLocked(candidate);
+      if (id != null) {
+        journal(ObjectJournal.REMOVE, id);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (id != null) {
+      // callers waiting on an emptied pool give up rather than wait
+      this.availability.signal();
+    }
+    return id;
+  }
+
+  /**
+   * Removes an unread object without waiting, see {@link #tryRemove(boolean, long, long)}
+   */
+  ObjectMetadata tryRemove(final boolean forUpdate) {
+    return tryRemove(forUpdate, false, 0, 0);
+  }
+
+  /**
+   * Removes an unread object with a size in {@code [minSize, maxSize)} without waiting
+   *
+   * @param forUpdate if true, the object is also recorded as being updated
+   * @return the removed object, or null if every object within the range is being read
+   * @throws ObjectManagerException if no object is within the range
+   */
+  ObjectMetadata tryRemove(final boolean forUpdate, final long minSize, final long maxSize) {
+    return tryRemove(forUpdate, true, minSize, maxSize);
+  }
+
+  private ObjectMetadata tryRemove(final boolean forUpdate, final boolean ranged,
+      final long minSize, final long maxSize) {
     this.persistLock.readLock().lock();
     try {
-      ObjectMetadata id = null;
-      while (id == null) {
-        this.objectsLock.writeLock().lock();
-        id = this.objects.remove(objectMetadata);
-        this.objectsLock.writeLock().unlock();
-        checkForNull(id);
-        boolean unavailable;
-        this.readingLock.readLock().lock();
-        unavailable = this.currentlyReading.containsKey(id.getName());
-        this.readingLock.readLock().unlock();
-        if (unavailable) {
-          _logger.info("object {} is available already in currently reading. so skipping", id.getName());
-          this.objects.put(id);
-          id = null;
+      while (true) {
+        final ObjectMetadata candidate = ranged ? this.unread.removeRandom(minSize, maxSize)
+            : this.unread.removeRandom();
+        if (candidate == null) {
+          checkForNull(ranged ? this.objects.getRandom(minSize, maxSize)
+              : this.objects.getRandom());
+          return null;
+        }
+        final ObjectMetadata id = removeIfUnread(candidate);
+        if (id != null) {
+          _logger.debug("Removing object: {}", id);
+          if (forUpdate) {
+            this.currentlyUpdating.put(id);
+          }
+          return id;
         }
+        this.selectionSkips.incrementAndGet();
       }
-      _logger.trace("Removing object: {}", id);
-      this.currentlyUpdating.put(id.getName(), id);
-      return id;
     } finally {
       this.persistLock.readLock().unlock();
     }
+  }
 
+  /**
+   * @return true if an object within the range is unread, so that exclusive selection need not
+   *         wait
+   */
+  boolean hasUnread(final boolean ranged, final long minSize, final long maxSize) {
+    return ranged ? this.unread.getRandom(minSize, maxSize) != null : !this.unread.isEmpty();
   }
 
+  /**
+   * @return true if any object is within the range, otherwise exclusive selection fails rather
+   *         than waits
+   */
+  boolean hasAny(final boolean ranged, final long minSize, final long maxSize) {
+    return ranged ? this.objects.getRandom(minSize, maxSize) != null : !this.objects.isEmpty();
+  }
 
+  /**
+   * Waits until an object within the range is unread or no object is within the range
+   */
+  private void awaitSelectable(final boolean ranged, final long minSize, final long maxSize) {
+    this.selectionWaits.incrementAndGet();
+    this.availability.await(new ObjectAvailability.Check() {
+      @Override
+      boolean passes() {
+        return RandomObjectPopulator.this.testEnded || hasUnread(ranged, minSize, maxSize)
+            || !hasAny(ranged, minSize, maxSize);
+      }
+    });
+    checkRunning();
+  }
 
-  private void checkForNull(final ObjectMetadata id) {
-    if (id == null) {
-      throw new ObjectManagerException("No objects available.");
+  private void checkRunning() {
+    if (this.testEnded) {
+      throw new RuntimeException("Test already ended");
     }
   }
 
   @Override
-  public ObjectMetadata get() {
-    if (this.testEnded) {
-      throw new RuntimeException("Test already ended");
+  public ObjectMetadata remove() {
+    while (true) {
+      final ObjectMetadata id = tryRemove(false);
+      if (id != null) {
+        return id;
+      }
+      awaitSelectable(false, 0, 0);
     }
+  }
 
-    ObjectMetadata id;
+  @Override
+  public ObjectMetadata removeForUpdate() {
+    while (true) {
+      final ObjectMetadata id = tryRemove(true);
+      if (id != null) {
+        return id;
+      }
+      awaitSelectable(false, 0, 0);
+    }
+  }
 
-    this.objectsLock.readLock().lock();
-    id = this.objects.getRandom();
-    try {
-      checkForNull(id);
-    } catch (final ObjectManagerException e) {
-      this.objectsLock.readLock().unlock();
-      throw e;
+  @Override
+  public ObjectMetadata removeForUpdate(final long minSize, final long maxSize) {
+    while (true) {
+      final ObjectMetadata id = tryRemove(true, minSize, maxSize);
+      if (id != null) {
+        return id;
+      }
+      awaitSelectable(true, minSize, maxSize);
     }
+  }
 
-    int count = 0;
-    this.readingLock.writeLock().lock();
-    if (this.currentlyReading.containsKey(id.getName())) {
-      // The only reason to have both locked simultaneously is to prevent an id from being
-      // selected for deletion before it has been added to currentlyReading
-      this.objectsLock.readLock().unlock();
-      count = this.currentlyReading.get(id.getName()).intValue();
+  @Override
+  public ObjectMetadata removeObject(final ObjectMetadata objectMetadata) {
+    while (true) {
+      this.persistLock.readLock().lock();
+      try {
+        checkForNull(this.objects.get(objectMetadata));
+        final ObjectMetadata id = removeIfUnread(objectMetadata);
+        if (id != null) {
+          _logger.trace("Removing object: {}", id);
+          this.currentlyUpdating.put(id);
+          return id;
+        }
+      } finally {
+        this.persistLock.readLock().unlock();
+      }
+      this.selectionWaits.incrementAndGet();
+      this.availability.await(new ObjectAvailability.Check() {
+        @Override
+        boolean passes() {
+          return RandomObjectPopulator.this.testEnded
+              || !RandomObjectPopulator.this.objects.contains(objectMetadata)
+              || !isBeingRead(objectMetadata.toBytes());
+        }
+      });
+      checkRunning();
     }
-    this.currentlyReading.put(id.getName(), Integer.valueOf(count + 1));
-    if (count == 0) {
-      this.objectsLock.readLock().unlock();
+  }
+
+  private void checkForNull(final ObjectMetadata id) {
+    if (id == null) {
+      throw new ObjectManagerException("No objects available.");
     }
-    this.readingLock.writeLock().unlock();
+  }
 
-    _logger.trace("Getting object: {}", id);
-    return id;
+  @Override
+  public ObjectMetadata get() {
+    checkRunning();
+    while (true) {
+      final ObjectMetadata id = this.objects.getRandom();
+      checkForNull(id);
+      if (acquireRead(id)) {
+        _logger.trace("Getting object: {}", id);
+        return id;
+      }
+      // removed between selection and registration, pick again
+    }
   }
 
   @Override
-  public ObjectMetadata getOnce() {
-    if (this.testEnded) {
-      throw new RuntimeException("Test already ended");
+  public ObjectMetadata get(final long minSize, final long maxSize) {
+    checkRunning();
+    while (true) {
+      final ObjectMetadata id = this.objects.getRandom(minSize, maxSize);
+      checkForNull(id);
+      if (acquireRead(id)) {
+        _logger.trace("Getting object: {}", id);
+        return id;
+      }
     }
+  }
 
-    ObjectMetadata id = null;
-    while (id == null) {
-      this.objectsLock.readLock().lock();
-      id = this.objects.getRandom();
-      try {
-        checkForNull(id);
-      } catch (final ObjectManagerException e) {
-        this.objectsLock.readLock().unlock();
-        throw e;
+  /**
+   * Selects an object which no one else is reading and registers the caller as its only reader.
+   * The object is taken from the index of unread objects, so no busy candidate is ever drawn; if
+   * every object is being read the caller waits for one to be released, see
+   * {@link #getSelectionStats()}.
+   */
+  @Override
+  public ObjectMetadata getOnce() {
+    while (true) {
+      final ObjectMetadata id = tryGetOnce();
+      if (id != null) {
+        return id;
       }
+      awaitSelectable(false, 0, 0);
+    }
+  }
 
-      this.readingLock.writeLock().lock();
-      if (this.currentlyReading.containsKey(id.getName())) {
-        // The only reason to have both locked simultaneously is to prevent an id from being
-        // selected for deletion before it has been added to currentlyReading
-        _logger.debug("object {} already found in currently reading",id.getName());
-        id = null;
-        Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
-      } else {
-        // The only reason to have both locked simultaneously is to prevent an id from being
-        // selected for deletion before it has been added to currentlyReading
-        this.currentlyReading.put(id.getName(),1);
-        _logger.debug("adding object {} to currently reading",id.getName());
+  /**
+   * Selects an object for {@link #getOnce()} without waiting
+   *
+   * @return the selected object, or null if every object is being read
+   * @throws ObjectManagerException if the pool is empty
+   */
+  ObjectMetadata tryGetOnce() {
+    checkRunning();
+    while (true) {
+      final ObjectMetadata id = this.unread.removeRandom();
+      if (id == null) {
+        checkForNull(this.objects.getRandom());
+        return null;
+      }
+      if (acquireExclusive(id)) {
+        _logger.trace("Getting currently not read object : {}", id);
+        return id;
       }
-      this.readingLock.writeLock().unlock();
-      this.objectsLock.readLock().unlock();
+      this.selectionSkips.incrementAndGet();
     }
-    _logger.trace("Getting currently not read object : {}", id);
-    return id;
   }
 
   @Override
   public void getComplete(final ObjectMetadata id) {
-    this.readingLock.writeLock().lock();
-    Integer c = this.currentlyReading.get(id.getName());
-    _logger.debug("id {} count {}", id, c);
-    final int count = this.currentlyReading.get(id.getName()).intValue();
-    if (count > 1) {
-      this.currentlyReading.put(id.getName(), Integer.valueOf(count - 1));
-      _logger.debug("decrementing {} from currentlyReading", id.getName());
-    } else {
-      _logger.debug("removing {} from currentlyReading", id.getName());
-      this.currentlyReading.remove(id.getName());
-    }
-    this.readingLock.writeLock().unlock();
+    releaseRead(id);
     _logger.trace("Returning read object: {}", id);
-    return;
   }
 
   @Override
@@ -433,7 +646,7 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
     _logger.debug("Adding object: {}", id);
     this.persistLock.readLock().lock();
     try {
-      this.objects.put(id);
+      addJournaled(id);
     } finally {
       this.persistLock.readLock().unlock();
     }
@@ -444,8 +657,8 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
     _logger.debug("Adding Updated object: {}", id);
     this.persistLock.readLock().lock();
     try {
-      this.currentlyUpdating.remove(id.getName());
-      this.objects.put(id);
+      removeUpdating(id);
+      addJournaled(id);
     } finally {
       this.persistLock.readLock().unlock();
     }
@@ -454,55 +667,236 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
   @Override
   public ObjectMetadata getObjectFromUpdatingCache(final String id) {
     _logger.debug("Getting object {} from currentUpdating cache", id);
-    ObjectMetadata objectId = null;
-    this.persistLock.readLock().lock();
-    try {
-      objectId = this.currentlyUpdating.get(id);
-    } finally {
-      this.persistLock.readLock().unlock();
+    if (!ObjectNames.isValid(id)) {
+      // not a name this object manager could have handed out
+      return null;
     }
-    return objectId;
+    return this.currentlyUpdating.get(ObjectNames.parseHigh(id), ObjectNames.parseLow(id),
+        ObjectNames.parseTail(id));
+  }
+
+  private void removeUpdating(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    this.currentlyUpdating.remove(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
   }
 
   @Override
   public void removeUpdatedObject(final ObjectMetadata id) {
     _logger.trace("Removing Updated object from currentlyUpdating cache: {}", id);
-    this.persistLock.readLock().lock();
-    try {
-      this.currentlyUpdating.remove(id.getName());
-    } finally {
-      this.persistLock.readLock().unlock();
-    }
+    removeUpdating(id);
   }
 
   @Override
   public void removeUpdatedObjectByName(final String name) {
     _logger.trace("Removing Updated object from currentlyUpdating cache: {}", name);
-    this.persistLock.readLock().lock();
-    try {
-      this.currentlyUpdating.remove(name);
-    } finally {
-      this.persistLock.readLock().unlock();
+    if (!ObjectNames.isValid(name)) {
+      return;
     }
+    this.currentlyUpdating.remove(ObjectNames.parseHigh(name), ObjectNames.parseLow(name),
+        ObjectNames.parseTail(name));
   }
 
   @Override
   public int getCurrentlyUpdatingCount() {
-    this.persistLock.readLock().lock();
-    int size = this.currentlyUpdating.size();
-    this.persistLock.readLock().unlock();
-    return size;
+    return this.currentlyUpdating.size();
+  }
+
+  @Override
+  public Map<Long, Long> getSizeClassCounts() {
+    return this.objects.sizeClassCounts();
+  }
+
+  @Override
+  public ObjectPersistStats getPersistStats() {
+    return this.persistStats;
+  }
+
+  @Override
+  public ObjectSelectionStats getSelectionStats() {
+    return new ObjectSelectionStats(this.selectionSkips.get(), this.selectionWaits.get());
   }
+
+  /**
+   * Adds an object to the pool and journals the addition as one step with respect to other changes
+   * to the same object, see {@link #removeIfUnread(ObjectMetadata)}
+   */
+  private void addJournaled(final ObjectMetadata id) {
+    final ReentrantLock lock = this.objects.lockFor(id);
+    lock.lock();
+    try {
+      insertLocked(id);
+      journal(ObjectJournal.ADD, id);
+    } finally {
+      lock.unlock();
+    }
+    this.availability.signal();
+  }
+
+  /**
+   * Adds an object to the pool, and to the unread index unless it is being read. The caller holds
+   * the object's stripe lock.
+   */
+  private void insertLocked(final ObjectMetadata id) {
+    this.objects.put(id);
+    if (!isBeingRead(id.toBytes())) {
+      this.unread.put(id);
+    }
+  }
+
+  /**
+   * Takes an object out of the pool whether or not it is being read, as spilling to a surplus file
+   * does; its readers keep it until they release it
+   *
+   * @return true if the object was in the pool
+   */
+  private boolean evict(final ObjectMetadata id) {
+    final ReentrantLock lock = this.objects.lockFor(id);
+    lock.lock();
+    try {
+      if (this.objects.remove(id) == null) {
+        return false;
+      }
+      this.unread.remove(id);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the unread index from the pool once it has been loaded and any journals replayed into
+   * it, which bypass the index. A sharded owner calls this on each shard after its own replay.
+   */
+  void indexUnread() {
+    this.unread.clear();
+    for (final Iterator<ObjectMetadata> it = this.objects.iterator(); it.hasNext();) {
+      final ObjectMetadata id = it.next();
+      final ReentrantLock lock = this.objects.lockFor(id);
+      lock.lock();
+      try {
+        if (this.objects.contains(id) && !isBeingRead(id.toBytes())) {
+          this.unread.put(id);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    this.availability.signal();
+  }
+
+  private void journal(final byte op, final ObjectMetadata id) {
+    if (this.journal != null) {
+      this.journal.append(op, id);
+    }
+  }
+
+  /**
+   * Persists the pool, as a checkpoint if changes are journaled. A shard only writes its snapshot,
+   * its owner rotates the shared journal before persisting its shards and trims it afterwards.
+   */
+  void persist() throws IOException {
+    if (this.journal == null) {
+      persistIds();
+    } else if (this.ownsJournal) {
+      checkpoint();
+    } else {
+      final long start = System.nanoTime();
+      final RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot = snapshot();
+      recordPersist(start, writeSnapshot(snapshot), snapshot.changes());
+    }
+  }
+
+  /**
+   * @return the objects of this shard, for its owner to replay the shared journal into
+   */
+  RandomAccessConcurrentHashSet<ObjectMetadata> objects() {
+    return this.objects;
+  }
+
+  private void replayJournals() throws IOException {
+    for (final File f : ObjectJournal.journals(this.saveFile)) {
+      final int entries = ObjectJournal.replay(f, this.objects);
+      _logger.info("Replayed {} entries from journal {}", entries, f);
+    }
+  }
+
+  /**
+   * Writes a snapshot of the pool over the object file without blocking callers, then discards the
+   * journal generations the snapshot supersedes. Changes made after the journal is rotated are
+   * recorded in the new journal generation, whether or not the snapshot includes them.
+   */
+  private void checkpoint() throws IOException {
+    final long closed = this.journal.rotate();
+    final long start = System.nanoTime();
+    final RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot = snapshot();
+    final int count = writeSnapshot(snapshot);
+    this.journal.deleteThrough(closed);
+    recordPersist(start, count, snapshot.changes());
+  }
+
+  /**
+   * Freezes the pool for persisting. The set of objects is copied on write, so callers are only
+   * excluded while the view is taken rather than while it is written, and changes made in the
+   * meantime are left to the next persist.
+   */
+  private RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot() {
+    this.persistLock.writeLock().lock();
+    try {
+      return this.objects.snapshot();
+    } finally {
+      this.persistLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Writes a frozen view of the pool over the object file
+   *
+   * @return the number of objects written
+   */
+  private int writeSnapshot(final RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot)
+      throws IOException {
+    final File tmp = new File(this.saveFile.getPath() + ".tmp");
+    final FileOutputStream fos = new FileOutputStream(tmp);
+    int count = 0;
+    try {
+      final OutputStream out = new BufferedOutputStream(fos);
+      if (snapshot.size() > 0) {
+        ObjectFileUtil.writeObjectFileVersion(out);
+      }
+      for (final ObjectMetadata id : snapshot) {
+        out.write(id.toBytes());
+        count++;
+      }
+      out.flush();
+      fos.getFD().sync();
+    } finally {
+      fos.close();
+    }
+    Files.move(tmp.toPath(), this.saveFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    return count;
+  }
+
+  private void recordPersist(final long start, final int count, final long delta) {
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    this.persistStats = new ObjectPersistStats(duration, count, delta);
+    _logger.info("Wrote {} objects into {} in {} ms, {} changes made meanwhile", count,
+        this.saveFile, duration, delta);
+  }
+
+  /**
+   * Spills objects beyond {@code maxObjects} to surplus object files, or borrows objects from them
+   * to make up the difference, then writes a snapshot of the pool over the object file. Neither
+   * step excludes callers for longer than it takes to freeze the snapshot.
+   */
   private void persistIds() throws IOException {
     _logger.info("persisting objects");
-    this.persistLock.writeLock().lock();
+    final long start = System.nanoTime();
+    // the surplus file selection below counts the object file itself among the existing files
+    this.saveFile.createNewFile();
     final int toSave = this.objects.size();
     _logger.info("number of objects to persist [{}]", toSave);
-    final OutputStream out = new BufferedOutputStream(new FileOutputStream(this.saveFile));
-    if (toSave > 0) {
-      _logger.info("writing version to file {}", this.saveFile);
-      ObjectFileUtil.writeObjectFileVersion(out);
-    }
     _logger.info("toSave [{}] maxObjects [{}]", toSave, this.maxObjects);
     if (toSave > this.maxObjects) {
       for (int size = this.objects.size(); size > this.maxObjects; size = this.objects.size()) {
@@ -532,12 +926,15 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
         final int remaining = getRemaining(size, surplus);
         _logger.info("remaining objects [{}] to write in surplus ", remaining);
         // While writing surplus, remove them from this.objects, to keep consistent with
-        // this.savefile
+        // this.savefile. Only objects this thread removed are written, a concurrent remove may
+        // have taken one first
         final Iterator<ObjectMetadata> iterator = this.objects.iterator();
-        for (int i = 0; i < remaining; i++) {
+        for (int i = 0; i < remaining && iterator.hasNext();) {
           final ObjectMetadata sid = iterator.next();
-          dos.write(sid.toBytes());
-          iterator.remove();
+          if (evict(sid)) {
+            dos.write(sid.toBytes());
+            i++;
+          }
         }
         dos.close();
       }
@@ -602,7 +999,14 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
             sid = ObjectFileUtil.getObjectFromInputBuffer(version.getMajorVersion(), version.getMinorVersion(),
                     readBuf, buf);
             _logger.trace("borrowed object [{}]", sid);
-            this.objects.put(sid);
+            final ReentrantLock lock = this.objects.lockFor(sid);
+            lock.lock();
+            try {
+              insertLocked(sid);
+            } finally {
+              lock.unlock();
+            }
+            this.availability.signal();
           } else {
             _logger.error("borrow object readBytes [{}] not equal to object length [{}]", readBytes, actualObjectSize);
           }
@@ -629,13 +1033,9 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
     }
     // Finally we save a number less than or equal to the maximum number of objects to our
     // savefile
-    _logger.info(
-        String.format("Writing state file: %d objects into ", this.objects.size()) + this.saveFile);
-    for (final Iterator<ObjectMetadata> iterator = this.objects.iterator(); iterator.hasNext();) {
-      out.write(iterator.next().toBytes());
-    }
-    out.close();
-    this.persistLock.writeLock().unlock();
+    final RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot = snapshot();
+    _logger.info("Writing state file: {} objects into {}", snapshot.size(), this.saveFile);
+    recordPersist(start, writeSnapshot(snapshot), snapshot.changes());
   }
 
   private int getRemaining(final int size, final File surplus) {
@@ -660,6 +1060,8 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
   public void shutdown() {
     _logger.info("shutting down object manager");
     this.testEnded = true;
+    // exclusive selections waiting for an object give up
+    this.availability.signal();
     shutdownSaverThread();
     try {
       join();
@@ -667,15 +1069,25 @@ public class RandomObjectPopulator extends Thread implements ObjectManager {
       throw new RuntimeException("Failed to join");
     }
 
+    if (this.journal != null && this.ownsJournal) {
+      this.journal.close();
+    }
     try {
       persistIds();
     } catch (final Exception e) {
       throw new ObjectManagerException(e);
     }
+    if (this.journal != null && this.ownsJournal) {
+      // the object files now hold the final state
+      this.journal.deleteThrough(Long.MAX_VALUE);
+    }
     _logger.info("object manager is shutdown");
   }
 
   private void shutdownSaverThread() {
+    if (this.saver == null) {
+      return;
+    }
     this.saver.shutdown();
     while (!this.saver.isTerminated()) {
       try {
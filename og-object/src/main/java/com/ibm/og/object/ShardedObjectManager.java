@@ -0,0 +1,584 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An {@code ObjectManager} implementation which shards the object pool by container suffix. Each
+ * shard is a {@link RandomObjectPopulator} with its own locks and object files, named
+ * {@code <prefix>c<container suffix>_<index>.object}, so operations on different containers never
+ * contend with each other. Shards are created when the first object of a container is added and
+ * are rediscovered from their object files on startup.
+ * <p>
+ * Shards are sized for the few threads which update any one of them at a time, and share a single
+ * persist thread and, if changes are journaled, a single journal writer. Journal entries carry the
+ * container suffix of their object, which is all replay needs to route each entry to its shard.
+ * <p>
+ * Operations which name an object are routed to the shard of its container. Operations which
+ * select an object pick a shard according to the configured {@link ShardSelection} and fall back
+ * to the remaining shards if the chosen shard is empty.
+ *
+ * @since 1.12.0
+ */
+@Singleton
+public class ShardedObjectManager implements ObjectManager {
+  private static final Logger _logger = LoggerFactory.getLogger(ShardedObjectManager.class);
+  // updating threads are spread over the shards, so each shard sees only a few of them at a time
+  private static final int SHARD_CONCURRENCY_LEVEL = 4;
+  private static final String JOURNAL_NAME = "shards";
+  private final String directory;
+  private final String prefix;
+  private final int maxObjects;
+  private final long persistTime;
+  // shared by every shard, or null if changes are not journaled
+  private final ObjectJournal journal;
+  private final ShardSelection selection;
+  private final ScheduledExecutorService saver;
+  private final ConcurrentMap<Integer, RandomObjectPopulator> shards;
+  // guards shard creation, which performs file I/O, without pinning virtual threads
+  private final ReentrantLock shardLock;
+  // the same shards as a list, for uniform random selection
+  private final List<RandomObjectPopulator> shardList;
+  // objects removed for update or delete across all shards, for lookup by name
+  private final ObjectsByName currentlyUpdating;
+  private final AtomicInteger nextThreadShard;
+  // the shard each thread is pinned to, which stays put as further shards are created
+  private final ThreadLocal<RandomObjectPopulator> threadShard;
+  // wakes exclusive selections waiting on every shard at once, signalled by the shards
+  private final ObjectAvailability availability;
+  // waits for an object to be released after every shard was busy, shards count their own skips
+  private final AtomicLong selectionWaits;
+  private volatile boolean testEnded;
+
+  /**
+   * Policies for choosing the shard an object is selected from
+   */
+  public enum ShardSelection {
+    /**
+     * Choose a shard uniformly at random for every operation
+     */
+    RANDOM,
+    /**
+     * Pin each thread to a single shard, assigning threads to shards round robin
+     */
+    THREAD
+  }
+
+  @Inject
+  public ShardedObjectManager(@Named("objectfile.location") final String directory,
+      @Named("objectfile.name") final String prefix,
+      @Named("objectfile.maxsize") final long maxSize,
+      @Named("objectfile.persistfrequency") final long persistFrequency,
+      @Named("objectfile.journal") final boolean journal,
+      @Named("objectfile.shardselection") final ShardSelection selection) {
+    this(directory, prefix, (int) (maxSize / RandomObjectPopulator.OBJECT_SIZE),
+        persistFrequency * 1000, journal, selection);
+  }
+
+  /**
+   * Creates an instance, loading every shard found in the provided directory
+   *
+   * @param directory the directory holding object files
+   * @param prefix the object file prefix; shard files append the container suffix to it
+   * @param maxObjectCount the maximum number of objects per object file of each shard
+   * @param persistTime the persist period in milliseconds
+   * @param journal whether shards journal changes between persists
+   * @param selection the shard selection policy
+   */
+  public ShardedObjectManager(final String directory, final String prefix,
+      final int maxObjectCount, final long persistTime, final boolean journal,
+      final ShardSelection selection) {
+    this.directory = checkNotNull(directory);
+    if (prefix != null && !prefix.isEmpty()) {
+      this.prefix = prefix;
+    } else {
+      this.prefix = "id_";
+    }
+    checkArgument(maxObjectCount > 0, "maxObjectCount must be > 0 [%s]", maxObjectCount);
+    this.maxObjects = maxObjectCount;
+    this.persistTime = persistTime;
+    this.selection = checkNotNull(selection);
+    this.shards = new ConcurrentHashMap<Integer, RandomObjectPopulator>();
+    this.shardLock = new ReentrantLock();
+    this.shardList = new CopyOnWriteArrayList<RandomObjectPopulator>();
+    this.currentlyUpdating = new ObjectsByName(16);
+    this.nextThreadShard = new AtomicInteger();
+    this.availability = new ObjectAvailability();
+    this.selectionWaits = new AtomicLong();
+    this.threadShard = new ThreadLocal<RandomObjectPopulator>();
+
+    final File journalFile =
+        new File(this.directory, this.prefix + JOURNAL_NAME + RandomObjectPopulator.SUFFIX);
+    // generations left behind by an unclean exit, the journal opened below starts after them
+    final List<File> journals = ObjectJournal.journals(journalFile);
+    if (journal) {
+      try {
+        this.journal = new ObjectJournal(journalFile);
+      } catch (final IOException e) {
+        throw new ObjectManagerException(e);
+      }
+    } else {
+      this.journal = null;
+    }
+
+    final Pattern shardPattern = Pattern.compile(
+        Pattern.quote(this.prefix) + "c(-?\\d+)_(\\d|[1-9]\\d*)" + Pattern.quote(
+            RandomObjectPopulator.SUFFIX));
+    final File[] files = new File(this.directory).listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        final Matcher m = shardPattern.matcher(file.getName());
+        if (m.matches()) {
+          shard(Integer.parseInt(m.group(1)));
+        }
+      }
+    }
+    _logger.info("Loaded {} object shards from {}", this.shards.size(), this.directory);
+
+    if (this.journal != null) {
+      try {
+        for (final File f : journals) {
+          final int entries = ObjectJournal.replay(f, new ObjectJournal.Router() {
+            @Override
+            RandomAccessConcurrentHashSet<ObjectMetadata> objectsFor(final ObjectMetadata id) {
+              return shard(id.getContainerSuffix()).objects();
+            }
+          });
+          _logger.info("Replayed {} entries from journal {}", entries, f);
+        }
+      } catch (final IOException e) {
+        throw new ObjectManagerException(e);
+      }
+      // replay goes straight to the pools, bypassing the index of unread objects
+      for (final RandomObjectPopulator shard : this.shardList) {
+        shard.indexUnread();
+      }
+      persist();
+    }
+
+    this.saver = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("scheduled-object-persist").build());
+    this.saver.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        persist();
+      }
+    }, persistTime, persistTime, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Persists every shard. The shared journal is rotated first and its closed generations are only
+   * discarded once every shard has written a snapshot, since each snapshot supersedes the entries
+   * of its own shard alone.
+   */
+  private void persist() {
+    final long closed = this.journal != null ? this.journal.rotate() : -1;
+    boolean persisted = true;
+    // read after the rotation, so shards created before it are included
+    for (final RandomObjectPopulator shard : this.shardList) {
+      try {
+        shard.persist();
+      } catch (final IOException e) {
+        persisted = false;
+        _logger.error("Can't store id file", e);
+      }
+    }
+    if (this.journal != null && persisted) {
+      this.journal.deleteThrough(closed);
+    }
+  }
+
+  private String shardPrefix(final int containerSuffix) {
+    return this.prefix + "c" + containerSuffix + "_";
+  }
+
+  /**
+   * @return the shard for the provided container, creating it if absent
+   */
+  private RandomObjectPopulator shard(final int containerSuffix) {
+    RandomObjectPopulator shard = this.shards.get(containerSuffix);
+    if (shard == null) {
+      this.shardLock.lock();
+      try {
+        shard = this.shards.get(containerSuffix);
+        if (shard == null) {
+          if (this.testEnded) {
+            throw new RuntimeException("Test already ended");
+          }
+          shard = new RandomObjectPopulator(this.directory, shardPrefix(containerSuffix),
+              this.maxObjects, SHARD_CONCURRENCY_LEVEL, this.journal, this.availability);
+          this.shards.put(containerSuffix, shard);
+          this.shardList.add(shard);
+        }
+      } finally {
+        this.shardLock.unlock();
+      }
+    }
+    return shard;
+  }
+
+  private RandomObjectPopulator existingShard(final ObjectMetadata id) {
+    final RandomObjectPopulator shard = this.shards.get(id.getContainerSuffix());
+    if (shard == null) {
+      throw new ObjectManagerException(
+          String.format("No object shard for container suffix [%s]", id.getContainerSuffix()));
+    }
+    return shard;
+  }
+
+  /**
+   * @return the number of shards currently managed
+   */
+  public int getShardCount() {
+    return this.shards.size();
+  }
+
+  /**
+   * @return the number of objects currently available across all shards
+   */
+  public long getCurrentObjectCount() {
+    long count = 0;
+    for (final RandomObjectPopulator shard : this.shardList) {
+      count += shard.getCurrentObjectCount();
+    }
+    return count;
+  }
+
+  private RandomObjectPopulator preferredShard(final List<RandomObjectPopulator> shards) {
+    if (this.selection == ShardSelection.THREAD) {
+      RandomObjectPopulator shard = this.threadShard.get();
+      if (shard == null) {
+        shard = shards.get(
+            (this.nextThreadShard.getAndIncrement() & Integer.MAX_VALUE) % shards.size());
+        this.threadShard.set(shard);
+      }
+      return shard;
+    }
+    return shards.get(ThreadLocalRandom.current().nextInt(shards.size()));
+  }
+
+  /**
+   * Runs an operation against the preferred shard, then against every other shard in turn until
+   * one of them has an object available
+   *
+   * @return the selected object, or null if every non-empty shard only had busy objects
+   */
+  private ObjectMetadata select(final ShardOperation operation) {
+    if (this.testEnded) {
+      throw new RuntimeException("Test already ended");
+    }
+    final List<RandomObjectPopulator> shards = this.shardList;
+    final int shardCount = shards.size();
+    boolean busy = false;
+    if (shardCount > 0) {
+      final RandomObjectPopulator preferred = preferredShard(shards);
+      final int first = ThreadLocalRandom.current().nextInt(shardCount);
+      for (int i = -1; i < shardCount; i++) {
+        final RandomObjectPopulator shard =
+            i < 0 ? preferred : shards.get((first + i) % shardCount);
+        // skip the exception path for shards which are known to be empty
+        if (i >= 0 && (shard == preferred || shard.getCurrentObjectCount() == 0)) {
+          continue;
+        }
+        try {
+          final ObjectMetadata id = operation.apply(shard);
+          if (id != null) {
+            return id;
+          }
+          busy = true;
+        } catch (final ObjectManagerException e) {
+          _logger.trace("Object shard exhausted, trying next shard", e);
+        }
+      }
+    }
+    if (busy) {
+      return null;
+    }
+    throw new ObjectManagerException("No objects available.");
+  }
+
+  private abstract static class ShardOperation {
+    /**
+     * @return the selected object, or null if the shard only had busy objects
+     */
+    abstract ObjectMetadata apply(RandomObjectPopulator shard);
+  }
+
+  private static final ShardOperation GET = new ShardOperation() {
+    @Override
+    ObjectMetadata apply(final RandomObjectPopulator shard) {
+      return shard.get();
+    }
+  };
+
+  private static final ShardOperation GET_ONCE = new ShardOperation() {
+    @Override
+    ObjectMetadata apply(final RandomObjectPopulator shard) {
+      return shard.tryGetOnce();
+    }
+  };
+
+  private static final ShardOperation REMOVE = new ShardOperation() {
+    @Override
+    ObjectMetadata apply(final RandomObjectPopulator shard) {
+      return shard.tryRemove(false);
+    }
+  };
+
+  private static final ShardOperation REMOVE_FOR_UPDATE = new ShardOperation() {
+    @Override
+    ObjectMetadata apply(final RandomObjectPopulator shard) {
+      return shard.tryRemove(true);
+    }
+  };
+
+  /**
+   * Selects an object for exclusive use, waiting for one to be released while every shard only has
+   * busy objects within the range
+   */
+  private ObjectMetadata selectUnread(final ShardOperation operation, final boolean ranged,
+      final long minSize, final long maxSize) {
+    while (true) {
+      final ObjectMetadata id = select(operation);
+      if (id != null) {
+        return id;
+      }
+      this.selectionWaits.incrementAndGet();
+      this.availability.await(new ObjectAvailability.Check() {
+        @Override
+        boolean passes() {
+          if (ShardedObjectManager.this.testEnded) {
+            return true;
+          }
+          boolean any = false;
+          for (final RandomObjectPopulator shard : ShardedObjectManager.this.shardList) {
+            if (shard.hasUnread(ranged, minSize, maxSize)) {
+              return true;
+            }
+            any = any || shard.hasAny(ranged, minSize, maxSize);
+          }
+          // selecting again fails rather than waits
+          return !any;
+        }
+      });
+    }
+  }
+
+  @Override
+  public void add(final ObjectMetadata id) {
+    shard(id.getContainerSuffix()).add(id);
+  }
+
+  @Override
+  public ObjectMetadata get() {
+    return select(GET);
+  }
+
+  @Override
+  public ObjectMetadata get(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    return select(new ShardOperation() {
+      @Override
+      ObjectMetadata apply(final RandomObjectPopulator shard) {
+        return shard.get(minSize, maxSize);
+      }
+    });
+  }
+
+  /**
+   * Passes over shards whose objects are all being read, waiting for an object to be released once
+   * every shard has been
+   */
+  @Override
+  public ObjectMetadata getOnce() {
+    return selectUnread(GET_ONCE, false, 0, 0);
+  }
+
+  @Override
+  public void getComplete(final ObjectMetadata id) {
+    existingShard(id).getComplete(id);
+  }
+
+  @Override
+  public ObjectMetadata remove() {
+    return selectUnread(REMOVE, false, 0, 0);
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate() {
+    final ObjectMetadata id = selectUnread(REMOVE_FOR_UPDATE, false, 0, 0);
+    this.currentlyUpdating.put(id);
+    return id;
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    final ObjectMetadata id = selectUnread(new ShardOperation() {
+      @Override
+      ObjectMetadata apply(final RandomObjectPopulator shard) {
+        return shard.tryRemove(true, minSize, maxSize);
+      }
+    }, true, minSize, maxSize);
+    this.currentlyUpdating.put(id);
+    return id;
+  }
+
+  @Override
+  public ObjectMetadata removeObject(final ObjectMetadata objectMetadata) {
+    final ObjectMetadata id = existingShard(objectMetadata).removeObject(objectMetadata);
+    this.currentlyUpdating.put(id);
+    return id;
+  }
+
+  @Override
+  public void updateObject(final ObjectMetadata id) {
+    removeUpdating(id);
+    shard(id.getContainerSuffix()).updateObject(id);
+  }
+
+  @Override
+  public void removeUpdatedObject(final ObjectMetadata id) {
+    removeUpdating(id);
+    final RandomObjectPopulator shard = this.shards.get(id.getContainerSuffix());
+    if (shard != null) {
+      shard.removeUpdatedObject(id);
+    }
+  }
+
+  private void removeUpdating(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    this.currentlyUpdating.remove(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
+  }
+
+  @Override
+  public ObjectMetadata getObjectFromUpdatingCache(final String id) {
+    _logger.debug("Getting object {} from currentUpdating cache", id);
+    if (!ObjectNames.isValid(id)) {
+      // not a name this object manager could have handed out
+      return null;
+    }
+    return this.currentlyUpdating.get(ObjectNames.parseHigh(id), ObjectNames.parseLow(id),
+        ObjectNames.parseTail(id));
+  }
+
+  @Override
+  public void removeUpdatedObjectByName(final String name) {
+    _logger.trace("Removing Updated object from currentlyUpdating cache: {}", name);
+    if (!ObjectNames.isValid(name)) {
+      return;
+    }
+    final ObjectMetadata id = this.currentlyUpdating.remove(ObjectNames.parseHigh(name),
+        ObjectNames.parseLow(name), ObjectNames.parseTail(name));
+    if (id != null) {
+      final RandomObjectPopulator shard = this.shards.get(id.getContainerSuffix());
+      if (shard != null) {
+        shard.removeUpdatedObject(id);
+      }
+    }
+  }
+
+  @Override
+  public int getCurrentlyUpdatingCount() {
+    return this.currentlyUpdating.size();
+  }
+
+  @Override
+  public Map<Long, Long> getSizeClassCounts() {
+    final Map<Long, Long> counts = new TreeMap<Long, Long>();
+    for (final RandomObjectPopulator shard : this.shardList) {
+      ObjectSizeClasses.merge(counts, shard.getSizeClassCounts());
+    }
+    return counts;
+  }
+
+  /**
+   * Shards persist one after the other on the shared thread, so their stats are summed
+   */
+  @Override
+  public ObjectPersistStats getPersistStats() {
+    ObjectPersistStats stats = ObjectPersistStats.NONE;
+    for (final RandomObjectPopulator shard : this.shardList) {
+      stats = stats.plus(shard.getPersistStats());
+    }
+    return stats;
+  }
+
+  @Override
+  public ObjectSelectionStats getSelectionStats() {
+    ObjectSelectionStats stats = new ObjectSelectionStats(0, this.selectionWaits.get());
+    for (final RandomObjectPopulator shard : this.shardList) {
+      stats = stats.plus(shard.getSelectionStats());
+    }
+    return stats;
+  }
+
+  @Override
+  public void shutdown() {
+    this.testEnded = true;
+    // exclusive selections waiting for an object give up
+    this.availability.signal();
+    this.saver.shutdown();
+    while (!this.saver.isTerminated()) {
+      try {
+        this.saver.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        _logger.error("", e);
+      }
+    }
+    // no new shards can be created once the lock is held
+    this.shardLock.lock();
+    try {
+      for (final RandomObjectPopulator shard : this.shardList) {
+        shard.shutdown();
+      }
+    } finally {
+      this.shardLock.unlock();
+    }
+    if (this.journal != null) {
+      this.journal.close();
+      // the object files now hold the final state
+      this.journal.deleteThrough(Long.MAX_VALUE);
+    }
+    _logger.info("Shut down {} object shards", this.shards.size());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ShardedObjectManager [directory=%s, prefix=%s, selection=%s, shards=%s]",
+        this.directory, this.prefix, this.selection, this.shards.size());
+  }
+}
@@ -0,0 +1,985 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.ibm.og.util.ObjectManagerUtils.getFileIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.ibm.og.util.ObjectManagerUtils;
+
+/**
+ * An {@code ObjectManager} implementation whose pool lives in a memory mapped file,
+ * {@code <prefix>.pool}, which any number of OG processes on the same host attach to at once. An
+ * object written by one process can be read, reserved or deleted by any other.
+ * <p>
+ * The pool file holds a dense array of slots, each a reader count followed by an object record in
+ * the version 2.0 object file layout, an open addressing index from object name to slot, and the
+ * number of objects in each {@link ObjectSizeClasses size class}. Slots are kept grouped by size
+ * class in ascending order, so the objects within a size range occupy a contiguous run of slots
+ * whose bounds follow from the class counts.
+ * <p>
+ * Locking is done with file locks on bytes of the pool file rather than compare and swap, because
+ * mapped memory offers no atomic operations in this Java version. Adding and removing objects
+ * moves slots and index entries, and holds a layout lock exclusively. Reading only changes reader
+ * counts, so it holds the layout lock shared together with the lock of one of a fixed number of
+ * slot stripes, and reads of different stripes proceed in parallel within and across processes. A
+ * reader count of -1 marks an object reserved by {@code getOnce}, and the remove family of methods
+ * only takes objects with no readers; either waits while every matching object is busy.
+ * <p>
+ * Reader counts held by a process which exits without shutting down would otherwise pin objects
+ * forever, so they are cleared whenever a process attaches to a pool no other live process is
+ * attached to. The pool is created on first use from the existing object files with the configured
+ * prefix, is forced to disk every persist period, and is exported back to object files on shutdown
+ * so that the other object managers can load it.
+ *
+ * @since 1.12.0
+ */
+@Singleton
+public class SharedObjectPopulator implements ObjectManager {
+  private static final Logger _logger = LoggerFactory.getLogger(SharedObjectPopulator.class);
+  public static final String POOL_SUFFIX = ".pool";
+  private static final int MAGIC = 0x4F475350;
+  // version 2 groups slots by size class and locks reader counts per stripe
+  private static final int VERSION = 2;
+  private static final int RECORD_SIZE = LegacyObjectMetadata.OBJECT_SIZE;
+  private static final int SLOT_SIZE = 4 + RECORD_SIZE;
+  private static final int SIZE_OFFSET = LegacyObjectMetadata.OBJECT_NAME_SIZE;
+  private static final int RANDOM_ATTEMPTS = 16;
+  private static final int RESERVED = -1;
+  private static final int STRIPES = 32;
+  // interval at which callers poll for a busy object, since other processes cannot signal them
+  private static final long BUSY_POLL_MILLIS = 1;
+  // header layout
+  private static final int MAGIC_POSITION = 0;
+  private static final int VERSION_POSITION = 4;
+  private static final int CAPACITY_POSITION = 8;
+  private static final int COUNT_POSITION = 12;
+  private static final int TABLE_SIZE_POSITION = 16;
+  // bytes locked, never written: the layout, shared while a process is attached, and the stripes
+  private static final long STRUCTURE_POSITION = 24;
+  private static final long ATTACH_POSITION = 25;
+  private static final long STRIPE_POSITION = 32;
+  private static final int CLASS_COUNTS_POSITION = 64;
+  private static final int HEADER_SIZE = CLASS_COUNTS_POSITION + 8 * ObjectSizeClasses.COUNT;
+  private final String directory;
+  private final String prefix;
+  private final int maxObjects;
+  private final long persistFrequency;
+  private final File poolFile;
+  private final RandomAccessFile raf;
+  private final FileChannel channel;
+  private final MappedByteBuffer pool;
+  private final int capacity;
+  private final int tableSize;
+  private final int tableMask;
+  private final long tablePosition;
+  // file locks are held per process, so threads of this process also serialize on local locks
+  private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+  private final ReentrantLock sharedMutex = new ReentrantLock();
+  private int sharedHolders;
+  private FileLock sharedLock;
+  private FileLock exclusiveLock;
+  private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+  private final FileLock[] stripeLocks = new FileLock[STRIPES];
+  private final FileLock attachLock;
+  // lost races for a candidate, and polls while every matching object was busy
+  private final AtomicLong selectionSkips = new AtomicLong();
+  private final AtomicLong selectionWaits = new AtomicLong();
+  private final ObjectsByName currentlyUpdating = new ObjectsByName(16);
+  private final byte[] record = new byte[RECORD_SIZE];
+  private volatile boolean testEnded = false;
+  private volatile ObjectPersistStats persistStats = ObjectPersistStats.NONE;
+  private final ScheduledExecutorService saver;
+
+  @Inject
+  public SharedObjectPopulator(@Named("objectfile.location") final String directory,
+      @Named("objectfile.name") final String prefix,
+      @Named("objectfile.maxsize") final long maxSize,
+      @Named("objectfile.persistfrequency") final long persistFrequency) {
+    this(directory, prefix, (int) (maxSize / RECORD_SIZE), persistFrequency * 1000);
+  }
+
+  /**
+   * Creates an instance, attaching to the pool file or creating it if it does not exist
+   *
+   * @param directory the directory holding the pool file and object files
+   * @param prefix the object file prefix
+   * @param maxObjectCount the capacity of a newly created pool, and the maximum number of objects
+   *        per exported object file
+   * @param persistTime the period in milliseconds at which the pool is forced to disk
+   */
+  public SharedObjectPopulator(final String directory, final String prefix,
+      final int maxObjectCount, final long persistTime) {
+    this.directory = checkNotNull(directory);
+    if (prefix != null && !prefix.isEmpty()) {
+      this.prefix = prefix;
+    } else {
+      this.prefix = "id_";
+    }
+    checkArgument(maxObjectCount > 0, "maxObjectCount must be > 0 [%s]", maxObjectCount);
+    this.maxObjects = maxObjectCount;
+    this.persistFrequency = persistTime;
+    this.poolFile = new File(this.directory, this.prefix + POOL_SUFFIX);
+    for (int i = 0; i < STRIPES; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+
+    try {
+      this.raf = new RandomAccessFile(this.poolFile, "rw");
+      this.channel = this.raf.getChannel();
+      // creation and validation are serialized with the other processes
+      final FileLock init = this.channel.lock(STRUCTURE_POSITION, 1, false);
+      try {
+        if (this.channel.size() == 0) {
+          create(maxObjectCount);
+        }
+        final MappedByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0,
+            HEADER_SIZE);
+        checkArgument(header.getInt(MAGIC_POSITION) == MAGIC, "not an object pool file [%s]",
+            this.poolFile);
+        checkArgument(header.getInt(VERSION_POSITION) == VERSION,
+            "unsupported object pool version [%s]", header.getInt(VERSION_POSITION));
+        this.capacity = header.getInt(CAPACITY_POSITION);
+        this.tableSize = header.getInt(TABLE_SIZE_POSITION);
+        this.tableMask = this.tableSize - 1;
+        this.tablePosition = HEADER_SIZE + (long) this.capacity * SLOT_SIZE;
+        this.pool = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            this.tablePosition + 4L * this.tableSize);
+        if (this.capacity != maxObjectCount) {
+          _logger.info("Attached to existing pool with capacity {}", this.capacity);
+        }
+      } finally {
+        init.release();
+      }
+      this.attachLock = attach();
+    } catch (final IOException e) {
+      throw new ObjectManagerException(e);
+    }
+    _logger.info("Attached to shared object pool {} holding {} objects", this.poolFile,
+        getCurrentObjectCount());
+
+    this.saver = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("scheduled-object-persist").build());
+    this.saver.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        force();
+      }
+    }, persistTime, persistTime, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Forces the pool to disk. The mapping is flushed in place, so callers are not excluded.
+   */
+  private void force() {
+    final long start = System.nanoTime();
+    this.pool.force();
+    final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    this.persistStats = new ObjectPersistStats(duration, count(), 0);
+    _logger.debug("Forced shared object pool to disk in {} ms", duration);
+  }
+
+  /**
+   * Lays out an empty pool file and imports any existing object files. Must be called with the
+   * pool file locked.
+   */
+  private void create(final int capacity) throws IOException {
+    int tableSize = Integer.highestOneBit(capacity) << 1;
+    if (tableSize < 2L * capacity) {
+      tableSize <<= 1;
+    }
+    final long length = HEADER_SIZE + (long) capacity * SLOT_SIZE + 4L * tableSize;
+    checkArgument(length <= Integer.MAX_VALUE, "object pool capacity too large [%s]", capacity);
+    this.raf.setLength(length);
+    final MappedByteBuffer header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+        HEADER_SIZE);
+    header.putInt(VERSION_POSITION, VERSION);
+    header.putInt(CAPACITY_POSITION, capacity);
+    header.putInt(COUNT_POSITION, 0);
+    header.putInt(TABLE_SIZE_POSITION, tableSize);
+    // written last, so a partially created pool is rejected rather than attached to
+    header.putInt(MAGIC_POSITION, MAGIC);
+    header.force();
+    _logger.info("Created shared object pool {} with capacity {}", this.poolFile, capacity);
+  }
+
+  /**
+   * Registers this process with the pool. If no other process holds the pool, reader counts left
+   * behind by processes which exited without shutting down are cleared.
+   */
+  private FileLock attach() throws IOException {
+    final FileLock exclusive = this.channel.tryLock(ATTACH_POSITION, 1, false);
+    if (exclusive != null) {
+      // the layout file lock is not needed, no other process is attached
+      this.structure.writeLock().lock();
+      try {
+        final int count = count();
+        for (int i = 0; i < count; i++) {
+          setReaders(i, 0);
+        }
+        // a new pool is empty, import existing object files
+        if (count == 0) {
+          importObjectFiles();
+        }
+      } finally {
+        this.structure.writeLock().unlock();
+      }
+      exclusive.release();
+    }
+    return this.channel.lock(ATTACH_POSITION, 1, true);
+  }
+
+  private void importObjectFiles() throws IOException {
+    final File[] files = ObjectManagerUtils.getIdFiles(this.prefix, RandomObjectPopulator.SUFFIX,
+        this.directory);
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files, new ObjectManagerUtils.ObjectFileNameIndexComparator<File>(this.prefix));
+    final byte[] objectBytes = new byte[RECORD_SIZE];
+    for (final File file : files) {
+      final InputStream in = new BufferedInputStream(new FileInputStream(file));
+      try {
+        final ObjectFileVersion version = ObjectFileUtil.readObjectFileVersion(in);
+        final int major = version.getMajorVersion();
+        final int minor = version.getMinorVersion();
+        in.skip(ObjectFileUtil.getVersionHeaderLength(major, minor));
+        final byte[] inputBytes = ObjectFileUtil.allocateObjectBuffer(major, minor, in);
+        while (in.read(inputBytes) == inputBytes.length) {
+          addLocked(ObjectFileUtil.getObjectFromInputBuffer(major, minor, inputBytes, objectBytes)
+              .toBytes());
+        }
+      } finally {
+        in.close();
+      }
+    }
+    _logger.info("Imported {} objects into shared object pool", count());
+  }
+
+  /**
+   * Acquires a file lock on a single byte of the pool file
+   */
+  private FileLock fileLock(final long position, final boolean shared) {
+    // an interrupt during a channel operation closes the channel for every thread
+    final boolean interrupted = Thread.interrupted();
+    try {
+      return this.channel.lock(position, 1, shared);
+    } catch (final IOException e) {
+      throw new ObjectManagerException(e);
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void release(final FileLock fileLock) {
+    try {
+      fileLock.release();
+    } catch (final IOException e) {
+      throw new ObjectManagerException(e);
+    }
+  }
+
+  /**
+   * Locks the layout of the pool against additions and removals by any process, while reader
+   * counts are changed under their stripe locks. A file lock is held per process rather than per
+   * thread, so the threads of this process share a single shared file lock.
+   */
+  private void lockShared() {
+    this.structure.readLock().lock();
+    this.sharedMutex.lock();
+    try {
+      if (this.sharedHolders == 0) {
+        this.sharedLock = fileLock(STRUCTURE_POSITION, true);
+      }
+      this.sharedHolders++;
+    } catch (final RuntimeException e) {
+      this.structure.readLock().unlock();
+      throw e;
+    } finally {
+      this.sharedMutex.unlock();
+    }
+  }
+
+  private void unlockShared() {
+    this.sharedMutex.lock();
+    try {
+      if (--this.sharedHolders == 0) {
+        final FileLock shared = this.sharedLock;
+        this.sharedLock = null;
+        release(shared);
+      }
+    } finally {
+      this.sharedMutex.unlock();
+      this.structure.readLock().unlock();
+    }
+  }
+
+  /**
+   * Locks the whole pool, for adding and removing objects, against every other thread and process
+   */
+  private void lockExclusive() {
+    this.structure.writeLock().lock();
+    try {
+      this.exclusiveLock = fileLock(STRUCTURE_POSITION, false);
+    } catch (final RuntimeException e) {
+      this.structure.writeLock().unlock();
+      throw e;
+    }
+  }
+
+  private void unlockExclusive() {
+    try {
+      release(this.exclusiveLock);
+    } finally {
+      this.exclusiveLock = null;
+      this.structure.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Locks the reader count of the provided slot. Must be called with the layout locked shared.
+   */
+  private void lockStripe(final int slot) {
+    final int stripe = slot & (STRIPES - 1);
+    this.stripes[stripe].lock();
+    try {
+      this.stripeLocks[stripe] = fileLock(STRIPE_POSITION + stripe, false);
+    } catch (final RuntimeException e) {
+      this.stripes[stripe].unlock();
+      throw e;
+    }
+  }
+
+  private void unlockStripe(final int slot) {
+    final int stripe = slot & (STRIPES - 1);
+    try {
+      release(this.stripeLocks[stripe]);
+    } finally {
+      this.stripeLocks[stripe] = null;
+      this.stripes[stripe].unlock();
+    }
+  }
+
+  private static long slotPosition(final int slot) {
+    return HEADER_SIZE + (long) slot * SLOT_SIZE;
+  }
+
+  private static int recordPosition(final int slot) {
+    return (int) slotPosition(slot) + 4;
+  }
+
+  private int count() {
+    return this.pool.getInt(COUNT_POSITION);
+  }
+
+  private int readers(final int slot) {
+    return this.pool.getInt((int) slotPosition(slot));
+  }
+
+  private void setReaders(final int slot, final int readers) {
+    this.pool.putInt((int) slotPosition(slot), readers);
+  }
+
+  private long size(final int slot) {
+    return this.pool.getLong(recordPosition(slot) + SIZE_OFFSET);
+  }
+
+  private int tableEntry(final int i) {
+    return this.pool.getInt((int) (this.tablePosition + 4L * i));
+  }
+
+  private void setTableEntry(final int i, final int entry) {
+    this.pool.putInt((int) (this.tablePosition + 4L * i), entry);
+  }
+
+  private int home(final int slot) {
+    final int position = recordPosition(slot);
+    return ObjectNames.hash(this.pool.getLong(position), this.pool.getLong(position + 8),
+        this.pool.getShort(position + 16)) & this.tableMask;
+  }
+
+  /**
+   * @return the index bucket holding the named object, or -1
+   */
+  private int find(final long high, final long low, final short tail) {
+    int i = ObjectNames.hash(high, low, tail) & this.tableMask;
+    int entry;
+    while ((entry = tableEntry(i)) != 0) {
+      final int position = recordPosition(entry - 1);
+      if (this.pool.getLong(position) == high && this.pool.getLong(position + 8) == low
+          && this.pool.getShort(position + 16) == tail) {
+        return i;
+      }
+      i = (i + 1) & this.tableMask;
+    }
+    return -1;
+  }
+
+  private int find(final byte[] record) {
+    return find(ObjectNames.high(record), ObjectNames.low(record), ObjectNames.tail(record));
+  }
+
+  private void removeEntry(int hole) {
+    int i = (hole + 1) & this.tableMask;
+    int entry;
+    while ((entry = tableEntry(i)) != 0) {
+      final int home = home(entry - 1);
+      if (((i - home) & this.tableMask) >= ((i - hole) & this.tableMask)) {
+        setTableEntry(hole, entry);
+        hole = i;
+      }
+      i = (i + 1) & this.tableMask;
+    }
+    setTableEntry(hole, 0);
+  }
+
+  private int classCount(final int sizeClass) {
+    return (int) this.pool.getLong(CLASS_COUNTS_POSITION + 8 * sizeClass);
+  }
+
+  private void countClass(final int sizeClass, final int delta) {
+    final int position = CLASS_COUNTS_POSITION + 8 * sizeClass;
+    this.pool.putLong(position, this.pool.getLong(position) + delta);
+  }
+
+  /**
+   * @return the first slot of the provided size class, or the slot after the last object if it is
+   *         {@link ObjectSizeClasses#COUNT}
+   */
+  private int classStart(final int sizeClass) {
+    int start = 0;
+    for (int c = 0; c < sizeClass; c++) {
+      start += classCount(c);
+    }
+    return start;
+  }
+
+  /**
+   * @return a detached copy of the record in the provided slot; safe to call concurrently
+   */
+  private ObjectMetadata copy(final int slot) {
+    final byte[] bytes = new byte[RECORD_SIZE];
+    final ByteBuffer view = this.pool.duplicate();
+    view.position(recordPosition(slot));
+    view.get(bytes);
+    return LegacyObjectMetadata.fromBytes(bytes);
+  }
+
+  /**
+   * Moves the object in one slot, with its readers, into another and repoints its index entry.
+   * Must be called with the pool locked exclusively.
+   */
+  private void move(final int from, final int to) {
+    this.pool.position(recordPosition(from));
+    this.pool.get(this.record);
+    final int bucket = find(this.record);
+    final int readers = readers(from);
+    this.pool.position(recordPosition(to));
+    this.pool.put(this.record);
+    setReaders(to, readers);
+    setTableEntry(bucket, to + 1);
+  }
+
+  private void addLocked(final byte[] record) {
+    int readers = 0;
+    final int bucket = find(record);
+    if (bucket >= 0) {
+      // the replacement may belong to another size class, so it is reinserted keeping its readers
+      final int slot = tableEntry(bucket) - 1;
+      readers = readers(slot);
+      detach(slot);
+    }
+    final int count = count();
+    if (count == this.capacity) {
+      throw new ObjectManagerException(
+          String.format("Shared object pool is full [%s]", this.capacity));
+    }
+    final int sizeClass = ObjectSizeClasses.of(ByteBuffer.wrap(record).getLong(SIZE_OFFSET));
+    // open a slot at the end of the size class by moving the first object of each later non-empty
+    // class to the end of that class
+    int hole = count;
+    int end = count;
+    for (int c = ObjectSizeClasses.COUNT - 1; c > sizeClass; c--) {
+      final int start = end - classCount(c);
+      if (start < end) {
+        move(start, hole);
+        hole = start;
+      }
+      end = start;
+    }
+    setReaders(hole, readers);
+    this.pool.position(recordPosition(hole));
+    this.pool.put(record);
+    int i = home(hole);
+    while (tableEntry(i) != 0) {
+      i = (i + 1) & this.tableMask;
+    }
+    setTableEntry(i, hole + 1);
+    this.pool.putInt(COUNT_POSITION, count + 1);
+    countClass(sizeClass, 1);
+  }
+
+  /**
+   * Removes the object in the provided slot from the pool, closing the gap by moving the last object
+   * of its size class and of each later non-empty class down. Must be called with the pool locked
+   * exclusively.
+   */
+  private ObjectMetadata detach(final int slot) {
+    final ObjectMetadata id = copy(slot);
+    removeEntry(find(id.toBytes()));
+    final int sizeClass = ObjectSizeClasses.of(id.getSize());
+    int hole = slot;
+    int start = classStart(sizeClass);
+    for (int c = sizeClass; c < ObjectSizeClasses.COUNT; c++) {
+      final int end = start + classCount(c);
+      if (end - 1 > hole) {
+        move(end - 1, hole);
+        hole = end - 1;
+      }
+      start = end;
+    }
+    countClass(sizeClass, -1);
+    this.pool.putInt(COUNT_POSITION, count() - 1);
+    return id;
+  }
+
+  /**
+   * Selects a random slot holding an object in {@code [minSize, maxSize)} whose reader count is
+   * accepted. The matching objects occupy the run of slots of the size classes the range spans, so
+   * only that run is drawn from, and only scanned if every draw misses. Must be called with the pool
+   * locked; reader counts are only checked as a hint, callers holding the pool shared recheck them
+   * under the stripe lock.
+   *
+   * @param unread if true only unread objects are accepted, otherwise any object not reserved
+   * @return the slot, -2 if matching objects exist but none are accepted, or -1 if none match
+   */
+  private int select(final long minSize, final long maxSize, final boolean unread) {
+    final int first = ObjectSizeClasses.first(minSize);
+    final int last = ObjectSizeClasses.last(maxSize);
+    final int start = classStart(first);
+    int end = start;
+    for (int c = first; c <= last; c++) {
+      end += classCount(c);
+    }
+    final int count = end - start;
+    if (count == 0) {
+      return -1;
+    }
+    for (int i = 0; i < RANDOM_ATTEMPTS; i++) {
+      final int slot = start + ThreadLocalRandom.current().nextInt(count);
+      if (accepted(slot, minSize, maxSize, unread)) {
+        return slot;
+      }
+    }
+    // draws only miss in classes straddling an unaligned bound or when objects are busy
+    boolean matched = false;
+    final int offset = ThreadLocalRandom.current().nextInt(count);
+    for (int i = 0; i < count; i++) {
+      final int slot = start + (offset + i) % count;
+      final long size = size(slot);
+      if (size >= minSize && size < maxSize) {
+        if (accepted(slot, minSize, maxSize, unread)) {
+          return slot;
+        }
+        matched = true;
+      }
+    }
+    return matched ? -2 : -1;
+  }
+
+  private boolean accepted(final int slot, final long minSize, final long maxSize,
+      final boolean unread) {
+    final long size = size(slot);
+    if (size < minSize || size >= maxSize) {
+      return false;
+    }
+    return acceptedReaders(readers(slot), unread);
+  }
+
+  private static boolean acceptedReaders(final int readers, final boolean unread) {
+    return unread ? readers == 0 : readers != RESERVED;
+  }
+
+  private void checkNotEnded() {
+    if (this.testEnded) {
+      throw new RuntimeException("Test already ended");
+    }
+  }
+
+  /**
+   * Waits before looking for a busy object again, giving up if the test has ended
+   */
+  private void awaitRelease() {
+    this.selectionWaits.incrementAndGet();
+    Uninterruptibles.sleepUninterruptibly(BUSY_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    checkNotEnded();
+  }
+
+  /**
+   * @return the number of objects currently in the shared pool
+   */
+  public long getCurrentObjectCount() {
+    lockShared();
+    try {
+      return count();
+    } finally {
+      unlockShared();
+    }
+  }
+
+  @Override
+  public void add(final ObjectMetadata objectMetadata) {
+    _logger.debug("Adding object: {}", objectMetadata);
+    final byte[] record = objectMetadata.toBytes();
+    lockExclusive();
+    try {
+      addLocked(record);
+    } finally {
+      unlockExclusive();
+    }
+  }
+
+  /**
+   * Registers a reader of an object in the provided range, waiting for readers in any process to
+   * finish if every matching object is busy
+   *
+   * @param once if true the object is reserved for the caller alone
+   */
+  private ObjectMetadata read(final long minSize, final long maxSize, final boolean once) {
+    checkNotEnded();
+    while (true) {
+      final int slot;
+      lockShared();
+      try {
+        slot = select(minSize, maxSize, once);
+        if (slot == -1) {
+          throw new ObjectManagerException("No objects available.");
+        }
+        if (slot >= 0) {
+          lockStripe(slot);
+          try {
+            final int readers = readers(slot);
+            if (acceptedReaders(readers, once)) {
+              setReaders(slot, once ? RESERVED : readers + 1);
+              final ObjectMetadata id = copy(slot);
+              _logger.trace("Getting object: {}", id);
+              return id;
+            }
+          } finally {
+            unlockStripe(slot);
+          }
+          // another thread or process took it first
+          this.selectionSkips.incrementAndGet();
+        }
+      } finally {
+        unlockShared();
+      }
+      if (slot == -2) {
+        _logger.debug("all objects are currently busy, waiting for release");
+        awaitRelease();
+      }
+    }
+  }
+
+  @Override
+  public ObjectMetadata get() {
+    return read(0, Long.MAX_VALUE, false);
+  }
+
+  @Override
+  public ObjectMetadata get(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    return read(minSize, maxSize, false);
+  }
+
+  @Override
+  public ObjectMetadata getOnce() {
+    return read(0, Long.MAX_VALUE, true);
+  }
+
+  @Override
+  public void getComplete(final ObjectMetadata objectMetadata) {
+    final byte[] record = objectMetadata.toBytes();
+    lockShared();
+    try {
+      final int bucket = find(record);
+      final int slot = bucket < 0 ? -1 : tableEntry(bucket) - 1;
+      if (slot < 0) {
+        _logger.warn("object {} is not currently being read", objectMetadata);
+        return;
+      }
+      lockStripe(slot);
+      try {
+        final int readers = readers(slot);
+        if (readers == 0) {
+          _logger.warn("object {} is not currently being read", objectMetadata);
+          return;
+        }
+        setReaders(slot, readers == RESERVED ? 0 : readers - 1);
+      } finally {
+        unlockStripe(slot);
+      }
+    } finally {
+      unlockShared();
+    }
+    _logger.trace("Returning read object: {}", objectMetadata);
+  }
+
+  /**
+   * Removes an unread object, waiting for readers in any process to finish if every matching
+   * object is being read
+   */
+  private ObjectMetadata removeUnread(final long minSize, final long maxSize) {
+    while (true) {
+      lockExclusive();
+      try {
+        final int slot = select(minSize, maxSize, true);
+        if (slot == -1) {
+          throw new ObjectManagerException("No objects available.");
+        }
+        if (slot >= 0) {
+          final ObjectMetadata id = detach(slot);
+          _logger.debug("Removing object: {}", id);
+          return id;
+        }
+      } finally {
+        unlockExclusive();
+      }
+      _logger.debug("all objects are currently being read, waiting for release");
+      awaitRelease();
+    }
+  }
+
+  @Override
+  public ObjectMetadata remove() {
+    return removeUnread(0, Long.MAX_VALUE);
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate() {
+    final ObjectMetadata id = removeUnread(0, Long.MAX_VALUE);
+    this.currentlyUpdating.put(id);
+    return id;
+  }
+
+  @Override
+  public ObjectMetadata removeForUpdate(final long minSize, final long maxSize) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    final ObjectMetadata id = removeUnread(minSize, maxSize);
+    this.currentlyUpdating.put(id);
+    return id;
+  }
+
+  @Override
+  public ObjectMetadata removeObject(final ObjectMetadata objectMetadata) {
+    final byte[] record = objectMetadata.toBytes();
+    while (true) {
+      lockExclusive();
+      try {
+        final int bucket = find(record);
+        if (bucket < 0) {
+          throw new ObjectManagerException("No objects available.");
+        }
+        final int slot = tableEntry(bucket) - 1;
+        if (readers(slot) == 0) {
+          final ObjectMetadata id = detach(slot);
+          _logger.trace("Removing object: {}", id);
+          this.currentlyUpdating.put(id);
+          return id;
+        }
+      } finally {
+        unlockExclusive();
+      }
+      _logger.info("object {} is currently being read, waiting", objectMetadata.getName());
+      awaitRelease();
+    }
+  }
+
+  @Override
+  public void updateObject(final ObjectMetadata objectMetadata) {
+    _logger.debug("Adding Updated object: {}", objectMetadata);
+    removeUpdating(objectMetadata);
+    add(objectMetadata);
+  }
+
+  @Override
+  public void removeUpdatedObject(final ObjectMetadata id) {
+    _logger.trace("Removing Updated object from currentlyUpdating cache: {}", id);
+    removeUpdating(id);
+  }
+
+  @Override
+  public ObjectMetadata getObjectFromUpdatingCache(final String id) {
+    _logger.debug("Getting object {} from currentUpdating cache", id);
+    if (!ObjectNames.isValid(id)) {
+      // not a name this object manager could have handed out
+      return null;
+    }
+    return this.currentlyUpdating.get(ObjectNames.parseHigh(id), ObjectNames.parseLow(id),
+        ObjectNames.parseTail(id));
+  }
+
+  private void removeUpdating(final ObjectMetadata id) {
+    final byte[] record = id.toBytes();
+    this.currentlyUpdating.remove(ObjectNames.high(record), ObjectNames.low(record),
+        ObjectNames.tail(record));
+  }
+
+  @Override
+  public void removeUpdatedObjectByName(final String name) {
+    _logger.trace("Removing Updated object from currentlyUpdating cache: {}", name);
+    if (!ObjectNames.isValid(name)) {
+      return;
+    }
+    this.currentlyUpdating.remove(ObjectNames.parseHigh(name), ObjectNames.parseLow(name),
+        ObjectNames.parseTail(name));
+  }
+
+  @Override
+  public int getCurrentlyUpdatingCount() {
+    return this.currentlyUpdating.size();
+  }
+
+  @Override
+  public Map<Long, Long> getSizeClassCounts() {
+    final SortedMap<Long, Long> counts = new TreeMap<Long, Long>();
+    lockShared();
+    try {
+      for (int c = 0; c < ObjectSizeClasses.COUNT; c++) {
+        final long count = this.pool.getLong(CLASS_COUNTS_POSITION + 8 * c);
+        if (count > 0) {
+          counts.put(ObjectSizeClasses.lowerBound(c), count);
+        }
+      }
+    } finally {
+      unlockShared();
+    }
+    return counts;
+  }
+
+  @Override
+  public ObjectPersistStats getPersistStats() {
+    return this.persistStats;
+  }
+
+  @Override
+  public ObjectSelectionStats getSelectionStats() {
+    return new ObjectSelectionStats(this.selectionSkips.get(), this.selectionWaits.get());
+  }
+
+  /**
+   * Writes the whole pool to object files of at most {@code maxObjects} records each. Must be
+   * called with the pool locked exclusively.
+   */
+  private void exportObjectFiles() throws IOException {
+    final int count = count();
+    int fileIndex = 0;
+    for (int first = 0; first < count || fileIndex == 0; first += this.maxObjects) {
+      final OutputStream out =
+          new BufferedOutputStream(new FileOutputStream(createFile(fileIndex++)));
+      try {
+        ObjectFileUtil.writeObjectFileVersion(out);
+        for (int slot = first; slot < Math.min(count, first + this.maxObjects); slot++) {
+          this.pool.position(recordPosition(slot));
+          this.pool.get(this.record);
+          out.write(this.record);
+        }
+      } finally {
+        out.close();
+      }
+    }
+    final File[] files = ObjectManagerUtils.getIdFiles(this.prefix, RandomObjectPopulator.SUFFIX,
+        this.directory);
+    if (files != null) {
+      for (final File file : files) {
+        if (getFileIndex(this.prefix, file.getName()) >= fileIndex) {
+          _logger.info("deleting stale object file [{}]", file.getName());
+          file.delete();
+        }
+      }
+    }
+    _logger.info("Wrote {} objects into {} object files", count, fileIndex);
+  }
+
+  private File createFile(final int idx) {
+    return new File(this.directory + "/" + this.prefix + idx + RandomObjectPopulator.SUFFIX);
+  }
+
+  @Override
+  public void shutdown() {
+    _logger.info("shutting down object manager");
+    this.testEnded = true;
+    this.saver.shutdown();
+    while (!this.saver.isTerminated()) {
+      try {
+        this.saver.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        _logger.error("", e);
+      }
+    }
+
+    lockExclusive();
+    try {
+      force();
+      exportObjectFiles();
+    } catch (final IOException e) {
+      throw new ObjectManagerException(e);
+    } finally {
+      unlockExclusive();
+    }
+    try {
+      this.attachLock.release();
+      this.raf.close();
+    } catch (final IOException e) {
+      throw new ObjectManagerException(e);
+    }
+    _logger.info("object manager is shutdown");
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SharedObjectPopulator [maxObjects=%s, directory=%s, prefix=%s, persistFrequency=%s]",
+        this.maxObjects, this.directory, this.prefix, this.persistFrequency);
+  }
+}
@@ -0,0 +1,242 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import java.util.Iterator;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An object set which additionally indexes its members by {@link ObjectSizeClasses size class},
+ * so that a random member within a size range can be selected without scanning. The set itself
+ * remains authoritative; each size class is a secondary set which is brought back in line with the
+ * primary set under a per-object lock stripe after every change.
+ *
+ * @since 1.12.0
+ */
+final class SizeIndexedObjectSet extends RandomAccessConcurrentHashSet<ObjectMetadata> {
+  private static final int MAX_STRIPES = 64;
+  // random draws before falling back to a scan of the classes straddling a range bound
+  private static final int RANGE_ATTEMPTS = 16;
+  private final AtomicReferenceArray<RandomAccessConcurrentHashSet<ObjectMetadata>> classes;
+  private final AtomicLongArray counts;
+  private final ReentrantLock[] stripes;
+  private final int concurrencyLevel;
+
+  /**
+   * Creates an instance
+   *
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   */
+  SizeIndexedObjectSet(final int concurrencyLevel) {
+    super(16, 0.75f, concurrencyLevel);
+    this.concurrencyLevel = concurrencyLevel;
+    this.classes = new AtomicReferenceArray<RandomAccessConcurrentHashSet<ObjectMetadata>>(
+        ObjectSizeClasses.COUNT);
+    this.counts = new AtomicLongArray(ObjectSizeClasses.COUNT);
+    // four stripes per updating thread keeps collisions rare without a fixed cost per small set
+    int stripes = 1;
+    while (stripes < MAX_STRIPES && stripes < 4 * concurrencyLevel) {
+      stripes <<= 1;
+    }
+    this.stripes = new ReentrantLock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+  }
+
+  private ReentrantLock stripeFor(final Object id) {
+    final int h = id.hashCode();
+    return this.stripes[(h ^ (h >>> 16)) & (this.stripes.length - 1)];
+  }
+
+  /**
+   * Returns the lock which {@link #put(ObjectMetadata)} and {@link #remove(Object)} hold while
+   * changing the provided object. Callers may hold it across a change and any bookkeeping which
+   * must be ordered with other changes to the same object; it is reentrant.
+   */
+  ReentrantLock lockFor(final ObjectMetadata id) {
+    return stripeFor(id);
+  }
+
+  private RandomAccessConcurrentHashSet<ObjectMetadata> sizeClass(final int sizeClass) {
+    RandomAccessConcurrentHashSet<ObjectMetadata> set = this.classes.get(sizeClass);
+    if (set == null) {
+      // classes are created on demand, most pools only ever use a handful
+      this.classes.compareAndSet(sizeClass, null,
+          new RandomAccessConcurrentHashSet<ObjectMetadata>(16, 0.75f, this.concurrencyLevel));
+      set = this.classes.get(sizeClass);
+    }
+    return set;
+  }
+
+  private void index(final ObjectMetadata id) {
+    final int c = ObjectSizeClasses.of(id.getSize());
+    if (sizeClass(c).put(id) != null) {
+      this.counts.incrementAndGet(c);
+    }
+  }
+
+  private void unindex(final ObjectMetadata id) {
+    final int c = ObjectSizeClasses.of(id.getSize());
+    final RandomAccessConcurrentHashSet<ObjectMetadata> set = this.classes.get(c);
+    if (set != null && set.remove(id) != null) {
+      this.counts.decrementAndGet(c);
+    }
+  }
+
+  @Override
+  public ObjectMetadata put(final ObjectMetadata id) {
+    final ReentrantLock stripe = stripeFor(id);
+    stripe.lock();
+    try {
+      final ObjectMetadata added = super.put(id);
+      if (added != null) {
+        index(id);
+      }
+      return added;
+    } finally {
+      stripe.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata remove(final Object key) {
+    final ReentrantLock stripe = stripeFor(key);
+    stripe.lock();
+    try {
+      final ObjectMetadata removed = super.remove(key);
+      if (removed != null) {
+        unindex(removed);
+      }
+      return removed;
+    } finally {
+      stripe.unlock();
+    }
+  }
+
+  @Override
+  public ObjectMetadata removeRandom() {
+    final ObjectMetadata id = super.removeRandom();
+    if (id != null) {
+      final ReentrantLock stripe = stripeFor(id);
+      stripe.lock();
+      try {
+        // the object may have been put back since it was removed
+        if (!super.contains(id)) {
+          unindex(id);
+        }
+      } finally {
+        stripe.unlock();
+      }
+    }
+    return id;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    for (int c = 0; c < ObjectSizeClasses.COUNT; c++) {
+      final RandomAccessConcurrentHashSet<ObjectMetadata> set = this.classes.get(c);
+      if (set != null) {
+        set.clear();
+      }
+      this.counts.set(c, 0);
+    }
+  }
+
+  /**
+   * Returns a random member with a size in {@code [minSize, maxSize)}. As with
+   * {@link #getRandom()}, the member may be removed concurrently and callers must recheck
+   * membership once they have registered their use of it.
+   *
+   * @return a member, or null if no member is within the range
+   */
+  ObjectMetadata getRandom(final long minSize, final long maxSize) {
+    return select(minSize, maxSize, false);
+  }
+
+  /**
+   * Removes and returns a random member with a size in {@code [minSize, maxSize)}
+   *
+   * @return the removed member, or null if no member is within the range
+   */
+  ObjectMetadata removeRandom(final long minSize, final long maxSize) {
+    return select(minSize, maxSize, true);
+  }
+
+  private ObjectMetadata select(final long minSize, final long maxSize, final boolean remove) {
+    ObjectSizeClasses.checkRange(minSize, maxSize);
+    final int first = ObjectSizeClasses.first(minSize);
+    final int last = ObjectSizeClasses.last(maxSize);
+    for (int attempt = 0; attempt < RANGE_ATTEMPTS; attempt++) {
+      final int c = ObjectSizeClasses.choose(this.counts, first, last);
+      if (c < 0) {
+        return null;
+      }
+      final ObjectMetadata id = sizeClass(c).getRandom();
+      if (id != null && id.getSize() >= minSize && id.getSize() < maxSize && claim(id, remove)) {
+        return id;
+      }
+    }
+    // only the classes at either end of an unaligned range can hold members outside of it, so
+    // repeated misses are settled by scanning those and drawing from the remaining classes alone
+    final boolean firstWithin = ObjectSizeClasses.within(first, minSize, maxSize);
+    final boolean lastWithin = ObjectSizeClasses.within(last, minSize, maxSize);
+    for (int c = first; c <= last; c += Math.max(1, last - first)) {
+      if (!ObjectSizeClasses.within(c, minSize, maxSize)) {
+        final ObjectMetadata id = scan(c, minSize, maxSize, remove);
+        if (id != null) {
+          return id;
+        }
+      }
+    }
+    final int innerFirst = firstWithin ? first : first + 1;
+    final int innerLast = lastWithin ? last : last - 1;
+    for (int attempt = 0; innerFirst <= innerLast && attempt < RANGE_ATTEMPTS; attempt++) {
+      final int c = ObjectSizeClasses.choose(this.counts, innerFirst, innerLast);
+      if (c < 0) {
+        return null;
+      }
+      final ObjectMetadata id = sizeClass(c).getRandom();
+      if (id != null && claim(id, remove)) {
+        return id;
+      }
+    }
+    return null;
+  }
+
+  private ObjectMetadata scan(final int sizeClass, final long minSize, final long maxSize,
+      final boolean remove) {
+    final RandomAccessConcurrentHashSet<ObjectMetadata> set = this.classes.get(sizeClass);
+    if (set == null) {
+      return null;
+    }
+    for (final Iterator<ObjectMetadata> it = set.iterator(); it.hasNext();) {
+      final ObjectMetadata id = it.next();
+      if (id.getSize() >= minSize && id.getSize() < maxSize && claim(id, remove)) {
+        return id;
+      }
+    }
+    return null;
+  }
+
+  private boolean claim(final ObjectMetadata id, final boolean remove) {
+    if (!remove) {
+      return super.contains(id);
+    }
+    return remove(id) != null;
+  }
+
+  /**
+   * @return the number of members in each non-empty size class
+   */
+  SortedMap<Long, Long> sizeClassCounts() {
+    return ObjectSizeClasses.toMap(this.counts);
+  }
+}
@@ -0,0 +1,129 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * A flyweight {@code ObjectMetadata} view over a single record in an {@link ObjectSlab}. A view
+ * holds no copy of the record; it is only valid while its slot remains allocated to the same
+ * object, which an object manager guarantees for objects handed out for reading until
+ * {@code getComplete} is called.
+ *
+ * @since 1.12.0
+ */
+public class SlabObjectMetadata implements ObjectMetadata {
+  private static final BaseEncoding ENCODING = BaseEncoding.base16().lowerCase();
+  private static final int SIZE_OFFSET = LegacyObjectMetadata.OBJECT_NAME_SIZE;
+  private static final int SUFFIX_OFFSET = SIZE_OFFSET + LegacyObjectMetadata.OBJECT_SIZE_SIZE;
+  private static final int LEGAL_HOLDS_OFFSET =
+      SUFFIX_OFFSET + LegacyObjectMetadata.OBJECT_SUFFIX_SIZE;
+  private static final int RETENTION_OFFSET =
+      LEGAL_HOLDS_OFFSET + LegacyObjectMetadata.OBJECT_LEGAL_HOLDS_SIZE;
+  private static final int IDENTITY_SIZE = LEGAL_HOLDS_OFFSET;
+  private final ObjectSlab slab;
+  private final int slot;
+
+  /**
+   * Constructs a view
+   *
+   * @param slab the slab holding the record
+   * @param slot the slot of the record within the slab
+   */
+  public SlabObjectMetadata(final ObjectSlab slab, final int slot) {
+    this.slab = checkNotNull(slab);
+    this.slot = slot;
+  }
+
+  /**
+   * @return the slab slot this view refers to
+   */
+  public int getSlot() {
+    return this.slot;
+  }
+
+  /**
+   * @return true if this view refers to a record in the provided slab
+   */
+  public boolean isBackedBy(final ObjectSlab slab) {
+    return this.slab == slab;
+  }
+
+  @Override
+  public String getName() {
+    final byte[] record = this.slab.toBytes(this.slot);
+    return ENCODING.encode(record, 0, LegacyObjectMetadata.OBJECT_NAME_SIZE);
+  }
+
+  @Override
+  public long getSize() {
+    return this.slab.getLong(this.slot, SIZE_OFFSET);
+  }
+
+  @Override
+  public int getContainerSuffix() {
+    return this.slab.getInt(this.slot, SUFFIX_OFFSET);
+  }
+
+  @Override
+  public int getNumberOfLegalHolds() {
+    return this.slab.getByte(this.slot, LEGAL_HOLDS_OFFSET);
+  }
+
+  @Override
+  public int getRetention() {
+    return this.slab.getInt(this.slot, RETENTION_OFFSET);
+  }
+
+  @Override
+  public byte[] toBytes() {
+    return this.slab.toBytes(this.slot);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == null) {
+      return false;
+    }
+
+    if (!(obj instanceof ObjectMetadata)) {
+      return false;
+    }
+
+    final ObjectMetadata other = (ObjectMetadata) obj;
+    final byte[] a1 = Arrays.copyOf(toBytes(), IDENTITY_SIZE);
+    final byte[] a2 = Arrays.copyOf(other.toBytes(), IDENTITY_SIZE);
+    return Arrays.equals(a1, a2);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(Arrays.copyOf(toBytes(), IDENTITY_SIZE));
+  }
+
+  @Override
+  public int compareTo(final ObjectMetadata o) {
+    final byte[] b1 = toBytes();
+    final byte[] b2 = o.toBytes();
+    final int lim = Math.min(b1.length, b2.length);
+    for (int k = 0; k < lim; k++) {
+      if (b1[k] != b2[k]) {
+        return b1[k] - b2[k];
+      }
+    }
+    return b1.length - b2.length;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SlabObjectMetadata [name=%s, size=%s legalholds=%s retention=%s]",
+        getName(), getSize(), getNumberOfLegalHolds(), getRetention());
+  }
+}
@@ -0,0 +1,115 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+/**
+ * An open addressing hash index from object name to {@link ObjectSlab} slot. Keys are never
+ * stored on heap; the index holds only slot numbers and compares names directly against the slab.
+ * Uses linear probing with backward shift deletion so no tombstones accumulate. Not thread safe.
+ *
+ * @since 1.12.0
+ */
+final class SlotIndex {
+  private static final int EMPTY = 0;
+  private final ObjectSlab slab;
+  // slot + 1, so that 0 marks an empty bucket
+  private int[] table;
+  private int mask;
+  private int size;
+
+  SlotIndex(final ObjectSlab slab) {
+    this.slab = slab;
+    this.table = new int[1024];
+    this.mask = this.table.length - 1;
+  }
+
+  private static int mix(final int h) {
+    final int x = h * 0x9E3779B9;
+    return x ^ (x >>> 16);
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * @return the slot holding an object with the same name as the provided record, or -1
+   */
+  int find(final byte[] record) {
+    int i = mix(ObjectSlab.nameHash(record)) & this.mask;
+    int entry;
+    while ((entry = this.table[i]) != EMPTY) {
+      if (this.slab.nameEquals(entry - 1, record)) {
+        return entry - 1;
+      }
+      i = (i + 1) & this.mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Indexes the provided slot unless another slot already holds the same name
+   *
+   * @return the slot already holding the name, or -1 if the provided slot was indexed
+   */
+  int insertIfAbsent(final int slot) {
+    if (2 * (this.size + 1) > this.table.length) {
+      resize();
+    }
+    int i = mix(this.slab.nameHash(slot)) & this.mask;
+    int entry;
+    while ((entry = this.table[i]) != EMPTY) {
+      if (this.slab.nameEquals(entry - 1, slot)) {
+        return entry - 1;
+      }
+      i = (i + 1) & this.mask;
+    }
+    this.table[i] = slot + 1;
+    this.size++;
+    return -1;
+  }
+
+  /**
+   * Removes the provided slot from the index. The slot's record must not have been modified since
+   * it was indexed.
+   */
+  void remove(final int slot) {
+    int hole = mix(this.slab.nameHash(slot)) & this.mask;
+    while (this.table[hole] != slot + 1) {
+      if (this.table[hole] == EMPTY) {
+        return;
+      }
+      hole = (hole + 1) & this.mask;
+    }
+    this.size--;
+    int i = (hole + 1) & this.mask;
+    int entry;
+    while ((entry = this.table[i]) != EMPTY) {
+      final int home = mix(this.slab.nameHash(entry - 1)) & this.mask;
+      if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+        this.table[hole] = entry;
+        hole = i;
+      }
+      i = (i + 1) & this.mask;
+    }
+    this.table[hole] = EMPTY;
+  }
+
+  private void resize() {
+    final int[] old = this.table;
+    this.table = new int[old.length * 2];
+    this.mask = this.table.length - 1;
+    for (final int entry : old) {
+      if (entry != EMPTY) {
+        int i = mix(this.slab.nameHash(entry - 1)) & this.mask;
+        while (this.table[i] != EMPTY) {
+          i = (i + 1) & this.mask;
+        }
+        this.table[i] = entry;
+      }
+    }
+  }
+}
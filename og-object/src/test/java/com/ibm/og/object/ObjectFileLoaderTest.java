@@ -0,0 +1,102 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Sets;
+
+public class ObjectFileLoaderTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private ObjectFileLoader loader;
+  private RandomAccessConcurrentHashSet<ObjectMetadata> objects;
+
+  @Before
+  public void before() {
+    // small ranges so that files are split across many tasks
+    this.loader = new ObjectFileLoader(4, 7);
+    this.objects = new RandomAccessConcurrentHashSet<ObjectMetadata>();
+  }
+
+  @After
+  public void after() {
+    this.loader.shutdown();
+  }
+
+  private ObjectMetadata generateId() {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        1024, 3, (byte) 1, 7);
+  }
+
+  private Set<ObjectMetadata> loaded() {
+    final Set<ObjectMetadata> loaded = Sets.newHashSet();
+    for (final Iterator<ObjectMetadata> it = this.objects.iterator(); it.hasNext();) {
+      loaded.add(it.next());
+    }
+    return loaded;
+  }
+
+  @Test
+  public void loadVersion2() throws IOException {
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    final File file = this.folder.newFile();
+    final OutputStream out = new FileOutputStream(file);
+    ObjectFileUtil.writeObjectFileVersion(out);
+    for (int i = 0; i < 100; i++) {
+      final ObjectMetadata id = generateId();
+      ids.add(id);
+      out.write(id.toBytes());
+    }
+    // partial trailing record
+    out.write(new byte[3]);
+    out.close();
+
+    assertEquals(100, this.loader.load(file, this.objects));
+    assertEquals(ids, loaded());
+  }
+
+  @Test
+  public void loadVersion1() throws IOException {
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    final File file = this.folder.newFile();
+    final OutputStream out = new FileOutputStream(file);
+    for (int i = 0; i < 50; i++) {
+      final ObjectMetadata id = generateId();
+      ids.add(id);
+      out.write(Arrays.copyOf(id.toBytes(), ObjectFileUtil.OBJECT_SIZE_V1_0));
+    }
+    out.close();
+
+    assertEquals(50, this.loader.load(file, this.objects));
+    assertEquals(ids, loaded());
+    for (final ObjectMetadata id : loaded()) {
+      assertEquals(0, id.getNumberOfLegalHolds());
+      assertEquals(-1, id.getRetention());
+    }
+  }
+
+  @Test
+  public void loadEmpty() throws IOException {
+    assertEquals(0, this.loader.load(this.folder.newFile(), this.objects));
+    assertEquals(0, this.objects.size());
+  }
+}
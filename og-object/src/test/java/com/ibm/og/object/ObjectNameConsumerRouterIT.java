@@ -0,0 +1,254 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.EventBus;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.HttpResponse;
+import com.ibm.og.http.HttpUtil;
+import com.ibm.og.util.Context;
+import com.ibm.og.util.Pair;
+
+/**
+ * Delivery benchmark for {@link ObjectNameConsumerRouter}. Posts completed writes and reads to an
+ * event bus from an increasing number of threads and logs the achieved events/sec at each thread
+ * count, both with a single router registered and with each of the same consumers registered
+ * individually, as they were before routing.
+ */
+public class ObjectNameConsumerRouterIT {
+  private static final Logger _logger = LoggerFactory.getLogger(ObjectNameConsumerRouterIT.class);
+  private static final long DURATION_MILLIS = 1000;
+  // copies of the consumer set a test provides, for well over 20 registered consumers
+  private static final int COPIES = 2;
+
+  private static Pair<Request, Response> completed(final Operation operation,
+      final Method method) {
+    final Request request =
+        new HttpRequest.Builder(method, URI.create("http://127.0.0.1/container/object"), operation)
+            .withBody(Bodies.zeroes(1024))
+            .withContext(Context.X_OG_OBJECT_NAME, "5c18be1057404792923dc487ca40f2370000")
+            .withContext(Context.X_OG_OBJECT_SIZE, "1024").build();
+    final Response response = new HttpResponse.Builder().withStatusCode(200).build();
+    return Pair.of(request, response);
+  }
+
+  // the consumers OGModule provides, copied
+  private static List<AbstractObjectNameConsumer> consumers(final ObjectManager objectManager) {
+    final Set<Integer> sc = HttpUtil.SUCCESS_STATUS_CODES;
+    final Set<Integer> legalHoldsSc = Sets.newHashSet();
+    legalHoldsSc.addAll(sc);
+    legalHoldsSc.addAll(ContiguousSet.create(Range.closed(400, 451), DiscreteDomain.integers()));
+    final List<AbstractObjectNameConsumer> consumers = Lists.newArrayList();
+    for (int i = 0; i < COPIES; i++) {
+      consumers.add(new WriteObjectNameConsumer(objectManager, sc));
+      consumers.add(new ReadObjectNameConsumer(objectManager, sc));
+      consumers.add(new MetadataObjectNameConsumer(objectManager, sc));
+      consumers.add(new OverwriteObjectNameConsumer(objectManager, sc));
+      consumers.add(new MultipartWriteObjectNameConsumer(objectManager, sc));
+      consumers.add(new WriteCopyObjectNameConsumer(objectManager, sc));
+      consumers.add(
+          new DeleteObjectConsumer(objectManager, HttpUtil.DELETE_HANDLING_STATUS_CODES));
+      consumers.add(new WriteLegalHoldObjectNameConsumer(objectManager, legalHoldsSc));
+      consumers.add(new ReadObjectLegalHoldConsumer(objectManager, legalHoldsSc));
+      consumers.add(new DeleteObjectLegalHoldConsumer(objectManager, legalHoldsSc));
+      consumers.add(new ExtendRetentionObjectNameConsumer(objectManager, legalHoldsSc));
+      consumers.add(new MultiDeleteConsumer(objectManager, sc));
+      consumers.add(new WriteObjectTagsConsumer(objectManager, HttpUtil.VALID_STATUS_CODES));
+      consumers.add(new DeleteObjectTagsConsumer(objectManager, HttpUtil.VALID_STATUS_CODES));
+    }
+    return consumers;
+  }
+
+  @Test
+  public void deliveryScaling() throws Exception {
+    final Pair<Request, Response> write = completed(Operation.WRITE, Method.PUT);
+    final Pair<Request, Response> read = completed(Operation.READ, Method.GET);
+
+    final int maxThreads = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+    double current = 0;
+    double previous = 0;
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      final CountingObjectManager routedManager = new CountingObjectManager();
+      final List<AbstractObjectNameConsumer> routedConsumers = consumers(routedManager);
+      final EventBus routed = new EventBus();
+      routed.register(new ObjectNameConsumerRouter(routedConsumers));
+      final long routedEvents = post(routed, write, read, threads);
+      current = routedEvents / (DURATION_MILLIS / 1e3);
+
+      final CountingObjectManager individualManager = new CountingObjectManager();
+      final EventBus individual = new EventBus();
+      for (final AbstractObjectNameConsumer consumer : consumers(individualManager)) {
+        individual.register(consumer);
+      }
+      final long individualEvents = post(individual, write, read, threads);
+      previous = individualEvents / (DURATION_MILLIS / 1e3);
+
+      // both deliver each write and read to exactly the consumers of its type
+      assertThat(routedManager.adds.get(), is(COPIES * (routedEvents / 2)));
+      assertThat(routedManager.completes.get(), is(COPIES * (routedEvents / 2)));
+      assertThat(individualManager.adds.get(), is(COPIES * (individualEvents / 2)));
+      assertThat(individualManager.completes.get(), is(COPIES * (individualEvents / 2)));
+      _logger.info("threads [{}] consumers [{}] routed events/sec [{}] individual events/sec [{}]",
+          threads, routedConsumers.size(), String.format("%.0f", current),
+          String.format("%.0f", previous));
+    }
+
+    // one subscriber per event must beat every consumer receiving and discarding it
+    assertThat(current, greaterThan(previous));
+  }
+
+  // posts a write and a read per iteration until the deadline, returning the events posted
+  private long post(final EventBus eventBus, final Pair<Request, Response> write,
+      final Pair<Request, Response> read, final int threads) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+    final List<Future<Long>> results = Lists.newArrayList();
+    for (int i = 0; i < threads; i++) {
+      results.add(executor.submit(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          start.await();
+          long events = 0;
+          while (System.nanoTime() < deadline) {
+            eventBus.post(write);
+            eventBus.post(read);
+            events += 2;
+          }
+          return events;
+        }
+      }));
+    }
+    start.countDown();
+    long total = 0;
+    for (final Future<Long> result : results) {
+      total += result.get();
+    }
+    executor.shutdown();
+    return total;
+  }
+
+  /**
+   * Counts the objects consumers add and complete, so delivery rather than the pool is measured
+   */
+  private static class CountingObjectManager implements ObjectManager {
+    final AtomicLong adds = new AtomicLong();
+    final AtomicLong completes = new AtomicLong();
+
+    @Override
+    public void add(final ObjectMetadata objectMetadata) {
+      this.adds.incrementAndGet();
+    }
+
+    @Override
+    public ObjectMetadata get() {
+      return null;
+    }
+
+    @Override
+    public ObjectMetadata get(final long minSize, final long maxSize) {
+      return null;
+    }
+
+    @Override
+    public ObjectMetadata getOnce() {
+      return null;
+    }
+
+    @Override
+    public void getComplete(final ObjectMetadata objectMetadata) {
+      this.completes.incrementAndGet();
+    }
+
+    @Override
+    public ObjectMetadata remove() {
+      return null;
+    }
+
+    @Override
+    public ObjectMetadata removeForUpdate() {
+      return null;
+    }
+
+    @Override
+    public ObjectMetadata removeForUpdate(final long minSize, final long maxSize) {
+      return null;
+    }
+
+    @Override
+    public ObjectMetadata removeObject(final ObjectMetadata objectMetadata) {
+      return null;
+    }
+
+    @Override
+    public void updateObject(final ObjectMetadata objectMetadata) {}
+
+    @Override
+    public void removeUpdatedObject(final ObjectMetadata id) {}
+
+    @Override
+    public ObjectMetadata getObjectFromUpdatingCache(final String id) {
+      return null;
+    }
+
+    @Override
+    public void removeUpdatedObjectByName(final String name) {}
+
+    @Override
+    public int getCurrentlyUpdatingCount() {
+      return 0;
+    }
+
+    @Override
+    public Map<Long, Long> getSizeClassCounts() {
+      return ImmutableMap.of();
+    }
+
+    @Override
+    public ObjectPersistStats getPersistStats() {
+      return null;
+    }
+
+    @Override
+    public ObjectSelectionStats getSelectionStats() {
+      return null;
+    }
+
+    @Override
+    public void shutdown() {}
+  }
+}
@@ -0,0 +1,115 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpUtil;
+import com.ibm.og.util.Context;
+import com.ibm.og.util.Pair;
+
+public class ObjectNameConsumerRouterTest {
+  private static final Operation[] OPERATIONS =
+      {Operation.WRITE, Operation.READ, Operation.METADATA, Operation.DELETE};
+  private Request request;
+  private Response response;
+
+  @Before
+  public void before() {
+    this.request = mock(Request.class);
+    when(this.request.getOperation()).thenReturn(Operation.WRITE);
+    when(this.request.getMethod()).thenReturn(Method.PUT);
+    when(this.request.getContext()).thenReturn(
+        ImmutableMap.of(Context.X_OG_OBJECT_NAME, "5c18be1057404792923dc487ca40f2370000"));
+    when(this.request.getBody()).thenReturn(Bodies.zeroes(1024));
+    this.response = mock(Response.class);
+    when(this.response.getStatusCode()).thenReturn(200);
+    when(this.response.getContext()).thenReturn(ImmutableMap.<String, String>of());
+  }
+
+  private static AbstractObjectNameConsumer consumer(final Operation operation,
+      final int statusCode) {
+    final AbstractObjectNameConsumer consumer = mock(AbstractObjectNameConsumer.class);
+    when(consumer.getOperation()).thenReturn(operation);
+    when(consumer.consumes(anyInt())).thenReturn(false);
+    when(consumer.consumes(statusCode)).thenReturn(true);
+    return consumer;
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullConsumers() {
+    new ObjectNameConsumerRouter(null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullOperation() {
+    new ObjectNameConsumerRouter(ImmutableList.<AbstractObjectNameConsumer>of()).consume(null);
+  }
+
+  @Test
+  public void routesByOperation() {
+    final List<AbstractObjectNameConsumer> consumers = Lists.newArrayList();
+    for (int i = 0; i < 24; i++) {
+      consumers.add(consumer(OPERATIONS[i % OPERATIONS.length], 200));
+    }
+    final ObjectNameConsumerRouter router = new ObjectNameConsumerRouter(consumers);
+    router.consume(Pair.of(this.request, this.response));
+
+    for (int i = 0; i < consumers.size(); i++) {
+      final int invocations = OPERATIONS[i % OPERATIONS.length] == Operation.WRITE ? 1 : 0;
+      verify(consumers.get(i), times(invocations)).consumeRouted(this.request, this.response);
+    }
+    assertThat(router.getConsumers(), is(consumers));
+  }
+
+  @Test
+  public void routesByStatusCode() {
+    final AbstractObjectNameConsumer success = consumer(Operation.WRITE, 200);
+    final AbstractObjectNameConsumer failure = consumer(Operation.WRITE, 500);
+    final ObjectNameConsumerRouter router =
+        new ObjectNameConsumerRouter(ImmutableList.of(success, failure));
+    when(this.response.getStatusCode()).thenReturn(500);
+    router.consume(this.request, this.response);
+
+    verify(success, never()).consumeRouted(any(Request.class), any(Response.class));
+    verify(failure, times(1)).consumeRouted(this.request, this.response);
+  }
+
+  @Test
+  public void consumer() {
+    final ObjectManager objectManager = mock(ObjectManager.class);
+    final ObjectNameConsumerRouter router = new ObjectNameConsumerRouter(
+        ImmutableList.<AbstractObjectNameConsumer>of(
+            new ReadObjectNameConsumer(objectManager, HttpUtil.SUCCESS_STATUS_CODES),
+            new WriteObjectNameConsumer(objectManager, HttpUtil.SUCCESS_STATUS_CODES)));
+    router.consume(this.request, this.response);
+
+    verify(objectManager, times(1)).add(isA(ObjectMetadata.class));
+    verify(objectManager, never()).getComplete(any(ObjectMetadata.class));
+  }
+}
@@ -0,0 +1,58 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ObjectNameCountsTest {
+  private static final int ENTRIES = 5000;
+
+  @Test
+  public void incrementAndDecrement() {
+    final ObjectNameCounts counts = new ObjectNameCounts(4);
+    counts.increment(1, 2, (short) 3);
+    counts.increment(1, 2, (short) 3);
+    assertTrue(counts.contains(1, 2, (short) 3));
+    assertFalse(counts.contains(1, 2, (short) 4));
+    assertEquals(1, counts.size());
+    assertTrue(counts.decrement(1, 2, (short) 3));
+    assertTrue(counts.contains(1, 2, (short) 3));
+    assertTrue(counts.decrement(1, 2, (short) 3));
+    assertFalse(counts.contains(1, 2, (short) 3));
+    assertFalse(counts.decrement(1, 2, (short) 3));
+    assertEquals(0, counts.size());
+  }
+
+  @Test
+  public void incrementIfAbsent() {
+    final ObjectNameCounts counts = new ObjectNameCounts(1);
+    assertTrue(counts.incrementIfAbsent(0, 0, (short) 0));
+    assertFalse(counts.incrementIfAbsent(0, 0, (short) 0));
+    assertTrue(counts.decrement(0, 0, (short) 0));
+    assertFalse(counts.contains(0, 0, (short) 0));
+  }
+
+  @Test
+  public void manyEntries() {
+    // enough entries to resize each segment several times and exercise deletion shifts
+    final ObjectNameCounts counts = new ObjectNameCounts(2);
+    for (int i = 0; i < ENTRIES; i++) {
+      counts.increment(i, -i, (short) i);
+    }
+    assertEquals(ENTRIES, counts.size());
+    for (int i = 0; i < ENTRIES; i += 2) {
+      assertTrue(counts.decrement(i, -i, (short) i));
+    }
+    assertEquals(ENTRIES / 2, counts.size());
+    for (int i = 0; i < ENTRIES; i++) {
+      assertEquals(i % 2 == 1, counts.contains(i, -i, (short) i));
+    }
+  }
+}
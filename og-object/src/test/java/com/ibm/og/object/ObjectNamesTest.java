@@ -0,0 +1,61 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class ObjectNamesTest {
+  private static final String NAME = "0123456789abcdeffedcba98765432108000";
+
+  @Test
+  public void parseMatchesRecord() {
+    for (int i = 0; i < 100; i++) {
+      final String name = UUID.randomUUID().toString().replace("-", "") + "ff00";
+      final byte[] record = LegacyObjectMetadata.fromMetadata(name, 0, -1, (byte) 0, -1).toBytes();
+      assertEquals(ObjectNames.high(record), ObjectNames.parseHigh(name));
+      assertEquals(ObjectNames.low(record), ObjectNames.parseLow(name));
+      assertEquals(ObjectNames.tail(record), ObjectNames.parseTail(name));
+    }
+  }
+
+  @Test
+  public void parse() {
+    assertEquals(0x0123456789abcdefL, ObjectNames.parseHigh(NAME));
+    assertEquals(0xfedcba9876543210L, ObjectNames.parseLow(NAME));
+    assertEquals((short) 0x8000, ObjectNames.parseTail(NAME));
+    assertEquals(0x0123456789abcdefL, ObjectNames.parseHigh(NAME.toUpperCase()));
+  }
+
+  @Test
+  public void roundTrip() {
+    assertEquals(NAME, LegacyObjectMetadata.fromMetadata(NAME, 0, -1, (byte) 0, -1).getName());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseInvalidCharacter() {
+    ObjectNames.parseLow(NAME.replace('8', 'g'));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseInvalidLength() {
+    ObjectNames.parseHigh(NAME.substring(1));
+  }
+
+  @Test
+  public void isValid() {
+    assertTrue(ObjectNames.isValid(NAME));
+    assertTrue(ObjectNames.isValid(NAME.toUpperCase()));
+    assertFalse(ObjectNames.isValid(NAME.replace('8', 'g')));
+    assertFalse(ObjectNames.isValid(NAME.substring(1)));
+    assertFalse(ObjectNames.isValid(null));
+  }
+}
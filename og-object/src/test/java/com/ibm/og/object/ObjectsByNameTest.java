@@ -0,0 +1,75 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ObjectsByNameTest {
+  private ObjectMetadata generateId(final String name, final long size) {
+    return LegacyObjectMetadata.fromMetadata(name, size, -1, (byte) 0, -1);
+  }
+
+  private String generateName() {
+    return UUID.randomUUID().toString().replace("-", "") + "0000";
+  }
+
+  private ObjectMetadata get(final ObjectsByName objects, final String name) {
+    return objects.get(ObjectNames.parseHigh(name), ObjectNames.parseLow(name),
+        ObjectNames.parseTail(name));
+  }
+
+  private ObjectMetadata remove(final ObjectsByName objects, final String name) {
+    return objects.remove(ObjectNames.parseHigh(name), ObjectNames.parseLow(name),
+        ObjectNames.parseTail(name));
+  }
+
+  @Test
+  public void putReplacesSameName() {
+    final ObjectsByName objects = new ObjectsByName(4);
+    final String name = generateName();
+    final ObjectMetadata first = generateId(name, 1);
+    final ObjectMetadata second = generateId(name, 2);
+    assertNull(objects.put(first));
+    assertSame(first, objects.put(second));
+    assertEquals(1, objects.size());
+    assertSame(second, get(objects, name));
+    assertSame(second, remove(objects, name));
+    assertNull(get(objects, name));
+    assertEquals(0, objects.size());
+  }
+
+  @Test
+  public void manyEntries() {
+    final ObjectsByName objects = new ObjectsByName(2);
+    final List<ObjectMetadata> ids = Lists.newArrayList();
+    for (int i = 0; i < 5000; i++) {
+      final ObjectMetadata id = generateId(generateName(), i);
+      ids.add(id);
+      objects.put(id);
+    }
+    for (int i = 0; i < ids.size(); i += 2) {
+      assertSame(ids.get(i), remove(objects, ids.get(i).getName()));
+    }
+    assertEquals(ids.size() / 2, objects.size());
+    for (int i = 0; i < ids.size(); i++) {
+      final ObjectMetadata found = get(objects, ids.get(i).getName());
+      if (i % 2 == 0) {
+        assertNull(found);
+      } else {
+        assertSame(ids.get(i), found);
+      }
+    }
+  }
+}
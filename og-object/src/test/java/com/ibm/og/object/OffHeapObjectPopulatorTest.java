@@ -0,0 +1,230 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Sets;
+
+public class OffHeapObjectPopulatorTest {
+  private static final String PREFIX = "id_";
+  private static final int MAX_OBJECTS = 5;
+  // small chunks so that tests exercise slab growth across chunk boundaries
+  private static final int CHUNK_RECORDS = 3;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private String directory;
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    this.directory = this.folder.getRoot().toString();
+    this.executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void after() {
+    this.executor.shutdownNow();
+  }
+
+  private OffHeapObjectPopulator create() {
+    return new OffHeapObjectPopulator(this.directory, PREFIX, MAX_OBJECTS, 60 * 1000,
+        CHUNK_RECORDS);
+  }
+
+  private ObjectMetadata generateId() {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        1024, 3, (byte) 1, 7);
+  }
+
+  private File file(final int index) {
+    return new File(this.directory, PREFIX + index + RandomObjectPopulator.SUFFIX);
+  }
+
+  @Test
+  public void getReturnsView() {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata id = generateId();
+    pool.add(id);
+    final ObjectMetadata view = pool.get();
+    assertTrue(view instanceof SlabObjectMetadata);
+    assertEquals(id, view);
+    assertEquals(id.getName(), view.getName());
+    assertEquals(id.getSize(), view.getSize());
+    assertEquals(id.getContainerSuffix(), view.getContainerSuffix());
+    assertEquals(id.getNumberOfLegalHolds(), view.getNumberOfLegalHolds());
+    assertEquals(id.getRetention(), view.getRetention());
+    pool.getComplete(view);
+    pool.shutdown();
+  }
+
+  @Test
+  public void duplicateAddIsIgnored() {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata id = generateId();
+    pool.add(id);
+    pool.add(id);
+    assertEquals(1, pool.getCurrentObjectCount());
+    pool.shutdown();
+  }
+
+  @Test(expected = ObjectManagerException.class)
+  public void removeEmpty() {
+    create().remove();
+  }
+
+  @Test
+  public void removeReturnsDetachedCopy() {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata id = generateId();
+    pool.add(id);
+    final ObjectMetadata removed = pool.remove();
+    assertFalse(removed instanceof SlabObjectMetadata);
+    // reuse the freed slot, the removed copy must not change
+    pool.add(generateId());
+    assertEquals(id, removed);
+    assertEquals(1, pool.getCurrentObjectCount());
+    pool.shutdown();
+  }
+
+  @Test
+  public void removeForUpdate() {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata id = generateId();
+    pool.add(id);
+    final ObjectMetadata removed = pool.removeForUpdate();
+    assertEquals(1, pool.getCurrentlyUpdatingCount());
+    assertEquals(id, pool.getObjectFromUpdatingCache(id.getName()));
+    assertEquals(0, pool.getCurrentObjectCount());
+    pool.updateObject(removed);
+    assertEquals(0, pool.getCurrentlyUpdatingCount());
+    assertEquals(1, pool.getCurrentObjectCount());
+    pool.shutdown();
+  }
+
+  @Test
+  public void removeWaitsForReaders() throws Exception {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata id = generateId();
+    pool.add(id);
+    final ObjectMetadata read = pool.get();
+    final Future<ObjectMetadata> removal = this.executor.submit(new Callable<ObjectMetadata>() {
+      @Override
+      public ObjectMetadata call() {
+        return pool.remove();
+      }
+    });
+    try {
+      removal.get(100, TimeUnit.MILLISECONDS);
+      throw new AssertionError("remove should wait for readers");
+    } catch (final TimeoutException expected) {
+      // expected
+    }
+    // complete using a heap copy, as object name consumers do
+    pool.getComplete(LegacyObjectMetadata.fromBytes(read.toBytes()));
+    assertEquals(id, removal.get(10, TimeUnit.SECONDS));
+    assertTrue(pool.getSelectionStats().getWaits() > 0);
+    pool.shutdown();
+  }
+
+  @Test
+  public void getOnceSkipsObjectsBeingRead() {
+    final OffHeapObjectPopulator pool = create();
+    final ObjectMetadata first = generateId();
+    final ObjectMetadata second = generateId();
+    pool.add(first);
+    pool.add(second);
+    final ObjectMetadata a = pool.getOnce();
+    final ObjectMetadata b = pool.getOnce();
+    assertFalse(a.equals(b));
+    pool.getComplete(a);
+    pool.getComplete(b);
+    pool.shutdown();
+  }
+
+  @Test
+  public void persistAndLoad() throws IOException {
+    OffHeapObjectPopulator pool = create();
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 2 * MAX_OBJECTS + 1; i++) {
+      final ObjectMetadata id = generateId();
+      ids.add(id);
+      pool.add(id);
+    }
+    // leave a hole in the slab
+    ids.remove(pool.remove());
+    pool.shutdown();
+    assertEquals(ids.size(), pool.getPersistStats().getObjects());
+
+    // files are written aside and moved into place
+    assertFalse(new File(file(0).getPath() + ".tmp").exists());
+    assertTrue(file(0).exists());
+    assertTrue(file(1).exists());
+    assertFalse(file(2).exists());
+    assertEquals(ObjectFileVersion.VERSION_HEADER_LENGTH + MAX_OBJECTS * LegacyObjectMetadata.OBJECT_SIZE,
+        file(0).length());
+
+    pool = create();
+    assertEquals(ids.size(), pool.getCurrentObjectCount());
+    final Set<ObjectMetadata> loaded = Sets.newHashSet();
+    for (int i = 0; i < ids.size(); i++) {
+      loaded.add(pool.remove());
+    }
+    assertEquals(ids, loaded);
+    pool.shutdown();
+
+    // an empty pool leaves a single empty object file
+    assertEquals(0, file(0).length());
+    assertFalse(file(1).exists());
+  }
+
+  @Test
+  public void sizeRangeSelection() {
+    final OffHeapObjectPopulator pool = create();
+    for (int i = 0; i < 20; i++) {
+      pool.add(LegacyObjectMetadata.fromMetadata(
+          UUID.randomUUID().toString().replace("-", "") + "0000", i % 2 == 0 ? 100 : 5000, 0,
+          (byte) 0, -1));
+    }
+    assertEquals(10L, (long) pool.getSizeClassCounts().get(4096L));
+    for (int i = 0; i < 10; i++) {
+      final ObjectMetadata id = pool.get(4096, 8192);
+      assertEquals(5000, id.getSize());
+      pool.getComplete(id);
+    }
+    for (int i = 0; i < 10; i++) {
+      assertEquals(100, pool.removeForUpdate(0, 4096).getSize());
+    }
+    assertFalse(pool.getSizeClassCounts().containsKey(64L));
+    try {
+      pool.removeForUpdate(0, 4096);
+      throw new AssertionError("expected no objects in range");
+    } catch (final ObjectManagerException expected) {
+      // the remaining objects are all outside of the range
+    }
+    assertEquals(10, pool.getCurrentObjectCount());
+    pool.shutdown();
+  }
+}
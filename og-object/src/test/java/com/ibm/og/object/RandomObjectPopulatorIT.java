@@ -0,0 +1,246 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Contention benchmark for {@link RandomObjectPopulator}. Drives a read heavy mix of get,
+ * getComplete, remove and add from an increasing number of threads and logs the achieved ops/sec
+ * at each thread count, both for the object manager and for {@link GlobalLockPool}, a copy of the
+ * global fair lock selection path it replaced.
+ */
+public class RandomObjectPopulatorIT {
+  private static final Logger _logger = LoggerFactory.getLogger(RandomObjectPopulatorIT.class);
+  private static final int POOL_SIZE = 100000;
+  private static final long DURATION_MILLIS = 1000;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void quietObjectManager() {
+    // per operation debug logging would dominate the measurement
+    final LoggerContext context = (LoggerContext) LogManager.getContext(false);
+    final Configuration config = context.getConfiguration();
+    final String name = RandomObjectPopulator.class.getName();
+    config.addLogger(name, new LoggerConfig(name, Level.WARN, true));
+    context.updateLoggers();
+  }
+
+  private static ObjectMetadata generateId() {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        0, -1, (byte) 0, -1);
+  }
+
+  @Test
+  public void contentionScaling() throws Exception {
+    final RandomObjectPopulator objectManager = new RandomObjectPopulator(new UUID(0, 0),
+        this.folder.getRoot().toString(), "", RandomObjectPopulator.MAX_OBJECT_ARG,
+        TimeUnit.HOURS.toMillis(1), null);
+    final GlobalLockPool baseline = new GlobalLockPool();
+    for (int i = 0; i < POOL_SIZE; i++) {
+      final ObjectMetadata id = generateId();
+      objectManager.add(id);
+      baseline.add(id);
+    }
+
+    final int maxThreads = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+    double current = 0;
+    double previous = 0;
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      current = run(new ManagerPool(objectManager), threads);
+      previous = run(baseline, threads);
+      _logger.info("threads [{}] ops/sec [{}] global lock ops/sec [{}]", threads,
+          String.format("%.0f", current), String.format("%.0f", previous));
+    }
+    objectManager.shutdown();
+
+    // at the highest thread count the striped path must at least keep up with the global locks
+    assertThat(current, greaterThan(previous * 0.9));
+  }
+
+  private double run(final Pool pool, final int threads) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+    final List<Future<Long>> results = Lists.newArrayList();
+    for (int i = 0; i < threads; i++) {
+      results.add(executor.submit(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          start.await();
+          long ops = 0;
+          while (System.nanoTime() < deadline) {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+              pool.add(pool.remove());
+            } else {
+              pool.getComplete(pool.get());
+            }
+            ops++;
+          }
+          return ops;
+        }
+      }));
+    }
+    final long begin = System.nanoTime();
+    start.countDown();
+    long total = 0;
+    for (final Future<Long> result : results) {
+      total += result.get();
+    }
+    final long elapsed = System.nanoTime() - begin;
+    executor.shutdown();
+    return total / (elapsed / 1e9);
+  }
+
+  /**
+   * The operations exercised by the benchmark
+   */
+  private interface Pool {
+    ObjectMetadata get();
+
+    void getComplete(ObjectMetadata id);
+
+    ObjectMetadata remove();
+
+    void add(ObjectMetadata id);
+  }
+
+  private static class ManagerPool implements Pool {
+    private final ObjectManager objectManager;
+
+    ManagerPool(final ObjectManager objectManager) {
+      this.objectManager = objectManager;
+    }
+
+    @Override
+    public ObjectMetadata get() {
+      return this.objectManager.get();
+    }
+
+    @Override
+    public void getComplete(final ObjectMetadata id) {
+      this.objectManager.getComplete(id);
+    }
+
+    @Override
+    public ObjectMetadata remove() {
+      return this.objectManager.remove();
+    }
+
+    @Override
+    public void add(final ObjectMetadata id) {
+      this.objectManager.add(id);
+    }
+  }
+
+  /**
+   * Selection as RandomObjectPopulator performed it before its reader counts were striped: fair
+   * objects and reading locks around a synchronized sorted map of reader counts keyed by name
+   */
+  private static class GlobalLockPool implements Pool {
+    private final RandomAccessConcurrentHashSet<ObjectMetadata> objects =
+        new RandomAccessConcurrentHashSet<ObjectMetadata>();
+    private final ReadWriteLock objectsLock = new ReentrantReadWriteLock(true);
+    private final SortedMap<String, Integer> currentlyReading =
+        Collections.synchronizedSortedMap(new TreeMap<String, Integer>());
+    private final ReadWriteLock readingLock = new ReentrantReadWriteLock(true);
+    private final ReadWriteLock persistLock = new ReentrantReadWriteLock(true);
+
+    @Override
+    public ObjectMetadata get() {
+      this.objectsLock.readLock().lock();
+      final ObjectMetadata id = this.objects.getRandom();
+      int count = 0;
+      this.readingLock.writeLock().lock();
+      if (this.currentlyReading.containsKey(id.getName())) {
+        this.objectsLock.readLock().unlock();
+        count = this.currentlyReading.get(id.getName()).intValue();
+      }
+      this.currentlyReading.put(id.getName(), Integer.valueOf(count + 1));
+      if (count == 0) {
+        this.objectsLock.readLock().unlock();
+      }
+      this.readingLock.writeLock().unlock();
+      return id;
+    }
+
+    @Override
+    public void getComplete(final ObjectMetadata id) {
+      this.readingLock.writeLock().lock();
+      final int count = this.currentlyReading.get(id.getName()).intValue();
+      if (count > 1) {
+        this.currentlyReading.put(id.getName(), Integer.valueOf(count - 1));
+      } else {
+        this.currentlyReading.remove(id.getName());
+      }
+      this.readingLock.writeLock().unlock();
+    }
+
+    @Override
+    public ObjectMetadata remove() {
+      this.persistLock.readLock().lock();
+      try {
+        ObjectMetadata id = null;
+        while (id == null) {
+          this.objectsLock.writeLock().lock();
+          id = this.objects.removeRandom();
+          this.objectsLock.writeLock().unlock();
+          this.readingLock.readLock().lock();
+          final boolean unavailable = this.currentlyReading.containsKey(id.getName());
+          this.readingLock.readLock().unlock();
+          if (unavailable) {
+            this.objects.put(id);
+            id = null;
+          }
+        }
+        return id;
+      } finally {
+        this.persistLock.readLock().unlock();
+      }
+    }
+
+    @Override
+    public void add(final ObjectMetadata id) {
+      this.persistLock.readLock().lock();
+      try {
+        this.objects.put(id);
+      } finally {
+        this.persistLock.readLock().unlock();
+      }
+    }
+  }
+}
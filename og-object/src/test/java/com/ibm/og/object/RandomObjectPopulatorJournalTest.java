@@ -0,0 +1,188 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class RandomObjectPopulatorJournalTest {
+  private static final String PREFIX = "id_";
+  private static final int MAX_OBJECTS = 100;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private String directory;
+
+  @Before
+  public void before() {
+    this.directory = this.folder.getRoot().toString();
+  }
+
+  private RandomObjectPopulator create(final long persistTime) {
+    return new RandomObjectPopulator(UUID.randomUUID(), this.directory, PREFIX, MAX_OBJECTS,
+        persistTime, null, true);
+  }
+
+  private ObjectMetadata generateId() {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        1024, 3, (byte) 1, 7);
+  }
+
+  private File objectFile() {
+    return new File(this.directory, PREFIX + 0 + RandomObjectPopulator.SUFFIX);
+  }
+
+  private List<File> journals() {
+    return ObjectJournal.journals(objectFile());
+  }
+
+  private void awaitJournalLength(final long length) {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (System.nanoTime() < deadline) {
+      long total = 0;
+      for (final File journal : journals()) {
+        total += journal.length();
+      }
+      if (total >= length) {
+        return;
+      }
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+    throw new AssertionError("journal was not written");
+  }
+
+  @Test
+  public void recoverWithoutShutdown() {
+    final RandomObjectPopulator crashed = create(TimeUnit.HOURS.toMillis(1));
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 10; i++) {
+      final ObjectMetadata id = generateId();
+      ids.add(id);
+      crashed.add(id);
+    }
+    ids.remove(crashed.remove());
+    final ObjectMetadata updated = crashed.removeForUpdate();
+    crashed.updateObject(updated);
+    awaitJournalLength(13 * ObjectJournal.ENTRY_SIZE);
+
+    // never shut down, as if the process had been killed
+    final RandomObjectPopulator recovered = create(TimeUnit.HOURS.toMillis(1));
+    assertEquals(ids.size(), recovered.getCurrentObjectCount());
+    final Set<ObjectMetadata> loaded = Sets.newHashSet();
+    for (int i = 0; i < ids.size(); i++) {
+      loaded.add(recovered.remove());
+    }
+    assertEquals(ids, loaded);
+    recovered.shutdown();
+  }
+
+  @Test
+  public void recoverConcurrentAddAndRemove() throws Exception {
+    final RandomObjectPopulator crashed = create(TimeUnit.HOURS.toMillis(1));
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<Long>> results = Lists.newArrayList();
+    for (int t = 0; t < threads; t++) {
+      results.add(executor.submit(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          start.await();
+          long entries = 0;
+          // a small pool makes removers likely to take objects which are still being added
+          for (int i = 0; i < 2000; i++) {
+            crashed.add(generateId());
+            entries++;
+            try {
+              crashed.remove();
+              entries++;
+            } catch (final ObjectManagerException e) {
+              // emptied by the other threads
+            }
+          }
+          return entries;
+        }
+      }));
+    }
+    start.countDown();
+    long entries = 0;
+    for (final Future<Long> result : results) {
+      entries += result.get();
+    }
+    executor.shutdown();
+    awaitJournalLength(entries * ObjectJournal.ENTRY_SIZE);
+
+    // never shut down, as if the process had been killed
+    final RandomObjectPopulator recovered = create(TimeUnit.HOURS.toMillis(1));
+    final long count = crashed.getCurrentObjectCount();
+    assertEquals(count, recovered.getCurrentObjectCount());
+    final Set<ObjectMetadata> expected = Sets.newHashSet();
+    final Set<ObjectMetadata> loaded = Sets.newHashSet();
+    for (long i = 0; i < count; i++) {
+      expected.add(crashed.remove());
+      loaded.add(recovered.remove());
+    }
+    assertEquals(expected, loaded);
+    recovered.shutdown();
+  }
+
+  @Test
+  public void checkpointDeletesJournals() {
+    final RandomObjectPopulator rop = create(100);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 10; i++) {
+      final ObjectMetadata id = generateId();
+      ids.add(id);
+      rop.add(id);
+    }
+    final long snapshotLength =
+        ObjectFileVersion.VERSION_HEADER_LENGTH + ids.size() * LegacyObjectMetadata.OBJECT_SIZE;
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while ((objectFile().length() != snapshotLength || journals().size() != 1)
+        && System.nanoTime() < deadline) {
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+    assertEquals(snapshotLength, objectFile().length());
+    // only the generation opened by the last checkpoint remains
+    assertEquals(1, journals().size());
+    rop.shutdown();
+    assertTrue(journals().isEmpty());
+    assertFalse(new File(objectFile().getPath() + ".tmp").exists());
+  }
+
+  @Test
+  public void shutdownRemovesJournals() {
+    RandomObjectPopulator rop = create(TimeUnit.HOURS.toMillis(1));
+    final ObjectMetadata id = generateId();
+    rop.add(id);
+    rop.shutdown();
+    assertTrue(journals().isEmpty());
+
+    rop = create(TimeUnit.HOURS.toMillis(1));
+    assertEquals(id, rop.remove());
+    rop.shutdown();
+  }
+}
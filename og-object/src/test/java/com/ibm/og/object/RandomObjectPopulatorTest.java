@@ -25,6 +25,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.common.io.BaseEncoding;
@@ -156,6 +157,103 @@ public class RandomObjectPopulatorTest {
     rop.shutdown();
   }
 
+  @Test
+  public void updatingCacheIgnoresUnparsableNames() throws ObjectManagerException {
+    final ObjectMetadata id = generateId();
+    final RandomObjectPopulator rop = new RandomObjectPopulator(this.vaultId);
+    rop.add(id);
+    Assert.assertEquals(id, rop.removeForUpdate());
+    Assert.assertNull(rop.getObjectFromUpdatingCache("not-an-object-name"));
+    rop.removeUpdatedObjectByName("not-an-object-name");
+    Assert.assertEquals(1, rop.getCurrentlyUpdatingCount());
+    Assert.assertEquals(id, rop.getObjectFromUpdatingCache(id.getName()));
+    rop.updateObject(id);
+    rop.shutdown();
+  }
+
+  @Test
+  public void getOnceReservesDistinctObjects() throws Exception {
+    final ObjectMetadata firstId = generateId();
+    ObjectMetadata secondId = firstId;
+    while (secondId.equals(firstId)) {
+      secondId = generateId();
+    }
+    RandomObjectPopulator rop = new RandomObjectPopulator(this.vaultId);
+    rop.add(firstId);
+    rop.add(secondId);
+    final ObjectMetadata a = rop.getOnce();
+    final ObjectMetadata b = rop.getOnce();
+    Assert.assertFalse(a.equals(b));
+    // both objects are being read, getOnce waits until one of them is released
+    final RandomObjectPopulator waiting = rop;
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Future<ObjectMetadata> third = executor.submit(new Callable<ObjectMetadata>() {
+      @Override
+      public ObjectMetadata call() {
+        return waiting.getOnce();
+      }
+    });
+    Thread.sleep(50);
+    Assert.assertFalse(third.isDone());
+    rop.getComplete(a);
+    Assert.assertEquals(a, third.get(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    Assert.assertTrue(rop.getSelectionStats().getWaits() > 0);
+    // objects being read are out of the unread index, so none was drawn and passed over
+    Assert.assertEquals(0, rop.getSelectionStats().getSkipped());
+    // objects being read stay in the pool and are persisted
+    Assert.assertEquals(2, rop.getCurrentObjectCount());
+    rop.shutdown();
+    rop = new RandomObjectPopulator(this.vaultId);
+    Assert.assertEquals(2, rop.getCurrentObjectCount());
+    rop.shutdown();
+  }
+
+  @Test
+  public void getOnceSkipsObjectsBeingRead() throws ObjectManagerException {
+    final ObjectMetadata firstId = generateId();
+    ObjectMetadata secondId = firstId;
+    while (secondId.equals(firstId)) {
+      secondId = generateId();
+    }
+    final RandomObjectPopulator rop = new RandomObjectPopulator(this.vaultId);
+    rop.add(firstId);
+    final ObjectMetadata read = rop.get();
+    rop.add(secondId);
+    for (int i = 0; i < 10; i++) {
+      final ObjectMetadata once = rop.getOnce();
+      Assert.assertFalse(once.equals(read));
+      rop.getComplete(once);
+    }
+    // the remove family passes over the object being read as well
+    Assert.assertEquals(secondId, rop.removeForUpdate());
+    rop.updateObject(secondId);
+    rop.getComplete(read);
+    rop.shutdown();
+  }
+
+  @Test
+  public void removeWaitsForObjectBeingRead() throws Exception {
+    final ObjectMetadata id = generateId();
+    final RandomObjectPopulator rop = new RandomObjectPopulator(this.vaultId);
+    rop.add(id);
+    final ObjectMetadata read = rop.get();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Future<ObjectMetadata> removed = executor.submit(new Callable<ObjectMetadata>() {
+      @Override
+      public ObjectMetadata call() {
+        return rop.removeForUpdate();
+      }
+    });
+    Thread.sleep(50);
+    Assert.assertFalse(removed.isDone());
+    rop.getComplete(read);
+    Assert.assertEquals(id, removed.get(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    rop.updateObject(id);
+    rop.shutdown();
+  }
+
   @Test
   public void overflowIdFile() throws ObjectManagerException {
     RandomObjectPopulator rop =
@@ -233,6 +331,24 @@ public class RandomObjectPopulatorTest {
         ObjectFileVersion.VERSION_HEADER_LENGTH + RandomObjectPopulatorTest.MAX_OBJECTS * OBJECT_SIZE);
   }
 
+  @Test
+  public void persistStats() throws ObjectManagerException {
+    final RandomObjectPopulator rop =
+        new RandomObjectPopulator(this.vaultId, RandomObjectPopulatorTest.MAX_OBJECTS);
+    Assert.assertEquals(ObjectPersistStats.NONE, rop.getPersistStats());
+    for (int i = 0; i < RandomObjectPopulatorTest.MAX_OBJECTS + 2; i++) {
+      rop.add(generateId());
+    }
+    final ObjectMetadata reserved = rop.getOnce();
+    rop.shutdown();
+    // the surplus is spilled before the snapshot, objects being read are part of the pool
+    Assert.assertEquals(RandomObjectPopulatorTest.MAX_OBJECTS,
+        rop.getPersistStats().getObjects());
+    Assert.assertEquals(0, rop.getPersistStats().getDelta());
+    Assert.assertEquals(RandomObjectPopulatorTest.MAX_OBJECTS + 2, rop.getSavedObjectCount());
+    Assert.assertNotNull(reserved);
+  }
+
   @Test
   public void testMultipleFiles() throws ObjectManagerException {
     RandomObjectPopulator rop =
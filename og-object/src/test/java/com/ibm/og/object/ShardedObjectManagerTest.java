@@ -0,0 +1,259 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Sets;
+import com.ibm.og.object.ShardedObjectManager.ShardSelection;
+
+public class ShardedObjectManagerTest {
+  private static final String PREFIX = "id_";
+  private static final int MAX_OBJECTS = 100;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private String directory;
+
+  @Before
+  public void before() {
+    this.directory = this.folder.getRoot().toString();
+  }
+
+  private ShardedObjectManager create(final ShardSelection selection) {
+    return new ShardedObjectManager(this.directory, PREFIX, MAX_OBJECTS,
+        TimeUnit.HOURS.toMillis(1), false, selection);
+  }
+
+  private ObjectMetadata generateId(final int containerSuffix) {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        1024, containerSuffix, (byte) 0, -1);
+  }
+
+  @Test(expected = ObjectManagerException.class)
+  public void emptyGet() {
+    final ShardedObjectManager manager = create(ShardSelection.RANDOM);
+    try {
+      manager.get();
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  public void shardsPersistSeparately() {
+    ShardedObjectManager manager = create(ShardSelection.RANDOM);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int container = -1; container < 3; container++) {
+      for (int i = 0; i < 5; i++) {
+        final ObjectMetadata id = generateId(container);
+        ids.add(id);
+        manager.add(id);
+      }
+    }
+    assertEquals(4, manager.getShardCount());
+    manager.shutdown();
+
+    for (int container = -1; container < 3; container++) {
+      assertTrue(new File(this.directory, PREFIX + "c" + container + "_0.object").exists());
+    }
+
+    manager = create(ShardSelection.RANDOM);
+    assertEquals(4, manager.getShardCount());
+    assertEquals(ids.size(), manager.getCurrentObjectCount());
+    final Set<ObjectMetadata> removed = Sets.newHashSet();
+    for (int i = 0; i < ids.size(); i++) {
+      removed.add(manager.remove());
+    }
+    assertEquals(ids, removed);
+    manager.shutdown();
+  }
+
+  @Test
+  public void threadSelectionPinsShard() {
+    final ShardedObjectManager manager = create(ShardSelection.THREAD);
+    for (int container = 0; container < 4; container++) {
+      for (int i = 0; i < 10; i++) {
+        manager.add(generateId(container));
+      }
+    }
+    final ObjectMetadata pinned = manager.get();
+    final int container = pinned.getContainerSuffix();
+    manager.getComplete(pinned);
+    for (int i = 0; i < 20; i++) {
+      final ObjectMetadata id = manager.get();
+      assertEquals(container, id.getContainerSuffix());
+      manager.getComplete(id);
+    }
+    // the pinned shard is drained, after which selection falls back to the other shards
+    for (int i = 0; i < 10; i++) {
+      assertEquals(container, manager.remove().getContainerSuffix());
+    }
+    for (int i = 0; i < 30; i++) {
+      assertTrue(container != manager.remove().getContainerSuffix());
+    }
+    manager.shutdown();
+  }
+
+  @Test
+  public void threadSelectionPinSurvivesNewShards() throws InterruptedException {
+    final ShardedObjectManager manager = create(ShardSelection.THREAD);
+    for (int container = 0; container < 2; container++) {
+      for (int i = 0; i < 10; i++) {
+        manager.add(generateId(container));
+      }
+    }
+    // pin two other threads first, so this thread is not pinned to the first shard
+    for (int t = 0; t < 2; t++) {
+      final Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          manager.getComplete(manager.get());
+        }
+      });
+      thread.start();
+      thread.join();
+    }
+    final ObjectMetadata pinned = manager.get();
+    final int container = pinned.getContainerSuffix();
+    manager.getComplete(pinned);
+    for (int c = 2; c < 6; c++) {
+      manager.add(generateId(c));
+    }
+    for (int i = 0; i < 20; i++) {
+      final ObjectMetadata id = manager.get();
+      assertEquals(container, id.getContainerSuffix());
+      manager.getComplete(id);
+    }
+    manager.shutdown();
+  }
+
+  @Test
+  public void updatingCacheSpansShards() {
+    final ShardedObjectManager manager = create(ShardSelection.RANDOM);
+    manager.add(generateId(1));
+    manager.add(generateId(2));
+    final ObjectMetadata first = manager.removeForUpdate();
+    final ObjectMetadata second = manager.removeForUpdate();
+    assertEquals(2, manager.getCurrentlyUpdatingCount());
+    assertEquals(first, manager.getObjectFromUpdatingCache(first.getName()));
+
+    manager.updateObject(first);
+    manager.removeUpdatedObjectByName(second.getName());
+    assertEquals(0, manager.getCurrentlyUpdatingCount());
+    assertNull(manager.getObjectFromUpdatingCache(second.getName()));
+    assertEquals(1, manager.getCurrentObjectCount());
+    assertEquals(first, manager.get());
+    manager.shutdown();
+  }
+
+  @Test
+  public void getOnceRoutesCompletionToShard() {
+    final ShardedObjectManager manager = create(ShardSelection.RANDOM);
+    manager.add(generateId(5));
+    manager.add(generateId(6));
+    final ObjectMetadata first = manager.getOnce();
+    final ObjectMetadata second = manager.getOnce();
+    assertTrue(first.getContainerSuffix() != second.getContainerSuffix());
+    manager.getComplete(first);
+    manager.getComplete(second);
+    assertEquals(2, manager.getCurrentObjectCount());
+    manager.shutdown();
+  }
+
+  @Test
+  public void getOnceWaitsForReleaseInAnyShard() throws Exception {
+    final ShardedObjectManager manager = create(ShardSelection.RANDOM);
+    manager.add(generateId(5));
+    manager.add(generateId(6));
+    final ObjectMetadata first = manager.getOnce();
+    final ObjectMetadata second = manager.getOnce();
+    // every object of every shard is being read
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Future<ObjectMetadata> third = executor.submit(new Callable<ObjectMetadata>() {
+      @Override
+      public ObjectMetadata call() {
+        return manager.getOnce();
+      }
+    });
+    Thread.sleep(50);
+    assertFalse(third.isDone());
+    manager.getComplete(second);
+    assertEquals(second, third.get(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertTrue(manager.getSelectionStats().getWaits() > 0);
+    manager.getComplete(first);
+    manager.getComplete(second);
+    manager.shutdown();
+  }
+
+  @Test
+  public void journaledShardsShareSaver() throws InterruptedException {
+    final ShardedObjectManager manager = new ShardedObjectManager(this.directory, PREFIX,
+        MAX_OBJECTS, 50, true, ShardSelection.RANDOM);
+    for (int container = 0; container < 8; container++) {
+      manager.add(generateId(container));
+    }
+    // let several checkpoints run on the shared persist thread before shutting down
+    Thread.sleep(200);
+    manager.shutdown();
+
+    final ShardedObjectManager reloaded = create(ShardSelection.RANDOM);
+    assertEquals(8, reloaded.getShardCount());
+    assertEquals(8, reloaded.getCurrentObjectCount());
+    reloaded.shutdown();
+  }
+
+  @Test
+  public void shardsShareOneJournal() throws InterruptedException {
+    final ShardedObjectManager manager = new ShardedObjectManager(this.directory, PREFIX,
+        MAX_OBJECTS, TimeUnit.HOURS.toMillis(1), true, ShardSelection.RANDOM);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int container = 0; container < 8; container++) {
+      final ObjectMetadata id = generateId(container);
+      ids.add(id);
+      manager.add(id);
+    }
+    final File journal = new File(this.directory, PREFIX + "shards.object.journal.1");
+    final long length = ids.size() * ObjectJournal.ENTRY_SIZE;
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (journal.length() < length && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(length, journal.length());
+    for (final File f : this.folder.getRoot().listFiles()) {
+      assertTrue(f.getName(), !f.getName().startsWith(PREFIX + "c") || !f.getName().contains(
+          ".journal."));
+    }
+
+    // recover without a shutdown, as after a crash; every entry is routed back to its shard
+    final ShardedObjectManager recovered = new ShardedObjectManager(this.directory, PREFIX,
+        MAX_OBJECTS, TimeUnit.HOURS.toMillis(1), true, ShardSelection.RANDOM);
+    assertEquals(8, recovered.getShardCount());
+    final Set<ObjectMetadata> removed = Sets.newHashSet();
+    for (int i = 0; i < ids.size(); i++) {
+      removed.add(recovered.remove());
+    }
+    assertEquals(ids, removed);
+    recovered.shutdown();
+  }
+}
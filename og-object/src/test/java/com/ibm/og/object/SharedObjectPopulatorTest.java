@@ -0,0 +1,323 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class SharedObjectPopulatorTest {
+  private static final String PREFIX = "id_";
+  private static final int MAX_OBJECTS = 100;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private String directory;
+
+  @Before
+  public void before() {
+    this.directory = this.folder.getRoot().toString();
+  }
+
+  private static SharedObjectPopulator create(final String directory) {
+    return new SharedObjectPopulator(directory, PREFIX, MAX_OBJECTS, TimeUnit.HOURS.toMillis(1));
+  }
+
+  private static ObjectMetadata generateId(final long size) {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        size, 0, (byte) 0, -1);
+  }
+
+  @Test(expected = ObjectManagerException.class)
+  public void emptyGet() {
+    final SharedObjectPopulator manager = create(this.directory);
+    try {
+      manager.get();
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  public void addRemove() {
+    final SharedObjectPopulator manager = create(this.directory);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 50; i++) {
+      final ObjectMetadata id = generateId(i);
+      ids.add(id);
+      manager.add(id);
+    }
+    assertEquals(50, manager.getCurrentObjectCount());
+    final Set<ObjectMetadata> removed = Sets.newHashSet();
+    for (int i = 0; i < 50; i++) {
+      removed.add(manager.remove());
+    }
+    assertEquals(ids, removed);
+    assertEquals(0, manager.getCurrentObjectCount());
+    assertTrue(manager.getSizeClassCounts().isEmpty());
+    manager.shutdown();
+  }
+
+  @Test
+  public void getOnceIsExclusive() {
+    final SharedObjectPopulator manager = create(this.directory);
+    final ObjectMetadata first = generateId(1024);
+    final ObjectMetadata second = generateId(2048);
+    manager.add(first);
+    manager.add(second);
+    final ObjectMetadata reserved = manager.getOnce();
+    final ObjectMetadata other = reserved.equals(first) ? second : first;
+    for (int i = 0; i < 20; i++) {
+      final ObjectMetadata id = manager.get();
+      assertEquals(other, id);
+      manager.getComplete(id);
+    }
+    // the reserved object is passed over by removal until it is released
+    assertEquals(other, manager.remove());
+    manager.getComplete(reserved);
+    assertEquals(reserved, manager.removeForUpdate());
+    assertEquals(1, manager.getCurrentlyUpdatingCount());
+    manager.updateObject(reserved);
+    assertEquals(0, manager.getCurrentlyUpdatingCount());
+    assertEquals(reserved, manager.get(reserved.getSize(), reserved.getSize() + 1));
+    manager.shutdown();
+  }
+
+  @Test
+  public void sizeRange() {
+    final SharedObjectPopulator manager = create(this.directory);
+    for (int i = 0; i < 60; i++) {
+      manager.add(generateId(1000 + i));
+    }
+    final ObjectMetadata id = generateId(5000);
+    manager.add(id);
+    assertEquals(ImmutableMap.of(512L, 24L, 1024L, 36L, 4096L, 1L), manager.getSizeClassCounts());
+    assertEquals(id, manager.removeForUpdate(5000, 5001));
+    assertEquals(id, manager.getObjectFromUpdatingCache(id.getName()));
+    manager.removeUpdatedObjectByName(id.getName());
+    assertNull(manager.getObjectFromUpdatingCache(id.getName()));
+    manager.shutdown();
+  }
+
+  @Test
+  public void getOnceWaitsForRelease() throws Exception {
+    final SharedObjectPopulator manager = create(this.directory);
+    manager.add(generateId(1024));
+    final ObjectMetadata reserved = manager.getOnce();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Future<ObjectMetadata> next = executor.submit(new Callable<ObjectMetadata>() {
+      @Override
+      public ObjectMetadata call() {
+        return manager.getOnce();
+      }
+    });
+    Thread.sleep(50);
+    assertFalse(next.isDone());
+    manager.getComplete(reserved);
+    assertEquals(reserved, next.get(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertTrue(manager.getSelectionStats().getWaits() > 0);
+    manager.getComplete(reserved);
+    manager.shutdown();
+  }
+
+  @Test
+  public void concurrentReservationsAreExclusive() throws Exception {
+    final SharedObjectPopulator manager = create(this.directory);
+    for (int i = 0; i < 8; i++) {
+      manager.add(generateId(1024 << i));
+    }
+    final Set<ObjectMetadata> reserved = Sets.newConcurrentHashSet();
+    final AtomicBoolean overlapped = new AtomicBoolean();
+    final ExecutorService executor = Executors.newFixedThreadPool(16);
+    final List<Future<?>> futures = Lists.newArrayList();
+    for (int t = 0; t < 16; t++) {
+      futures.add(executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 500; i++) {
+            final ObjectMetadata id = manager.getOnce();
+            if (!reserved.add(id)) {
+              overlapped.set(true);
+            }
+            reserved.remove(id);
+            manager.getComplete(id);
+          }
+        }
+      }));
+    }
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+    assertFalse(overlapped.get());
+    assertEquals(8, manager.getCurrentObjectCount());
+    for (int i = 0; i < 8; i++) {
+      manager.remove();
+    }
+    manager.shutdown();
+  }
+
+  @Test
+  public void sizeClassesStayGrouped() {
+    final SharedObjectPopulator manager = create(this.directory);
+    final Random random = new Random(7);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 1000; i++) {
+      if (ids.size() < MAX_OBJECTS && (ids.isEmpty() || random.nextInt(3) > 0)) {
+        final ObjectMetadata id = generateId(1L << random.nextInt(20));
+        ids.add(id);
+        manager.add(id);
+      } else {
+        final ObjectMetadata id = manager.remove();
+        assertTrue(ids.remove(id));
+      }
+      // every object is found by its own size class, and by name
+      for (final ObjectMetadata id : ids) {
+        final ObjectMetadata read = manager.get(id.getSize(), id.getSize() + 1);
+        assertEquals(id.getSize(), read.getSize());
+        manager.getComplete(read);
+      }
+    }
+    assertEquals(ids.size(), manager.getCurrentObjectCount());
+    for (final ObjectMetadata id : ids) {
+      assertEquals(id, manager.removeObject(id));
+    }
+    assertTrue(manager.getSizeClassCounts().isEmpty());
+    manager.shutdown();
+  }
+
+  @Test(expected = ObjectManagerException.class)
+  public void poolFull() {
+    final SharedObjectPopulator manager = create(this.directory);
+    try {
+      for (int i = 0; i <= MAX_OBJECTS; i++) {
+        manager.add(generateId(1024));
+      }
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  public void reattach() {
+    SharedObjectPopulator manager = create(this.directory);
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 10; i++) {
+      final ObjectMetadata id = generateId(1024);
+      ids.add(id);
+      manager.add(id);
+    }
+    // a read left outstanding is released when the pool is next attached to
+    manager.getOnce();
+    manager.shutdown();
+    assertTrue(new File(this.directory, PREFIX + "0.object").exists());
+
+    manager = create(this.directory);
+    final Set<ObjectMetadata> removed = Sets.newHashSet();
+    for (int i = 0; i < 10; i++) {
+      removed.add(manager.remove());
+    }
+    assertEquals(ids, removed);
+    manager.shutdown();
+  }
+
+  @Test
+  public void importsObjectFiles() {
+    final RandomObjectPopulator heap =
+        new RandomObjectPopulator(UUID.randomUUID(), this.directory, PREFIX, MAX_OBJECTS,
+            TimeUnit.HOURS.toMillis(1), null);
+    final ObjectMetadata id = generateId(1024);
+    heap.add(id);
+    heap.shutdown();
+
+    final SharedObjectPopulator manager = create(this.directory);
+    assertEquals(1, manager.getCurrentObjectCount());
+    assertEquals(id, manager.remove());
+    manager.shutdown();
+  }
+
+  @Test
+  public void sharedAcrossProcesses() throws IOException, InterruptedException {
+    final SharedObjectPopulator manager = create(this.directory);
+    final ObjectMetadata reserved = generateId(1024);
+    manager.add(reserved);
+    assertEquals(reserved, manager.getOnce());
+
+    final String java =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    final Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+        ChildProcess.class.getName(), this.directory).inheritIO().start();
+    assertEquals(0, child.waitFor());
+
+    // the child passed over the object reserved here, and its writes are visible here
+    assertEquals(11, manager.getCurrentObjectCount());
+    manager.getComplete(reserved);
+    manager.shutdown();
+  }
+
+  /**
+   * Attaches to the pool of a running test from a separate JVM
+   */
+  public static class ChildProcess {
+    public static void main(final String[] args) {
+      final SharedObjectPopulator manager = create(args[0]);
+      if (manager.getCurrentObjectCount() != 1) {
+        System.exit(1);
+      }
+      for (int i = 0; i < 10; i++) {
+        manager.add(generateId(2048));
+      }
+      for (int i = 0; i < 10; i++) {
+        if (manager.getOnce().getSize() != 2048) {
+          System.exit(2);
+        }
+      }
+      // every object is reserved, so a further reservation waits
+      final Thread waiting = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            manager.getOnce();
+          } catch (final RuntimeException e) {
+            // released by shutdown
+          }
+        }
+      });
+      waiting.setDaemon(true);
+      waiting.start();
+      Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+      if (!waiting.isAlive()) {
+        System.exit(3);
+      }
+      manager.shutdown();
+      System.exit(0);
+    }
+  }
+}
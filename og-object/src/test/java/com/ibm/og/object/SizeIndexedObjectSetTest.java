@@ -0,0 +1,139 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.object;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+public class SizeIndexedObjectSetTest {
+  private static final long MIB = 1048576;
+  private SizeIndexedObjectSet objects;
+
+  @Before
+  public void before() {
+    this.objects = new SizeIndexedObjectSet(4);
+  }
+
+  private ObjectMetadata generateId(final long size) {
+    return LegacyObjectMetadata.fromMetadata(UUID.randomUUID().toString().replace("-", "") + "0000",
+        size, 0, (byte) 0, -1);
+  }
+
+  @Test
+  public void sizeClasses() {
+    assertEquals(0, ObjectSizeClasses.of(0));
+    assertEquals(1, ObjectSizeClasses.of(1));
+    assertEquals(21, ObjectSizeClasses.of(MIB));
+    assertEquals(21, ObjectSizeClasses.of(2 * MIB - 1));
+    assertEquals(63, ObjectSizeClasses.of(Long.MAX_VALUE));
+    assertEquals(MIB, ObjectSizeClasses.lowerBound(21));
+    assertTrue(ObjectSizeClasses.within(21, MIB, 16 * MIB));
+    assertTrue(!ObjectSizeClasses.within(25, MIB, 16 * MIB));
+  }
+
+  @Test
+  public void countsFollowMembership() {
+    final ObjectMetadata small = generateId(1024);
+    final ObjectMetadata large = generateId(4 * MIB);
+    this.objects.put(small);
+    this.objects.put(large);
+    this.objects.put(generateId(4 * MIB + 1));
+    assertEquals(ImmutableMap.of(1024L, 1L, 4 * MIB, 2L), this.objects.sizeClassCounts());
+
+    this.objects.remove(large);
+    assertEquals(ImmutableMap.of(1024L, 1L, 4 * MIB, 1L), this.objects.sizeClassCounts());
+    assertEquals(small, this.objects.removeRandom(0, 2048));
+    final Iterator<ObjectMetadata> it = this.objects.iterator();
+    it.next();
+    it.remove();
+    assertTrue(this.objects.sizeClassCounts().isEmpty());
+  }
+
+  @Test
+  public void alignedRange() {
+    for (int i = 0; i < 100; i++) {
+      this.objects.put(generateId(i % 2 == 0 ? 1024 : 8 * MIB));
+    }
+    for (int i = 0; i < 50; i++) {
+      final ObjectMetadata id = this.objects.removeRandom(MIB, 16 * MIB);
+      assertEquals(8 * MIB, id.getSize());
+    }
+    assertNull(this.objects.removeRandom(MIB, 16 * MIB));
+    assertNull(this.objects.getRandom(MIB, 16 * MIB));
+    assertEquals(50, this.objects.size());
+  }
+
+  @Test
+  public void unalignedRange() {
+    // a single matching object among neighbours of the same size class
+    for (int i = 0; i < 200; i++) {
+      this.objects.put(generateId(1300 + i));
+    }
+    final ObjectMetadata id = generateId(1500);
+    this.objects.put(id);
+    for (int i = 0; i < 200; i++) {
+      this.objects.put(generateId(1501 + i));
+    }
+    assertEquals(id, this.objects.getRandom(1500, 1501));
+    assertEquals(id, this.objects.removeRandom(1500, 1501));
+    assertNull(this.objects.removeRandom(1500, 1501));
+    assertEquals(400, this.objects.size());
+  }
+
+  @Test
+  public void removeRandomUnindexes() {
+    for (int i = 0; i < 10; i++) {
+      this.objects.put(generateId(MIB));
+    }
+    for (int i = 0; i < 10; i++) {
+      this.objects.removeRandom();
+    }
+    final Map<Long, Long> counts = this.objects.sizeClassCounts();
+    assertTrue(counts.isEmpty());
+    assertNull(this.objects.getRandom(0, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void snapshotIsFrozen() {
+    final Set<ObjectMetadata> ids = Sets.newHashSet();
+    for (int i = 0; i < 100; i++) {
+      final ObjectMetadata id = generateId(1024);
+      ids.add(id);
+      this.objects.put(id);
+    }
+    final RandomAccessConcurrentHashSet<ObjectMetadata>.Snapshot snapshot =
+        this.objects.snapshot();
+    for (int i = 0; i < 50; i++) {
+      this.objects.removeRandom();
+    }
+    // enough additions to rehash every segment
+    for (int i = 0; i < 1000; i++) {
+      this.objects.put(generateId(1024));
+    }
+    assertEquals(100, snapshot.size());
+    assertEquals(1050, snapshot.changes());
+    final Set<ObjectMetadata> frozen = Sets.newHashSet(snapshot);
+    assertEquals(ids, frozen);
+    assertEquals(1050, this.objects.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyRange() {
+    this.objects.getRandom(MIB, MIB);
+  }
+}
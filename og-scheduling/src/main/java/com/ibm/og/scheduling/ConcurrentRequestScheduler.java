@@ -90,9 +90,10 @@ public class ConcurrentRequestScheduler implements Scheduler {
    * This implementation blocks until a previously scheduled request has completed
    */
   @Override
-  public void schedule() {
+  public long schedule() {
     this.started.countDown();
     this.permits.acquireUninterruptibly();
+    return System.nanoTime();
   }
 
   /**
@@ -0,0 +1,52 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.scheduling;
+
+/**
+ * Tracks the intended start times of calls permitted by a rate limiter. Intended starts follow a
+ * timeline which is fixed when the first call is permitted: call {@code i} is intended to start
+ * {@code i / rate} after the first, as with {@link PreciseRequestRateScheduler#dueNanos}. When the
+ * rate changes, as during a stepped rampup, the timeline continues at the new rate from the due
+ * time of the next call. Due times are computed rather than accumulated, so rounding does not
+ * drift, and a caller which waited for its permit does not move the timeline, so permits a limiter
+ * stored up while callers were blocked elsewhere are reported as late. A call is never intended to
+ * start later than it was permitted
+ *
+ * @since 1.12.0
+ */
+final class IntendedStartClock {
+  private boolean started;
+  // the due time of the first call at the current rate, and the calls permitted since
+  private long segmentStart;
+  private long segmentCalls;
+  private double rate;
+
+  /**
+   * Records a permitted call and returns its intended start
+   *
+   * @param permitsPerSecond the rate of the limiter which granted the permit
+   * @return the intended start of this call, in {@link System#nanoTime} units
+   */
+  synchronized long next(final double permitsPerSecond) {
+    final long now = System.nanoTime();
+    if (!this.started) {
+      this.started = true;
+      this.segmentStart = now;
+      this.segmentCalls = 0;
+      this.rate = permitsPerSecond;
+    } else if (permitsPerSecond != this.rate) {
+      this.segmentStart = due(this.segmentCalls);
+      this.segmentCalls = 0;
+      this.rate = permitsPerSecond;
+    }
+    final long due = due(this.segmentCalls++);
+    return due - now < 0 ? due : now;
+  }
+
+  private long due(final long call) {
+    return this.segmentStart + Math.round(call * 1000000000.0 / this.rate);
+  }
+}
@@ -114,9 +114,14 @@ public class PoissonRequestRateScheduler implements Scheduler {
   }
 
   @Override
-  public void schedule() {
+  public long schedule() {
     this.started.countDown();
-    this.permits.get().acquire();
+    // intended starts follow the limiter's own sampled arrivals, as a fixed 1/rate timeline would
+    // report the random walk of Poisson arrivals around it as lateness; each ramp step's limiter
+    // starts a timeline of its own
+    final long intended = this.permits.get().acquireScheduled();
+    final long now = System.nanoTime();
+    return intended - now < 0 ? intended : now;
   }
 
   @Override
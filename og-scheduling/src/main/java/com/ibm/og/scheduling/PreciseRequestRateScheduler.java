@@ -0,0 +1,213 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.scheduling;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
+
+/**
+ * A scheduler which permits calls at a configured rate with sub-millisecond precision, for request
+ * rates at which {@link RequestRateScheduler} falls behind.
+ * <p>
+ * Permits are issued from a timeline which is fixed when the first call is scheduled: permit
+ * {@code i} is due {@code i / rate} after the start, or earlier during a linear rampup. Because
+ * due times are computed rather than accumulated, rounding does not drift and a caller which falls
+ * behind does not delay later permits. Callers claim permits in batches covering about a
+ * millisecond of the timeline, so several dispatcher threads rarely contend, and wait for each
+ * permit by parking until shortly before it is due, then yielding, then spinning.
+ * <p>
+ * The intended start of each call is its due time. The lateness of each permit against its due
+ * time is recorded; see {@link #getAccuracy}.
+ *
+ * @since 1.12.0
+ */
+public class PreciseRequestRateScheduler implements Scheduler {
+  private static final Logger _logger = LoggerFactory.getLogger(PreciseRequestRateScheduler.class);
+  // waits longer than this park until this long before the due time, to allow for park overshoot
+  static final long YIELD_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+  // waits shorter than this spin
+  static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+  static final int MAX_BATCH = 64;
+  private final double rate;
+  private final TimeUnit unit;
+  private final double rampup;
+  private final TimeUnit rampupUnit;
+  private final double nanosPerPermit;
+  private final long rampNanos;
+  // permits due during rampup
+  private final double rampPermits;
+  private final int batch;
+  private final AtomicLong nextPermit;
+  private final ThreadLocal<long[]> claimed;
+  private final LatencyHistogram lateness;
+  private volatile boolean started;
+  private volatile long start;
+  private volatile long lastGrant;
+
+  /**
+   * Constructs an instance using the provided rate {@code count / unit }
+   *
+   * @param rate the numerator of the rate to configure
+   * @param unit the denominator of the rate to configure
+   * @param rampup the duration to ramp up linearly to the stable request rate
+   * @param rampupUnit the rampup duration unit
+   * @throws IllegalArgumentException if rate is not positive or rampup is negative
+   * @throws NullPointerException if unit or rampupUnit is null
+   */
+  public PreciseRequestRateScheduler(final double rate, final TimeUnit unit, final double rampup,
+      final TimeUnit rampupUnit) {
+    checkArgument(rate > 0.0, "rate must be > 0.0 [%s]", rate);
+    this.rate = rate;
+    this.unit = checkNotNull(unit);
+    checkArgument(rampup >= 0.0, "rampup must be >= 0.0 [%s]", rampup);
+    this.rampup = rampup;
+    this.rampupUnit = checkNotNull(rampupUnit);
+
+    this.nanosPerPermit = unit.toNanos(1) / rate;
+    this.rampNanos = (long) (rampup * rampupUnit.toNanos(1));
+    this.rampPermits = this.rampNanos / this.nanosPerPermit / 2;
+    // a batch covers about a millisecond of the timeline, so a dispatcher which stalls holds few
+    // permits
+    final double permitsPerMilli = TimeUnit.MILLISECONDS.toNanos(1) / this.nanosPerPermit;
+    this.batch = (int) Math.max(1, Math.min(MAX_BATCH, permitsPerMilli));
+    _logger.debug("Calculated permits per millisecond [{}], batch [{}]", permitsPerMilli,
+        this.batch);
+
+    this.nextPermit = new AtomicLong();
+    this.claimed = new ThreadLocal<long[]>() {
+      @Override
+      protected long[] initialValue() {
+        // next and end of this thread's batch of permits
+        return new long[2];
+      }
+    };
+    this.lateness = new LatencyHistogram(Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE,
+        Statistics.HISTOGRAM_SIGNIFICANT_DIGITS);
+  }
+
+  @Override
+  public long schedule() {
+    if (!this.started) {
+      start();
+    }
+    final long[] claimed = this.claimed.get();
+    if (claimed[0] == claimed[1]) {
+      claimed[0] = this.nextPermit.getAndAdd(this.batch);
+      claimed[1] = claimed[0] + this.batch;
+    }
+    final long due = this.start + dueNanos(claimed[0]++);
+    final long granted = awaitNanos(due);
+    this.lateness.record(TimeUnit.NANOSECONDS.toMicros(granted - due));
+    this.lastGrant = granted;
+    return due;
+  }
+
+  private synchronized void start() {
+    if (!this.started) {
+      this.start = System.nanoTime();
+      this.started = true;
+    }
+  }
+
+  /**
+   * Computes when a permit is due
+   *
+   * @param permit the index of the permit, from zero
+   * @return the time the permit is due, in nanoseconds since the first call was scheduled
+   */
+  long dueNanos(final long permit) {
+    if (permit < this.rampPermits) {
+      // during rampup the rate grows linearly, so permits due by t are rate * t^2 / (2 * ramp)
+      return Math.round(Math.sqrt(2.0 * this.rampNanos * permit * this.nanosPerPermit));
+    }
+    return this.rampNanos + Math.round((permit - this.rampPermits) * this.nanosPerPermit);
+  }
+
+  /**
+   * Computes how many permit intervals of the timeline elapse in a duration; the inverse of
+   * {@link #dueNanos}
+   *
+   * @param nanos a duration since the first call was scheduled
+   * @return the number of intervals between permits due in the duration
+   */
+  double intervals(final long nanos) {
+    if (nanos < this.rampNanos) {
+      return (double) nanos * nanos / (2.0 * this.rampNanos * this.nanosPerPermit);
+    }
+    return this.rampPermits + (nanos - this.rampNanos) / this.nanosPerPermit;
+  }
+
+  /**
+   * Waits until a deadline, parking while it is distant, yielding as it nears, and spinning for
+   * the last few microseconds
+   *
+   * @param deadline the time to wait until, in {@link System#nanoTime} units
+   * @return the time the wait finished, in {@link System#nanoTime} units
+   */
+  static long awaitNanos(final long deadline) {
+    long now = System.nanoTime();
+    while (deadline - now > 0) {
+      final long remaining = deadline - now;
+      if (remaining > YIELD_NANOS) {
+        LockSupport.parkNanos(remaining - YIELD_NANOS);
+      } else if (remaining > SPIN_NANOS) {
+        Thread.yield();
+      }
+      now = System.nanoTime();
+    }
+    return now;
+  }
+
+  @Override
+  public void complete() {
+    // nothing to do for this scheduler type
+  }
+
+  /**
+   * Measures how closely permits have followed the timeline so far
+   *
+   * @return the accuracy of this scheduler
+   */
+  public ScheduleAccuracy getAccuracy() {
+    final LatencyHistogram.Snapshot lateness = this.lateness.snapshot();
+    final long permits = lateness.getTotalCount();
+    double targetRate = 0.0;
+    double achievedRate = 0.0;
+    if (permits > 1) {
+      final long elapsed = this.lastGrant - this.start;
+      if (elapsed > 0) {
+        final double seconds = (double) elapsed / TimeUnit.SECONDS.toNanos(1);
+        targetRate = intervals(elapsed) / seconds;
+        achievedRate = (permits - 1) / seconds;
+      }
+    }
+    return new ScheduleAccuracy(targetRate, achievedRate, lateness);
+  }
+
+  /**
+   * @return the number of permits a caller claims at a time
+   */
+  int getBatch() {
+    return this.batch;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "PreciseRequestRateScheduler [rate=%s, unit=%s, rampup=%s, rampupUnit=%s, batch=%s]",
+        this.rate, this.unit, this.rampup, this.rampupUnit, this.batch);
+  }
+}
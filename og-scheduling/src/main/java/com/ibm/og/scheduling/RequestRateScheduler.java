@@ -33,6 +33,7 @@ public class RequestRateScheduler implements Scheduler {
   private final TimeUnit rampupUnit;
   private final AtomicReference<RateLimiter> permits;
   private final CountDownLatch started;
+  private final IntendedStartClock intendedStarts;
 
   /**
    * Constructs an instance using the provided rate {@code count / unit }
@@ -107,6 +108,7 @@ public class RequestRateScheduler implements Scheduler {
       rampupThread.start();
     }
     this.started = new CountDownLatch(1);
+    this.intendedStarts = new IntendedStartClock();
   }
 
   double requestsPerSecond(final double rate, final TimeUnit unit) {
@@ -114,9 +116,11 @@ public class RequestRateScheduler implements Scheduler {
   }
 
   @Override
-  public void schedule() {
+  public long schedule() {
     this.started.countDown();
-    this.permits.get().acquire();
+    final RateLimiter limiter = this.permits.get();
+    limiter.acquire();
+    return this.intendedStarts.next(limiter.getRate());
   }
 
   @Override
@@ -0,0 +1,75 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.scheduling;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.ibm.og.statistic.LatencyHistogram;
+
+/**
+ * How closely a scheduler has issued permits to its schedule
+ *
+ * @since 1.12.0
+ */
+public final class ScheduleAccuracy {
+  private final double targetRate;
+  private final double achievedRate;
+  private final LatencyHistogram.Snapshot lateness;
+
+  /**
+   * Constructs an instance
+   *
+   * @param targetRate the mean rate of the schedule, in permits per second
+   * @param achievedRate the mean rate permits were issued at, in permits per second
+   * @param lateness the time each permit was issued after it was due, in microseconds
+   * @throws NullPointerException if lateness is null
+   */
+  public ScheduleAccuracy(final double targetRate, final double achievedRate,
+      final LatencyHistogram.Snapshot lateness) {
+    this.targetRate = targetRate;
+    this.achievedRate = achievedRate;
+    this.lateness = checkNotNull(lateness);
+  }
+
+  /**
+   * @return the mean rate of the schedule over the same period as {@link #getAchievedRate}, in
+   *         permits per second. This is below the configured rate while ramping up
+   */
+  public double getTargetRate() {
+    return this.targetRate;
+  }
+
+  /**
+   * @return the mean rate permits were issued at from the first to the most recent, in permits per
+   *         second
+   */
+  public double getAchievedRate() {
+    return this.achievedRate;
+  }
+
+  /**
+   * @return the number of permits issued
+   */
+  public long getPermits() {
+    return this.lateness.getTotalCount();
+  }
+
+  /**
+   * Returns the time each permit was issued after it was due. The error in the interval between
+   * any two permits is the difference of their lateness, so this also bounds inter-arrival error
+   *
+   * @return a snapshot of permit lateness, in microseconds
+   */
+  public LatencyHistogram.Snapshot getLateness() {
+    return this.lateness;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ScheduleAccuracy [targetRate=%s, achievedRate=%s, permits=%s]",
+        this.targetRate, this.achievedRate, getPermits());
+  }
+}
@@ -13,8 +13,12 @@ package com.ibm.og.scheduling;
 public interface Scheduler {
   /**
    * Blocks until permitted to continue
+   * 
+   * @return the time at which the caller was intended to continue, in {@link System#nanoTime}
+   *         units. This may be earlier than the time this method returns if the caller fell behind
+   *         schedule
    */
-  void schedule();
+  long schedule();
   /**
    * Signals request completion
    */
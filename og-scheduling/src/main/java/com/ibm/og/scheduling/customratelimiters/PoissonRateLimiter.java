@@ -126,6 +126,28 @@ abstract public class PoissonRateLimiter {
         return acquire(1);
     }
 
+    /**
+     * Acquires a single permit, blocking until it is granted, and returns the moment it was
+     * scheduled for on the limiter's arrival timeline. The timeline starts at the first permit and
+     * advances by the interval the limiter samples for every permit, whether or not a caller was
+     * waiting for it, so a permit granted late, or from permits stored while callers were busy
+     * elsewhere, is reported at its place on the timeline rather than when it was granted.
+     *
+     * @return the scheduled time of the permit, in {@link System#nanoTime} units
+     */
+    public long acquireScheduled() {
+        final long microsToWait;
+        final long scheduledNanos;
+        synchronized (mutex()) {
+            final long nowMicros = stopwatch.readMicros();
+            final long nowNanos = System.nanoTime();
+            microsToWait = reserveAndGetWaitLength(1, nowMicros);
+            scheduledNanos = nowNanos - MICROSECONDS.toNanos(nowMicros - lastScheduledMicros());
+        }
+        stopwatch.sleepMicrosUninterruptibly(microsToWait);
+        return scheduledNanos;
+    }
+
     private double acquire(int permits) {
         long microsToWait = reserve(permits);
         stopwatch.sleepMicrosUninterruptibly(microsToWait);
@@ -195,6 +217,12 @@ abstract public class PoissonRateLimiter {
      */
     abstract long reserveEarliestAvailable(int permits, long nowMicros);
 
+    /**
+     * Returns the time on the arrival timeline of the most recently reserved permit, in the
+     * stopwatch's micros
+     */
+    abstract long lastScheduledMicros();
+
     @Override
     public String toString() {
         return String.format(Locale.ROOT, "RateLimiter[stableRate=%3.1fqps]", getRate());
@@ -39,6 +39,21 @@ public abstract class PoissonSmoothRateLimiter extends PoissonRateLimiter {
      */
     private long nextFreeTicketMicros = 0L; // could be either in the past or future
 
+    /**
+     * The arrival timeline: the time at which the next permit is scheduled had no caller ever been
+     * late. Unlike {@code nextFreeTicketMicros} it is never resynced to the current time; instead a
+     * permit taken from stored permits advances it by the time those permits were stored over, so
+     * it runs ahead of {@code nextFreeTicketMicros} by exactly the stored backlog once callers have
+     * caught up. Kept as a double so that fractions of a micro do not accumulate. Negative until the
+     * first permit is reserved.
+     */
+    private double timelineMicros = -1.0;
+
+    /**
+     * The time on the arrival timeline of the most recently reserved permit.
+     */
+    private long lastScheduledMicros = 0L;
+
     /**
      * Random number generator used for generating the Poisson distribution.
      */
@@ -180,6 +195,11 @@ public abstract class PoissonSmoothRateLimiter extends PoissonRateLimiter {
         return SECONDS.toMicros(1L) / meanIntervalMicros;
     }
 
+    @Override
+    final long lastScheduledMicros() {
+        return lastScheduledMicros;
+    }
+
     @Override
     final long queryEarliestAvailable(long nowMicros) {
         return nextFreeTicketMicros;
@@ -193,6 +213,11 @@ public abstract class PoissonSmoothRateLimiter extends PoissonRateLimiter {
         double freshPermits = requiredPermits - storedPermitsToSpend;
         long tempStoredPermitsToWaitTime = storedPermitsToWaitTime(this.storedPermits, storedPermitsToSpend);
         long waitMicros = tempStoredPermitsToWaitTime + (long) (freshPermits * poissonIntervalMicros1(meanIntervalMicros));
+        if (timelineMicros < 0.0) {
+            timelineMicros = returnValue;
+        }
+        lastScheduledMicros = (long) timelineMicros;
+        timelineMicros += waitMicros + storedPermitsToSpend * coolDownIntervalMicros();
 
 // Test Code
 
@@ -0,0 +1,73 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class IntendedStartClockTest {
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+  private IntendedStartClock clock;
+
+  @Before
+  public void before() {
+    this.clock = new IntendedStartClock();
+  }
+
+  @Test
+  public void firstCallIsNow() {
+    final long before = System.nanoTime();
+    final long intended = this.clock.next(10.0);
+    assertThat(intended, greaterThanOrEqualTo(before));
+    assertThat(intended, lessThanOrEqualTo(System.nanoTime()));
+  }
+
+  @Test
+  public void behindSchedule() {
+    final long first = this.clock.next(10.0);
+    Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    // permits granted late were intended at their place on the timeline
+    assertThat(this.clock.next(10.0), is(first + INTERVAL));
+    assertThat(this.clock.next(10.0), is(first + 2 * INTERVAL));
+    assertThat(this.clock.next(10.0), is(first + 3 * INTERVAL));
+  }
+
+  @Test
+  public void waitingDoesNotMoveTimeline() {
+    final long first = this.clock.next(10.0);
+    // on schedule, this caller waited for its permit
+    Uninterruptibles.sleepUninterruptibly(150, TimeUnit.MILLISECONDS);
+    assertThat(this.clock.next(10.0), is(first + INTERVAL));
+    Uninterruptibles.sleepUninterruptibly(350, TimeUnit.MILLISECONDS);
+    assertThat(this.clock.next(10.0), is(first + 2 * INTERVAL));
+  }
+
+  @Test
+  public void rateChangeContinuesTimeline() {
+    final long first = this.clock.next(10.0);
+    Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    assertThat(this.clock.next(10.0), is(first + INTERVAL));
+    // the next call was due an interval later at the old rate; the new rate applies from there
+    assertThat(this.clock.next(20.0), is(first + 2 * INTERVAL));
+    assertThat(this.clock.next(20.0), is(first + 2 * INTERVAL + INTERVAL / 2));
+  }
+
+  @Test
+  public void neverLaterThanNow() {
+    this.clock.next(10.0);
+    final long intended = this.clock.next(10.0);
+    assertThat(intended, lessThanOrEqualTo(System.nanoTime()));
+  }
+}
@@ -60,4 +60,20 @@ public class PoissonRequestRateSchedulerIT {
         assertThat(millis,
                 both(greaterThan(expectedMillis - error)).and(lessThan(expectedMillis + error)));
     }
+
+    @Test
+    public void unloadedSchedulerIsNotLate() {
+        // a caller which takes each permit as soon as it is granted is never behind schedule, even
+        // though over thousands of calls Poisson arrivals wander seconds from a fixed 1/rate timeline
+        final Scheduler scheduler =
+                new PoissonRequestRateScheduler(1000, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+        final int operations = 10000;
+        long lateness = 0;
+        for (int i = 0; i < operations; i++) {
+            final long intended = scheduler.schedule();
+            lateness += System.nanoTime() - intended;
+        }
+        // allow for the oversleeping of each permit's wait
+        assertThat(TimeUnit.NANOSECONDS.toMicros(lateness / operations), lessThan(2000L));
+    }
 }
@@ -0,0 +1,174 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class PreciseRequestRateSchedulerTest {
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @DataProvider
+  public static Object[][] provideInvalidPreciseRequestRateScheduler() {
+    final double rate = 10.0;
+    final TimeUnit unit = TimeUnit.SECONDS;
+    return new Object[][] {{0.0, unit, 0.0, unit, IllegalArgumentException.class},
+        {-1.0, unit, 0.0, unit, IllegalArgumentException.class},
+        {rate, null, 0.0, unit, NullPointerException.class},
+        {rate, unit, -1.0, unit, IllegalArgumentException.class},
+        {rate, unit, 0.0, null, NullPointerException.class}};
+  }
+
+  @Test
+  @UseDataProvider("provideInvalidPreciseRequestRateScheduler")
+  public void invalidPreciseRequestRateScheduler(final double rate, final TimeUnit unit,
+      final double rampup, final TimeUnit rampupUnit, final Class<Exception> expectedException) {
+    this.thrown.expect(expectedException);
+    new PreciseRequestRateScheduler(rate, unit, rampup, rampupUnit);
+  }
+
+  @DataProvider
+  public static Object[][] provideBatch() {
+    return new Object[][] {{1.0, TimeUnit.SECONDS, 1}, {1000.0, TimeUnit.SECONDS, 1},
+        {20000.0, TimeUnit.SECONDS, 20}, {100000.0, TimeUnit.SECONDS, 64},
+        {20.0, TimeUnit.MILLISECONDS, 20}};
+  }
+
+  @Test
+  @UseDataProvider("provideBatch")
+  public void batch(final double rate, final TimeUnit unit, final int expectedBatch) {
+    assertThat(new PreciseRequestRateScheduler(rate, unit, 0.0, TimeUnit.SECONDS).getBatch(),
+        is(expectedBatch));
+  }
+
+  @Test
+  public void timeline() {
+    final PreciseRequestRateScheduler s =
+        new PreciseRequestRateScheduler(1000.0, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+
+    assertThat(s.dueNanos(0), is(0L));
+    assertThat(s.dueNanos(1), is(TimeUnit.MILLISECONDS.toNanos(1)));
+    assertThat(s.dueNanos(1000), is(TimeUnit.SECONDS.toNanos(1)));
+    assertThat(s.intervals(TimeUnit.SECONDS.toNanos(1)), closeTo(1000.0, 0.001));
+  }
+
+  @Test
+  public void timelineRampup() {
+    // 500 permits are due during the 10 second ramp to 100 permits per second
+    final PreciseRequestRateScheduler s =
+        new PreciseRequestRateScheduler(100.0, TimeUnit.SECONDS, 10.0, TimeUnit.SECONDS);
+
+    assertThat(s.dueNanos(0), is(0L));
+    assertThat(s.dueNanos(125), is(TimeUnit.SECONDS.toNanos(5)));
+    assertThat(s.dueNanos(500), is(TimeUnit.SECONDS.toNanos(10)));
+    assertThat(s.dueNanos(600), is(TimeUnit.SECONDS.toNanos(11)));
+    assertThat(s.intervals(TimeUnit.SECONDS.toNanos(5)), closeTo(125.0, 0.001));
+    assertThat(s.intervals(TimeUnit.SECONDS.toNanos(11)), closeTo(600.0, 0.001));
+  }
+
+  @Test
+  public void schedule() {
+    final PreciseRequestRateScheduler s =
+        new PreciseRequestRateScheduler(1000.0, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+    final long first = s.schedule();
+    long previous = first;
+    for (int i = 1; i < 100; i++) {
+      final long intendedStart = s.schedule();
+      assertThat(intendedStart - previous, is(TimeUnit.MILLISECONDS.toNanos(1)));
+      previous = intendedStart;
+    }
+    // permits are never issued early
+    assertThat(System.nanoTime() - first, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(99)));
+
+    final ScheduleAccuracy accuracy = s.getAccuracy();
+    assertThat(accuracy.getPermits(), is(100L));
+    assertThat(accuracy.getTargetRate(), closeTo(1000.0, 20.0));
+    assertThat(accuracy.getAchievedRate(), closeTo(1000.0, 50.0));
+  }
+
+  @Test
+  public void scheduleBehindSchedule() {
+    final PreciseRequestRateScheduler s =
+        new PreciseRequestRateScheduler(10.0, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+    final long first = s.schedule();
+    // simulate a dispatcher which was blocked; missed permits are issued immediately
+    Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    final long second = s.schedule();
+    final long third = s.schedule();
+
+    assertThat(second - first, is(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(third - second, is(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(third, lessThan(System.nanoTime()));
+    assertThat(s.getAccuracy().getLateness().getMaxValue(),
+        greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(300)));
+  }
+
+  @Test
+  public void scheduleMultipleThreads() throws InterruptedException {
+    // a batch of 20 permits, so 4 threads each claim 25 batches
+    final PreciseRequestRateScheduler s =
+        new PreciseRequestRateScheduler(20000.0, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+    final long start = s.schedule();
+    final Set<Long> intendedStarts =
+        Sets.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    intendedStarts.add(0L);
+    final List<Thread> threads = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 500; j++) {
+            intendedStarts.add(s.schedule() - start);
+          }
+        }
+      }));
+    }
+
+    for (final Thread t : threads) {
+      t.start();
+    }
+
+    for (final Thread t : threads) {
+      t.join();
+    }
+    // the first thread's batch holds 19 unclaimed permits, so each thread's permits follow it
+    assertThat(intendedStarts.size(), is(2001));
+    for (int i = 0; i < 2001; i++) {
+      assertThat(intendedStarts.contains(s.dueNanos(i < 1 ? i : i + 19)), is(true));
+    }
+    assertThat(s.getAccuracy().getPermits(), is(2001L));
+  }
+
+  @Test
+  public void awaitNanos() {
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2);
+    assertThat(PreciseRequestRateScheduler.awaitNanos(deadline), greaterThanOrEqualTo(deadline));
+    final long past = System.nanoTime() - 1;
+    assertThat(PreciseRequestRateScheduler.awaitNanos(past), greaterThanOrEqualTo(past));
+  }
+}
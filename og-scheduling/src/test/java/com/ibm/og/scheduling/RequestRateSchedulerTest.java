@@ -7,6 +7,8 @@ package com.ibm.og.scheduling;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 
 import java.util.concurrent.TimeUnit;
 
@@ -15,6 +17,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -61,4 +65,19 @@ public class RequestRateSchedulerTest {
     assertThat(s.requestsPerSecond(rate, unit),
         closeTo(expectedRequestsPerSecond, Math.pow(0.1, 6)));
   }
+
+  @Test
+  public void intendedStartBehindSchedule() {
+    final RequestRateScheduler s =
+        new RequestRateScheduler(10.0, TimeUnit.SECONDS, 0.0, TimeUnit.SECONDS);
+    final long first = s.schedule();
+    // simulate a dispatcher which was blocked; the limiter grants the missed permits immediately
+    Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    final long second = s.schedule();
+    final long third = s.schedule();
+
+    assertThat(second - first, is(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(third - second, is(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(third, lessThan(System.nanoTime()));
+  }
 }
@@ -6,10 +6,12 @@
 package com.ibm.og.statistic;
 
 /**
- * A query-able type of counter
+ * A query-able type of counter. {@code LATENCY} accumulates the service time of operations, from
+ * when the client started sending each request; {@code RESPONSE_TIME} accumulates the time from
+ * when each request was intended to be sent, which includes any delay in sending it
  * 
  * @since 1.0
  */
 public enum Counter {
-  OPERATIONS, ACTIVE_OPERATIONS, BYTES, LATENCY;
+  OPERATIONS, ACTIVE_OPERATIONS, BYTES, LATENCY, RESPONSE_TIME;
 }
@@ -0,0 +1,388 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * A high dynamic range histogram of latency values. Values are counted in buckets whose width
+ * grows with the magnitude of the value, in the manner of HdrHistogram, so every value up to
+ * {@code highestTrackableValue} is recorded to {@code significantDigits} significant decimal
+ * digits using a fixed, small number of counters. Recording is lock free and, once a thread's
+ * stripe exists, does not allocate; larger values are recorded as {@code highestTrackableValue}.
+ * <p>
+ * Threads recording similar values update the same counters, so a histogram recorded from many
+ * threads may be striped: each stripe is a full set of counters which {@link #snapshot} sums. Each
+ * stripe costs as much memory as an unstriped histogram, so the stripe count is best kept near the
+ * number of recording threads.
+ * <p>
+ * {@link #snapshot} copies the current counts into a {@link Snapshot}, which can be queried for
+ * percentiles, subtracted from a later snapshot of the same histogram, merged with snapshots of
+ * other histograms of the same layout, and encoded to and decoded from a compact string.
+ *
+ * @since 1.12.0
+ */
+public class LatencyHistogram {
+  private final Layout layout;
+  private final StripedLongArray counts;
+
+  /**
+   * Constructs an unstriped instance
+   *
+   * @param highestTrackableValue the highest value to record; larger values are recorded as this
+   * @param significantDigits the number of significant decimal digits to preserve, in range [1, 5]
+   * @throws IllegalArgumentException if highestTrackableValue is less than 2, or if
+   *         significantDigits is not in range [1, 5]
+   */
+  public LatencyHistogram(final long highestTrackableValue, final int significantDigits) {
+    this(highestTrackableValue, significantDigits, 1);
+  }
+
+  /**
+   * Constructs an instance
+   *
+   * @param highestTrackableValue the highest value to record; larger values are recorded as this
+   * @param significantDigits the number of significant decimal digits to preserve, in range [1, 5]
+   * @param stripes the number of counter stripes; rounded up to a power of two
+   * @throws IllegalArgumentException if highestTrackableValue is less than 2, if
+   *         significantDigits is not in range [1, 5], or if stripes is not positive
+   */
+  public LatencyHistogram(final long highestTrackableValue, final int significantDigits,
+      final int stripes) {
+    this.layout = new Layout(highestTrackableValue, significantDigits);
+    this.counts = new StripedLongArray(this.layout.countsLength, stripes);
+  }
+
+  /**
+   * Records a value
+   *
+   * @param value the value to record; negative values are recorded as zero
+   */
+  public void record(final long value) {
+    this.counts.add(this.layout.countsIndex(value), 1);
+  }
+
+  /**
+   * Copies the counts recorded so far. Values recorded concurrently with this method may or may
+   * not be included
+   *
+   * @return a snapshot of this histogram
+   */
+  public Snapshot snapshot() {
+    final long[] copy = new long[this.counts.length()];
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = this.counts.sum(i);
+    }
+    return new Snapshot(this.layout, copy);
+  }
+
+  /**
+   * Creates an empty snapshot with the given layout
+   *
+   * @param highestTrackableValue the highest value of the layout
+   * @param significantDigits the significant decimal digits of the layout
+   * @return an empty snapshot
+   * @throws IllegalArgumentException if highestTrackableValue is less than 2, or if
+   *         significantDigits is not in range [1, 5]
+   */
+  public static Snapshot emptySnapshot(final long highestTrackableValue,
+      final int significantDigits) {
+    final Layout layout = new Layout(highestTrackableValue, significantDigits);
+    return new Snapshot(layout, new long[layout.countsLength]);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("LatencyHistogram [highestTrackableValue=%s, significantDigits=%s]",
+        this.layout.highestTrackableValue, this.layout.significantDigits);
+  }
+
+  /**
+   * An immutable copy of the counts of a {@link LatencyHistogram}
+   */
+  public static final class Snapshot {
+    private final Layout layout;
+    private final long[] counts;
+    private final long totalCount;
+
+    private Snapshot(final Layout layout, final long[] counts) {
+      this.layout = layout;
+      this.counts = counts;
+      long total = 0;
+      for (final long count : counts) {
+        total += count;
+      }
+      this.totalCount = total;
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getTotalCount() {
+      return this.totalCount;
+    }
+
+    /**
+     * Returns the value at or below which the given percentage of recorded values fall. The
+     * result is the highest value equivalent to the matching bucket, so it is accurate to the
+     * histogram's significant digits
+     *
+     * @param percentile the percentile, in range [0.0, 100.0]
+     * @return the value at the given percentile, or 0 if no values were recorded
+     * @throws IllegalArgumentException if percentile is not in range [0.0, 100.0]
+     */
+    public long getValueAtPercentile(final double percentile) {
+      checkArgument(percentile >= 0.0 && percentile <= 100.0,
+          "percentile must be in range [0.0, 100.0] [%s]", percentile);
+      if (this.totalCount == 0) {
+        return 0;
+      }
+      final long countAtPercentile =
+          Math.max(1, (long) (percentile / 100.0 * this.totalCount + 0.5));
+      long count = 0;
+      for (int i = 0; i < this.counts.length; i++) {
+        count += this.counts[i];
+        if (count >= countAtPercentile) {
+          return this.layout.highestEquivalentValue(i);
+        }
+      }
+      return this.layout.highestTrackableValue;
+    }
+
+    /**
+     * @return the highest recorded value, to the histogram's significant digits, or 0 if no values
+     *         were recorded
+     */
+    public long getMaxValue() {
+      for (int i = this.counts.length - 1; i >= 0; i--) {
+        if (this.counts[i] > 0) {
+          return this.layout.highestEquivalentValue(i);
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * Merges this snapshot with another
+     *
+     * @param other the snapshot to merge
+     * @return a snapshot holding the values of both snapshots
+     * @throws NullPointerException if other is null
+     * @throws IllegalArgumentException if other has a different layout
+     */
+    public Snapshot plus(final Snapshot other) {
+      checkLayout(other);
+      final long[] sum = new long[this.counts.length];
+      for (int i = 0; i < sum.length; i++) {
+        sum[i] = this.counts[i] + other.counts[i];
+      }
+      return new Snapshot(this.layout, sum);
+    }
+
+    /**
+     * Subtracts an earlier snapshot of the same histogram from this snapshot
+     *
+     * @param earlier the snapshot to subtract
+     * @return a snapshot holding the values recorded between the two snapshots
+     * @throws NullPointerException if earlier is null
+     * @throws IllegalArgumentException if earlier has a different layout
+     */
+    public Snapshot minus(final Snapshot earlier) {
+      checkLayout(earlier);
+      final long[] difference = new long[this.counts.length];
+      for (int i = 0; i < difference.length; i++) {
+        difference[i] = Math.max(0, this.counts[i] - earlier.counts[i]);
+      }
+      return new Snapshot(this.layout, difference);
+    }
+
+    private void checkLayout(final Snapshot other) {
+      checkNotNull(other);
+      checkArgument(this.layout.equals(other.layout), "histogram layouts differ [%s, %s]",
+          this.layout, other.layout);
+    }
+
+    /**
+     * Encodes this snapshot as a base64 string. The encoding is a sequence of zigzag encoded
+     * LEB128 varints: the highest trackable value, the significant digits, then the counts in
+     * bucket order, where a run of n empty buckets is written as -n and trailing empty buckets are
+     * omitted
+     *
+     * @return the encoded snapshot
+     */
+    public String encode() {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      writeVarint(out, this.layout.highestTrackableValue);
+      writeVarint(out, this.layout.significantDigits);
+      int zeros = 0;
+      for (final long count : this.counts) {
+        if (count == 0) {
+          zeros++;
+        } else {
+          if (zeros > 0) {
+            writeVarint(out, -zeros);
+            zeros = 0;
+          }
+          writeVarint(out, count);
+        }
+      }
+      return BaseEncoding.base64().encode(out.toByteArray());
+    }
+
+    /**
+     * Decodes a snapshot encoded by {@link #encode}
+     *
+     * @param encoded the encoded snapshot
+     * @return the decoded snapshot
+     * @throws NullPointerException if encoded is null
+     * @throws IllegalArgumentException if encoded is not a valid encoded snapshot
+     */
+    public static Snapshot decode(final String encoded) {
+      final byte[] bytes = BaseEncoding.base64().decode(checkNotNull(encoded));
+      final int[] position = new int[1];
+      final long highestTrackableValue = readVarint(bytes, position);
+      final long significantDigits = readVarint(bytes, position);
+      checkArgument(significantDigits >= 1 && significantDigits <= 5,
+          "invalid significant digits [%s]", significantDigits);
+      final Layout layout = new Layout(highestTrackableValue, (int) significantDigits);
+      final long[] counts = new long[layout.countsLength];
+      int index = 0;
+      while (position[0] < bytes.length) {
+        final long value = readVarint(bytes, position);
+        if (value < 0) {
+          index += -value;
+        } else {
+          checkArgument(index < counts.length, "encoded histogram has too many buckets");
+          counts[index++] = value;
+        }
+      }
+      return new Snapshot(layout, counts);
+    }
+
+    private static void writeVarint(final ByteArrayOutputStream out, final long value) {
+      long zigzag = (value << 1) ^ (value >> 63);
+      while ((zigzag & ~0x7FL) != 0) {
+        out.write((int) ((zigzag & 0x7F) | 0x80));
+        zigzag >>>= 7;
+      }
+      out.write((int) zigzag);
+    }
+
+    private static long readVarint(final byte[] bytes, final int[] position) {
+      long zigzag = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        checkArgument(position[0] < bytes.length, "encoded histogram is truncated");
+        final byte b = bytes[position[0]++];
+        zigzag |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+      }
+      throw new IllegalArgumentException("encoded histogram has a malformed varint");
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Snapshot [layout=%s, totalCount=%s, counts=%s]", this.layout,
+          this.totalCount, Arrays.toString(this.counts));
+    }
+  }
+
+  /*
+   * Buckets are split into sub buckets which each count values of equal width. The first bucket
+   * has unit wide sub buckets covering [0, subBucketCount); every later bucket covers twice the
+   * range of the one before it at twice the sub bucket width, so only its upper half of sub
+   * buckets is needed
+   */
+  private static final class Layout {
+    private final long highestTrackableValue;
+    private final int significantDigits;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final int countsLength;
+
+    private Layout(final long highestTrackableValue, final int significantDigits) {
+      checkArgument(highestTrackableValue >= 2, "highestTrackableValue must be >= 2 [%s]",
+          highestTrackableValue);
+      checkArgument(significantDigits >= 1 && significantDigits <= 5,
+          "significantDigits must be in range [1, 5] [%s]", significantDigits);
+      this.highestTrackableValue = highestTrackableValue;
+      this.significantDigits = significantDigits;
+
+      final long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+      final int subBucketCountMagnitude =
+          64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+      this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+      this.subBucketHalfCount = 1 << this.subBucketHalfCountMagnitude;
+      final long subBucketCount = 1L << subBucketCountMagnitude;
+      this.subBucketMask = subBucketCount - 1;
+      this.leadingZeroCountBase = 64 - this.subBucketHalfCountMagnitude - 1;
+
+      long smallestUntrackableValue = subBucketCount;
+      int bucketCount = 1;
+      while (smallestUntrackableValue <= highestTrackableValue) {
+        if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+          bucketCount++;
+          break;
+        }
+        smallestUntrackableValue <<= 1;
+        bucketCount++;
+      }
+      this.countsLength = (bucketCount + 1) * this.subBucketHalfCount;
+    }
+
+    private int countsIndex(final long value) {
+      final long clamped = Math.min(Math.max(value, 0), this.highestTrackableValue);
+      final int bucketIndex =
+          this.leadingZeroCountBase - Long.numberOfLeadingZeros(clamped | this.subBucketMask);
+      final int subBucketIndex = (int) (clamped >>> bucketIndex);
+      return ((bucketIndex + 1) << this.subBucketHalfCountMagnitude)
+          + (subBucketIndex - this.subBucketHalfCount);
+    }
+
+    private long highestEquivalentValue(final int index) {
+      int bucketIndex = (index >> this.subBucketHalfCountMagnitude) - 1;
+      int subBucketIndex = (index & (this.subBucketHalfCount - 1)) + this.subBucketHalfCount;
+      if (bucketIndex < 0) {
+        subBucketIndex -= this.subBucketHalfCount;
+        bucketIndex = 0;
+      }
+      final long lowestEquivalentValue = (long) subBucketIndex << bucketIndex;
+      return Math.min(lowestEquivalentValue + (1L << bucketIndex) - 1,
+          this.highestTrackableValue);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Layout)) {
+        return false;
+      }
+      final Layout other = (Layout) obj;
+      return this.highestTrackableValue == other.highestTrackableValue
+          && this.significantDigits == other.significantDigits;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (int) (this.highestTrackableValue ^ (this.highestTrackableValue >>> 32))
+          + this.significantDigits;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("[highestTrackableValue=%s, significantDigits=%s]",
+          this.highestTrackableValue, this.significantDigits);
+    }
+  }
+}
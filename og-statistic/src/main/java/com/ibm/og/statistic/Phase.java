@@ -0,0 +1,80 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import com.ibm.og.api.RequestTimestamps;
+
+/**
+ * A phase of a request, whose duration is derived from the request's timestamps
+ *
+ * @since 1.12.0
+ */
+public enum Phase {
+  /**
+   * Time between the request being submitted to the client and the client starting it, plus any
+   * time spent leasing a connection and, for a new connection, establishing it
+   */
+  QUEUE {
+    @Override
+    long duration(final RequestTimestamps t) {
+      if (t.submitted == 0 || t.start < t.submitted) {
+        return -1;
+      }
+      // clients without a connection pool connect from the start of the request
+      final long setupStart = t.connectionLeaseStart != 0 ? t.connectionLeaseStart : t.start;
+      final long setupFinish = t.connectFinish != 0 ? t.connectFinish : t.connectionLeaseFinish;
+      return (t.start - t.submitted) + elapsed(setupStart, setupFinish, 0);
+    }
+  },
+  /**
+   * Time spent sending request content; only for requests with content
+   */
+  UPLOAD {
+    @Override
+    long duration(final RequestTimestamps t) {
+      return elapsed(t.requestContentStart, t.requestContentFinish, -1);
+    }
+  },
+  /**
+   * Time between the request being sent, including any content, and the start of the response, or
+   * its completion for responses without content; approximately the server's time to first byte.
+   * Requests which were never sent did not pass through this phase
+   */
+  SERVER {
+    @Override
+    long duration(final RequestTimestamps t) {
+      // content sent after a 100-continue is written once the request head has been sent
+      final long sent = Math.max(t.requestSent, t.requestContentFinish);
+      final long received = t.responseContentStart != 0 ? t.responseContentStart : t.finish;
+      return elapsed(sent, received, -1);
+    }
+  },
+  /**
+   * Time spent receiving response content; only for responses with content
+   */
+  DOWNLOAD {
+    @Override
+    long duration(final RequestTimestamps t) {
+      return elapsed(t.responseContentStart, t.responseContentFinish, -1);
+    }
+  };
+
+  /**
+   * Calculates the duration of this phase
+   *
+   * @param t the timestamps of a completed request
+   * @return the duration of this phase in nanoseconds, or a negative value if the request did not
+   *         pass through this phase
+   */
+  abstract long duration(RequestTimestamps t);
+
+  private static long elapsed(final long start, final long finish, final long missing) {
+    if (start == 0 || finish == 0 || finish < start) {
+      return missing;
+    }
+    return finish - start;
+  }
+}
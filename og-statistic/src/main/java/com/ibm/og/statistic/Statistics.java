@@ -8,9 +8,11 @@ package com.ibm.og.statistic;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -23,11 +25,13 @@ import com.ibm.og.api.Request;
 import com.ibm.og.api.Response;
 import com.ibm.og.http.HttpUtil;
 import com.ibm.og.api.Operation;
+import com.ibm.og.util.Context;
 import com.ibm.og.util.Pair;
 import com.ibm.og.util.TestState;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
-import com.google.common.util.concurrent.AtomicLongMap;
 
 /**
  * An aggregator of counters including:
@@ -35,6 +39,8 @@ import com.google.common.util.concurrent.AtomicLongMap;
  * <li>operations</li>
  * <li>bytes</li>
  * <li>status codes</li>
+ * <li>latency histograms, by status class</li>
+ * <li>latency histograms of each request {@link Phase}</li>
  * </ul>
  * <p>
  * statistics are gathered and stored for the following operation types:
@@ -44,15 +50,41 @@ import com.google.common.util.concurrent.AtomicLongMap;
  * <li>read</li>
  * <li>delete</li>
  * </ul>
+ * <p>
+ * counters are striped across threads and held in a single flat array indexed by operation type,
+ * and latency histograms are striped across threads as well, so that completing an operation
+ * neither contends on shared counters nor, once the recording thread's stripes exist, allocates
  * 
  * @since 1.0
  */
 @Singleton
 public class Statistics {
   private static final Logger _logger = LoggerFactory.getLogger(Statistics.class);
+  /** the unit latency histograms are recorded in */
+  public static final TimeUnit HISTOGRAM_UNIT = TimeUnit.MICROSECONDS;
+  /** the highest latency tracked by latency histograms, in {@link #HISTOGRAM_UNIT} */
+  public static final long HISTOGRAM_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+  /** the significant decimal digits latency histograms preserve */
+  public static final int HISTOGRAM_SIGNIFICANT_DIGITS = 2;
+  // histogram stripes are a full set of counters each, so there is one per processor rather than
+  // the four per processor of the counters; completions run on about that many threads
+  private static final int HISTOGRAM_STRIPES = Runtime.getRuntime().availableProcessors();
+  // status classes 1xx through 5xx, with index 0 for any other status code
+  private static final int STATUS_CLASSES = 6;
+  // cached to avoid copying the values array for every completed operation
+  private static final Phase[] PHASES = Phase.values();
+  private static final int COUNTERS = Counter.values().length;
+  private static final int MIN_STATUS_CODE = 100;
+  private static final int MAX_STATUS_CODE = 599;
+  // counters of each operation type, followed by a slot for each valid status code
+  private static final int SLOTS = COUNTERS + MAX_STATUS_CODE - MIN_STATUS_CODE + 1;
+  // multipart operations which are counted towards ALL through their component requests
+  private static final Set<Operation> INVALID_COUNT_OPS = EnumSet.of(Operation.MULTIPART_WRITE,
+      Operation.MULTIPART_WRITE_INITIATE, Operation.MULTIPART_WRITE_PART);
   private volatile boolean running;
-  private final Map<Operation, AtomicLongMap<Counter>> counters;
-  private final Map<Operation, AtomicLongMap<Integer>> scCounters;
+  private final StripedLongArray counters;
+  private final Map<Operation, AtomicReferenceArray<LatencyHistogram>> histograms;
+  private final Map<Operation, AtomicReferenceArray<LatencyHistogram>> phaseHistograms;
 
   /**
    * Constructs an instance
@@ -60,11 +92,14 @@ public class Statistics {
   @Inject
   public Statistics() {
     this.running = true;
-    this.counters = Maps.newHashMap();
-    this.scCounters = Maps.newHashMap();
+    this.counters = new StripedLongArray(Operation.values().length * SLOTS);
+    this.histograms = Maps.newHashMap();
+    this.phaseHistograms = Maps.newHashMap();
     for (final Operation operation : Operation.values()) {
-      this.counters.put(operation, AtomicLongMap.<Counter>create());
-      this.scCounters.put(operation, AtomicLongMap.<Integer>create());
+      this.histograms.put(operation,
+          new AtomicReferenceArray<LatencyHistogram>(STATUS_CLASSES));
+      this.phaseHistograms.put(operation,
+          new AtomicReferenceArray<LatencyHistogram>(PHASES.length));
     }
   }
 
@@ -74,6 +109,7 @@ public class Statistics {
    * @param state the state that the test has transitioned to
    */
   @Subscribe
+  @AllowConcurrentEvents
   public void update(final TestState state) {
     checkNotNull(state);
 
@@ -89,6 +125,7 @@ public class Statistics {
    */
 
   @Subscribe
+  @AllowConcurrentEvents
   public void update(final Request request) {
     checkNotNull(request);
 
@@ -106,6 +143,7 @@ public class Statistics {
    * @param result the completed operation
    */
   @Subscribe
+  @AllowConcurrentEvents
   public void update(final Pair<Request, Response> result) {
     checkNotNull(result);
     final Request request = result.getKey();
@@ -115,20 +153,26 @@ public class Statistics {
     updateCounter(operation, Counter.ACTIVE_OPERATIONS, -1);
     updateCounter(Operation.ALL, Counter.ACTIVE_OPERATIONS, -1);
 
+    // requests shed by a saturated client were never sent and are not operations
+    if ("shed".equals(response.getContext().get(Context.X_OG_CLIENT_SATURATED))) {
+      return;
+    }
+
     // do not record operations with 599 status after shutdown (known client aborts)
     if (this.running || response.getStatusCode() != 599) {
       updateCounter(operation, Counter.OPERATIONS, 1);
       final long latency = getLatency(operation, request, response);
       updateCounter(operation, Counter.LATENCY, latency);
-      List<Operation> invalidCountOps = new ArrayList<Operation>();
-      invalidCountOps.add(Operation.MULTIPART_WRITE);
-      invalidCountOps.add(Operation.MULTIPART_WRITE_INITIATE);
-      invalidCountOps.add(Operation.MULTIPART_WRITE_PART);
-      if (!invalidCountOps.contains(operation)) {
+      updateCounter(operation, Counter.RESPONSE_TIME, getResponseTime(response, latency));
+      final long histogramLatency = getHistogramLatency(response, latency);
+      recordLatency(operation, response.getStatusCode(), histogramLatency);
+      recordPhases(operation, response.getRequestTimestamps());
+      if (!INVALID_COUNT_OPS.contains(operation)) {
         updateCounter(Operation.ALL, Counter.OPERATIONS, 1);
+        recordLatency(Operation.ALL, response.getStatusCode(), histogramLatency);
       }
 
-      if (HttpUtil.SUCCESS_STATUS_CODES.contains(response.getStatusCode())) {
+      if (isSuccess(response.getStatusCode())) {
         final long bytes = getBytes(operation, request, response);
         updateCounter(operation, Counter.BYTES, bytes);
         updateCounter(Operation.ALL, Counter.BYTES, bytes);
@@ -159,12 +203,79 @@ public class Statistics {
     return timestamps.finishMillis - timestamps.startMillis;
   }
 
+  // service time plus the delay between the intended and actual start of the request
+  private long getResponseTime(final Response response, final long latency) {
+    final RequestTimestamps timestamps = response.getRequestTimestamps();
+    if (timestamps.intended == 0 || timestamps.start == 0) {
+      return latency;
+    }
+    final long delay = TimeUnit.NANOSECONDS.toMillis(timestamps.start - timestamps.intended);
+    return latency + Math.max(0, delay);
+  }
+
+  // latency at histogram resolution, from the nanosecond timestamps when the client recorded them
+  private long getHistogramLatency(final Response response, final long latency) {
+    final RequestTimestamps timestamps = response.getRequestTimestamps();
+    if (timestamps.start != 0 && timestamps.finish >= timestamps.start) {
+      return HISTOGRAM_UNIT.convert(timestamps.finish - timestamps.start, TimeUnit.NANOSECONDS);
+    }
+    return HISTOGRAM_UNIT.convert(latency, TimeUnit.MILLISECONDS);
+  }
+
+  private void recordLatency(final Operation operation, final int statusCode, final long value) {
+    histogram(this.histograms.get(operation), statusClass(statusCode)).record(value);
+  }
+
+  private void recordPhases(final Operation operation, final RequestTimestamps timestamps) {
+    final AtomicReferenceArray<LatencyHistogram> phases = this.phaseHistograms.get(operation);
+    for (final Phase phase : PHASES) {
+      final long duration = phase.duration(timestamps);
+      if (duration >= 0) {
+        histogram(phases, phase.ordinal())
+            .record(HISTOGRAM_UNIT.convert(duration, TimeUnit.NANOSECONDS));
+      }
+    }
+  }
+
+  private static LatencyHistogram histogram(final AtomicReferenceArray<LatencyHistogram> histograms,
+      final int index) {
+    LatencyHistogram histogram = histograms.get(index);
+    if (histogram == null) {
+      // histograms are created on first use; the loser of a race discards its histogram
+      histograms.compareAndSet(index, null, new LatencyHistogram(
+          HISTOGRAM_HIGHEST_TRACKABLE_VALUE, HISTOGRAM_SIGNIFICANT_DIGITS, HISTOGRAM_STRIPES));
+      histogram = histograms.get(index);
+    }
+    return histogram;
+  }
+
+  private static int statusClass(final int statusCode) {
+    final int statusClass = statusCode / 100;
+    return statusClass >= 1 && statusClass < STATUS_CLASSES ? statusClass : 0;
+  }
+
+  // equivalent to HttpUtil.SUCCESS_STATUS_CODES.contains, without boxing the status code
+  private static boolean isSuccess(final int statusCode) {
+    return statusCode >= 200 && statusCode <= 299;
+  }
+
+  private static int index(final Operation operation, final Counter counter) {
+    return operation.ordinal() * SLOTS + counter.ordinal();
+  }
+
+  private static int index(final Operation operation, final int statusCode) {
+    return operation.ordinal() * SLOTS + COUNTERS + statusCode - MIN_STATUS_CODE;
+  }
+
   private void updateCounter(final Operation operation, final Counter counter, final long value) {
-    this.counters.get(operation).addAndGet(counter, value);
+    this.counters.add(index(operation, counter), value);
   }
 
   private void updateStatusCode(final Operation operation, final int statusCode) {
-    this.scCounters.get(operation).incrementAndGet(statusCode);
+    // responses cannot be constructed with other status codes
+    if (statusCode >= MIN_STATUS_CODE && statusCode <= MAX_STATUS_CODE) {
+      this.counters.add(index(operation, statusCode), 1);
+    }
   }
 
   /**
@@ -177,7 +288,71 @@ public class Statistics {
   public long get(final Operation operation, final Counter counter) {
     checkNotNull(operation);
     checkNotNull(counter);
-    return this.counters.get(operation).get(counter);
+    return this.counters.sum(index(operation, counter));
+  }
+
+  /**
+   * Gets a snapshot of the latency histogram of an operation type across all status codes.
+   * Latencies are recorded in {@link #HISTOGRAM_UNIT}
+   * 
+   * @param operation the operation type of the histogram to get
+   * @return a snapshot of the histogram
+   */
+  public LatencyHistogram.Snapshot latencyHistogram(final Operation operation) {
+    checkNotNull(operation);
+    LatencyHistogram.Snapshot snapshot = emptyHistogram();
+    for (int statusClass = 0; statusClass < STATUS_CLASSES; statusClass++) {
+      final LatencyHistogram histogram = this.histograms.get(operation).get(statusClass);
+      if (histogram != null) {
+        snapshot = snapshot.plus(histogram.snapshot());
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Gets snapshots of the latency histograms of an operation type for each status class with
+   * recorded latencies. Status classes are named {@code 1xx} through {@code 5xx}, or
+   * {@code other} for status codes outside of these classes
+   * 
+   * @param operation the operation type of the histograms to get
+   * @return snapshots of the histograms, by status class
+   */
+  public Map<String, LatencyHistogram.Snapshot> latencyHistograms(final Operation operation) {
+    checkNotNull(operation);
+    final Map<String, LatencyHistogram.Snapshot> snapshots = Maps.newTreeMap();
+    for (int statusClass = 0; statusClass < STATUS_CLASSES; statusClass++) {
+      final LatencyHistogram histogram = this.histograms.get(operation).get(statusClass);
+      if (histogram != null) {
+        snapshots.put(statusClass == 0 ? "other" : statusClass + "xx", histogram.snapshot());
+      }
+    }
+    return snapshots;
+  }
+
+  /**
+   * Gets a snapshot of the latency histogram of a phase of an operation type. Latencies are
+   * recorded in {@link #HISTOGRAM_UNIT}, only for operations which passed through the phase
+   * 
+   * @param operation the operation type of the histogram to get
+   * @param phase the phase of the histogram to get
+   * @return a snapshot of the histogram
+   */
+  public LatencyHistogram.Snapshot phaseHistogram(final Operation operation, final Phase phase) {
+    checkNotNull(operation);
+    checkNotNull(phase);
+    final LatencyHistogram histogram = this.phaseHistograms.get(operation).get(phase.ordinal());
+    return histogram != null ? histogram.snapshot() : emptyHistogram();
+  }
+
+  /**
+   * Creates an empty latency histogram snapshot with the layout used by this class
+   * 
+   * @return an empty snapshot
+   */
+  public static LatencyHistogram.Snapshot emptyHistogram() {
+    return LatencyHistogram.emptySnapshot(HISTOGRAM_HIGHEST_TRACKABLE_VALUE,
+        HISTOGRAM_SIGNIFICANT_DIGITS);
   }
 
   /**
@@ -192,18 +367,26 @@ public class Statistics {
     checkArgument(HttpUtil.VALID_STATUS_CODES.contains(statusCode),
         "statusCode must be a valid status code [%s]", statusCode);
 
-    return this.scCounters.get(operation).get(statusCode);
+    return this.counters.sum(index(operation, statusCode));
   }
 
   /**
-   * Gets a read-only map of status code counters for a given operation type
+   * Gets a read-only map of status code counters for a given operation type. Only status codes
+   * which have been counted are included
    * 
    * @param operation the operatino type to get status code counter values for
    * @return a map of status code counters
    */
   public Map<Integer, Long> statusCodes(final Operation operation) {
     checkNotNull(operation);
-    return this.scCounters.get(operation).asMap();
+    final ImmutableMap.Builder<Integer, Long> statusCodes = ImmutableMap.builder();
+    for (int statusCode = MIN_STATUS_CODE; statusCode <= MAX_STATUS_CODE; statusCode++) {
+      final long count = this.counters.sum(index(operation, statusCode));
+      if (count != 0) {
+        statusCodes.put(statusCode, count);
+      }
+    }
+    return statusCodes.build();
   }
 
   @Override
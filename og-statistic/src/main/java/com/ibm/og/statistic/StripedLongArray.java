@@ -0,0 +1,112 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed length array of long counters which may be updated concurrently with little contention.
+ * Each counter is spread over a number of stripes; a thread always updates the same stripe, and
+ * reads sum a counter across all stripes. The stripe count is fixed at construction, by default
+ * four per available processor, and a stripe is allocated the first time a thread maps to it, so
+ * memory grows with the number of updating threads up to a bound proportional to the number of
+ * processors.
+ * <p>
+ * As with {@code LongAdder}, a sum is not an atomic snapshot when the counter is being updated
+ * concurrently.
+ *
+ * @since 1.12.0
+ */
+final class StripedLongArray {
+  // longs of padding either side of each stripe, so that stripes do not share a cache line
+  private static final int PADDING = 8;
+  private final int length;
+  private final int mask;
+  private final AtomicReferenceArray<AtomicLongArray> stripes;
+
+  /**
+   * Constructs an instance with a stripe count suited to the processors available
+   *
+   * @param length the number of counters
+   * @throws IllegalArgumentException if length is negative
+   */
+  StripedLongArray(final int length) {
+    this(length, 4 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an instance
+   *
+   * @param length the number of counters
+   * @param stripes the minimum number of stripes; rounded up to a power of two
+   * @throws IllegalArgumentException if length is negative or stripes is not positive
+   */
+  StripedLongArray(final int length, final int stripes) {
+    checkArgument(length >= 0, "length must be >= 0 [%s]", length);
+    checkArgument(stripes > 0, "stripes must be > 0 [%s]", stripes);
+    this.length = length;
+    final int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    this.mask = count - 1;
+    this.stripes = new AtomicReferenceArray<AtomicLongArray>(count);
+  }
+
+  /**
+   * Adds a value to a counter
+   *
+   * @param index the index of the counter
+   * @param delta the value to add
+   * @throws IndexOutOfBoundsException if index is out of range
+   */
+  void add(final int index, final long delta) {
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+    stripe().addAndGet(PADDING + index, delta);
+  }
+
+  /**
+   * Sums a counter across all stripes
+   *
+   * @param index the index of the counter
+   * @return the counter's current value
+   * @throws IndexOutOfBoundsException if index is out of range
+   */
+  long sum(final int index) {
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+    long sum = 0;
+    for (int i = 0; i < this.stripes.length(); i++) {
+      final AtomicLongArray stripe = this.stripes.get(i);
+      if (stripe != null) {
+        sum += stripe.get(PADDING + index);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * @return the number of counters
+   */
+  int length() {
+    return this.length;
+  }
+
+  private AtomicLongArray stripe() {
+    // thread ids are assigned sequentially, so concurrently running threads rarely collide
+    final int index = (int) Thread.currentThread().getId() & this.mask;
+    AtomicLongArray stripe = this.stripes.get(index);
+    if (stripe == null) {
+      // the loser of a race discards its stripe
+      this.stripes.compareAndSet(index, null, new AtomicLongArray(this.length + 2 * PADDING));
+      stripe = this.stripes.get(index);
+    }
+    return stripe;
+  }
+}
@@ -0,0 +1,222 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class LatencyHistogramTest {
+  private static final long HIGHEST = 3600000000L;
+  private LatencyHistogram histogram;
+
+  @Before
+  public void before() {
+    this.histogram = new LatencyHistogram(HIGHEST, 2);
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidLatencyHistogram() {
+    return new Object[][] {{1L, 2}, {HIGHEST, 0}, {HIGHEST, 6}};
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @UseDataProvider("provideInvalidLatencyHistogram")
+  public void invalidLatencyHistogram(final long highestTrackableValue,
+      final int significantDigits) {
+    new LatencyHistogram(highestTrackableValue, significantDigits);
+  }
+
+  @Test
+  public void empty() {
+    final LatencyHistogram.Snapshot snapshot = this.histogram.snapshot();
+    assertThat(snapshot.getTotalCount(), is(0L));
+    assertThat(snapshot.getValueAtPercentile(99.0), is(0L));
+    assertThat(snapshot.getMaxValue(), is(0L));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    for (long value = 0; value < 200; value++) {
+      this.histogram.record(value);
+    }
+    final LatencyHistogram.Snapshot snapshot = this.histogram.snapshot();
+    assertThat(snapshot.getTotalCount(), is(200L));
+    assertThat(snapshot.getValueAtPercentile(50.0), is(99L));
+    assertThat(snapshot.getValueAtPercentile(100.0), is(199L));
+    assertThat(snapshot.getMaxValue(), is(199L));
+  }
+
+  @DataProvider
+  public static Object[][] providePercentile() {
+    return new Object[][] {{50.0}, {90.0}, {99.0}, {99.9}, {99.99}, {100.0}};
+  }
+
+  @Test
+  @UseDataProvider("providePercentile")
+  public void percentile(final double percentile) {
+    // one value per microsecond up to 10 seconds
+    final long count = 10000000;
+    for (long value = 1; value <= count; value++) {
+      this.histogram.record(value);
+    }
+    final double expected = percentile / 100.0 * count;
+    final long actual = this.histogram.snapshot().getValueAtPercentile(percentile);
+    assertThat((double) actual, closeTo(expected, expected * 0.01));
+    assertThat((double) actual, greaterThanOrEqualTo(expected - 1));
+  }
+
+  @Test
+  public void highDynamicRange() {
+    this.histogram.record(1);
+    this.histogram.record(1000);
+    this.histogram.record(1000000);
+    this.histogram.record(1000000000);
+    final LatencyHistogram.Snapshot snapshot = this.histogram.snapshot();
+    assertThat(snapshot.getValueAtPercentile(25.0), is(1L));
+    assertThat((double) snapshot.getValueAtPercentile(50.0), closeTo(1000, 10));
+    assertThat((double) snapshot.getValueAtPercentile(75.0), closeTo(1000000, 10000));
+    assertThat((double) snapshot.getMaxValue(), closeTo(1000000000, 10000000));
+  }
+
+  @Test
+  public void outOfRange() {
+    this.histogram.record(-1);
+    this.histogram.record(HIGHEST * 2);
+    final LatencyHistogram.Snapshot snapshot = this.histogram.snapshot();
+    assertThat(snapshot.getTotalCount(), is(2L));
+    assertThat(snapshot.getValueAtPercentile(50.0), is(0L));
+    assertThat(snapshot.getMaxValue(), is(HIGHEST));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPercentile() {
+    this.histogram.snapshot().getValueAtPercentile(100.1);
+  }
+
+  @Test
+  public void plusAndMinus() {
+    this.histogram.record(10);
+    final LatencyHistogram.Snapshot first = this.histogram.snapshot();
+    this.histogram.record(20000);
+    this.histogram.record(20000);
+    final LatencyHistogram.Snapshot second = this.histogram.snapshot();
+
+    final LatencyHistogram.Snapshot interval = second.minus(first);
+    assertThat(interval.getTotalCount(), is(2L));
+    assertThat((double) interval.getValueAtPercentile(0.0), closeTo(20000, 200));
+
+    final LatencyHistogram.Snapshot merged = first.plus(interval);
+    assertThat(merged.getTotalCount(), is(3L));
+    assertThat(merged.getValueAtPercentile(0.0), is(10L));
+    assertThat(merged.getMaxValue(), is(second.getMaxValue()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void plusDifferentLayout() {
+    this.histogram.snapshot().plus(new LatencyHistogram(HIGHEST, 3).snapshot());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void minusNull() {
+    this.histogram.snapshot().minus(null);
+  }
+
+  @Test
+  public void encodeDecode() {
+    for (long value = 1; value < HIGHEST; value *= 3) {
+      for (int i = 0; i < value % 7; i++) {
+        this.histogram.record(value);
+      }
+    }
+    final LatencyHistogram.Snapshot snapshot = this.histogram.snapshot();
+    final LatencyHistogram.Snapshot decoded =
+        LatencyHistogram.Snapshot.decode(snapshot.encode());
+    assertThat(decoded.getTotalCount(), is(snapshot.getTotalCount()));
+    for (final double percentile : new double[] {0.0, 10.0, 50.0, 90.0, 99.0, 100.0}) {
+      assertThat(decoded.getValueAtPercentile(percentile),
+          is(snapshot.getValueAtPercentile(percentile)));
+    }
+    // a decoded snapshot has the same layout as the original
+    assertThat(decoded.minus(snapshot).getTotalCount(), is(0L));
+  }
+
+  @Test
+  public void encodeEmpty() {
+    final LatencyHistogram.Snapshot decoded =
+        LatencyHistogram.Snapshot.decode(this.histogram.snapshot().encode());
+    assertThat(decoded.getTotalCount(), is(0L));
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidDecode() {
+    return new Object[][] {{""}, {"not base64!"}, {"gA=="}, {"AgI="}};
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @UseDataProvider("provideInvalidDecode")
+  public void invalidDecode(final String encoded) {
+    LatencyHistogram.Snapshot.decode(encoded);
+  }
+
+  @Test
+  public void concurrentRecord() throws InterruptedException {
+    concurrentRecord(this.histogram);
+  }
+
+  @Test
+  public void concurrentRecordStriped() throws InterruptedException {
+    final LatencyHistogram striped = new LatencyHistogram(HIGHEST, 2, 4);
+    concurrentRecord(striped);
+    // stripes are summed into a snapshot of the same layout as an unstriped histogram
+    concurrentRecord(this.histogram);
+    final LatencyHistogram.Snapshot snapshot = striped.snapshot();
+    assertThat(snapshot.minus(this.histogram.snapshot()).getTotalCount(), is(0L));
+    assertThat(snapshot.getMaxValue(), is(this.histogram.snapshot().getMaxValue()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidStripes() {
+    new LatencyHistogram(HIGHEST, 2, 0);
+  }
+
+  private static void concurrentRecord(final LatencyHistogram histogram)
+      throws InterruptedException {
+    final int threads = 8;
+    final int values = 100000;
+    final List<Thread> recorders = Lists.newArrayList();
+    for (int t = 0; t < threads; t++) {
+      recorders.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < values; i++) {
+            histogram.record(i);
+          }
+        }
+      }));
+    }
+    for (final Thread recorder : recorders) {
+      recorder.start();
+    }
+    for (final Thread recorder : recorders) {
+      recorder.join();
+    }
+    assertThat(histogram.snapshot().getTotalCount(), is((long) threads * values));
+  }
+}
@@ -0,0 +1,93 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.og.api.RequestTimestamps;
+
+public class PhaseTest {
+  private RequestTimestamps timestamps;
+
+  @Before
+  public void before() {
+    this.timestamps = new RequestTimestamps();
+    this.timestamps.submitted = 1000;
+    this.timestamps.start = 1100;
+    this.timestamps.connectionLeaseStart = 1110;
+    this.timestamps.connectionLeaseFinish = 1160;
+    this.timestamps.requestSent = 1180;
+    this.timestamps.finish = 2000;
+  }
+
+  @Test
+  public void queueIncludesLeaseWait() {
+    assertThat(Phase.QUEUE.duration(this.timestamps), is(150L));
+  }
+
+  @Test
+  public void queueNotSubmitted() {
+    this.timestamps.submitted = 0;
+    assertThat(Phase.QUEUE.duration(this.timestamps), lessThan(0L));
+  }
+
+  @Test
+  public void queueIncludesConnect() {
+    this.timestamps.connectFinish = 1170;
+    assertThat(Phase.QUEUE.duration(this.timestamps), is(160L));
+  }
+
+  @Test
+  public void queueIncludesConnectWithoutLease() {
+    this.timestamps.connectionLeaseStart = 0;
+    this.timestamps.connectionLeaseFinish = 0;
+    this.timestamps.connectFinish = 1170;
+    assertThat(Phase.QUEUE.duration(this.timestamps), is(170L));
+  }
+
+  @Test
+  public void serverFromRequestSent() {
+    assertThat(Phase.SERVER.duration(this.timestamps), is(820L));
+  }
+
+  @Test
+  public void serverNotSent() {
+    this.timestamps.requestSent = 0;
+    assertThat(Phase.SERVER.duration(this.timestamps), lessThan(0L));
+  }
+
+  @Test
+  public void serverFromContentAfterContinue() {
+    this.timestamps.requestContentStart = 1300;
+    this.timestamps.requestContentFinish = 1600;
+    this.timestamps.responseContentStart = 1700;
+    assertThat(Phase.SERVER.duration(this.timestamps), is(100L));
+  }
+
+  @Test
+  public void phasesWithContent() {
+    this.timestamps.requestContentStart = 1200;
+    this.timestamps.requestContentFinish = 1500;
+    this.timestamps.requestSent = 1500;
+    this.timestamps.responseContentStart = 1700;
+    this.timestamps.responseContentFinish = 1950;
+
+    assertThat(Phase.UPLOAD.duration(this.timestamps), is(300L));
+    assertThat(Phase.SERVER.duration(this.timestamps), is(200L));
+    assertThat(Phase.DOWNLOAD.duration(this.timestamps), is(250L));
+  }
+
+  @Test
+  public void phasesWithoutContent() {
+    assertThat(Phase.UPLOAD.duration(this.timestamps), lessThan(0L));
+    assertThat(Phase.DOWNLOAD.duration(this.timestamps), lessThan(0L));
+  }
+}
@@ -0,0 +1,206 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.ibm.og.api.Method;
+import com.ibm.og.api.Operation;
+import com.ibm.og.api.Request;
+import com.ibm.og.api.RequestTimestamps;
+import com.ibm.og.api.Response;
+import com.ibm.og.http.Bodies;
+import com.ibm.og.http.HttpRequest;
+import com.ibm.og.http.HttpResponse;
+import com.ibm.og.util.Pair;
+
+/**
+ * Contention benchmark for {@link Statistics}. Drives the request and completion updates every
+ * operation posts from an increasing number of threads and logs the achieved updates/sec at each
+ * thread count, both for {@code Statistics} and for {@link AtomicLongMapStatistics}, a copy of the
+ * shared {@code AtomicLongMap} counters it replaced. The baseline keeps no latency histograms, so
+ * it does strictly less work per update.
+ */
+public class StatisticsIT {
+  private static final Logger _logger = LoggerFactory.getLogger(StatisticsIT.class);
+  private static final long DURATION_MILLIS = 1000;
+  private static final int MAX_THREADS = 64;
+
+  private static Pair<Request, Response> completedWrite() {
+    final Request request =
+        new HttpRequest.Builder(Method.PUT, URI.create("http://127.0.0.1/container/object"),
+            Operation.WRITE).withBody(Bodies.random(1024)).build();
+    final RequestTimestamps timestamps = new RequestTimestamps();
+    timestamps.submitted = System.nanoTime();
+    timestamps.start = timestamps.submitted + TimeUnit.MICROSECONDS.toNanos(20);
+    timestamps.requestContentStart = timestamps.start + TimeUnit.MICROSECONDS.toNanos(50);
+    timestamps.requestContentFinish =
+        timestamps.requestContentStart + TimeUnit.MICROSECONDS.toNanos(300);
+    timestamps.finish = timestamps.requestContentFinish + TimeUnit.MILLISECONDS.toNanos(2);
+    timestamps.startMillis = System.currentTimeMillis();
+    timestamps.finishMillis = timestamps.startMillis + 2;
+    final Response response = new HttpResponse.Builder().withStatusCode(201)
+        .withRequestTimestamps(timestamps).build();
+    return Pair.of(request, response);
+  }
+
+  @Test
+  public void updateScaling() throws Exception {
+    final Pair<Request, Response> operation = completedWrite();
+    double current = 0;
+    double previous = 0;
+    for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+      final Statistics stats = new Statistics();
+      final long statsOps;
+      current = run(new Target() {
+        @Override
+        public void update(final Request request) {
+          stats.update(request);
+        }
+
+        @Override
+        public void update(final Pair<Request, Response> result) {
+          stats.update(result);
+        }
+      }, operation, threads);
+      statsOps = stats.get(Operation.ALL, Counter.OPERATIONS);
+
+      final AtomicLongMapStatistics baseline = new AtomicLongMapStatistics();
+      previous = run(baseline, operation, threads);
+
+      // every update was counted, by both implementations
+      assertThat(stats.get(Operation.ALL, Counter.ACTIVE_OPERATIONS), is(0L));
+      assertThat(stats.latencyHistogram(Operation.ALL).getTotalCount(), is(statsOps));
+      assertThat(baseline.get(Operation.ALL, Counter.ACTIVE_OPERATIONS), is(0L));
+      _logger.info("threads [{}] updates/sec [{}] AtomicLongMap updates/sec [{}]", threads,
+          String.format("%.0f", current), String.format("%.0f", previous));
+    }
+
+    // contention only builds up with more than one processor, and striping exists to avoid it
+    if (Runtime.getRuntime().availableProcessors() > 1) {
+      assertThat(current, greaterThan(previous * 0.9));
+    }
+  }
+
+  private double run(final Target target, final Pair<Request, Response> operation,
+      final int threads) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+    final List<Future<Long>> results = Lists.newArrayList();
+    for (int i = 0; i < threads; i++) {
+      results.add(executor.submit(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          start.await();
+          long ops = 0;
+          while (System.nanoTime() < deadline) {
+            target.update(operation.getKey());
+            target.update(operation);
+            ops++;
+          }
+          return ops;
+        }
+      }));
+    }
+    final long begin = System.nanoTime();
+    start.countDown();
+    long total = 0;
+    for (final Future<Long> result : results) {
+      total += result.get();
+    }
+    final long elapsed = System.nanoTime() - begin;
+    executor.shutdown();
+    return total / (elapsed / 1e9);
+  }
+
+  /**
+   * The updates exercised by the benchmark
+   */
+  private interface Target {
+    void update(Request request);
+
+    void update(Pair<Request, Response> result);
+  }
+
+  /**
+   * Counting as Statistics performed it before its counters were striped: an
+   * {@code AtomicLongMap} of counters and one of status codes per operation type, shared by every
+   * updating thread
+   */
+  private static class AtomicLongMapStatistics implements Target {
+    private final Map<Operation, AtomicLongMap<Counter>> counters;
+    private final Map<Operation, AtomicLongMap<Integer>> scCounters;
+
+    AtomicLongMapStatistics() {
+      this.counters = Maps.newHashMap();
+      this.scCounters = Maps.newHashMap();
+      for (final Operation operation : Operation.values()) {
+        this.counters.put(operation, AtomicLongMap.<Counter>create());
+        this.scCounters.put(operation, AtomicLongMap.<Integer>create());
+      }
+    }
+
+    @Override
+    public void update(final Request request) {
+      final Operation operation = request.getOperation();
+      updateCounter(operation, Counter.ACTIVE_OPERATIONS, 1);
+      updateCounter(Operation.ALL, Counter.ACTIVE_OPERATIONS, 1);
+    }
+
+    @Override
+    public void update(final Pair<Request, Response> result) {
+      final Request request = result.getKey();
+      final Response response = result.getValue();
+      final Operation operation = request.getOperation();
+      updateCounter(operation, Counter.ACTIVE_OPERATIONS, -1);
+      updateCounter(Operation.ALL, Counter.ACTIVE_OPERATIONS, -1);
+      updateCounter(operation, Counter.OPERATIONS, 1);
+      final RequestTimestamps timestamps = response.getRequestTimestamps();
+      updateCounter(operation, Counter.LATENCY, timestamps.finishMillis - timestamps.startMillis);
+      final List<Operation> invalidCountOps = new java.util.ArrayList<Operation>();
+      invalidCountOps.add(Operation.MULTIPART_WRITE);
+      invalidCountOps.add(Operation.MULTIPART_WRITE_INITIATE);
+      invalidCountOps.add(Operation.MULTIPART_WRITE_PART);
+      if (!invalidCountOps.contains(operation)) {
+        updateCounter(Operation.ALL, Counter.OPERATIONS, 1);
+      }
+      final long bytes = request.getBody().getSize();
+      updateCounter(operation, Counter.BYTES, bytes);
+      updateCounter(Operation.ALL, Counter.BYTES, bytes);
+      this.scCounters.get(operation).incrementAndGet(response.getStatusCode());
+      this.scCounters.get(Operation.ALL).incrementAndGet(response.getStatusCode());
+    }
+
+    private void updateCounter(final Operation operation, final Counter counter,
+        final long value) {
+      this.counters.get(operation).addAndGet(counter, value);
+    }
+
+    long get(final Operation operation, final Counter counter) {
+      return this.counters.get(operation).get(counter);
+    }
+  }
+}
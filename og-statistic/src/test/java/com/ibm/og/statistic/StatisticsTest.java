@@ -6,12 +6,16 @@
 package com.ibm.og.statistic;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 import com.ibm.og.api.RequestTimestamps;
 import org.junit.Before;
@@ -25,8 +29,10 @@ import com.ibm.og.api.Request;
 import com.ibm.og.api.Response;
 import com.ibm.og.http.Bodies;
 import com.ibm.og.api.Operation;
+import com.ibm.og.util.Context;
 import com.ibm.og.util.Pair;
 import com.ibm.og.util.TestState;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -90,6 +96,104 @@ public class StatisticsTest {
     assertThat(this.stats.get(Operation.ALL, Counter.OPERATIONS), is(1L));
   }
 
+  @Test
+  public void updateShed() {
+    this.stats.update(this.request);
+    when(this.response.getStatusCode()).thenReturn(599);
+    when(this.response.getContext())
+        .thenReturn(ImmutableMap.of(Context.X_OG_CLIENT_SATURATED, "shed"));
+    this.stats.update(this.operation);
+
+    // shed requests were never sent and are not operations
+    assertThat(this.stats.get(Operation.ALL, Counter.ACTIVE_OPERATIONS), is(0L));
+    assertThat(this.stats.get(Operation.ALL, Counter.OPERATIONS), is(0L));
+    assertThat(this.stats.getStatusCode(Operation.ALL, 599), is(0L));
+  }
+
+  @Test
+  public void responseTimeWithoutIntendedStart() {
+    this.stats.update(this.operation);
+
+    assertThat(this.stats.get(Operation.WRITE, Counter.LATENCY), is(17L));
+    assertThat(this.stats.get(Operation.WRITE, Counter.RESPONSE_TIME), is(17L));
+  }
+
+  @Test
+  public void responseTimeFromIntendedStart() {
+    final RequestTimestamps timestamps = this.response.getRequestTimestamps();
+    timestamps.start = System.nanoTime();
+    timestamps.intended = timestamps.start - TimeUnit.MILLISECONDS.toNanos(30);
+    this.stats.update(this.operation);
+
+    // latency is measured from the actual start, response time from the intended start
+    assertThat(this.stats.get(Operation.WRITE, Counter.LATENCY), is(17L));
+    assertThat(this.stats.get(Operation.WRITE, Counter.RESPONSE_TIME), is(47L));
+  }
+
+  @Test
+  public void latencyHistograms() {
+    this.stats.update(this.operation);
+    this.stats.update(this.operation);
+    when(this.response.getStatusCode()).thenReturn(503);
+    this.stats.update(this.operation);
+
+    final LatencyHistogram.Snapshot write = this.stats.latencyHistogram(Operation.WRITE);
+    assertThat(write.getTotalCount(), is(3L));
+    // latencies are recorded in microseconds, accurate to two significant digits
+    assertThat((double) write.getValueAtPercentile(50.0), closeTo(17000, 170));
+    assertThat(this.stats.latencyHistogram(Operation.ALL).getTotalCount(), is(3L));
+    assertThat(this.stats.latencyHistogram(Operation.READ).getTotalCount(), is(0L));
+
+    final Map<String, LatencyHistogram.Snapshot> statusClasses =
+        this.stats.latencyHistograms(Operation.WRITE);
+    assertThat(statusClasses.keySet(), contains("2xx", "5xx"));
+    assertThat(statusClasses.get("2xx").getTotalCount(), is(2L));
+    assertThat(statusClasses.get("5xx").getTotalCount(), is(1L));
+  }
+
+  @Test
+  public void latencyHistogramFromNanoTimestamps() {
+    final RequestTimestamps timestamps = this.response.getRequestTimestamps();
+    timestamps.start = System.nanoTime();
+    timestamps.finish = timestamps.start + TimeUnit.MICROSECONDS.toNanos(250);
+    this.stats.update(this.operation);
+
+    assertThat(this.stats.latencyHistogram(Operation.WRITE).getValueAtPercentile(50.0),
+        is(250L));
+  }
+
+  @Test
+  public void phaseHistograms() {
+    final RequestTimestamps timestamps = this.response.getRequestTimestamps();
+    final long micros = TimeUnit.MICROSECONDS.toNanos(1);
+    timestamps.submitted = System.nanoTime();
+    timestamps.start = timestamps.submitted + 100 * micros;
+    timestamps.requestContentStart = timestamps.start + 10 * micros;
+    timestamps.requestContentFinish = timestamps.requestContentStart + 200 * micros;
+    timestamps.finish = timestamps.requestContentFinish + 250 * micros;
+    this.stats.update(this.operation);
+
+    assertThat(this.stats.phaseHistogram(Operation.WRITE, Phase.QUEUE).getValueAtPercentile(50.0),
+        is(100L));
+    assertThat(this.stats.phaseHistogram(Operation.WRITE, Phase.UPLOAD).getValueAtPercentile(50.0),
+        is(200L));
+    assertThat(this.stats.phaseHistogram(Operation.WRITE, Phase.SERVER).getValueAtPercentile(50.0),
+        is(250L));
+    assertThat(this.stats.phaseHistogram(Operation.WRITE, Phase.DOWNLOAD).getTotalCount(), is(0L));
+    assertThat(this.stats.phaseHistogram(Operation.ALL, Phase.QUEUE).getTotalCount(), is(0L));
+  }
+
+  @Test
+  public void updateDropped() {
+    when(this.response.getStatusCode()).thenReturn(599);
+    when(this.response.getContext())
+        .thenReturn(ImmutableMap.of(Context.X_OG_CLIENT_SATURATED, "drop"));
+    this.stats.update(this.operation);
+
+    assertThat(this.stats.get(Operation.ALL, Counter.OPERATIONS), is(1L));
+    assertThat(this.stats.getStatusCode(Operation.ALL, 599), is(1L));
+  }
+
   @Test
   public void updateRequest() {
     this.stats.update(this.request);
@@ -158,6 +262,24 @@ public class StatisticsTest {
     assertAll(Operation.DELETE, 1, 0, 201, 1);
   }
 
+  @Test
+  public void updateMultipartPartNotCountedInAll() {
+    when(this.request.getOperation()).thenReturn(Operation.MULTIPART_WRITE_PART);
+    this.stats.update(this.operation);
+    assertAll(Operation.MULTIPART_WRITE_PART, 1, 1024, 201, 1);
+    assertThat(this.stats.get(Operation.ALL, Counter.OPERATIONS), is(0L));
+    assertAll(Operation.ALL, 0, 1024, 201, 1);
+  }
+
+  @Test
+  public void statusCodesOnlyCounted() {
+    this.stats.update(this.operation);
+    when(this.response.getStatusCode()).thenReturn(500);
+    this.stats.update(this.operation);
+    assertThat(this.stats.statusCodes(Operation.WRITE).keySet(), contains(201, 500));
+    assertThat(this.stats.statusCodes(Operation.READ).isEmpty(), is(true));
+  }
+
   @Test(expected = NullPointerException.class)
   public void getNullOperation() {
     this.stats.get(null, Counter.OPERATIONS);
@@ -0,0 +1,92 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.statistic;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class StripedLongArrayTest {
+  @DataProvider
+  public static Object[][] provideInvalidStripedLongArray() {
+    return new Object[][] {{-1, 1}, {1, 0}, {1, -1}};
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @UseDataProvider("provideInvalidStripedLongArray")
+  public void invalidStripedLongArray(final int length, final int stripes) {
+    new StripedLongArray(length, stripes);
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidIndex() {
+    return new Object[][] {{-1}, {4}};
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @UseDataProvider("provideInvalidIndex")
+  public void addInvalidIndex(final int index) {
+    new StripedLongArray(4, 2).add(index, 1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @UseDataProvider("provideInvalidIndex")
+  public void sumInvalidIndex(final int index) {
+    new StripedLongArray(4, 2).sum(index);
+  }
+
+  @Test
+  public void addAndSum() {
+    final StripedLongArray counters = new StripedLongArray(4, 3);
+    assertThat(counters.length(), is(4));
+    assertThat(counters.sum(0), is(0L));
+    counters.add(0, 5);
+    counters.add(0, -2);
+    counters.add(3, 7);
+    assertThat(counters.sum(0), is(3L));
+    assertThat(counters.sum(1), is(0L));
+    assertThat(counters.sum(3), is(7L));
+  }
+
+  @Test
+  public void concurrency() throws InterruptedException {
+    final StripedLongArray counters = new StripedLongArray(2, 4);
+    final int threadCount = 16;
+    final int updateCount = 10000;
+    final List<Thread> threads = Lists.newArrayList();
+    for (int i = 0; i < threadCount; i++) {
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < updateCount; j++) {
+            counters.add(0, 1);
+            counters.add(1, 2);
+          }
+        }
+      }));
+    }
+
+    for (final Thread t : threads) {
+      t.start();
+    }
+
+    for (final Thread t : threads) {
+      t.join();
+    }
+    assertThat(counters.sum(0), is((long) threadCount * updateCount));
+    assertThat(counters.sum(1), is(2L * threadCount * updateCount));
+  }
+}
@@ -5,6 +5,7 @@
 
 package com.ibm.og.supplier;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Map;
@@ -21,6 +22,8 @@ import com.google.common.base.Function;
  */
 public class MetadataObjectNameFunction implements Function<Map<String, String>, String> {
   private final ObjectManager objectManager;
+  private final long minSize;
+  private final long maxSize;
 
   /**
    * Creates an instance
@@ -29,7 +32,25 @@ public class MetadataObjectNameFunction implements Function<Map<String, String>,
    * @throws NullPointerException if objectManager is null
    */
   public MetadataObjectNameFunction(final ObjectManager objectManager) {
+    this(objectManager, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates an instance which only selects objects within a size range
+   *
+   * @param objectManager the object manager to draw object names from
+   * @param minSize the smallest object size to select, inclusive
+   * @param maxSize the largest object size to select, exclusive
+   * @throws NullPointerException if objectManager is null
+   * @throws IllegalArgumentException if minSize is negative or not less than maxSize
+   */
+  public MetadataObjectNameFunction(final ObjectManager objectManager, final long minSize,
+      final long maxSize) {
     this.objectManager = checkNotNull(objectManager);
+    checkArgument(minSize >= 0, "minSize must be >= 0 [%s]", minSize);
+    checkArgument(minSize < maxSize, "minSize must be < maxSize [%s, %s]", minSize, maxSize);
+    this.minSize = minSize;
+    this.maxSize = maxSize;
   }
 
   /**
@@ -45,7 +66,12 @@ public class MetadataObjectNameFunction implements Function<Map<String, String>,
    */
   @Override
   public String apply(final Map<String, String> context) {
-    final ObjectMetadata objectMetadata = this.objectManager.get();
+    final ObjectMetadata objectMetadata;
+    if (this.minSize == 0 && this.maxSize == Long.MAX_VALUE) {
+      objectMetadata = this.objectManager.get();
+    } else {
+      objectMetadata = this.objectManager.get(this.minSize, this.maxSize);
+    }
     context.put(Context.X_OG_OBJECT_NAME, objectMetadata.getName());
     context.put(Context.X_OG_OBJECT_SIZE, String.valueOf(objectMetadata.getSize()));
     context.put(Context.X_OG_CONTAINER_SUFFIX, String.valueOf(objectMetadata.getContainerSuffix()));
@@ -8,6 +8,8 @@ package com.ibm.og.supplier;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
@@ -51,4 +53,21 @@ public class DeleteObjectNameFunctionTest {
     when(this.objectManager.removeForUpdate()).thenThrow(new ObjectManagerException());
     new DeleteObjectNameFunction(this.objectManager).apply(Maps.<String, String>newHashMap());
   }
+
+  @Test
+  public void sizeRange() {
+    final String object = "objectName";
+    final ObjectMetadata objectName = mock(ObjectMetadata.class);
+    when(objectName.getName()).thenReturn(object);
+    when(this.objectManager.removeForUpdate(1024, 2048)).thenReturn(objectName);
+
+    final Map<String, String> context = Maps.newHashMap();
+    assertThat(new DeleteObjectNameFunction(this.objectManager, 1024, 2048).apply(context), is(object));
+    verify(this.objectManager, never()).removeForUpdate();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptySizeRange() {
+    new DeleteObjectNameFunction(this.objectManager, 1024, 1024);
+  }
 }
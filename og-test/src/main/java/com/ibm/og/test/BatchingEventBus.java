@@ -0,0 +1,550 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.test;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.eventbus.SubscriberExceptionContext;
+import com.google.common.eventbus.SubscriberExceptionHandler;
+import com.google.common.reflect.TypeToken;
+
+/**
+ * An {@code EventBus} which delivers events to subscribers on dedicated dispatcher threads rather
+ * than on the posting thread. Each registered object is assigned to one of a fixed number of
+ * lanes; a lane owns a lock free ring buffer and a thread which delivers events from it in
+ * batches. Posting an event only routes it to the lanes with a subscriber for its type and copies
+ * it into their rings; when a ring is full the posting thread waits rather than drop the event.
+ * <p>
+ * Ordering: every subscriber receives events in the order they were added to its lane's ring,
+ * which for events posted by a single thread is the order they were posted. Subscribers on
+ * different lanes progress independently. Since each object is delivered to by a single thread,
+ * subscriber methods without {@code AllowConcurrentEvents} are never invoked concurrently.
+ * <p>
+ * Subscriber methods are found once, when an object is registered, and the methods which accept
+ * each event class are resolved the first time it is posted, so delivery is a direct reflective
+ * call. Exceptions thrown by subscriber methods are passed to the exception handler as with a
+ * synchronous {@code EventBus}. Unlike {@code EventBus}, events without subscribers are discarded
+ * rather than posted as {@code DeadEvent}s.
+ * <p>
+ * Subscribers which act on the events they receive, such as stopping conditions, see each event
+ * only once a dispatcher reaches it, so their decisions trail the posting threads by up to the
+ * backlog of their lane: a test may send up to {@code capacity} more requests than a stopping
+ * condition allows before it is stopped.
+ * <p>
+ * {@link #shutdown()} waits for every posted event to be delivered; events posted after shutdown
+ * are delivered on the posting thread.
+ *
+ * @since 1.12.0
+ */
+public class BatchingEventBus extends EventBus {
+  private static final Logger _logger = LoggerFactory.getLogger(BatchingEventBus.class);
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  // EventBus only creates exception contexts itself, its constructor is package private
+  private static final Constructor<SubscriberExceptionContext> CONTEXT = contextConstructor();
+  private final SubscriberExceptionHandler handler;
+  private final Lane[] lanes;
+  private final int batchSize;
+  private final Map<Object, Target> targets;
+  private final AtomicInteger nextLane;
+  private volatile boolean shutdown;
+
+  /**
+   * Creates an instance and starts its dispatcher threads
+   *
+   * @param handler the handler for exceptions thrown by subscribers
+   * @param threads the number of lanes, each with its own dispatcher thread
+   * @param capacity the number of events each lane's ring buffer holds, rounded up to a power of
+   *        two
+   * @param batchSize the maximum number of events a dispatcher delivers before publishing its
+   *        progress to posting threads
+   * @throws NullPointerException if handler is null
+   * @throws IllegalArgumentException if threads or batchSize is not positive, or capacity is not
+   *         positive or greater than 2^30
+   */
+  public BatchingEventBus(final SubscriberExceptionHandler handler, final int threads,
+      final int capacity, final int batchSize) {
+    super(checkNotNull(handler));
+    checkArgument(threads > 0, "threads must be > 0 [%s]", threads);
+    checkArgument(capacity > 0 && capacity <= 1 << 30, "capacity must be in range [1, %s] [%s]",
+        1 << 30, capacity);
+    checkArgument(batchSize > 0, "batchSize must be > 0 [%s]", batchSize);
+    this.handler = handler;
+    this.batchSize = batchSize;
+    this.targets = Maps.newIdentityHashMap();
+    this.nextLane = new AtomicInteger();
+    final int size = Integer.highestOneBit(capacity) == capacity ? capacity
+        : Integer.highestOneBit(capacity) << 1;
+    this.lanes = new Lane[threads];
+    for (int i = 0; i < threads; i++) {
+      this.lanes[i] = new Lane(i, size);
+    }
+    for (final Lane lane : this.lanes) {
+      lane.thread.start();
+    }
+  }
+
+  /**
+   * Registers all subscriber methods of an object. Registering an object without subscriber
+   * methods, or an object which is already registered, has no effect
+   *
+   * @param object the object whose subscriber methods should be registered
+   */
+  @Override
+  public synchronized void register(final Object object) {
+    checkNotNull(object);
+    if (this.targets.containsKey(object)) {
+      return;
+    }
+    final Method[] methods = subscriberMethods(object.getClass());
+    if (methods.length == 0) {
+      return;
+    }
+    final Lane lane =
+        this.lanes[(this.nextLane.getAndIncrement() & Integer.MAX_VALUE) % this.lanes.length];
+    final Target target = new Target(object, methods, lane);
+    this.targets.put(object, target);
+    lane.add(target);
+  }
+
+  /**
+   * Unregisters all subscriber methods of a registered object
+   *
+   * @param object the object whose subscriber methods should be unregistered
+   * @throws IllegalArgumentException if the object was not previously registered
+   */
+  @Override
+  public synchronized void unregister(final Object object) {
+    checkNotNull(object);
+    final Target target = this.targets.remove(object);
+    checkArgument(target != null,
+        "missing event subscriber for an annotated method. Is %s registered?", object);
+    target.lane.remove(target);
+  }
+
+  /**
+   * Posts an event to the lanes of all subscribers for its type
+   *
+   * @param event the event to post
+   */
+  @Override
+  public void post(final Object event) {
+    checkNotNull(event);
+    final Class<?> eventClass = event.getClass();
+    for (final Lane lane : this.lanes) {
+      final Route[] routes = lane.routes(eventClass);
+      if (routes.length > 0) {
+        lane.publish(event, routes);
+      }
+    }
+  }
+
+  // the subscriber methods of a class, found as EventBus finds them: an overridden method is only
+  // found once, on the most derived class which annotates it
+  private static Method[] subscriberMethods(final Class<?> clazz) {
+    final Map<List<Object>, Method> methods = Maps.newLinkedHashMap();
+    for (final Class<?> type : TypeToken.of(clazz).getTypes().rawTypes()) {
+      for (final Method method : type.getMethods()) {
+        if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()
+            && method.getParameterTypes().length == 1) {
+          final List<Object> signature =
+              Arrays.<Object>asList(method.getName(), method.getParameterTypes()[0]);
+          if (!methods.containsKey(signature)) {
+            method.setAccessible(true);
+            methods.put(signature, method);
+          }
+        }
+      }
+    }
+    return methods.values().toArray(new Method[methods.size()]);
+  }
+
+  private static Constructor<SubscriberExceptionContext> contextConstructor() {
+    try {
+      final Constructor<SubscriberExceptionContext> constructor =
+          SubscriberExceptionContext.class.getDeclaredConstructor(EventBus.class, Object.class,
+              Object.class, Method.class);
+      constructor.setAccessible(true);
+      return constructor;
+    } catch (final Exception e) {
+      throw new IllegalStateException("Cannot create subscriber exception contexts", e);
+    }
+  }
+
+  private void handleException(final Throwable exception, final Object event,
+      final Target target, final Method method) {
+    try {
+      this.handler.handleException(exception,
+          CONTEXT.newInstance(this, event, target.subscriber, method));
+    } catch (final Throwable t) {
+      // as EventBus does, a failing handler must not stop delivery to other subscribers
+      _logger.error(String.format("Exception %s thrown while handling exception: %s", t,
+          exception), t);
+    }
+  }
+
+  /**
+   * Waits for every event posted before this call to be delivered and stops the dispatcher
+   * threads. Events posted afterwards are delivered on the posting thread. Must not be called from
+   * a subscriber
+   */
+  public void shutdown() {
+    if (this.shutdown) {
+      return;
+    }
+    this.shutdown = true;
+    for (final Lane lane : this.lanes) {
+      try {
+        lane.thread.join();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        _logger.warn("Interrupted while waiting for event dispatcher [{}]", lane.thread.getName());
+        return;
+      }
+    }
+    logStats();
+  }
+
+  private void logStats() {
+    for (final Lane lane : this.lanes) {
+      _logger.info("Event dispatcher [{}] delivered [{}] events, max backlog [{}], full waits [{}]",
+          lane.thread.getName(), lane.consumed.get(), lane.maxBacklog.get(), lane.fullWaits.get());
+    }
+    for (final SubscriberStats stats : getSubscriberStats()) {
+      _logger.info("{}", stats);
+    }
+  }
+
+  /**
+   * @return the number of events posted but not yet delivered, across all lanes
+   */
+  public long getBacklog() {
+    long backlog = 0;
+    for (final Lane lane : this.lanes) {
+      backlog += lane.claimed.get() - lane.consumed.get();
+    }
+    return backlog;
+  }
+
+  /**
+   * @return the largest backlog any single lane has reached
+   */
+  public long getMaxBacklog() {
+    long maxBacklog = 0;
+    for (final Lane lane : this.lanes) {
+      maxBacklog = Math.max(maxBacklog, lane.maxBacklog.get());
+    }
+    return maxBacklog;
+  }
+
+  /**
+   * @return the number of events delivered and the time spent delivering them for each registered
+   *         object
+   */
+  public synchronized List<SubscriberStats> getSubscriberStats() {
+    final List<SubscriberStats> stats = Lists.newArrayList();
+    for (final Target target : this.targets.values()) {
+      stats.add(new SubscriberStats(target.subscriber.getClass().getName(),
+          target.lane.thread.getName(), target.events, target.nanos));
+    }
+    return stats;
+  }
+
+  /**
+   * Delivery counters for a registered object
+   */
+  public static class SubscriberStats {
+    private final String subscriber;
+    private final String dispatcher;
+    private final long events;
+    private final long nanos;
+
+    SubscriberStats(final String subscriber, final String dispatcher, final long events,
+        final long nanos) {
+      this.subscriber = subscriber;
+      this.dispatcher = dispatcher;
+      this.events = events;
+      this.nanos = nanos;
+    }
+
+    /**
+     * @return the class name of the registered object
+     */
+    public String getSubscriber() {
+      return this.subscriber;
+    }
+
+    /**
+     * @return the name of the dispatcher thread which delivers to the object
+     */
+    public String getDispatcher() {
+      return this.dispatcher;
+    }
+
+    /**
+     * @return the number of events delivered to the object
+     */
+    public long getEvents() {
+      return this.events;
+    }
+
+    /**
+     * @return the time spent in the object's subscriber methods, in nanoseconds
+     */
+    public long getNanos() {
+      return this.nanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Subscriber [%s] on [%s] handled [%s] events in [%.2f] ms",
+          this.subscriber, this.dispatcher, this.events, this.nanos / 1000000.0);
+    }
+  }
+
+  private static final class Target {
+    private final Object subscriber;
+    private final Method[] methods;
+    private final Lane lane;
+    // written only by the lane's dispatcher thread
+    private volatile long events;
+    private volatile long nanos;
+
+    Target(final Object subscriber, final Method[] methods, final Lane lane) {
+      this.subscriber = subscriber;
+      this.methods = methods;
+      this.lane = lane;
+    }
+
+    /**
+     * @return the subscriber methods which accept events of the provided class
+     */
+    Method[] methodsFor(final Class<?> eventClass) {
+      final List<Method> matched = Lists.newArrayList();
+      for (final Method method : this.methods) {
+        if (method.getParameterTypes()[0].isAssignableFrom(eventClass)) {
+          matched.add(method);
+        }
+      }
+      return matched.toArray(new Method[matched.size()]);
+    }
+  }
+
+  /**
+   * A registered object together with its methods which accept a particular event class
+   */
+  private static final class Route {
+    private final Target target;
+    private final Method[] methods;
+    // methods without AllowConcurrentEvents, serialized as EventBus does once events are
+    // delivered on posting threads
+    private final boolean[] serialized;
+
+    Route(final Target target, final Method[] methods) {
+      this.target = target;
+      this.methods = methods;
+      this.serialized = new boolean[methods.length];
+      for (int i = 0; i < methods.length; i++) {
+        this.serialized[i] = !methods[i].isAnnotationPresent(AllowConcurrentEvents.class);
+      }
+    }
+  }
+
+  private static final class Slot {
+    private final AtomicLong sequence;
+    private Object event;
+    private Route[] routes;
+
+    Slot() {
+      this.sequence = new AtomicLong(-1);
+    }
+  }
+
+  private final class Lane implements Runnable {
+    private final Route[] none = new Route[0];
+    private final List<Target> members;
+    // the routes for each event class seen, cleared whenever the members change
+    private final ConcurrentMap<Class<?>, Route[]> routes;
+    private final Slot[] ring;
+    private final int mask;
+    // the next sequence a posting thread will claim
+    private final AtomicLong claimed;
+    // the next sequence the dispatcher will deliver
+    private final AtomicLong consumed;
+    // posting threads between checking for shutdown and publishing their slot
+    private final AtomicInteger publishing;
+    private final AtomicLong maxBacklog;
+    private final AtomicLong fullWaits;
+    private final Thread thread;
+
+    Lane(final int index, final int size) {
+      this.members = new CopyOnWriteArrayList<Target>();
+      this.routes = Maps.newConcurrentMap();
+      this.ring = new Slot[size];
+      for (int i = 0; i < size; i++) {
+        this.ring[i] = new Slot();
+      }
+      this.mask = size - 1;
+      this.claimed = new AtomicLong();
+      this.consumed = new AtomicLong();
+      this.publishing = new AtomicInteger();
+      this.maxBacklog = new AtomicLong();
+      this.fullWaits = new AtomicLong();
+      this.thread = new Thread(this, "event-dispatcher-" + index);
+      this.thread.setDaemon(true);
+    }
+
+    void add(final Target target) {
+      this.members.add(target);
+      this.routes.clear();
+    }
+
+    void remove(final Target target) {
+      this.members.remove(target);
+      this.routes.clear();
+    }
+
+    Route[] routes(final Class<?> eventClass) {
+      Route[] routes = this.routes.get(eventClass);
+      if (routes == null) {
+        final List<Route> matched = Lists.newArrayList();
+        for (final Target target : this.members) {
+          final Method[] methods = target.methodsFor(eventClass);
+          if (methods.length > 0) {
+            matched.add(new Route(target, methods));
+          }
+        }
+        routes = matched.isEmpty() ? this.none : matched.toArray(new Route[matched.size()]);
+        this.routes.put(eventClass, routes);
+      }
+      return routes;
+    }
+
+    void publish(final Object event, final Route[] routes) {
+      // the dispatcher does not stop while a posting thread which saw it running is publishing
+      this.publishing.incrementAndGet();
+      try {
+        // after shutdown, and for events posted by a subscriber on this lane, which could
+        // otherwise wait forever on its own full ring
+        if (BatchingEventBus.this.shutdown || Thread.currentThread() == this.thread) {
+          deliver(event, routes);
+        } else {
+          enqueue(event, routes);
+        }
+      } finally {
+        this.publishing.decrementAndGet();
+      }
+    }
+
+    private void enqueue(final Object event, final Route[] routes) {
+      final long sequence = this.claimed.getAndIncrement();
+      final long backlog = sequence - this.consumed.get();
+      if (backlog >= this.ring.length) {
+        this.fullWaits.incrementAndGet();
+        while (sequence - this.consumed.get() >= this.ring.length) {
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+      long max = this.maxBacklog.get();
+      while (backlog > max && !this.maxBacklog.compareAndSet(max, backlog)) {
+        max = this.maxBacklog.get();
+      }
+      final Slot slot = this.ring[(int) (sequence & this.mask)];
+      slot.event = event;
+      slot.routes = routes;
+      // publishes the slot's fields to the dispatcher
+      slot.sequence.lazySet(sequence);
+    }
+
+    @Override
+    public void run() {
+      long next = 0;
+      while (true) {
+        int delivered = 0;
+        Slot slot = this.ring[(int) (next & this.mask)];
+        while (delivered < BatchingEventBus.this.batchSize && slot.sequence.get() == next) {
+          final Object event = slot.event;
+          final Route[] routes = slot.routes;
+          slot.event = null;
+          slot.routes = null;
+          deliver(event, routes);
+          next++;
+          delivered++;
+          slot = this.ring[(int) (next & this.mask)];
+        }
+        if (delivered > 0) {
+          // frees the delivered slots for posting threads
+          this.consumed.lazySet(next);
+        } else if (BatchingEventBus.this.shutdown && this.publishing.get() == 0
+            && next == this.claimed.get()) {
+          break;
+        } else {
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+    }
+
+    private void deliver(final Object event, final Route[] routes) {
+      for (final Route route : routes) {
+        final Target target = route.target;
+        final long start = System.nanoTime();
+        for (int i = 0; i < route.methods.length; i++) {
+          if (route.serialized[i]) {
+            synchronized (target) {
+              invoke(event, target, route.methods[i]);
+            }
+          } else {
+            invoke(event, target, route.methods[i]);
+          }
+        }
+        if (Thread.currentThread() == this.thread) {
+          target.nanos += System.nanoTime() - start;
+          target.events++;
+        }
+      }
+    }
+
+    private void invoke(final Object event, final Target target, final Method method) {
+      try {
+        method.invoke(target.subscriber, event);
+      } catch (final InvocationTargetException e) {
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        handleException(e.getCause(), event, target, method);
+      } catch (final IllegalAccessException e) {
+        throw new Error("Method became inaccessible: " + event, e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BatchingEventBus [threads=%s, capacity=%s, batchSize=%s]",
+        this.lanes.length, this.lanes[0].ring.length, this.batchSize);
+  }
+}
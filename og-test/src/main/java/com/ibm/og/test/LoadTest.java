@@ -5,13 +5,17 @@
 
 package com.ibm.og.test;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -20,6 +24,8 @@ import javax.inject.Singleton;
 import com.google.common.collect.ImmutableList;
 import com.ibm.og.http.HttpResponse;
 import com.ibm.og.scheduling.Scheduler;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
 import com.ibm.og.test.condition.LoadTestResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,7 +54,13 @@ public class LoadTest implements Callable<LoadTestResult> {
   private final RequestManager requestManager;
   private final Client client;
   private final Scheduler scheduler;
-  private final Thread schedulerThread;
+  private final List<Thread> dispatcherThreads;
+  // request suppliers are not thread safe, so dispatchers take turns creating requests; additional
+  // dispatchers overlap handing requests to the client but do not scale request creation
+  private final ReentrantLock requestLock;
+  // time from a scheduler permit being granted to its request being handed to the client, in
+  // microseconds
+  private final LatencyHistogram dispatchLag;
   private final EventBus eventBus;
   private final boolean abortMpuWhenStopping;
   private final boolean shutdownImmediate;
@@ -59,7 +71,7 @@ public class LoadTest implements Callable<LoadTestResult> {
   private volatile int result;
   private final AtomicBoolean noMoreRequests;
   private final CountDownLatch completed;
-  private ArrayList<String> messages;
+  private final List<String> messages;
 
   public static final int RESULT_SUCCESS = 0;
   public static final int RESULT_FAILURE = -1;
@@ -76,17 +88,51 @@ public class LoadTest implements Callable<LoadTestResult> {
    * @param shutdownTimeout time in seconds to wait for requests to gracefully complete
    * @throws NullPointerException if requestSupplier, client, scheduler, or eventBus are null
    */
+  public LoadTest(final RequestManager requestManager, final Client client,
+      final Scheduler scheduler, final EventBus eventBus, final boolean shutdownImmediate,
+      final int shutdownTimeout, final boolean abortMpuWhenStopping) {
+    this(requestManager, client, scheduler, eventBus, shutdownImmediate, shutdownTimeout,
+        abortMpuWhenStopping, 1);
+  }
+
+  /**
+   * Creates an instance which dispatches requests from multiple threads
+   * 
+   * @param requestManager a generator of request instances
+   * @param client a request executor
+   * @param scheduler a scheduler which determines request rate
+   * @param eventBus an event bus for notifying components of events in the system
+   * @param shutdownImmediate if true, abort all in-progress requests at shutdown,
+   *        else wait for all current requests to finish and shutdown
+   * @param shutdownTimeout time in seconds to wait for requests to gracefully complete
+   * @param dispatchers the number of threads which acquire scheduler permits and hand requests to
+   *        the client; requests are created by one dispatcher at a time, since request suppliers
+   *        are not thread safe
+   * @throws NullPointerException if requestSupplier, client, scheduler, or eventBus are null
+   * @throws IllegalArgumentException if dispatchers is not positive
+   * @since 1.12.0
+   */
   @Inject
   public LoadTest(final RequestManager requestManager, final Client client,
       final Scheduler scheduler, final EventBus eventBus,
       @Named("shutdownImmediate") final boolean shutdownImmediate,
       @Named("shutdownTimeout") final int shutdownTimeout,
-      @Named("abortMpuWhenStopping") final boolean abortMpuWhenStopping) {
+      @Named("abortMpuWhenStopping") final boolean abortMpuWhenStopping,
+      @Named("concurrency.dispatchers") final int dispatchers) {
+    checkArgument(dispatchers > 0, "dispatchers must be > 0 [%s]", dispatchers);
     this.requestManager = checkNotNull(requestManager);
     this.client = checkNotNull(client);
     this.scheduler = checkNotNull(scheduler);
-    this.schedulerThread = new Thread(new SchedulerRunnable(), "loadtest-scheduler");
-    this.schedulerThread.setDaemon(true);
+    this.dispatcherThreads = new ArrayList<Thread>(dispatchers);
+    for (int i = 0; i < dispatchers; i++) {
+      final String name = dispatchers == 1 ? "loadtest-scheduler" : "loadtest-dispatcher-" + i;
+      final Thread dispatcherThread = new Thread(new SchedulerRunnable(), name);
+      dispatcherThread.setDaemon(true);
+      this.dispatcherThreads.add(dispatcherThread);
+    }
+    this.requestLock = new ReentrantLock();
+    this.dispatchLag = new LatencyHistogram(Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE,
+        Statistics.HISTOGRAM_SIGNIFICANT_DIGITS, dispatchers);
     this.eventBus = checkNotNull(eventBus);
     this.abortMpuWhenStopping = abortMpuWhenStopping;
     this.shutdownImmediate = shutdownImmediate;
@@ -95,7 +141,7 @@ public class LoadTest implements Callable<LoadTestResult> {
     this.noMoreRequests = new AtomicBoolean(false);
     this.result = RESULT_SUCCESS;
     this.completed = new CountDownLatch(1);
-    this.messages =  new ArrayList<String>();
+    this.messages = Collections.synchronizedList(new ArrayList<String>());
   }
 
   private class SchedulerRunnable implements Runnable {
@@ -103,25 +149,38 @@ public class LoadTest implements Callable<LoadTestResult> {
     public void run() {
       try {
         while (LoadTest.this.running.get()) {
-          LoadTest.this.scheduler.schedule();
+          final long intendedStart = LoadTest.this.scheduler.schedule();
+          final long permitted = System.nanoTime();
           if (LoadTest.this.noMoreRequests.get()) {
             stopScheduler();
           }
           if (LoadTest.this.running.get() && !LoadTest.this.noMoreRequests.get()) {
             try {
-              final Request request = LoadTest.this.requestManager.get();
+              final Request request;
+              LoadTest.this.requestLock.lock();
+              try {
+                request = LoadTest.this.requestManager.get();
+              } finally {
+                LoadTest.this.requestLock.unlock();
+              }
               _logger.trace("Created request {}", request);
               // RequestManager.get() could block (in case of Multipart supplier) and when it returns the test may be stopped and client could be shutdown.
               // We cannot submit a new request if client is shutdown. So check again to make sure that the test is
               // still running.
               if (LoadTest.this.running.get()) {
-                final ListenableFuture<Response> future = LoadTest.this.client.execute(request);
+                LoadTest.this.dispatchLag.record(
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - permitted));
+                final ListenableFuture<Response> future = LoadTest.this.client.execute(request,
+                    intendedStart);
                 LoadTest.this.eventBus.post(request);
                 addCallback(request, future);
               }
             } catch(NoMoreRequestsException nre) {
               _logger.info("NoMoreRequestsException thrown. All requests are cleanly aborted");
               LoadTest.this.noMoreRequests.set(true);
+              // stop now rather than on the next permit; with several dispatchers each may be
+              // holding a concurrency permit which no request will return
+              stopScheduler();
             }
           }
         }
@@ -147,13 +206,27 @@ public class LoadTest implements Callable<LoadTestResult> {
     _logger.debug("Posting TestState.RUNNING to event bus");
     this.eventBus.post(TestState.RUNNING);
 
-    _logger.debug("Starting scheduler thread");
-    this.schedulerThread.start();
+    _logger.debug("Starting {} dispatcher threads", this.dispatcherThreads.size());
+    for (final Thread dispatcherThread : this.dispatcherThreads) {
+      dispatcherThread.start();
+    }
 
     _logger.debug("Waiting for test complete");
     Uninterruptibles.awaitUninterruptibly(this.completed);
     this.timestampFinish = System.currentTimeMillis();
-    return new LoadTestResult(this.timestampStart, this.timestampFinish, this.result, ImmutableList.copyOf(this.messages));
+    return new LoadTestResult(this.timestampStart, this.timestampFinish, this.result,
+        ImmutableList.copyOf(this.messages), this.dispatchLag.snapshot());
+  }
+
+  /**
+   * Returns the time taken to hand each permitted request to the client so far. A growing lag
+   * means the dispatchers cannot keep up with the scheduler, and more may be configured
+   *
+   * @return a snapshot of dispatch lag, in microseconds
+   * @since 1.12.0
+   */
+  public LatencyHistogram.Snapshot getDispatchLag() {
+    return this.dispatchLag.snapshot();
   }
 
   /**
@@ -178,9 +251,8 @@ public class LoadTest implements Callable<LoadTestResult> {
       _logger.debug("set running flag to false to stop scheduler");
       // currently a new thread is required here to run shutdown logic because stopTest can be
       // called via a client worker thread via client -> eventbus -> stopping condition -> stopTest,
-      // which will introduce a deadlock since stopTest waits until all client threads are done. An
-      // alternative approach is to us an async eventbus, but this requires managing the shutdown of
-      // the async eventbus' executor somewhere
+      // which will introduce a deadlock since stopTest waits until all client threads are done.
+      // The same thread drains a batching event bus once the client has shut down
       new Thread("loadtest-shutdown") {
         @Override
         public void run() {
@@ -204,6 +276,11 @@ public class LoadTest implements Callable<LoadTestResult> {
           } catch (final Exception e) {
             _logger.error("Exception while attempting to shutdown client", e);
           }
+          // deliver every completed operation to subscribers before results are reported
+          if (LoadTest.this.eventBus instanceof BatchingEventBus) {
+            _logger.debug("Waiting for event bus to drain");
+            ((BatchingEventBus) LoadTest.this.eventBus).shutdown();
+          }
           LoadTest.this.completed.countDown();
         }
       }.start();
@@ -256,8 +333,9 @@ public class LoadTest implements Callable<LoadTestResult> {
   public String toString() {
     return String.format(
         "LoadTest [%n" + "requestManager=%s,%n" + "scheduler=%s,%n" + "client=%s,%n"
-            + "shutdownImmediate=%s,%n" + "shutdownTimeout=%s%n" + "]",
-        this.requestManager, this.scheduler, this.client, this.shutdownImmediate, this.shutdownTimeout);
+            + "shutdownImmediate=%s,%n" + "shutdownTimeout=%s,%n" + "dispatchers=%s%n" + "]",
+        this.requestManager, this.scheduler, this.client, this.shutdownImmediate,
+        this.shutdownTimeout, this.dispatcherThreads.size());
   }
   
 }
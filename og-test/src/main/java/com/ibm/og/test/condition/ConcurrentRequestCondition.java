@@ -12,6 +12,7 @@ import com.ibm.og.statistic.Statistics;
 import com.ibm.og.test.LoadTest;
 import com.ibm.og.api.Operation;
 import com.ibm.og.util.Pair;
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
 
 /**
@@ -27,6 +28,7 @@ public class ConcurrentRequestCondition extends CounterCondition {
   }
 
   @Subscribe
+  @AllowConcurrentEvents
   public void update(final Request request) {
     if (isTriggered()) {
       if (this.failureCondition) {
@@ -38,6 +40,7 @@ public class ConcurrentRequestCondition extends CounterCondition {
   }
 
   @Subscribe
+  @AllowConcurrentEvents
   @Override
   public void update(final Pair<Request, Response> operation) {
     // prevent parent class implementation from being invoked
@@ -6,17 +6,30 @@
 package com.ibm.og.test.condition;
 
 import com.google.common.collect.ImmutableList;
+import com.ibm.og.statistic.LatencyHistogram;
+import com.ibm.og.statistic.Statistics;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 public class LoadTestResult {
   public final long timestampStart;
   public final long timestampFinish;
   public final int result;
   public final ImmutableList<String> messages;
+  // time from a scheduler permit being granted to its request being handed to the client, in
+  // microseconds
+  public final LatencyHistogram.Snapshot dispatchLag;
 
   public LoadTestResult(final long timestampStart, final long timestampFinish,
       final int result, final ImmutableList<String> messages) {
+    this(timestampStart, timestampFinish, result, messages, LatencyHistogram.emptySnapshot(
+        Statistics.HISTOGRAM_HIGHEST_TRACKABLE_VALUE, Statistics.HISTOGRAM_SIGNIFICANT_DIGITS));
+  }
+
+  public LoadTestResult(final long timestampStart, final long timestampFinish,
+      final int result, final ImmutableList<String> messages,
+      final LatencyHistogram.Snapshot dispatchLag) {
     checkArgument(timestampStart >= 0, "timestampStart must be >= 0 [%s]", timestampStart);
     checkArgument(timestampStart <= timestampFinish,
         "timestampStart must be <= timestampFinish [%s, %s]", timestampStart, timestampFinish);
@@ -24,6 +37,7 @@ public class LoadTestResult {
     this.timestampFinish = timestampFinish;
     this.result = result;
     this.messages = messages;
+    this.dispatchLag = checkNotNull(dispatchLag);
 
   }
 }
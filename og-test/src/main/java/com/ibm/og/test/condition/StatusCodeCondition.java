@@ -18,6 +18,7 @@ import com.ibm.og.statistic.Statistics;
 import com.ibm.og.test.LoadTest;
 import com.ibm.og.api.Operation;
 import com.ibm.og.util.Pair;
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.Subscribe;
 
 /**
@@ -65,6 +66,7 @@ public class StatusCodeCondition implements TestCondition {
    * @param operation a completed request
    */
   @Subscribe
+  @AllowConcurrentEvents
   public void update(final Pair<Request, Response> operation) {
     if (isTriggered()) {
       if (this.failureCondition) {
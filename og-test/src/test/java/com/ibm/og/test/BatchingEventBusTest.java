@@ -0,0 +1,241 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.eventbus.SubscriberExceptionContext;
+import com.google.common.eventbus.SubscriberExceptionHandler;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class BatchingEventBusTest {
+  private SubscriberExceptionHandler handler;
+  private BatchingEventBus eventBus;
+
+  @Before
+  public void before() {
+    this.handler = mock(SubscriberExceptionHandler.class);
+    this.eventBus = new BatchingEventBus(this.handler, 2, 8, 4);
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidBatchingEventBus() {
+    final SubscriberExceptionHandler handler = mock(SubscriberExceptionHandler.class);
+    return new Object[][] {{null, 1, 1, 1, NullPointerException.class},
+        {handler, 0, 1, 1, IllegalArgumentException.class},
+        {handler, 1, 0, 1, IllegalArgumentException.class},
+        {handler, 1, (1 << 30) + 1, 1, IllegalArgumentException.class},
+        {handler, 1, 1, 0, IllegalArgumentException.class}};
+  }
+
+  @Test
+  @UseDataProvider("provideInvalidBatchingEventBus")
+  public void invalidBatchingEventBus(final SubscriberExceptionHandler handler, final int threads,
+      final int capacity, final int batchSize, final Class<Exception> expectedException)
+      throws Exception {
+    try {
+      new BatchingEventBus(handler, threads, capacity, batchSize);
+    } catch (final Exception e) {
+      assertThat(expectedException.isInstance(e), is(true));
+      return;
+    }
+    throw new AssertionError("expected " + expectedException);
+  }
+
+  public static class Recorder {
+    final List<Object> events = Lists.newArrayList();
+
+    @Subscribe
+    public void integer(final Integer event) {
+      this.events.add(event);
+    }
+
+    @Subscribe
+    public void string(final String event) {
+      this.events.add(event);
+    }
+  }
+
+  public static class OverridingRecorder extends Recorder {
+    @Override
+    @Subscribe
+    public void integer(final Integer event) {
+      this.events.add(-event);
+    }
+  }
+
+  @Test
+  public void deliversInPostedOrder() {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    final List<Object> expected = Lists.newArrayList();
+    for (int i = 0; i < 1000; i++) {
+      this.eventBus.post(i);
+      this.eventBus.post(String.valueOf(i));
+      expected.add(i);
+      expected.add(String.valueOf(i));
+    }
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events, is(expected));
+    assertThat(this.eventBus.getBacklog(), is(0L));
+    assertThat(this.eventBus.getMaxBacklog(), greaterThan(0L));
+  }
+
+  @Test
+  public void deliversToSubscribersOfSupertypes() {
+    final List<Object> events = Lists.newArrayList();
+    this.eventBus.register(new Object() {
+      @Subscribe
+      public void number(final Number event) {
+        events.add(event);
+      }
+    });
+    this.eventBus.post(1);
+    this.eventBus.post(2L);
+    this.eventBus.post("ignored");
+    this.eventBus.shutdown();
+
+    assertThat(events, contains((Object) 1, (Object) 2L));
+  }
+
+  @Test
+  public void duplicateRegistration() {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    this.eventBus.register(recorder);
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events, contains((Object) 1));
+  }
+
+  @Test
+  public void overriddenSubscriberInvokedOnce() {
+    final Recorder recorder = new OverridingRecorder();
+    this.eventBus.register(recorder);
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events, contains((Object) (-1)));
+  }
+
+  @Test
+  public void unregister() {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    this.eventBus.unregister(recorder);
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events.isEmpty(), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unregisterNotRegistered() {
+    this.eventBus.unregister(new Recorder());
+  }
+
+  @Test
+  public void registerWithoutSubscribers() {
+    this.eventBus.register(new Object());
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    assertThat(this.eventBus.getSubscriberStats().isEmpty(), is(true));
+  }
+
+  @Test
+  public void subscriberException() {
+    this.eventBus.register(new Object() {
+      @Subscribe
+      public void fail(final Integer event) {
+        throw new IllegalStateException();
+      }
+    });
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    verify(this.handler, times(1)).handleException(isA(IllegalStateException.class),
+        any(SubscriberExceptionContext.class));
+  }
+
+  @Test
+  public void postAfterShutdown() {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    this.eventBus.shutdown();
+    this.eventBus.post(1);
+
+    assertThat(recorder.events, contains((Object) 1));
+  }
+
+  @Test
+  public void postFromSubscriber() {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    this.eventBus.register(new Object() {
+      @Subscribe
+      public void repost(final Integer event) {
+        for (int i = 0; i < 100; i++) {
+          BatchingEventBusTest.this.eventBus.post(String.valueOf(i));
+        }
+      }
+    });
+    this.eventBus.post(1);
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events.size(), is(101));
+  }
+
+  @Test
+  public void concurrentPosts() throws InterruptedException {
+    final Recorder recorder = new Recorder();
+    this.eventBus.register(recorder);
+    final List<Thread> threads = Lists.newArrayList();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            BatchingEventBusTest.this.eventBus.post(j);
+          }
+        }
+      }));
+    }
+    for (final Thread t : threads) {
+      t.start();
+    }
+    for (final Thread t : threads) {
+      t.join();
+    }
+    this.eventBus.shutdown();
+
+    assertThat(recorder.events.size(), is(8000));
+    final BatchingEventBus.SubscriberStats stats = this.eventBus.getSubscriberStats().get(0);
+    assertThat(stats.getSubscriber(), is(Recorder.class.getName()));
+    assertThat(stats.getEvents(), is(8000L));
+  }
+}
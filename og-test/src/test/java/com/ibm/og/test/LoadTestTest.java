@@ -8,8 +8,11 @@ package com.ibm.og.test;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import com.ibm.og.api.RequestTimestamps;
 import com.ibm.og.test.condition.CounterCondition;
+import com.ibm.og.test.condition.LoadTestResult;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -77,7 +81,7 @@ public class LoadTestTest {
     this.client = mock(Client.class);
     final SettableFuture<Response> future = SettableFuture.create();
     future.set(this.response);
-    when(this.client.execute(this.request)).thenReturn(future);
+    when(this.client.execute(eq(this.request), anyLong())).thenReturn(future);
 
     this.scheduler = new ConcurrentRequestScheduler(1, 0.0, TimeUnit.SECONDS);
     this.handler = new LoadTestSubscriberExceptionHandler();
@@ -136,7 +140,70 @@ public class LoadTestTest {
   public void loadTest() {
     assertThat(this.test.call().result, is(0));
     assertThat(this.stats.get(Operation.WRITE, Counter.OPERATIONS), greaterThanOrEqualTo(5L));
-    verify(this.client, atLeast(5)).execute(this.request);
+    verify(this.client, atLeast(5)).execute(eq(this.request), anyLong());
+    verify(this.client, times(1)).shutdown(true, 0);
+  }
+
+  @Test
+  public void loadTestBatchingEventBus() {
+    final BatchingEventBus eventBus = new BatchingEventBus(this.handler, 2, 4, 2);
+    final LoadTest test =
+        new LoadTest(this.requestManager, this.client, this.scheduler, eventBus, true, 0, false);
+    this.handler.setLoadTest(test);
+    eventBus.register(this.stats);
+    eventBus.register(
+        new CounterCondition(Operation.WRITE, Counter.OPERATIONS, 5, test, this.stats, false));
+
+    assertThat(test.call().result, is(0));
+    // the event bus is drained before the test completes
+    assertThat(eventBus.getBacklog(), is(0L));
+    assertThat(this.stats.get(Operation.WRITE, Counter.ACTIVE_OPERATIONS), is(0L));
+    assertThat(this.stats.get(Operation.WRITE, Counter.OPERATIONS), greaterThanOrEqualTo(5L));
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidDispatchers() {
+    return new Object[][] {{0}, {-1}};
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @UseDataProvider("provideInvalidDispatchers")
+  public void invalidDispatchers(final int dispatchers) {
+    new LoadTest(this.requestManager, this.client, this.scheduler, this.eventBus, true, 0, false,
+        dispatchers);
+  }
+
+  @Test
+  public void loadTestMultipleDispatchers() {
+    final Scheduler scheduler = new ConcurrentRequestScheduler(4, 0.0, TimeUnit.SECONDS);
+    final LoadTest test = new LoadTest(this.requestManager, this.client, scheduler, this.eventBus,
+        true, 0, false, 4);
+    this.handler.setLoadTest(test);
+    this.eventBus.register(scheduler);
+    this.eventBus.register(
+        new CounterCondition(Operation.WRITE, Counter.OPERATIONS, 5, test, this.stats, false));
+
+    final LoadTestResult result = test.call();
+    assertThat(result.result, is(0));
+    assertThat(this.stats.get(Operation.WRITE, Counter.OPERATIONS), greaterThanOrEqualTo(5L));
+    verify(this.client, times(1)).shutdown(true, 0);
+    // every dispatched request records its dispatch lag
+    assertThat(result.dispatchLag.getTotalCount(), greaterThanOrEqualTo(5L));
+    assertThat(test.getDispatchLag().getTotalCount(), is(result.dispatchLag.getTotalCount()));
+  }
+
+  @Test(timeout = 10000)
+  public void noMoreRequestsMultipleDispatchers() {
+    // each dispatcher holds a permit which no request will return, so none can be acquired again
+    final Scheduler scheduler = new ConcurrentRequestScheduler(2, 0.0, TimeUnit.SECONDS);
+    when(this.requestManager.get()).thenThrow(new NoMoreRequestsException());
+    final LoadTest test = new LoadTest(this.requestManager, this.client, scheduler, this.eventBus,
+        true, 0, false, 2);
+
+    final LoadTestResult result = test.call();
+    assertThat(result.result, is(0));
+    assertThat(result.dispatchLag.getTotalCount(), is(0L));
+    verify(this.client, never()).execute(eq(this.request), anyLong());
     verify(this.client, times(1)).shutdown(true, 0);
   }
 }
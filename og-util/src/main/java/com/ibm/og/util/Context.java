@@ -26,6 +26,8 @@ public class Context {
   public static final String X_OG_KEYSTONE_TOKEN = "x-og-keystone-token";
   public static final String X_OG_IAM_TOKEN = "x-og-iam-token";
   public static final String X_OG_RESPONSE_BODY_CONSUMER = "x-og-response-body-consumer";
+  // set on responses to requests which a saturated client did not send; shed or drop
+  public static final String X_OG_CLIENT_SATURATED = "x-og-client-saturated";
   // Multipart Context Keys
   public static final String X_OG_MULTIPART_REQUEST = "x-og-multipart-request";
   public static final String X_OG_MULTIPART_UPLOAD_ID = "x-og-multipart-upload-id";
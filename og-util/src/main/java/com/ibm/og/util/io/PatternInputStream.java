@@ -0,0 +1,141 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.util.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.InputStream;
+
+/**
+ * A fixed length input stream whose data is a repeating pattern of bytes. Clients which recognize
+ * this stream may send its data directly from a {@link PatternRegion} rather than reading it
+ * through the stream.
+ * <p>
+ * Note: this class does not perform a defensive copy of the provided pattern, so callers must
+ * take care not to modify the pattern after construction of this input stream.
+ *
+ * @since 1.12.0
+ */
+public class PatternInputStream extends InputStream {
+  private final byte[] pattern;
+  private final long size;
+  private final boolean shared;
+  private long position;
+  private long markPosition;
+
+  /**
+   * Constructs a pattern input stream
+   *
+   * @param pattern the repeating data of this stream
+   * @param size the length of this stream
+   * @param shared whether the pattern instance is reused by other streams, in which case a region
+   *        built from it may be cached
+   * @throws NullPointerException if pattern is null
+   * @throws IllegalArgumentException if pattern length is zero or size is negative
+   */
+  public PatternInputStream(final byte[] pattern, final long size, final boolean shared) {
+    this.pattern = checkNotNull(pattern);
+    checkArgument(pattern.length > 0, "pattern length must be > 0 [%s]", pattern.length);
+    checkArgument(size >= 0, "size must be >= 0 [%s]", size);
+    this.size = size;
+    this.shared = shared;
+    this.position = 0;
+    this.markPosition = 0;
+  }
+
+  @Override
+  public int read() {
+    if (this.position >= this.size) {
+      return -1;
+    }
+    return this.pattern[(int) (this.position++ % this.pattern.length)] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) {
+    checkNotNull(b);
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    } else if (len == 0) {
+      return 0;
+    } else if (this.position >= this.size) {
+      return -1;
+    }
+
+    final int length = (int) Math.min(len, this.size - this.position);
+    int copied = 0;
+    while (copied < length) {
+      final int cursor = (int) (this.position % this.pattern.length);
+      final int toCopy = Math.min(this.pattern.length - cursor, length - copied);
+      System.arraycopy(this.pattern, cursor, b, off + copied, toCopy);
+      this.position += toCopy;
+      copied += toCopy;
+    }
+    return length;
+  }
+
+  @Override
+  public long skip(final long n) {
+    final long skipped = Math.max(0, Math.min(n, this.size - this.position));
+    this.position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(this.size - this.position, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void mark(final int readlimit) {
+    this.markPosition = this.position;
+  }
+
+  @Override
+  public void reset() {
+    this.position = this.markPosition;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  /**
+   * @return the repeating data of this stream, which must not be modified
+   */
+  public byte[] getPattern() {
+    return this.pattern;
+  }
+
+  /**
+   * @return the length of this stream
+   */
+  public long getSize() {
+    return this.size;
+  }
+
+  /**
+   * @return the offset of the next byte this stream will return
+   */
+  public long getPosition() {
+    return this.position;
+  }
+
+  /**
+   * @return true if the pattern instance is reused by other streams
+   */
+  public boolean isShared() {
+    return this.shared;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PatternInputStream [patternLength=%s, size=%s, position=%s, shared=%s]",
+        this.pattern.length, this.size, this.position, this.shared);
+  }
+}
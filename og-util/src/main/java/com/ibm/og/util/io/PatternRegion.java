@@ -0,0 +1,203 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.util.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A block of memory holding a pattern repeated end to end. The region length is a whole multiple
+ * of the pattern length, so the byte at any offset of a {@link PatternInputStream} with the same
+ * pattern is the byte at that offset modulo the region length. This lets request bodies be sent
+ * in large writes directly from the region rather than being copied through a stream.
+ *
+ * @since 1.12.0
+ */
+public final class PatternRegion {
+  /**
+   * Where a region's memory is allocated
+   */
+  public enum Type {
+    /** a byte array on the java heap */
+    HEAP,
+    /** a direct buffer outside the java heap */
+    DIRECT,
+    /** a read only memory mapped temporary file, backed by the page cache */
+    MAPPED
+  }
+
+  private final ByteBuffer buffer;
+  private final byte[] array;
+  private final int length;
+
+  private PatternRegion(final ByteBuffer buffer, final byte[] array, final int length) {
+    this.buffer = buffer;
+    this.array = array;
+    this.length = length;
+  }
+
+  /**
+   * Creates a region of at least {@code minLength} bytes, rounded up to a whole number of
+   * patterns. Regions for power of two pattern lengths of up to a page, with a {@code minLength}
+   * which is a whole number of pages, are therefore a whole number of pages as well
+   *
+   * @param pattern the data to repeat
+   * @param minLength the minimum length of the region
+   * @param type where to allocate the region
+   * @return a new region
+   * @throws NullPointerException if pattern or type is null
+   * @throws IllegalArgumentException if pattern length is zero or minLength is not positive
+   * @throws IOException if a mapped region cannot be created
+   */
+  public static PatternRegion create(final byte[] pattern, final int minLength, final Type type)
+      throws IOException {
+    checkNotNull(pattern);
+    checkNotNull(type);
+    checkArgument(pattern.length > 0, "pattern length must be > 0 [%s]", pattern.length);
+    checkArgument(minLength > 0, "minLength must be > 0 [%s]", minLength);
+    final long patterns = (minLength + pattern.length - 1L) / pattern.length;
+    checkArgument(patterns * pattern.length <= Integer.MAX_VALUE,
+        "region length must be <= %s [%s]", Integer.MAX_VALUE, patterns * pattern.length);
+    final int length = (int) (patterns * pattern.length);
+
+    switch (type) {
+      case DIRECT:
+        final ByteBuffer direct = ByteBuffer.allocateDirect(length);
+        fill(direct, pattern);
+        direct.clear();
+        return new PatternRegion(direct.asReadOnlyBuffer(), null, length);
+      case MAPPED:
+        return new PatternRegion(map(pattern, length), null, length);
+      default:
+        final byte[] array = new byte[length];
+        fill(ByteBuffer.wrap(array), pattern);
+        return new PatternRegion(ByteBuffer.wrap(array).asReadOnlyBuffer(), array, length);
+    }
+  }
+
+  /**
+   * Creates a heap region over an existing buffer, overwriting it with as many whole patterns as
+   * fit, but no more than are needed to cover {@code size} bytes of stream data. This allows a
+   * per thread buffer to be reused for patterns which are not shared
+   *
+   * @param pattern the data to repeat
+   * @param buf the buffer to fill
+   * @param size the length of the stream the region will be used for
+   * @return a region backed by {@code buf}
+   * @throws NullPointerException if pattern or buf is null
+   * @throws IllegalArgumentException if pattern length is zero or longer than buf, or size is
+   *         negative
+   */
+  public static PatternRegion wrap(final byte[] pattern, final byte[] buf, final long size) {
+    checkNotNull(pattern);
+    checkNotNull(buf);
+    checkArgument(pattern.length > 0, "pattern length must be > 0 [%s]", pattern.length);
+    checkArgument(pattern.length <= buf.length, "pattern length must be <= buf length [%s, %s]",
+        pattern.length, buf.length);
+    checkArgument(size >= 0, "size must be >= 0 [%s]", size);
+    final long needed = Math.max(1, (size + pattern.length - 1) / pattern.length);
+    final int length = (int) Math.min(buf.length / pattern.length, needed) * pattern.length;
+    fill(ByteBuffer.wrap(buf, 0, length), pattern);
+    return new PatternRegion(ByteBuffer.wrap(buf, 0, length).slice().asReadOnlyBuffer(), buf,
+        length);
+  }
+
+  private static void fill(final ByteBuffer buf, final byte[] pattern) {
+    while (buf.hasRemaining()) {
+      buf.put(pattern, 0, Math.min(pattern.length, buf.remaining()));
+    }
+  }
+
+  private static ByteBuffer map(final byte[] pattern, final int length) throws IOException {
+    final File file = File.createTempFile("og-pattern", ".bin");
+    try {
+      final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+      try {
+        final FileChannel channel = raf.getChannel();
+        final int chunk = Math.min(length, pattern.length * Math.max(1, 65536 / pattern.length));
+        final ByteBuffer buf = ByteBuffer.allocate(chunk);
+        fill(buf, pattern);
+        long position = 0;
+        while (position < length) {
+          buf.clear().limit((int) Math.min(chunk, length - position));
+          while (buf.hasRemaining()) {
+            position += channel.write(buf, position);
+          }
+        }
+        // the mapping remains valid after the channel is closed and the file is deleted
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      } finally {
+        raf.close();
+      }
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  /**
+   * @return the length of this region
+   */
+  public int length() {
+    return this.length;
+  }
+
+  /**
+   * Creates a view of this region starting at the byte corresponding to a stream offset. The
+   * view ends at the end of the region or after {@code maxLength} bytes, whichever comes first
+   *
+   * @param offset the stream offset of the first byte
+   * @param maxLength the maximum number of bytes in the view
+   * @return a read only buffer positioned at the first byte
+   * @throws IllegalArgumentException if offset or maxLength is negative
+   */
+  public ByteBuffer slice(final long offset, final long maxLength) {
+    checkArgument(offset >= 0, "offset must be >= 0 [%s]", offset);
+    checkArgument(maxLength >= 0, "maxLength must be >= 0 [%s]", maxLength);
+    final int start = (int) (offset % this.length);
+    final ByteBuffer view = this.buffer.duplicate();
+    view.limit((int) Math.min(this.length, start + maxLength));
+    view.position(start);
+    return view;
+  }
+
+  /**
+   * Writes a range of stream data to an output stream directly from this region. Only heap
+   * regions support this method
+   *
+   * @param out the stream to write to
+   * @param offset the stream offset of the first byte
+   * @param length the number of bytes to write
+   * @throws IllegalStateException if this is not a heap region
+   * @throws IOException if an error occurs while writing
+   */
+  public void writeTo(final OutputStream out, final long offset, final long length)
+      throws IOException {
+    checkState(this.array != null, "writeTo requires a heap region");
+    long written = 0;
+    while (written < length) {
+      final int start = (int) ((offset + written) % this.length);
+      final int n = (int) Math.min(this.length - start, length - written);
+      out.write(this.array, start, n);
+      written += n;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PatternRegion [length=%s, direct=%s]", this.length,
+        this.buffer.isDirect());
+  }
+}
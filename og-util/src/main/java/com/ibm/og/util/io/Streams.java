@@ -13,7 +13,9 @@ import java.util.Random;
 
 import com.ibm.og.api.Body;
 import com.google.common.base.Charsets;
-import com.google.common.io.ByteStreams;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 /**
  * A utility class for creating input and output streams
@@ -23,6 +25,14 @@ import com.google.common.io.ByteStreams;
 public class Streams {
   public static final int REPEAT_LENGTH = 1024;
   private static final byte[] ZERO_BUF = new byte[REPEAT_LENGTH];
+  // custom content is encoded once so its streams share a pattern instance
+  private static final LoadingCache<String, byte[]> CUSTOM_PATTERNS =
+      CacheBuilder.newBuilder().maximumSize(64).build(new CacheLoader<String, byte[]>() {
+        @Override
+        public byte[] load(final String content) {
+          return content.getBytes(Charsets.UTF_8);
+        }
+      });
   private static final InputStream NONE_INPUTSTREAM = new InputStream() {
     @Override
     public int read() {
@@ -42,7 +52,8 @@ public class Streams {
 
   /**
    * Creates an input stream from the provided body description. The size of this stream and its
-   * data are determined by the provided body's size and type, respectively.
+   * data are determined by the provided body's size and type, respectively. Streams for bodies
+   * with data are instances of {@link PatternInputStream}.
    * 
    * @param body the description of an body
    * @return an input stream instance
@@ -53,18 +64,16 @@ public class Streams {
       case NONE:
         return NONE_INPUTSTREAM;
       case ZEROES:
-        return create(ZERO_BUF, body.getSize());
+        return new PatternInputStream(ZERO_BUF, body.getSize(), true);
       case CUSTOM:
-        return create(body.getContent().getBytes(Charsets.UTF_8), body.getSize());
+        final byte[] content = CUSTOM_PATTERNS.getUnchecked(body.getContent());
+        return new PatternInputStream(content, body.getSize(), true);
       default:
-        return create(createRandomBuffer(body.getRandomSeed()), body.getSize());
+        return new PatternInputStream(createRandomBuffer(body.getRandomSeed()), body.getSize(),
+            false);
     }
   }
 
-  private static InputStream create(final byte[] buf, final long size) {
-    return ByteStreams.limit(new InfiniteInputStream(buf), size);
-  }
-
   private static byte[] createRandomBuffer(final long seed) {
     final byte[] buf = new byte[REPEAT_LENGTH];
     new Random(seed).nextBytes(buf);
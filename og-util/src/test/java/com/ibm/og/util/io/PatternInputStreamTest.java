@@ -0,0 +1,107 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.util.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@SuppressWarnings("resource")
+@RunWith(DataProviderRunner.class)
+public class PatternInputStreamTest {
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+  private static final int SIZE = 12;
+  private byte[] pattern;
+  private PatternInputStream in;
+
+  @Before
+  public void before() {
+    // includes bytes which are negative when signed
+    this.pattern = new byte[] {0, 1, (byte) 0xFE, (byte) 0xFF, 4};
+    this.in = new PatternInputStream(this.pattern, SIZE, false);
+  }
+
+  @DataProvider
+  public static Object[][] provideInvalidConstructor() {
+    return new Object[][] {{null, 1, NullPointerException.class},
+        {new byte[0], 1, IllegalArgumentException.class},
+        {new byte[1], -1, IllegalArgumentException.class}};
+  }
+
+  @Test
+  @UseDataProvider("provideInvalidConstructor")
+  public void invalidConstructor(final byte[] pattern, final long size,
+      final Class<Exception> expectedException) {
+    this.thrown.expect(expectedException);
+    new PatternInputStream(pattern, size, false);
+  }
+
+  @Test
+  public void readOneByteAtATime() {
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(this.in.available(), is(SIZE - i));
+      assertThat(this.in.read(), is(this.pattern[i % this.pattern.length] & 0xFF));
+    }
+    assertThat(this.in.read(), is(-1));
+    assertThat(this.in.available(), is(0));
+  }
+
+  @Test
+  public void readMultipleBytes() {
+    final byte[] buf = new byte[SIZE + 3];
+    assertThat(this.in.read(buf, 1, 4), is(4));
+    assertThat(this.in.read(buf, 5, buf.length - 5), is(SIZE - 4));
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(buf[i + 1], is(this.pattern[i % this.pattern.length]));
+    }
+    assertThat(this.in.read(buf, 0, 1), is(-1));
+    assertThat(this.in.read(buf, 0, 0), is(0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void invalidRead() {
+    this.in.read(new byte[1], 1, 1);
+  }
+
+  @Test
+  public void skip() {
+    assertThat(this.in.skip(7), is(7L));
+    assertThat(this.in.getPosition(), is(7L));
+    assertThat(this.in.read(), is(this.pattern[2] & 0xFF));
+    assertThat(this.in.skip(-1), is(0L));
+    assertThat(this.in.skip(SIZE), is((long) SIZE - 8));
+    assertThat(this.in.read(), is(-1));
+  }
+
+  @Test
+  public void markReset() {
+    assertThat(this.in.markSupported(), is(true));
+    this.in.skip(3);
+    this.in.mark(Integer.MAX_VALUE);
+    this.in.skip(SIZE);
+    this.in.reset();
+    assertThat(this.in.getPosition(), is(3L));
+    assertThat(this.in.read(), is(this.pattern[3] & 0xFF));
+  }
+
+  @Test
+  public void accessors() {
+    assertThat(this.in.getPattern(), is(this.pattern));
+    assertThat(this.in.getSize(), is((long) SIZE));
+    assertThat(this.in.isShared(), is(false));
+    assertThat(new PatternInputStream(this.pattern, 0, true).isShared(), is(true));
+  }
+}
@@ -0,0 +1,118 @@
+/* Copyright (c) IBM Corporation 2026. All Rights Reserved.
+ * Project name: Object Generator
+ * This project is licensed under the Apache License 2.0, see LICENSE.
+ */
+
+package com.ibm.og.util.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.io.ByteStreams;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class PatternRegionTest {
+  private static final long SIZE = 10000;
+  private byte[] pattern;
+  private byte[] expected;
+
+  @Before
+  public void before() throws IOException {
+    this.pattern = new byte[7];
+    new Random(0).nextBytes(this.pattern);
+    this.expected =
+        ByteStreams.toByteArray(new PatternInputStream(this.pattern, SIZE, false));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullPattern() throws IOException {
+    PatternRegion.create(null, 1, PatternRegion.Type.HEAP);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullType() throws IOException {
+    PatternRegion.create(this.pattern, 1, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroMinLength() throws IOException {
+    PatternRegion.create(this.pattern, 0, PatternRegion.Type.HEAP);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void patternLongerThanBuffer() {
+    PatternRegion.wrap(this.pattern, new byte[this.pattern.length - 1], SIZE);
+  }
+
+  @DataProvider
+  public static Object[][] provideTypes() {
+    return new Object[][] {{PatternRegion.Type.HEAP}, {PatternRegion.Type.DIRECT},
+        {PatternRegion.Type.MAPPED}};
+  }
+
+  @Test
+  @UseDataProvider("provideTypes")
+  public void create(final PatternRegion.Type type) throws IOException {
+    final PatternRegion region = PatternRegion.create(this.pattern, 1000, type);
+    // rounded up to a whole number of patterns
+    assertThat(region.length(), is(1001));
+    assertThat(slices(region, 333), is(this.expected));
+  }
+
+  @Test
+  public void pageAligned() throws IOException {
+    final PatternRegion region =
+        PatternRegion.create(new byte[1024], 8192, PatternRegion.Type.HEAP);
+    assertThat(region.length(), is(8192));
+  }
+
+  @Test
+  public void wrap() {
+    final byte[] buf = new byte[100];
+    PatternRegion region = PatternRegion.wrap(this.pattern, buf, SIZE);
+    assertThat(region.length(), is(98));
+    assertThat(slices(region, 1000), is(this.expected));
+
+    // only as much of the buffer as the stream needs is filled
+    region = PatternRegion.wrap(this.pattern, buf, 10);
+    assertThat(region.length(), is(14));
+    region = PatternRegion.wrap(this.pattern, buf, 0);
+    assertThat(region.length(), is(7));
+  }
+
+  @Test
+  public void writeTo() throws IOException {
+    final PatternRegion region = PatternRegion.wrap(this.pattern, new byte[100], SIZE);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    region.writeTo(out, 0, 3);
+    region.writeTo(out, 3, SIZE - 3);
+    assertThat(out.toByteArray(), is(this.expected));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void writeToDirect() throws IOException {
+    PatternRegion.create(this.pattern, 1000, PatternRegion.Type.DIRECT)
+        .writeTo(new ByteArrayOutputStream(), 0, 1);
+  }
+
+  // reads the stream's data back from a region in slices of at most maxLength bytes
+  private byte[] slices(final PatternRegion region, final long maxLength) {
+    final ByteBuffer data = ByteBuffer.allocate((int) SIZE);
+    while (data.hasRemaining()) {
+      data.put(region.slice(data.position(), Math.min(maxLength, data.remaining())));
+    }
+    return data.array();
+  }
+}